@@ -0,0 +1,22 @@
+package com.restohub.adminapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AnalyticsCacheConfig {
+
+    // Фоновый пул для пересчета устаревших результатов аналитики (stale-while-revalidate)
+    @Bean(name = "analyticsRefreshExecutor")
+    public ThreadPoolTaskExecutor analyticsRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("analytics-refresh-");
+        executor.setTaskDecorator(Workload.REPORTING::wrap);
+        executor.initialize();
+        return executor;
+    }
+}
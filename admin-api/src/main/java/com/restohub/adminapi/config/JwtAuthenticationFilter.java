@@ -1,5 +1,6 @@
 package com.restohub.adminapi.config;
 
+import com.restohub.adminapi.util.JwtClaims;
 import com.restohub.adminapi.util.JwtTokenProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -92,8 +93,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(BEARER_PREFIX.length());
         
         try {
-            // Проверяем, истек ли токен
-            if (jwtTokenProvider.isTokenExpired(token)) {
+            // Подпись и срок действия проверяются один раз, повторный токен берется из кэша claims
+            JwtClaims claims = jwtTokenProvider.verify(token);
+            if (claims == null) {
                 logger.debug("Token expired for request: {}", request.getRequestURI());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
@@ -105,29 +107,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
             
-            if (jwtTokenProvider.validateToken(token)) {
-                String email = jwtTokenProvider.getEmailFromToken(token);
-                String role = jwtTokenProvider.getRoleFromToken(token);
-                
-                if (role == null || role.isEmpty()) {
-                    logger.warn("Role is null or empty for user: {}", email);
-                    // Не очищаем контекст, если аутентификация уже установлена
-                    if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                        SecurityContextHolder.clearContext();
-                    }
-                    filterChain.doFilter(request, response);
-                    return;
+            String email = claims.email();
+            String role = claims.role();
+            
+            if (role == null || role.isEmpty()) {
+                logger.warn("Role is null or empty for user: {}", email);
+                // Не очищаем контекст, если аутентификация уже установлена
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    SecurityContextHolder.clearContext();
                 }
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        email,
-                        token,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                );
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.debug("Authenticated user: {} with role: {}", email, role);
+                filterChain.doFilter(request, response);
+                return;
             }
+            
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    email,
+                    token,
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+            );
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            logger.debug("Authenticated user: {} with role: {}", email, role);
         } catch (io.jsonwebtoken.ExpiredJwtException e) {
             logger.debug("Token expired: {}", e.getMessage());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
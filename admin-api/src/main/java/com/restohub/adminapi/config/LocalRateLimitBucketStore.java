@@ -0,0 +1,65 @@
+package com.restohub.adminapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+import java.time.Duration;
+
+/**
+ * Bucket'ы в памяти инстанса, ограниченные по количеству и времени простоя.
+ *
+ * Bucket, к которому не обращались дольше периода пополнения, уже полон, поэтому его вытеснение
+ * не меняет поведения лимита - время простоя берется равным максимальному периоду пополнения.
+ *
+ * Копия этого класса есть в client-api: сервисы собираются независимо (свои pom и Docker-контексты).
+ */
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+    
+    private final String name;
+    private final BucketConfiguration configuration;
+    private final Cache<String, Bucket> buckets;
+    
+    public LocalRateLimitBucketStore(String name, BucketConfiguration configuration, long maxSize) {
+        this.name = name;
+        this.configuration = configuration;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeout(configuration))
+                .build();
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Bucket resolve(String key) {
+        return buckets.get(key, k -> createBucket());
+    }
+    
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+    
+    private Bucket createBucket() {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+    
+    private static Duration idleTimeout(BucketConfiguration configuration) {
+        long nanos = 0;
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            nanos = Math.max(nanos, bandwidth.getRefillPeriodNanos());
+        }
+        return Duration.ofNanos(nanos);
+    }
+}
@@ -0,0 +1,49 @@
+package com.restohub.adminapi.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Bucket'ы в общей таблице rate_limit_buckets: лимит действует на все инстансы admin-api и client-api,
+ * а не умножается на число реплик за nginx.
+ *
+ * Каждая проверка - короткая транзакция с SELECT ... FOR UPDATE по строке ключа. Таблица общая для всех
+ * limiter'ов, ключ строки - "имя limiter'а:IP". Неиспользуемые строки удаляет RateLimitBucketCleanupScheduler.
+ *
+ * Копия этого класса есть в client-api: сервисы собираются независимо (свои pom и Docker-контексты).
+ */
+public class PostgresRateLimitBucketStore implements RateLimitBucketStore {
+    
+    public static final String TABLE_NAME = "rate_limit_buckets";
+    
+    private final String name;
+    private final BucketConfiguration configuration;
+    private final ProxyManager<String> proxyManager;
+    
+    public PostgresRateLimitBucketStore(String name, BucketConfiguration configuration, DataSource dataSource) {
+        this.name = name;
+        this.configuration = configuration;
+        SQLProxyConfiguration<String> proxyConfiguration = SQLProxyConfiguration.builder()
+                .withTableSettings(BucketTableSettings.customSettings(TABLE_NAME, "id", "state"))
+                .withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+                .build(dataSource);
+        this.proxyManager = new PostgreSQLSelectForUpdateBasedProxyManager<>(proxyConfiguration);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Bucket resolve(String key) {
+        return proxyManager.builder().build(name + ":" + key, () -> configuration);
+    }
+}
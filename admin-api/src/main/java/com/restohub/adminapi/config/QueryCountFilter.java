@@ -0,0 +1,34 @@
+package com.restohub.adminapi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Заголовок X-Query-Count с числом SQL-запросов, выполненных при обработке запроса.
+ *
+ * Только для профиля dev: тело ответа буферизуется, чтобы заголовок можно было выставить после контроллера.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+    
+    static final String X_QUERY_COUNT_HEADER = "X-Query-Count";
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        QueryCountInspector.reset();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.setHeader(X_QUERY_COUNT_HEADER, String.valueOf(QueryCountInspector.getCount()));
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -1,45 +1,64 @@
 package com.restohub.adminapi.config;
 
 import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Rate limiter'ы admin-api. Хранилище выбирается для каждого limiter'а отдельно:
+ * local - bucket'ы в памяти инстанса, postgres - общая таблица rate_limit_buckets.
+ */
 @Configuration
 public class RateLimitingConfig {
     
+    public static final String STORE_LOCAL = "local";
+    public static final String STORE_POSTGRES = "postgres";
+    
+    private final DataSource dataSource;
+    private final long localMaxSize;
+    
+    @Autowired
+    public RateLimitingConfig(
+            DataSource dataSource,
+            @Value("${rate-limit.local.max-size:100000}") long localMaxSize) {
+        this.dataSource = dataSource;
+        this.localMaxSize = localMaxSize;
+    }
+    
     // Лимит для /auth/login: 5 запросов в минуту с одного IP
     @Bean(name = "loginRateLimiter")
-    public Map<String, Bucket> loginRateLimiter() {
-        return new ConcurrentHashMap<>();
+    public RateLimitBucketStore loginRateLimiter(@Value("${rate-limit.login.store:local}") String store) {
+        return createStore("login", store, Bandwidth.builder()
+                .capacity(5)
+                .refillIntervally(5, Duration.ofMinutes(1))
+                .build());
     }
     
     // Лимит для /auth/forgot-password: 3 запроса в час с одного IP
     @Bean(name = "forgotPasswordRateLimiter")
-    public Map<String, Bucket> forgotPasswordRateLimiter() {
-        return new ConcurrentHashMap<>();
+    public RateLimitBucketStore forgotPasswordRateLimiter(@Value("${rate-limit.forgot-password.store:local}") String store) {
+        return createStore("forgot-password", store, Bandwidth.builder()
+                .capacity(3)
+                .refillIntervally(3, Duration.ofHours(1))
+                .build());
     }
     
-    public static Bucket createLoginBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(5)
-                        .refillIntervally(5, Duration.ofMinutes(1))
-                        .build())
-                .build();
-    }
-    
-    public static Bucket createForgotPasswordBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(3)
-                        .refillIntervally(3, Duration.ofHours(1))
-                        .build())
+    private RateLimitBucketStore createStore(String name, String store, Bandwidth limit) {
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit)
                 .build();
+        if (STORE_POSTGRES.equalsIgnoreCase(store)) {
+            return new PostgresRateLimitBucketStore(name, configuration, dataSource);
+        }
+        if (!STORE_LOCAL.equalsIgnoreCase(store)) {
+            throw new RuntimeException("RATE_LIMIT_STORE_UNKNOWN");
+        }
+        return new LocalRateLimitBucketStore(name, configuration, localMaxSize);
     }
 }
-
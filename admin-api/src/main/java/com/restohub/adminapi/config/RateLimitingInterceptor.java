@@ -1,6 +1,7 @@
 package com.restohub.adminapi.config;
 
-import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -8,47 +9,58 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.util.Map;
-
 @Component
 public class RateLimitingInterceptor implements HandlerInterceptor {
     
-    private final Map<String, Bucket> loginRateLimiter;
-    private final Map<String, Bucket> forgotPasswordRateLimiter;
+    private final RateLimitBucketStore loginRateLimiter;
+    private final RateLimitBucketStore forgotPasswordRateLimiter;
+    private final Counter loginRejected;
+    private final Counter forgotPasswordRejected;
     
     public RateLimitingInterceptor(
-            @Qualifier("loginRateLimiter") Map<String, Bucket> loginRateLimiter,
-            @Qualifier("forgotPasswordRateLimiter") Map<String, Bucket> forgotPasswordRateLimiter) {
+            @Qualifier("loginRateLimiter") RateLimitBucketStore loginRateLimiter,
+            @Qualifier("forgotPasswordRateLimiter") RateLimitBucketStore forgotPasswordRateLimiter,
+            MeterRegistry meterRegistry) {
         this.loginRateLimiter = loginRateLimiter;
         this.forgotPasswordRateLimiter = forgotPasswordRateLimiter;
+        this.loginRejected = rejectedCounter(meterRegistry, loginRateLimiter);
+        this.forgotPasswordRejected = rejectedCounter(meterRegistry, forgotPasswordRateLimiter);
     }
     
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String path = request.getRequestURI();
-        String clientIp = getClientIp(request);
+        // URI включает context-path (/admin-api), сравниваем путь внутри приложения
+        String path = request.getRequestURI().substring(request.getContextPath().length());
         
         if (path.equals("/auth/login")) {
-            Bucket bucket = loginRateLimiter.computeIfAbsent(clientIp, k -> RateLimitingConfig.createLoginBucket());
-            if (!bucket.tryConsume(1)) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много запросов. Попробуйте позже.\"}");
-                return false;
-            }
+            return tryConsume(loginRateLimiter, loginRejected, request, response);
         } else if (path.equals("/auth/forgot-password")) {
-            Bucket bucket = forgotPasswordRateLimiter.computeIfAbsent(clientIp, k -> RateLimitingConfig.createForgotPasswordBucket());
-            if (!bucket.tryConsume(1)) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много запросов. Попробуйте позже.\"}");
-                return false;
-            }
+            return tryConsume(forgotPasswordRateLimiter, forgotPasswordRejected, request, response);
         }
         
         return true;
     }
     
+    private boolean tryConsume(RateLimitBucketStore limiter, Counter rejected,
+                               HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (!limiter.resolve(getClientIp(request)).tryConsume(1)) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много запросов. Попробуйте позже.\"}");
+            return false;
+        }
+        
+        return true;
+    }
+    
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, RateLimitBucketStore limiter) {
+        return Counter.builder("rate.limit.rejected")
+                .description("Запросы, отклоненные rate limiter'ом")
+                .tag("limiter", limiter.getName())
+                .register(meterRegistry);
+    }
+    
     private String getClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -61,4 +73,3 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
         return request.getRemoteAddr();
     }
 }
-
@@ -0,0 +1,131 @@
+package com.restohub.adminapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Чтение с реплики (read-replica.enabled=true): пулы primary (пулы классов нагрузки, WorkloadPoolsConfig)
+ * и реплики, над ними - маршрутизирующий DataSource, который используют JPA и Liquibase.
+ *
+ * На реплике нагрузка разделена так же, как на primary: у каждого класса свой пул (read-replica.*.hikari),
+ * а statement_timeout и лимит очереди берутся из workload-pools.*. Тяжелые отчеты не занимают соединения
+ * реплики, нужные чтениям API.
+ */
+@Configuration
+@ConditionalOnProperty(name = "read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private final DataSourceProperties properties;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    public ReadReplicaConfig(
+            DataSourceProperties properties,
+            @Value("${read-replica.url}") String url,
+            @Value("${read-replica.username:${spring.datasource.username:}}") String username,
+            @Value("${read-replica.password:${spring.datasource.password:}}") String password) {
+        this.properties = properties;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Bean
+    @ConfigurationProperties("read-replica.oltp.hikari")
+    public HikariDataSource replicaOltpDataSource(
+            @Value("${workload-pools.oltp.statement-timeout-ms:5000}") long statementTimeoutMs) {
+        return createPool(Workload.OLTP, statementTimeoutMs);
+    }
+
+    @Bean
+    @ConfigurationProperties("read-replica.reporting.hikari")
+    public HikariDataSource replicaReportingDataSource(
+            @Value("${workload-pools.reporting.statement-timeout-ms:60000}") long statementTimeoutMs) {
+        return createPool(Workload.REPORTING, statementTimeoutMs);
+    }
+
+    @Bean
+    @ConfigurationProperties("read-replica.background.hikari")
+    public HikariDataSource replicaBackgroundDataSource(
+            @Value("${workload-pools.background.statement-timeout-ms:300000}") long statementTimeoutMs) {
+        return createPool(Workload.BACKGROUND, statementTimeoutMs);
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource replicaWorkloadDataSource(
+            @Qualifier("replicaOltpDataSource") HikariDataSource oltpDataSource,
+            @Qualifier("replicaReportingDataSource") HikariDataSource reportingDataSource,
+            @Qualifier("replicaBackgroundDataSource") HikariDataSource backgroundDataSource,
+            @Value("${workload-pools.oltp.queue-limit:50}") int oltpQueueLimit,
+            @Value("${workload-pools.reporting.queue-limit:4}") int reportingQueueLimit,
+            @Value("${workload-pools.background.queue-limit:10}") int backgroundQueueLimit,
+            MeterRegistry meterRegistry) {
+        return new WorkloadRoutingDataSource("replica",
+                Map.of(Workload.OLTP, oltpDataSource,
+                        Workload.REPORTING, reportingDataSource,
+                        Workload.BACKGROUND, backgroundDataSource),
+                Map.of(Workload.OLTP, oltpQueueLimit,
+                        Workload.REPORTING, reportingQueueLimit,
+                        Workload.BACKGROUND, backgroundQueueLimit),
+                meterRegistry);
+    }
+
+    // Проверка отставания - короткий запрос раз в секунду, идет через пул OLTP реплики
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaOltpDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${read-replica.max-lag-ms:1000}") long maxLagMs,
+            @Value("${read-replica.lag-check-interval-ms:1000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLagMs, checkIntervalMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("workloadDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaWorkloadDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${read-replica.sticky-ms:5000}") long stickyMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private HikariDataSource createPool(Workload workload, long statementTimeoutMs) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica-" + workload.name().toLowerCase());
+        dataSource.setReadOnly(true);
+        WorkloadPoolsConfig.applyStatementTimeout(dataSource, url, statementTimeoutMs);
+        return dataSource;
+    }
+}
@@ -0,0 +1,98 @@
+package com.restohub.adminapi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes для чтения с реплики: после записи чтения идут на primary до конца запроса
+ * и еще stickyMs в последующих запросах того же клиента (cookie primary_sticky).
+ *
+ * Вне HTTP-запроса (планировщики) привязки нет: чтения read-only транзакций идут на реплику.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String STICKY_COOKIE = "primary_sticky";
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private final int stickySeconds;
+
+    public ReadYourWritesFilter(long stickyMs) {
+        this.stickySeconds = (int) Math.max(1, (stickyMs + 999) / 1000);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        STATE.set(new State(request, response, stickySeconds, hasStickyCookie(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            STATE.remove();
+        }
+    }
+
+    /**
+     * Чтения текущего запроса должны идти на primary.
+     */
+    public static boolean isStuckToPrimary() {
+        State state = STATE.get();
+        return state != null && state.stuck;
+    }
+
+    /**
+     * Запрос выполняет запись: дальнейшие чтения запроса и клиента привязываются к primary.
+     */
+    public static void recordWrite() {
+        State state = STATE.get();
+        if (state == null || state.written) {
+            return;
+        }
+        state.written = true;
+        state.stuck = true;
+        // Запись идет до отправки ответа, поэтому cookie еще можно выставить
+        if (!state.response.isCommitted()) {
+            Cookie cookie = new Cookie(STICKY_COOKIE, "1");
+            cookie.setPath(state.request.getContextPath().isEmpty() ? "/" : state.request.getContextPath());
+            cookie.setMaxAge(state.stickySeconds);
+            cookie.setHttpOnly(true);
+            state.response.addCookie(cookie);
+        }
+    }
+
+    private static boolean hasStickyCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (STICKY_COOKIE.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class State {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final int stickySeconds;
+        private boolean stuck;
+        private boolean written;
+
+        private State(HttpServletRequest request, HttpServletResponse response, int stickySeconds, boolean stuck) {
+            this.request = request;
+            this.response = response;
+            this.stickySeconds = stickySeconds;
+            this.stuck = stuck;
+        }
+    }
+}
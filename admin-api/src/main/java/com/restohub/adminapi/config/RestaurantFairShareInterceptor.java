@@ -0,0 +1,90 @@
+package com.restohub.adminapi.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Тяжелые операции ресторана (аналитика, экспорт, счета, массовые правки меню) выполняются
+ * через RestaurantFairShareScheduler: перегрузка одного ресторана не занимает потоки остальных.
+ * Ресторан определяется по пути /r/{id}, как в RestaurantAccessInterceptor.
+ */
+@Component
+public class RestaurantFairShareInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED_ATTRIBUTE = RestaurantFairShareInterceptor.class.getName() + ".restaurantId";
+
+    // Стоимость операции в очереди: первый совпавший шаблон
+    private static final Map<String, Integer> COSTS = new LinkedHashMap<>();
+
+    static {
+        COSTS.put("/r/*/analytics/export", 4);
+        COSTS.put("/r/*/analytics/**", 2);
+        COSTS.put("/r/*/subscriptions/*/invoice", 2);
+        COSTS.put("/r/*/subscriptions/*/paid-invoice", 2);
+        COSTS.put("/r/*/menu-item/reorder", 1);
+        COSTS.put("/r/*/*/*/image", 1);
+    }
+
+    private final RestaurantFairShareScheduler scheduler;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RestaurantFairShareInterceptor(RestaurantFairShareScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Шаблоны путей тяжелых операций для регистрации интерцептора.
+     */
+    public static String[] pathPatterns() {
+        return COSTS.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Long restaurantId = RestaurantAccessInterceptor.parseRestaurantId(request);
+        if (restaurantId == null) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String account = authentication != null ? authentication.getName() : null;
+        String rejection = scheduler.acquire(restaurantId, account, cost(request));
+        if (rejection != null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много тяжелых операций ресторана. Попробуйте позже.\"}");
+            return false;
+        }
+
+        request.setAttribute(ACQUIRED_ATTRIBUTE, restaurantId);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object restaurantId = request.getAttribute(ACQUIRED_ATTRIBUTE);
+        if (restaurantId != null) {
+            request.removeAttribute(ACQUIRED_ATTRIBUTE);
+            scheduler.release((Long) restaurantId);
+        }
+    }
+
+    private int cost(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Integer> entry : COSTS.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,239 @@
+package com.restohub.adminapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Справедливое распределение слотов тяжелых операций между ресторанами.
+ *
+ * Одновременно выполняется не больше maxConcurrent операций и не больше maxPerRestaurant на ресторан.
+ * Ожидающие упорядочены взвешенной справедливой очередью (start-time fair queueing): метка операции -
+ * max(виртуальное время, метка последней операции ресторана) + стоимость, освободившийся слот получает
+ * наименьшая метка. Всплеск одного ресторана увеличивает метки только его операций, остальные
+ * рестораны обслуживаются в своем темпе.
+ *
+ * Ожидающий запрос держит поток Tomcat, поэтому очередь ограничена на трех уровнях: ресторан
+ * (maxQueuedPerRestaurant), учетная запись (maxQueuedPerAccount - сеть с десятками филиалов обычно работает
+ * под одним менеджером) и инстанс целиком (maxQueued). Сверх лимита запрос сразу отклоняется.
+ */
+@Component
+public class RestaurantFairShareScheduler {
+
+    public static final String QUEUE_FULL = "queue_full";
+    public static final String ACCOUNT_QUEUE_FULL = "account_queue_full";
+    public static final String GLOBAL_QUEUE_FULL = "global_queue_full";
+    public static final String TIMEOUT = "timeout";
+
+    private final int maxConcurrent;
+    private final int maxPerRestaurant;
+    private final int maxQueuedPerRestaurant;
+    private final int maxQueuedPerAccount;
+    private final int maxQueued;
+    private final long maxWaitMs;
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+
+    private final Map<Long, Tenant> tenants = new HashMap<>();
+    private final Map<String, Integer> queuedByAccount = new HashMap<>();
+    private final TreeSet<Waiter> waiters = new TreeSet<>();
+    private int running;
+    private int queued;
+    private long virtualTime;
+    private long sequence;
+
+    @Autowired
+    public RestaurantFairShareScheduler(
+            @Value("${fair-share.max-concurrent:8}") int maxConcurrent,
+            @Value("${fair-share.max-per-restaurant:2}") int maxPerRestaurant,
+            @Value("${fair-share.max-queued-per-restaurant:4}") int maxQueuedPerRestaurant,
+            @Value("${fair-share.max-queued-per-account:8}") int maxQueuedPerAccount,
+            @Value("${fair-share.max-queued:16}") int maxQueued,
+            @Value("${fair-share.max-wait-ms:10000}") long maxWaitMs,
+            MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerRestaurant = maxPerRestaurant;
+        this.maxQueuedPerRestaurant = maxQueuedPerRestaurant;
+        this.maxQueuedPerAccount = maxQueuedPerAccount;
+        this.maxQueued = maxQueued;
+        this.maxWaitMs = maxWaitMs;
+        for (String reason : new String[]{QUEUE_FULL, ACCOUNT_QUEUE_FULL, GLOBAL_QUEUE_FULL, TIMEOUT}) {
+            rejectedCounters.put(reason, Counter.builder("fair_share.rejected")
+                    .description("Тяжелые операции, отклоненные из-за перегрузки ресторана")
+                    .tag("reason", reason)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("fair_share.running", this, scheduler -> scheduler.getRunning())
+                .description("Выполняющиеся тяжелые операции")
+                .register(meterRegistry);
+        Gauge.builder("fair_share.queued", this, scheduler -> scheduler.getQueued())
+                .description("Тяжелые операции в очереди")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Занимает слот для операции ресторана. Возвращает null при успехе или причину отказа
+     * (QUEUE_FULL, ACCOUNT_QUEUE_FULL, GLOBAL_QUEUE_FULL, TIMEOUT); занятый слот освобождается через release.
+     *
+     * @param account учетная запись, от имени которой выполняется запрос; null - без лимита по учетной записи
+     */
+    public String acquire(Long restaurantId, String account, int cost) throws InterruptedException {
+        Waiter waiter;
+        synchronized (this) {
+            Tenant tenant = tenants.computeIfAbsent(restaurantId, id -> new Tenant());
+            long startTag = Math.max(virtualTime, tenant.lastFinishTag);
+
+            // Свободный слот уже не нужен никому из очереди: ожидающие упираются в лимит своего ресторана
+            if (running < maxConcurrent && tenant.running < maxPerRestaurant) {
+                tenant.lastFinishTag = startTag + cost;
+                grant(tenant);
+                return null;
+            }
+            if (tenant.queued >= maxQueuedPerRestaurant) {
+                return reject(restaurantId, tenant, QUEUE_FULL);
+            }
+            if (account != null && queuedByAccount.getOrDefault(account, 0) >= maxQueuedPerAccount) {
+                return reject(restaurantId, tenant, ACCOUNT_QUEUE_FULL);
+            }
+            if (queued >= maxQueued) {
+                return reject(restaurantId, tenant, GLOBAL_QUEUE_FULL);
+            }
+
+            waiter = new Waiter(restaurantId, account, startTag, sequence++);
+            tenant.lastFinishTag = startTag + cost;
+            tenant.queued++;
+            queued++;
+            if (account != null) {
+                queuedByAccount.merge(account, 1, Integer::sum);
+            }
+            waiters.add(waiter);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            try {
+                while (!waiter.granted) {
+                    long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMs <= 0) {
+                        dequeue(waiter, tenant);
+                        return reject(restaurantId, tenant, TIMEOUT);
+                    }
+                    wait(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    release(restaurantId);
+                } else {
+                    dequeue(waiter, tenant);
+                    removeIfIdle(restaurantId, tenant);
+                }
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    public synchronized void release(Long restaurantId) {
+        Tenant tenant = tenants.get(restaurantId);
+        if (tenant == null || tenant.running == 0) {
+            return;
+        }
+        tenant.running--;
+        running--;
+        dispatch();
+        removeIfIdle(restaurantId, tenant);
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    private void dispatch() {
+        boolean granted = false;
+        Iterator<Waiter> iterator = waiters.iterator();
+        while (running < maxConcurrent && iterator.hasNext()) {
+            Waiter waiter = iterator.next();
+            Tenant tenant = tenants.get(waiter.restaurantId);
+            if (tenant.running >= maxPerRestaurant) {
+                continue;
+            }
+            iterator.remove();
+            unqueue(waiter, tenant);
+            virtualTime = Math.max(virtualTime, waiter.startTag);
+            waiter.granted = true;
+            grant(tenant);
+            granted = true;
+        }
+        if (granted) {
+            notifyAll();
+        }
+    }
+
+    private void grant(Tenant tenant) {
+        tenant.running++;
+        running++;
+    }
+
+    private void dequeue(Waiter waiter, Tenant tenant) {
+        waiters.remove(waiter);
+        unqueue(waiter, tenant);
+    }
+
+    private void unqueue(Waiter waiter, Tenant tenant) {
+        tenant.queued--;
+        queued--;
+        if (waiter.account != null) {
+            queuedByAccount.computeIfPresent(waiter.account, (account, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private String reject(Long restaurantId, Tenant tenant, String reason) {
+        removeIfIdle(restaurantId, tenant);
+        rejectedCounters.get(reason).increment();
+        return reason;
+    }
+
+    // Простаивающий ресторан не копит преимущество: следующая операция получит метку от текущего виртуального времени
+    private void removeIfIdle(Long restaurantId, Tenant tenant) {
+        if (tenant.running == 0 && tenant.queued == 0) {
+            tenants.remove(restaurantId);
+        }
+    }
+
+    private static final class Tenant {
+        private int running;
+        private int queued;
+        private long lastFinishTag;
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final Long restaurantId;
+        private final String account;
+        private final long startTag;
+        private final long sequence;
+        private boolean granted;
+
+        private Waiter(Long restaurantId, String account, long startTag, long sequence) {
+            this.restaurantId = restaurantId;
+            this.account = account;
+            this.startTag = startTag;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byTag = Long.compare(startTag, other.startTag);
+            return byTag != 0 ? byTag : Long.compare(sequence, other.sequence);
+        }
+    }
+}
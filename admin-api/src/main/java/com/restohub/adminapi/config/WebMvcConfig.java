@@ -14,12 +14,25 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitingInterceptor rateLimitingInterceptor;
     
+    @Autowired
+    private WorkloadInterceptor workloadInterceptor;
+    
+    @Autowired
+    private RestaurantFairShareInterceptor restaurantFairShareInterceptor;
+    
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // Первым: запросы к БД в следующих интерцепторах (промах кэша доступа) уже идут через пул REPORTING
+        registry.addInterceptor(workloadInterceptor)
+                .addPathPatterns("/r/*/analytics/**", "/analytics/**",
+                        "/r/*/subscriptions/*/invoice", "/r/*/subscriptions/*/paid-invoice");
         registry.addInterceptor(rateLimitingInterceptor)
                 .addPathPatterns("/auth/login", "/auth/forgot-password");
         registry.addInterceptor(restaurantAccessInterceptor)
                 .addPathPatterns("/r/**");
+        // После проверки доступа: запросы без доступа к ресторану не занимают его слоты
+        registry.addInterceptor(restaurantFairShareInterceptor)
+                .addPathPatterns(RestaurantFairShareInterceptor.pathPatterns());
     }
 }
 
@@ -0,0 +1,49 @@
+package com.restohub.adminapi.config;
+
+/**
+ * Класс нагрузки на БД: у каждого свой пул соединений, statement_timeout и лимит очереди
+ * (см. WorkloadPoolsConfig). Класс текущего потока выбирает пул в WorkloadRoutingDataSource.
+ */
+public enum Workload {
+
+    // Запросы API: бронирования, смена статусов, webhook WhatsApp
+    OLTP,
+    // Аналитика, экспорт, PDF-счета
+    REPORTING,
+    // Задачи планировщика
+    BACKGROUND;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : OLTP;
+    }
+
+    static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Задача, выполняющаяся в этом классе нагрузки (TaskDecorator пулов потоков).
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            Workload previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.restohub.adminapi.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Запросы аналитики, экспорта и PDF-счетов работают с БД через пул REPORTING.
+ */
+@Component
+public class WorkloadInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Workload.set(Workload.REPORTING);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Workload.clear();
+    }
+}
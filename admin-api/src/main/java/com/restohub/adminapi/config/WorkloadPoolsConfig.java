@@ -0,0 +1,126 @@
+package com.restohub.adminapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Отдельные пулы соединений для классов нагрузки (Workload): медленный отчет или экспорт
+ * не занимает соединения, нужные бронированиям и webhook WhatsApp.
+ *
+ * Для каждого класса задаются размер пула (workload-pools.*.hikari), statement_timeout и лимит очереди.
+ * Метрики насыщения - метрики Hikari с тегом pool (oltp, reporting, background)
+ * и db.workload.rejected.
+ */
+@Configuration
+public class WorkloadPoolsConfig {
+
+    private final DataSourceProperties properties;
+
+    public WorkloadPoolsConfig(DataSourceProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    @ConfigurationProperties("workload-pools.oltp.hikari")
+    public HikariDataSource oltpDataSource(
+            @Value("${workload-pools.oltp.statement-timeout-ms:5000}") long statementTimeoutMs) {
+        return createPool(Workload.OLTP, statementTimeoutMs);
+    }
+
+    @Bean
+    @ConfigurationProperties("workload-pools.reporting.hikari")
+    public HikariDataSource reportingDataSource(
+            @Value("${workload-pools.reporting.statement-timeout-ms:60000}") long statementTimeoutMs) {
+        return createPool(Workload.REPORTING, statementTimeoutMs);
+    }
+
+    @Bean
+    @ConfigurationProperties("workload-pools.background.hikari")
+    public HikariDataSource backgroundDataSource(
+            @Value("${workload-pools.background.statement-timeout-ms:300000}") long statementTimeoutMs) {
+        return createPool(Workload.BACKGROUND, statementTimeoutMs);
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource workloadDataSource(
+            @Qualifier("oltpDataSource") HikariDataSource oltpDataSource,
+            @Qualifier("reportingDataSource") HikariDataSource reportingDataSource,
+            @Qualifier("backgroundDataSource") HikariDataSource backgroundDataSource,
+            @Value("${workload-pools.oltp.queue-limit:50}") int oltpQueueLimit,
+            @Value("${workload-pools.reporting.queue-limit:4}") int reportingQueueLimit,
+            @Value("${workload-pools.background.queue-limit:10}") int backgroundQueueLimit,
+            MeterRegistry meterRegistry) {
+        return new WorkloadRoutingDataSource(
+                Map.of(Workload.OLTP, oltpDataSource,
+                        Workload.REPORTING, reportingDataSource,
+                        Workload.BACKGROUND, backgroundDataSource),
+                Map.of(Workload.OLTP, oltpQueueLimit,
+                        Workload.REPORTING, reportingQueueLimit,
+                        Workload.BACKGROUND, backgroundQueueLimit),
+                meterRegistry);
+    }
+
+    // С read-replica.enabled основной DataSource - маршрутизация на реплику поверх workloadDataSource (ReadReplicaConfig)
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "read-replica.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(@Qualifier("workloadDataSource") WorkloadRoutingDataSource workloadDataSource) {
+        return new DelegatingDataSource(workloadDataSource);
+    }
+
+    /**
+     * С open-in-view сессия по умолчанию держит соединение до конца запроса: пул (и реплика, ReadReplicaConfig)
+     * выбирался бы один раз по первому запросу к базе. Соединение отпускается после каждой транзакции,
+     * и следующая транзакция маршрутизируется заново.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Миграции выполняются без statement_timeout пулов (построение индексов и т.п. может идти долго)
+    @Bean
+    @LiquibaseDataSource
+    public DataSource liquibaseDataSource() {
+        return properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+    }
+
+    // Задачи @Scheduled выполняются в пуле BACKGROUND: класс задается потокам планировщика целиком
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer backgroundWorkloadSchedulerCustomizer() {
+        return scheduler -> scheduler.setThreadFactory(task -> scheduler.newThread(Workload.BACKGROUND.wrap(task)));
+    }
+
+    private HikariDataSource createPool(Workload workload, long statementTimeoutMs) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(workload.name().toLowerCase());
+        applyStatementTimeout(dataSource, properties.determineUrl(), statementTimeoutMs);
+        return dataSource;
+    }
+
+    static void applyStatementTimeout(HikariDataSource dataSource, String url, long statementTimeoutMs) {
+        // statement_timeout - настройка PostgreSQL; на H2 в тестах не задается
+        if (url != null && url.startsWith("jdbc:postgresql:")) {
+            dataSource.setConnectionInitSql("SET statement_timeout = " + statementTimeoutMs);
+        }
+    }
+}
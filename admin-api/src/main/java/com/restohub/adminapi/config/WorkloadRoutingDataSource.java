@@ -0,0 +1,83 @@
+package com.restohub.adminapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Соединения из пула класса нагрузки текущего потока (Workload.current()).
+ *
+ * Если соединения пула уже ждут больше queueLimit потоков, новый запрос отклоняется сразу
+ * с WORKLOAD_QUEUE_FULL, а не ждет connection-timeout пула.
+ * Такой источник есть и у primary, и у реплики (target в метриках - primary или replica).
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String WORKLOAD_QUEUE_FULL = "WORKLOAD_QUEUE_FULL";
+
+    private final Map<Workload, HikariDataSource> pools;
+    private final Map<Workload, Integer> queueLimits;
+    private final Map<Workload, Counter> rejectedCounters = new EnumMap<>(Workload.class);
+
+    public WorkloadRoutingDataSource(
+            Map<Workload, HikariDataSource> pools,
+            Map<Workload, Integer> queueLimits,
+            MeterRegistry meterRegistry) {
+        this("primary", pools, queueLimits, meterRegistry);
+    }
+
+    public WorkloadRoutingDataSource(
+            String target,
+            Map<Workload, HikariDataSource> pools,
+            Map<Workload, Integer> queueLimits,
+            MeterRegistry meterRegistry) {
+        this.pools = new EnumMap<>(pools);
+        this.queueLimits = new EnumMap<>(queueLimits);
+        for (Workload workload : Workload.values()) {
+            rejectedCounters.put(workload, Counter.builder("db.workload.rejected")
+                    .description("Запросы соединения, отклоненные из-за переполненной очереди пула")
+                    .tag("workload", workload.name().toLowerCase())
+                    .tag("target", target)
+                    .register(meterRegistry));
+        }
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.OLTP));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkQueue();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        checkQueue();
+        return super.getConnection(username, password);
+    }
+
+    private void checkQueue() throws SQLException {
+        Workload workload = Workload.current();
+        // Пул создается при первом соединении
+        HikariPoolMXBean pool = pools.get(workload).getHikariPoolMXBean();
+        if (pool != null && pool.getThreadsAwaitingConnection() >= queueLimits.get(workload)) {
+            rejectedCounters.get(workload).increment();
+            throw new SQLTransientConnectionException(WORKLOAD_QUEUE_FULL);
+        }
+    }
+}
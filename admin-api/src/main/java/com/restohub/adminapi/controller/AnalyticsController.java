@@ -48,19 +48,31 @@ public class AnalyticsController {
     public ResponseEntity<ClientAnalyticsResponse> getClientAnalytics(
             @PathVariable("id") Long restaurantId,
             @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
-            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(value = "exact", defaultValue = "true") boolean exact) {
         
-        ClientAnalyticsResponse response = analyticsService.getClientAnalytics(restaurantId, dateFrom, dateTo);
+        ClientAnalyticsResponse response = analyticsService.getClientAnalytics(restaurantId, dateFrom, dateTo, exact);
         return ResponseEntity.ok(response);
     }
     
     @GetMapping("/overview")
     public ResponseEntity<AnalyticsOverviewResponse> getOverview(
+            @PathVariable("id") Long restaurantId,
+            @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(value = "exact", defaultValue = "true") boolean exact) {
+        
+        AnalyticsOverviewResponse response = analyticsService.getOverview(restaurantId, dateFrom, dateTo, exact);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/clicks")
+    public ResponseEntity<ClickAnalyticsResponse> getClickAnalytics(
             @PathVariable("id") Long restaurantId,
             @RequestParam(value = "dateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
             @RequestParam(value = "dateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
         
-        AnalyticsOverviewResponse response = analyticsService.getOverview(restaurantId, dateFrom, dateTo);
+        ClickAnalyticsResponse response = analyticsService.getClickAnalytics(restaurantId, dateFrom, dateTo);
         return ResponseEntity.ok(response);
     }
     
@@ -32,10 +32,11 @@ public class BookingController {
             @RequestParam(value = "tableId", required = false) Long tableId,
             @RequestParam(value = "clientPhone", required = false) String clientPhone,
             @RequestParam(value = "sortBy", defaultValue = "bookingDate") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "desc") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "desc") String sortOrder,
+            @RequestParam(value = "after", required = false) String after) {
         
         PaginationResponse<List<BookingListItemResponse>> response = bookingService.getBookings(
-                restaurantId, limit, offset, statusCode, dateFrom, dateTo, tableId, clientPhone, sortBy, sortOrder);
+                restaurantId, limit, offset, statusCode, dateFrom, dateTo, tableId, clientPhone, sortBy, sortOrder, after);
         return ResponseEntity.ok(response);
     }
     
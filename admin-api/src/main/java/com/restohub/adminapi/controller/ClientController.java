@@ -26,10 +26,11 @@ public class ClientController {
             @RequestParam(value = "offset", defaultValue = "0") Integer offset,
             @RequestParam(value = "search", required = false) String search,
             @RequestParam(value = "sortBy", defaultValue = "lastBookingDate") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "desc") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "desc") String sortOrder,
+            @RequestParam(value = "after", required = false) String after) {
         
         PaginationResponse<List<ClientListItemResponse>> response = clientService.getClients(
-                restaurantId, limit, offset, search, sortBy, sortOrder);
+                restaurantId, limit, offset, search, sortBy, sortOrder, after);
         return ResponseEntity.ok(response);
     }
     
@@ -47,10 +47,11 @@ public class MenuItemController {
             @RequestParam(value = "isActive", required = false) Boolean isActive,
             @RequestParam(value = "search", required = false) String search,
             @RequestParam(value = "sortBy", defaultValue = "displayOrder") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "asc") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "asc") String sortOrder,
+            @RequestParam(value = "after", required = false) String after) {
         
         PaginationResponse<List<MenuItemListItemResponse>> response = menuItemService.getMenuItems(
-                restaurantId, limit, offset, menuCategoryId, isActive, search, sortBy, sortOrder);
+                restaurantId, limit, offset, menuCategoryId, isActive, search, sortBy, sortOrder, after);
         return ResponseEntity.ok(response);
     }
     
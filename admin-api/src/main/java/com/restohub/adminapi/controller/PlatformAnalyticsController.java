@@ -0,0 +1,36 @@
+package com.restohub.adminapi.controller;
+
+import com.restohub.adminapi.dto.DishAnalyticsResponse;
+import com.restohub.adminapi.dto.MessageResponse;
+import com.restohub.adminapi.service.DishAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/analytics")
+public class PlatformAnalyticsController {
+    
+    private final DishAnalyticsService dishAnalyticsService;
+    
+    @Autowired
+    public PlatformAnalyticsController(DishAnalyticsService dishAnalyticsService) {
+        this.dishAnalyticsService = dishAnalyticsService;
+    }
+    
+    @GetMapping("/dishes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DishAnalyticsResponse> getDishAnalytics(
+            @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+        DishAnalyticsResponse response = dishAnalyticsService.getDishAnalytics(Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/dishes/recalculate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> recalculateDishAnalytics() {
+        int dishes = dishAnalyticsService.recalculate();
+        return ResponseEntity.ok(new MessageResponse("Статистика блюд пересчитана: " + dishes));
+    }
+}
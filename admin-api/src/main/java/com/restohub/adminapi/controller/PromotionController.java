@@ -47,11 +47,12 @@ public class PromotionController {
             @RequestParam(value = "endDateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
             @RequestParam(value = "isCurrent", required = false) Boolean isCurrent,
             @RequestParam(value = "sortBy", defaultValue = "startDate") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "desc") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "desc") String sortOrder,
+            @RequestParam(value = "after", required = false) String after) {
         
         PaginationResponse<List<PromotionListItemResponse>> response = promotionService.getPromotions(
                 restaurantId, limit, offset, promotionTypeId, isActive,
-                startDateFrom, startDateTo, endDateFrom, endDateTo, isCurrent, sortBy, sortOrder);
+                startDateFrom, startDateTo, endDateFrom, endDateTo, isCurrent, sortBy, sortOrder, after);
         return ResponseEntity.ok(response);
     }
     
@@ -141,10 +141,11 @@ public class SubscriptionController {
             @RequestParam(value = "subscriptionTypeId", required = false) Long subscriptionTypeId,
             @RequestParam(value = "expiringSoon", required = false) Boolean expiringSoon,
             @RequestParam(value = "sortBy", defaultValue = "endDate") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "asc") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "asc") String sortOrder,
+            @RequestParam(value = "after", required = false) String after) {
         
         PaginationResponse<List<SubscriptionListItemResponse>> response = subscriptionService.getAllSubscriptions(
-                limit, offset, isActive, restaurantId, subscriptionTypeId, expiringSoon, sortBy, sortOrder);
+                limit, offset, isActive, restaurantId, subscriptionTypeId, expiringSoon, sortBy, sortOrder, after);
         return ResponseEntity.ok(response);
     }
 }
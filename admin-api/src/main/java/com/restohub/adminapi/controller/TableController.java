@@ -47,10 +47,11 @@ public class TableController {
             @RequestParam(value = "minCapacity", required = false) Integer minCapacity,
             @RequestParam(value = "maxCapacity", required = false) Integer maxCapacity,
             @RequestParam(value = "sortBy", defaultValue = "tableNumber") String sortBy,
-            @RequestParam(value = "sortOrder", defaultValue = "asc") String sortOrder) {
+            @RequestParam(value = "sortOrder", defaultValue = "asc") String sortOrder,
+            @RequestParam(value = "after", required = false) String after) {
         
         PaginationResponse<List<TableListItemResponse>> response = tableService.getTables(
-                restaurantId, limit, offset, roomId, floorId, minCapacity, maxCapacity, sortBy, sortOrder);
+                restaurantId, limit, offset, roomId, floorId, minCapacity, maxCapacity, sortBy, sortOrder, after);
         return ResponseEntity.ok(response);
     }
     
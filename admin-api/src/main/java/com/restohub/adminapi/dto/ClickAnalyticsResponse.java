@@ -0,0 +1,30 @@
+package com.restohub.adminapi.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ClickAnalyticsResponse {
+    private Long restaurantId;
+    private Period period;
+    private Long total;
+    private Map<String, Long> byType;
+    private List<TopTarget> topTargets;
+    
+    @Data
+    public static class Period {
+        private LocalDate dateFrom;
+        private LocalDate dateTo;
+    }
+    
+    @Data
+    public static class TopTarget {
+        private String eventType;
+        private Long targetId;
+        private String targetValue;
+        private Long count;
+    }
+}
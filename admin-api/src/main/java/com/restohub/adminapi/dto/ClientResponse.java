@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 
 @Data
 public class ClientResponse {
@@ -26,6 +27,17 @@ public class ClientResponse {
         private Long favoriteMenuItemId;
         private String favoriteMenuItemName;
         private BigDecimal averagePreOrderAmount;
+        // Статистика в этом ресторане
+        private Integer bookingCount;
+        private Integer visitCount;
+        private Integer cancelledCount;
+        private Double cancelRate;
+        private Double averageDaysBetweenBookings;
+        private Integer preOrderCount;
+        private BigDecimal totalPreOrderAmount;
+        private LocalDate firstBookingDate;
+        private LocalDate lastBookingDate;
+        private LocalDate lastVisitDate;
     }
 }
 
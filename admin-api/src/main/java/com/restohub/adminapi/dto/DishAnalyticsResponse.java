@@ -0,0 +1,36 @@
+package com.restohub.adminapi.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class DishAnalyticsResponse {
+    private LocalDateTime calculatedAt;
+    private List<TopDish> topDishes;
+    private List<GroupStats> priceBands;
+    private List<GroupStats> categories;
+    
+    @Data
+    public static class TopDish {
+        private Long menuItemId;
+        private String menuItemName;
+        private Long restaurantId;
+        private String restaurantName;
+        private String menuCategoryName;
+        private BigDecimal price;
+        private Long orderCount;
+        private Long quantity;
+        private BigDecimal revenue;
+    }
+    
+    @Data
+    public static class GroupStats {
+        private String name;
+        private Long dishCount;
+        private Long quantity;
+        private BigDecimal revenue;
+    }
+}
@@ -19,6 +19,12 @@ public class PaginationResponse<T> {
         private Integer limit;
         private Integer offset;
         private Boolean hasMore;
+        // Курсор следующей страницы в keyset-режиме (параметр after)
+        private String nextCursor;
+        
+        public PaginationInfo(Long total, Integer limit, Integer offset, Boolean hasMore) {
+            this(total, limit, offset, hasMore, null);
+        }
     }
 }
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -53,6 +54,13 @@ public class Booking {
     @Column(name = "whatsapp_message_id")
     private String whatsappMessageId;
     
+    // Сумма и число позиций предзаказа (booking_pre_orders), обновляются вместе с позициями
+    @Column(name = "pre_order_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal preOrderTotal = BigDecimal.ZERO;
+    
+    @Column(name = "pre_order_item_count", nullable = false)
+    private Integer preOrderItemCount = 0;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,41 @@
+package com.restohub.adminapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие взаимодействия гостя со страницей ресторана. Пишется пачками из client-api,
+ * в admin-api только читается для аналитики.
+ */
+@Entity
+@Table(name = "click_events")
+@Immutable
+@Getter
+@Setter
+public class ClickEvent {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+    
+    @Column(name = "target_id")
+    private Long targetId;
+    
+    @Column(name = "target_value", length = 100)
+    private String targetValue;
+    
+    @Column(name = "session_id", length = 64)
+    private String sessionId;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -19,6 +19,10 @@ public class Client {
     @Column(name = "phone", unique = true, nullable = false, length = 50)
     private String phone;
     
+    // Только цифры телефона, вычисляется в БД - по нему работает поиск по части номера
+    @Column(name = "phone_digits", insertable = false, updatable = false, length = 50)
+    private String phoneDigits;
+    
     @Column(name = "first_name")
     private String firstName;
     
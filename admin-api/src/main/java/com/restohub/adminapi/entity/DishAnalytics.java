@@ -0,0 +1,59 @@
+package com.restohub.adminapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Предрасчитанная статистика продаж блюда по всей платформе.
+ * Таблица полностью пересобирается задачей DishAnalyticsScheduler.
+ */
+@Entity
+@Table(name = "dish_analytics")
+@Getter
+@Setter
+public class DishAnalytics {
+    
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "restaurant_name", nullable = false)
+    private String restaurantName;
+    
+    @Column(name = "menu_category_id", nullable = false)
+    private Long menuCategoryId;
+    
+    @Column(name = "menu_category_name", nullable = false)
+    private String menuCategoryName;
+    
+    @Column(name = "menu_item_name", nullable = false)
+    private String menuItemName;
+    
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    @Column(name = "price_band_index", nullable = false)
+    private Integer priceBandIndex;
+    
+    @Column(name = "price_band", nullable = false, length = 50)
+    private String priceBand;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+    
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+    
+    @Column(name = "revenue", nullable = false, precision = 16, scale = 2)
+    private BigDecimal revenue;
+    
+    @Column(name = "calculated_at", nullable = false)
+    private LocalDateTime calculatedAt;
+}
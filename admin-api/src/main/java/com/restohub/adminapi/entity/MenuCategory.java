@@ -1,10 +1,15 @@
 package com.restohub.adminapi.entity;
 
+import com.restohub.adminapi.config.ReferenceDataCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCacheConfig.REGION)
 @Table(name = "menu_categories")
 @Getter
 @Setter
@@ -0,0 +1,67 @@
+package com.restohub.adminapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Статистика клиента в конкретном ресторане. Пересчитывается по бронированиям пары (ресторан, клиент)
+ * при их изменении, карточка гостя читает одну строку вместо истории бронирований ресторана.
+ */
+@Entity
+@Table(name = "restaurant_clients")
+@Getter
+@Setter
+public class RestaurantClient {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+    
+    @Column(name = "booking_count", nullable = false)
+    private Integer bookingCount = 0;
+    
+    // Подтвержденные бронирования
+    @Column(name = "visit_count", nullable = false)
+    private Integer visitCount = 0;
+    
+    @Column(name = "cancelled_count", nullable = false)
+    private Integer cancelledCount = 0;
+    
+    @Column(name = "pre_order_count", nullable = false)
+    private Integer preOrderCount = 0;
+    
+    @Column(name = "pre_order_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal preOrderTotal = BigDecimal.ZERO;
+    
+    @Column(name = "person_total", nullable = false)
+    private Integer personTotal = 0;
+    
+    @Column(name = "first_booking_date")
+    private LocalDate firstBookingDate;
+    
+    @Column(name = "last_booking_date")
+    private LocalDate lastBookingDate;
+    
+    @Column(name = "last_visit_date")
+    private LocalDate lastVisitDate;
+    
+    @Column(name = "favorite_table_id")
+    private Long favoriteTableId;
+    
+    @Column(name = "favorite_menu_item_id")
+    private Long favoriteMenuItemId;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.restohub.adminapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Дневная статистика ресторана. client_sketch - HyperLogLog-скетч ID клиентов за день,
+ * скетчи нескольких дней объединяются для приближенного подсчета уникальных гостей за период.
+ */
+@Entity
+@Table(name = "restaurant_daily_stats")
+@Getter
+@Setter
+public class RestaurantDailyStats {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+    
+    @Column(name = "booking_count", nullable = false)
+    private Integer bookingCount = 0;
+    
+    @Column(name = "client_count", nullable = false)
+    private Integer clientCount = 0;
+    
+    @Column(name = "client_sketch", nullable = false, columnDefinition = "BYTEA")
+    private byte[] clientSketch;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
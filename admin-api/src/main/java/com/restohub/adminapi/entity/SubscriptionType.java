@@ -1,12 +1,17 @@
 package com.restohub.adminapi.entity;
 
+import com.restohub.adminapi.config.ReferenceDataCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCacheConfig.REGION)
 @Table(name = "subscription_types")
 @Getter
 @Setter
@@ -0,0 +1,14 @@
+package com.restohub.adminapi.event;
+
+import java.time.LocalDate;
+
+/**
+ * Событие изменения бронирования или его предзаказа.
+ * Публикуется сервисами внутри транзакции, слушатели получают его после коммита.
+ *
+ * @param restaurantId ID ресторана бронирования
+ * @param bookingId ID бронирования
+ * @param date дата бронирования
+ */
+public record BookingChangedEvent(Long restaurantId, Long bookingId, LocalDate date) {
+}
@@ -0,0 +1,15 @@
+package com.restohub.adminapi.event;
+
+/**
+ * Событие изменения данных, закэшированных в client-api.
+ * Публикуется сервисами внутри транзакции; CacheInvalidationPublisher отправляет его в PostgreSQL NOTIFY,
+ * и client-api получает уведомление только после коммита.
+ *
+ * @param entityType тип измененной сущности (ENTITY_*)
+ * @param restaurantId ID ресторана
+ */
+public record CacheInvalidationEvent(String entityType, Long restaurantId) {
+    
+    public static final String ENTITY_RESTAURANT = "restaurant";
+    public static final String ENTITY_SUBSCRIPTION = "subscription";
+}
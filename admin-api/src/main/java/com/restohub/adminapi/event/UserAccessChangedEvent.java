@@ -0,0 +1,10 @@
+package com.restohub.adminapi.event;
+
+/**
+ * Событие изменения доступа пользователя: связи с ресторанами, активность или email.
+ * Публикуется сервисами внутри транзакции, слушатели получают его после коммита.
+ *
+ * @param email email пользователя
+ */
+public record UserAccessChangedEvent(String email) {
+}
@@ -1,8 +1,10 @@
 package com.restohub.adminapi.exception;
 
+import com.restohub.adminapi.config.WorkloadRoutingDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +28,12 @@ public class GlobalExceptionHandler {
         String exceptionName = e.getMessage();
         String traceId = MDC.get("traceId");
         
+        // Переполнена очередь пула класса нагрузки: исключение JDBC приходит обернутым в исключение JPA
+        if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLTransientConnectionException cause &&
+            WorkloadRoutingDataSource.WORKLOAD_QUEUE_FULL.equals(cause.getMessage())) {
+            exceptionName = WorkloadRoutingDataSource.WORKLOAD_QUEUE_FULL;
+        }
+        
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
         
         // Определяем статус на основе exceptionName
@@ -64,6 +73,7 @@ public class GlobalExceptionHandler {
                    "BOOKING_STATUS_CODE_EXISTS".equals(exceptionName) ||
                    "BOOKING_STATUS_IN_USE".equals(exceptionName) ||
                    "INVALID_DATE_RANGE".equals(exceptionName) ||
+                   "INVALID_CURSOR".equals(exceptionName) ||
                    "RECURRENCE_TYPE_REQUIRED".equals(exceptionName) ||
                    "INVALID_RECURRENCE_TYPE".equals(exceptionName) ||
                    "RECURRENCE_DAY_OF_WEEK_REQUIRED".equals(exceptionName) ||
@@ -102,6 +112,10 @@ public class GlobalExceptionHandler {
                    "ROLE_NOT_FOUND".equals(exceptionName) ||
                    "PRE_ORDER_NOT_FOUND".equals(exceptionName)) {
             status = HttpStatus.NOT_FOUND;
+        } else if ("DISH_ANALYTICS_IN_PROGRESS".equals(exceptionName)) {
+            status = HttpStatus.CONFLICT;
+        } else if ("WORKLOAD_QUEUE_FULL".equals(exceptionName)) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
         }
         
         // Логируем ошибки аутентификации на уровне WARN без полного стектрейса,
@@ -113,6 +127,8 @@ public class GlobalExceptionHandler {
             "REFRESH_TOKEN_EXPIRED".equals(exceptionName) ||
             "UNAUTHORIZED".equals(exceptionName)) {
             logger.warn("Authentication error: {}", exceptionName);
+        } else if ("WORKLOAD_QUEUE_FULL".equals(exceptionName)) {
+            logger.warn("Database pool queue is full: {}", e.getMessage());
         } else {
             logger.error("Exception: {}", exceptionName, e);
         }
@@ -252,6 +268,8 @@ public class GlobalExceptionHandler {
             case "TABLE_POSITIONS_INTERSECT" -> "Позиции столов пересекаются";
             case "TABLE_NOT_IN_ROOM" -> "Стол не принадлежит указанному залу";
             case "NO_ACTIVE_SUBSCRIPTION" -> "Нельзя активировать ресторан без активной подписки";
+            case "DISH_ANALYTICS_IN_PROGRESS" -> "Пересчет статистики блюд уже выполняется";
+            case "WORKLOAD_QUEUE_FULL" -> "Сервис перегружен, повторите запрос позже";
             default -> "Произошла ошибка";
         };
     }
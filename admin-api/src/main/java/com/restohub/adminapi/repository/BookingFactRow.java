@@ -0,0 +1,17 @@
+package com.restohub.adminapi.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция бронирования для аналитики (без загрузки сущностей и связей).
+ */
+public record BookingFactRow(
+        Long id,
+        LocalDate date,
+        Long tableId,
+        Long bookingStatusId,
+        Integer personCount,
+        Long clientId,
+        LocalDateTime updatedAt) {
+}
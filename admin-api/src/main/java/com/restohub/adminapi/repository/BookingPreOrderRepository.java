@@ -1,13 +1,41 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.BookingPreOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingPreOrderRepository extends JpaRepository<BookingPreOrder, Long> {
     List<BookingPreOrder> findByBookingId(Long bookingId);
+    
+    List<BookingPreOrder> findByBookingIdInOrderById(Collection<Long> bookingIds);
+    
+    @Query("SELECT new com.restohub.adminapi.repository.PreOrderFactRow(p.id, p.booking.id, p.menuItem.id, p.quantity, p.totalPrice) " +
+           "FROM BookingPreOrder p WHERE p.booking.restaurant.id = :restaurantId ORDER BY p.id")
+    List<PreOrderFactRow> findFactsByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    @Query("SELECT new com.restohub.adminapi.repository.PreOrderFactRow(p.id, p.booking.id, p.menuItem.id, p.quantity, p.totalPrice) " +
+           "FROM BookingPreOrder p WHERE p.booking.id IN :bookingIds ORDER BY p.id")
+    List<PreOrderFactRow> findFactsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+    
+    // Keyset-пагинация по id для пакетного обхода всех предзаказов платформы; предзаказы отмененных
+    // и отклоненных бронирований продажами не считаются
+    @Query("SELECT new com.restohub.adminapi.repository.DishSaleRow(p.id, m.restaurant.id, m.id, p.quantity, p.totalPrice) " +
+           "FROM BookingPreOrder p JOIN p.menuItem m JOIN p.booking b JOIN b.bookingStatus s " +
+           "WHERE p.id > :afterId AND s.code NOT IN ('CANCELLED', 'REJECTED') ORDER BY p.id")
+    List<DishSaleRow> findDishSalesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+    
+    Page<BookingPreOrder> findByBookingRestaurantIdAndBookingClientId(Long restaurantId, Long clientId, Pageable pageable);
+    
+    // Блюда клиента в порядке убывания частоты заказа
+    @Query("SELECT p.menuItem.id FROM BookingPreOrder p WHERE p.booking.restaurant.id = :restaurantId AND p.booking.client.id = :clientId " +
+           "GROUP BY p.menuItem.id ORDER BY COUNT(p) DESC, p.menuItem.id")
+    List<Long> findTopMenuItemIds(@Param("restaurantId") Long restaurantId, @Param("clientId") Long clientId, Pageable pageable);
 }
-
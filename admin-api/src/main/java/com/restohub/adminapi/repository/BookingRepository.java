@@ -1,21 +1,75 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.Booking;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
+    // План выборки для списка: связи, которые читает маппер, загружаются тем же запросом
+    @Override
+    @EntityGraph(attributePaths = {"table", "bookingStatus"})
+    Page<Booking> findAll(Specification<Booking> spec, Pageable pageable);
+    
     List<Booking> findByRestaurantId(Long restaurantId);
     List<Booking> findByClientId(Long clientId);
     Optional<Booking> findById(Long id);
     
     @Query("SELECT b FROM Booking b JOIN b.table t JOIN t.room r JOIN r.floor f WHERE b.id = :bookingId AND f.restaurant.id = :restaurantId")
     Optional<Booking> findByIdAndRestaurantId(@Param("bookingId") Long bookingId, @Param("restaurantId") Long restaurantId);
+    
+    @Query("SELECT new com.restohub.adminapi.repository.BookingFactRow(b.id, b.date, b.table.id, b.bookingStatus.id, b.personCount, c.id, b.updatedAt) " +
+           "FROM Booking b LEFT JOIN b.client c WHERE b.restaurant.id = :restaurantId AND b.updatedAt >= :since ORDER BY b.id")
+    List<BookingFactRow> findFactsByRestaurantIdUpdatedSince(@Param("restaurantId") Long restaurantId, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT DISTINCT new com.restohub.adminapi.repository.RestaurantDayRow(b.restaurant.id, b.date) " +
+           "FROM Booking b WHERE b.updatedAt >= :since")
+    List<RestaurantDayRow> findRestaurantDaysUpdatedSince(@Param("since") LocalDateTime since);
+    
+    // ID клиента для каждого бронирования дня (null - бронирование без клиента)
+    @Query("SELECT c.id FROM Booking b LEFT JOIN b.client c WHERE b.restaurant.id = :restaurantId AND b.date = :date")
+    List<Long> findClientIdsByRestaurantIdAndDate(@Param("restaurantId") Long restaurantId, @Param("date") LocalDate date);
+    
+    // Число клиентов с несколькими бронированиями за период: считается в базе, без выборки id
+    @Query(value = "SELECT COUNT(*) FROM (SELECT b.client_id FROM bookings b WHERE b.restaurant_id = :restaurantId " +
+                   "AND b.date BETWEEN :dateFrom AND :dateTo AND b.client_id IS NOT NULL " +
+                   "GROUP BY b.client_id HAVING COUNT(*) > 1) repeat_clients", nativeQuery = true)
+    long countRepeatClients(@Param("restaurantId") Long restaurantId,
+                            @Param("dateFrom") LocalDate dateFrom,
+                            @Param("dateTo") LocalDate dateTo);
+    
+    @Query("SELECT b.client.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findClientIdById(@Param("bookingId") Long bookingId);
+    
+    Page<Booking> findByRestaurantIdAndClientId(Long restaurantId, Long clientId, Pageable pageable);
+    
+    @Query("SELECT DISTINCT new com.restohub.adminapi.repository.RestaurantClientRow(b.restaurant.id, b.client.id) " +
+           "FROM Booking b WHERE b.client IS NOT NULL AND b.updatedAt >= :since")
+    List<RestaurantClientRow> findRestaurantClientsUpdatedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT new com.restohub.adminapi.repository.ClientBookingStatsRow(COUNT(b), " +
+           "SUM(CASE WHEN s.code = 'APPROVED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.code = 'CANCELLED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.preOrderItemCount > 0 THEN 1 ELSE 0 END), " +
+           "SUM(b.preOrderTotal), SUM(b.personCount), MIN(b.date), MAX(b.date), " +
+           "MAX(CASE WHEN s.code = 'APPROVED' THEN b.date ELSE NULL END)) " +
+           "FROM Booking b JOIN b.bookingStatus s WHERE b.restaurant.id = :restaurantId AND b.client.id = :clientId")
+    ClientBookingStatsRow findClientStats(@Param("restaurantId") Long restaurantId, @Param("clientId") Long clientId);
+    
+    // Столы клиента в порядке убывания частоты
+    @Query("SELECT b.table.id FROM Booking b WHERE b.restaurant.id = :restaurantId AND b.client.id = :clientId " +
+           "GROUP BY b.table.id ORDER BY COUNT(b) DESC, b.table.id")
+    List<Long> findTopTableIds(@Param("restaurantId") Long restaurantId, @Param("clientId") Long clientId, Pageable pageable);
 }
@@ -1,8 +1,11 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +13,11 @@ import java.util.Optional;
 
 @Repository
 public interface BookingStatusRepository extends JpaRepository<BookingStatus, Long>, JpaSpecificationExecutor<BookingStatus> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<BookingStatus> findByIsActiveTrueOrderByDisplayOrderAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BookingStatus> findByIdAndIsActiveTrue(Long id);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BookingStatus> findByCodeAndIsActiveTrue(String code);
 }
 
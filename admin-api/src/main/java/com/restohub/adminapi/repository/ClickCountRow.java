@@ -0,0 +1,7 @@
+package com.restohub.adminapi.repository;
+
+/**
+ * Количество кликов по типу события и цели.
+ */
+public record ClickCountRow(String eventType, Long targetId, String targetValue, Long count) {
+}
@@ -0,0 +1,22 @@
+package com.restohub.adminapi.repository;
+
+import com.restohub.adminapi.entity.ClickEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClickEventRepository extends JpaRepository<ClickEvent, Long> {
+    
+    // Условие по occurred_at позволяет PostgreSQL читать только партиции нужных месяцев
+    @Query("SELECT new com.restohub.adminapi.repository.ClickCountRow(e.eventType, e.targetId, e.targetValue, COUNT(e)) " +
+           "FROM ClickEvent e WHERE e.restaurantId = :restaurantId AND e.occurredAt >= :from AND e.occurredAt < :to " +
+           "GROUP BY e.eventType, e.targetId, e.targetValue")
+    List<ClickCountRow> countByRestaurantIdAndPeriod(@Param("restaurantId") Long restaurantId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,19 @@
+package com.restohub.adminapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Агрегаты бронирований клиента в ресторане.
+ */
+public record ClientBookingStatsRow(
+        Long bookingCount,
+        Long visitCount,
+        Long cancelledCount,
+        Long preOrderCount,
+        BigDecimal preOrderTotal,
+        Long personTotal,
+        LocalDate firstBookingDate,
+        LocalDate lastBookingDate,
+        LocalDate lastVisitDate) {
+}
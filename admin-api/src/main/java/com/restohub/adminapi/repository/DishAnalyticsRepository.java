@@ -0,0 +1,26 @@
+package com.restohub.adminapi.repository;
+
+import com.restohub.adminapi.entity.DishAnalytics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DishAnalyticsRepository extends JpaRepository<DishAnalytics, Long> {
+    List<DishAnalytics> findAllByOrderByQuantityDescRevenueDesc(Pageable pageable);
+    
+    @Query("SELECT MAX(d.calculatedAt) FROM DishAnalytics d")
+    LocalDateTime findLastCalculatedAt();
+    
+    @Query("SELECT new com.restohub.adminapi.repository.DishGroupRow(d.priceBand, COUNT(d), SUM(d.quantity), SUM(d.revenue)) " +
+           "FROM DishAnalytics d GROUP BY d.priceBandIndex, d.priceBand ORDER BY d.priceBandIndex")
+    List<DishGroupRow> findPriceBandStats();
+    
+    @Query("SELECT new com.restohub.adminapi.repository.DishGroupRow(d.menuCategoryName, COUNT(d), SUM(d.quantity), SUM(d.revenue)) " +
+           "FROM DishAnalytics d GROUP BY d.menuCategoryId, d.menuCategoryName ORDER BY SUM(d.quantity) DESC")
+    List<DishGroupRow> findCategoryStats();
+}
@@ -0,0 +1,9 @@
+package com.restohub.adminapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Агрегат сводной таблицы dish_analytics по группе (ценовой диапазон или категория).
+ */
+public record DishGroupRow(String name, Long dishCount, Long quantity, BigDecimal revenue) {
+}
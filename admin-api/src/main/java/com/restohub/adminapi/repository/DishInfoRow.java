@@ -0,0 +1,11 @@
+package com.restohub.adminapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Справочные данные блюда для сводной таблицы dish_analytics.
+ */
+public record DishInfoRow(Long menuItemId, String menuItemName, BigDecimal price,
+                          Long restaurantId, String restaurantName,
+                          Long menuCategoryId, String menuCategoryName) {
+}
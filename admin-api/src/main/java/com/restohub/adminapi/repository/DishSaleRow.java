@@ -0,0 +1,9 @@
+package com.restohub.adminapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Строка позиции предзаказа для пакетного расчета статистики блюд.
+ */
+public record DishSaleRow(Long id, Long restaurantId, Long menuItemId, Integer quantity, BigDecimal totalPrice) {
+}
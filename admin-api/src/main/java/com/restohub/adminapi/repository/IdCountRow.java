@@ -0,0 +1,7 @@
+package com.restohub.adminapi.repository;
+
+/**
+ * Количество дочерних записей по ID родителя (столы зала, залы этажа).
+ */
+public record IdCountRow(Long id, Long count) {
+}
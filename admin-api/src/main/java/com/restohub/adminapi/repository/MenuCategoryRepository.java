@@ -1,8 +1,11 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.MenuCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +13,9 @@ import java.util.Optional;
 
 @Repository
 public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long>, JpaSpecificationExecutor<MenuCategory> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuCategory> findByIsActiveTrueOrderByDisplayOrderAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MenuCategory> findByIdAndIsActiveTrue(Long id);
     Optional<MenuCategory> findByNameAndIsActiveTrue(String name);
 }
@@ -3,8 +3,11 @@ package com.restohub.adminapi.repository;
 import com.restohub.adminapi.entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,8 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long>, JpaSp
     List<MenuItem> findByMenuCategoryIdAndIsActiveTrue(Long menuCategoryId);
     Optional<MenuItem> findByIdAndIsActiveTrue(Long id);
     Optional<MenuItem> findByIdAndRestaurantIdAndIsActiveTrue(Long id, Long restaurantId);
+    
+    @Query("SELECT new com.restohub.adminapi.repository.DishInfoRow(m.id, m.name, m.price, r.id, r.name, c.id, c.name) " +
+           "FROM MenuItem m JOIN m.restaurant r JOIN m.menuCategory c WHERE m.id IN :ids")
+    List<DishInfoRow> findDishInfoByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package com.restohub.adminapi.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Плоская проекция позиции предзаказа для аналитики.
+ */
+public record PreOrderFactRow(
+        Long id,
+        Long bookingId,
+        Long menuItemId,
+        Integer quantity,
+        BigDecimal totalPrice) {
+}
@@ -1,6 +1,10 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.Promotion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +16,10 @@ import java.util.Optional;
 
 @Repository
 public interface PromotionRepository extends JpaRepository<Promotion, Long>, JpaSpecificationExecutor<Promotion> {
+    @Override
+    @EntityGraph(attributePaths = {"promotionType"})
+    Page<Promotion> findAll(Specification<Promotion> spec, Pageable pageable);
+    
     List<Promotion> findByRestaurantIdAndIsActiveTrue(Long restaurantId);
     Optional<Promotion> findByIdAndIsActiveTrue(Long id);
     
@@ -3,7 +3,11 @@ package com.restohub.adminapi.repository;
 import com.restohub.adminapi.entity.RefreshToken;
 import com.restohub.adminapi.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -11,12 +15,28 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     
+    // token - SHA-256 хеш refresh token (hex), поиск идет по уникальному индексу
     Optional<RefreshToken> findByToken(String token);
     
     void deleteByUser(User user);
     
     void deleteByExpiresAtBefore(LocalDateTime now);
     
-    void deleteByToken(String token);
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.token = :token")
+    int deleteByToken(@Param("token") String token);
+    
+    // Ротация одним условным UPDATE: из параллельных запросов с одним токеном успешен только первый
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.token = :newToken, t.expiresAt = :expiresAt " +
+           "WHERE t.token = :token AND t.expiresAt > :now")
+    int rotateToken(@Param("token") String token, @Param("newToken") String newToken,
+                    @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+    
+    // Пачка истекших токенов по idx_refresh_tokens_expires_at; каждая пачка - отдельная короткая транзакция
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens " +
+                   "WHERE expires_at < :now ORDER BY expires_at LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
-
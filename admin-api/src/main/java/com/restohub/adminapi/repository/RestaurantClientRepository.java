@@ -0,0 +1,12 @@
+package com.restohub.adminapi.repository;
+
+import com.restohub.adminapi.entity.RestaurantClient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RestaurantClientRepository extends JpaRepository<RestaurantClient, Long> {
+    Optional<RestaurantClient> findByRestaurantIdAndClientId(Long restaurantId, Long clientId);
+}
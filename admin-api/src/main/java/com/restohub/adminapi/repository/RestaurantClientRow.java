@@ -0,0 +1,7 @@
+package com.restohub.adminapi.repository;
+
+/**
+ * Пара (ресторан, клиент), для которой нужно пересчитать статистику клиента.
+ */
+public record RestaurantClientRow(Long restaurantId, Long clientId) {
+}
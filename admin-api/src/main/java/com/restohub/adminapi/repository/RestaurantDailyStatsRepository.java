@@ -0,0 +1,21 @@
+package com.restohub.adminapi.repository;
+
+import com.restohub.adminapi.entity.RestaurantDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RestaurantDailyStatsRepository extends JpaRepository<RestaurantDailyStats, Long> {
+    Optional<RestaurantDailyStats> findByRestaurantIdAndDate(Long restaurantId, LocalDate date);
+    
+    @Query("SELECT s.clientSketch FROM RestaurantDailyStats s WHERE s.restaurantId = :restaurantId AND s.date BETWEEN :dateFrom AND :dateTo")
+    List<byte[]> findClientSketches(@Param("restaurantId") Long restaurantId,
+                                    @Param("dateFrom") LocalDate dateFrom,
+                                    @Param("dateTo") LocalDate dateTo);
+}
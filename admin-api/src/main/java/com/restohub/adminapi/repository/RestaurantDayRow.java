@@ -0,0 +1,9 @@
+package com.restohub.adminapi.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Пара (ресторан, дата), для которой нужно пересчитать дневную статистику.
+ */
+public record RestaurantDayRow(Long restaurantId, LocalDate date) {
+}
@@ -1,21 +1,34 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.Room;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
+    @Override
+    @EntityGraph(attributePaths = {"floor"})
+    Page<Room> findAll(Specification<Room> spec, Pageable pageable);
+    
     List<Room> findByFloorIdAndIsActiveTrue(Long floorId);
     Optional<Room> findByIdAndIsActiveTrue(Long id);
     
     @Query("SELECT r FROM Room r JOIN r.floor f WHERE r.id = :roomId AND f.restaurant.id = :restaurantId AND r.isActive = true")
     Optional<Room> findByIdAndRestaurantIdAndIsActiveTrue(@Param("roomId") Long roomId, @Param("restaurantId") Long restaurantId);
+    
+    @Query("SELECT new com.restohub.adminapi.repository.IdCountRow(r.floor.id, COUNT(r)) FROM Room r " +
+           "WHERE r.floor.id IN :floorIds AND r.isActive = true GROUP BY r.floor.id")
+    List<IdCountRow> countActiveByFloorIds(@Param("floorIds") Collection<Long> floorIds);
 }
 
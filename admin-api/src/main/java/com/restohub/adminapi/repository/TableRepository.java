@@ -1,15 +1,24 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.RestaurantTable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TableRepository extends JpaRepository<RestaurantTable, Long>, JpaSpecificationExecutor<RestaurantTable> {
+    @Override
+    @EntityGraph(attributePaths = {"room.floor"})
+    Page<RestaurantTable> findAll(Specification<RestaurantTable> spec, Pageable pageable);
+    
     List<RestaurantTable> findByRoomIdAndIsActiveTrue(Long roomId);
     Optional<RestaurantTable> findByIdAndIsActiveTrue(Long id);
     
@@ -22,5 +31,11 @@ public interface TableRepository extends JpaRepository<RestaurantTable, Long>, J
     );
     
     Optional<RestaurantTable> findByRoomIdAndTableNumberAndIsActiveTrue(Long roomId, String tableNumber);
+    
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT new com.restohub.adminapi.repository.IdCountRow(t.room.id, COUNT(t)) FROM RestaurantTable t " +
+        "WHERE t.room.id IN :roomIds AND t.isActive = true GROUP BY t.room.id"
+    )
+    List<IdCountRow> countActiveByRoomIds(@org.springframework.data.repository.query.Param("roomIds") Collection<Long> roomIds);
 }
 
@@ -1,6 +1,10 @@
 package com.restohub.adminapi.repository;
 
 import com.restohub.adminapi.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -10,6 +14,10 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+    @Override
+    @EntityGraph(attributePaths = {"role"})
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
+    
     List<User> findByIsActiveTrue();
     Optional<User> findByIdAndIsActiveTrue(Long id);
     Optional<User> findByEmailAndIsActiveTrue(String email);
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,5 +16,11 @@ public interface UserRestaurantRepository extends JpaRepository<UserRestaurant,
     
     @Query("SELECT ur FROM UserRestaurant ur JOIN ur.user u WHERE u.email = :email")
     List<UserRestaurant> findByUserEmail(@Param("email") String email);
+    
+    @Query("SELECT ur.restaurant.id FROM UserRestaurant ur WHERE ur.user.id = :userId")
+    List<Long> findRestaurantIdsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT ur FROM UserRestaurant ur JOIN FETCH ur.restaurant WHERE ur.user.id IN :userIds")
+    List<UserRestaurant> findWithRestaurantByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
 
@@ -0,0 +1,169 @@
+package com.restohub.adminapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restohub.adminapi.event.BookingChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов аналитики ресторанов.
+ *
+ * Ключ - (restaurantId, type, dateFrom, dateTo, variant), где variant - groupBy графика или режим подсчета клиентов.
+ * Свежие записи отдаются сразу, устаревшие отдаются клиенту и пересчитываются в фоне (stale-while-revalidate).
+ * Изменение бронирования сбрасывает только записи своего ресторана, в период которых попадает дата бронирования.
+ */
+@Component
+public class AnalyticsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsCache.class);
+
+    public record Key(Long restaurantId, String type, LocalDate dateFrom, LocalDate dateTo, String variant) {
+        boolean covers(LocalDate date) {
+            return date == null || (!date.isBefore(dateFrom) && !date.isAfter(dateTo));
+        }
+    }
+
+    private record Entry(Object value, long computedAtNanos) {
+    }
+
+    private final Cache<Key, Entry> cache;
+    private final long freshNanos;
+    private final boolean enabled;
+    private final Executor refreshExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Поколение данных ресторана: результат, посчитанный до инвалидации, не попадет в кэш
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter staleCounter;
+    private final Counter invalidationCounter;
+
+    public AnalyticsCache(
+            @Value("${analytics.cache.enabled:true}") boolean enabled,
+            @Value("${analytics.cache.fresh-seconds:60}") long freshSeconds,
+            @Value("${analytics.cache.max-age-seconds:900}") long maxAgeSeconds,
+            @Value("${analytics.cache.max-size:1000}") long maxSize,
+            @Qualifier("analyticsRefreshExecutor") Executor refreshExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.freshNanos = Duration.ofSeconds(freshSeconds).toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        // Метрики: cache.gets{cache=analytics,result=hit|miss}, cache.size, cache.evictions
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "analytics");
+        this.staleCounter = Counter.builder("analytics.cache.stale")
+                .description("Ответы аналитики, отданные из устаревшего кэша")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("analytics.cache.invalidations")
+                .description("Записи аналитики, сброшенные из-за изменения бронирований")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return (T) load(key, loader);
+        }
+
+        if (System.nanoTime() - entry.computedAtNanos() > freshNanos) {
+            staleCounter.increment();
+            scheduleRefresh(key, loader);
+        }
+        return (T) entry.value();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        invalidate(event.restaurantId(), event.date());
+    }
+
+    /**
+     * Сбрасывает записи ресторана, в период которых попадает указанная дата.
+     * Если дата не указана, сбрасываются все записи ресторана.
+     */
+    public void invalidate(Long restaurantId, LocalDate date) {
+        if (restaurantId == null) {
+            return;
+        }
+        generation(restaurantId).incrementAndGet();
+
+        int removed = 0;
+        for (Key key : cache.asMap().keySet()) {
+            if (key.restaurantId().equals(restaurantId) && key.covers(date)) {
+                cache.invalidate(key);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            invalidationCounter.increment(removed);
+            logger.debug("Invalidated {} analytics entries for restaurant {} (date {})", removed, restaurantId, date);
+        }
+    }
+
+    private Object load(Key key, Supplier<?> loader) {
+        long generation = generation(key.restaurantId()).get();
+        Object value = loader.get();
+        if (generation(key.restaurantId()).get() == generation) {
+            cache.put(key, new Entry(value, System.nanoTime()));
+        }
+        return value;
+    }
+
+    private void scheduleRefresh(Key key, Supplier<?> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    readOnlyTransaction.executeWithoutResult(status -> load(key, loader));
+                } catch (Exception e) {
+                    logger.warn("Failed to refresh analytics for {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Пул перегружен - отдаем устаревшие данные, пересчет произойдет при следующем запросе
+            refreshing.remove(key);
+        }
+    }
+
+    private AtomicLong generation(Long restaurantId) {
+        return generations.computeIfAbsent(restaurantId, id -> new AtomicLong());
+    }
+}
@@ -16,12 +16,20 @@ import java.util.stream.Collectors;
 @Service
 public class AnalyticsService {
     
+    // Размер IN-списка при загрузке позиций предзаказов
+    private static final int ITEM_QUERY_BATCH = 1000;
+    
     private final RestaurantRepository restaurantRepository;
     private final BookingRepository bookingRepository;
     private final BookingPreOrderRepository bookingPreOrderRepository;
     private final ClientRepository clientRepository;
     private final TableRepository tableRepository;
     private final ObjectMapper objectMapper;
+    private final AnalyticsCache analyticsCache;
+    private final BookingColumnStore bookingColumnStore;
+    private final MenuItemRepository menuItemRepository;
+    private final ClientSketchService clientSketchService;
+    private final ClickEventRepository clickEventRepository;
     
     @Autowired
     public AnalyticsService(
@@ -30,13 +38,23 @@ public class AnalyticsService {
             BookingPreOrderRepository bookingPreOrderRepository,
             ClientRepository clientRepository,
             TableRepository tableRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            AnalyticsCache analyticsCache,
+            BookingColumnStore bookingColumnStore,
+            MenuItemRepository menuItemRepository,
+            ClientSketchService clientSketchService,
+            ClickEventRepository clickEventRepository) {
         this.restaurantRepository = restaurantRepository;
         this.bookingRepository = bookingRepository;
         this.bookingPreOrderRepository = bookingPreOrderRepository;
         this.clientRepository = clientRepository;
         this.tableRepository = tableRepository;
         this.objectMapper = objectMapper;
+        this.analyticsCache = analyticsCache;
+        this.bookingColumnStore = bookingColumnStore;
+        this.menuItemRepository = menuItemRepository;
+        this.clientSketchService = clientSketchService;
+        this.clickEventRepository = clickEventRepository;
     }
     
     public BookingAnalyticsResponse getBookingAnalytics(
@@ -53,6 +71,16 @@ public class AnalyticsService {
             throw new RuntimeException("INVALID_DATE_RANGE");
         }
         
+        AnalyticsCache.Key key = new AnalyticsCache.Key(restaurantId, "booking", finalDateFrom, finalDateTo, groupBy);
+        return analyticsCache.get(key, () -> calculateBookingAnalytics(restaurantId, finalDateFrom, finalDateTo, groupBy));
+    }
+    
+    private BookingAnalyticsResponse calculateBookingAnalytics(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo, String groupBy) {
+        if (bookingColumnStore.isEnabled()) {
+            return calculateBookingAnalyticsFromColumns(restaurantId, finalDateFrom, finalDateTo, groupBy);
+        }
+        
         // Получение всех бронирований ресторана за период
         List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
                 .filter(b -> !b.getDate().isBefore(finalDateFrom) && !b.getDate().isAfter(finalDateTo))
@@ -114,26 +142,30 @@ public class AnalyticsService {
             throw new RuntimeException("INVALID_DATE_RANGE");
         }
         
+        AnalyticsCache.Key key = new AnalyticsCache.Key(restaurantId, "pre-order", finalDateFrom, finalDateTo, groupBy);
+        return analyticsCache.get(key, () -> calculatePreOrderAnalytics(restaurantId, finalDateFrom, finalDateTo, groupBy));
+    }
+    
+    private PreOrderAnalyticsResponse calculatePreOrderAnalytics(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo, String groupBy) {
+        if (bookingColumnStore.isEnabled()) {
+            return calculatePreOrderAnalyticsFromColumns(restaurantId, finalDateFrom, finalDateTo, groupBy);
+        }
+        
         // Получение всех предзаказов через бронирования
         List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
                 .filter(b -> !b.getDate().isBefore(finalDateFrom) && !b.getDate().isAfter(finalDateTo))
                 .collect(Collectors.toList());
         
-        List<BookingPreOrder> preOrders = bookings.stream()
-                .flatMap(b -> bookingPreOrderRepository.findByBookingId(b.getId()).stream())
-                .collect(Collectors.toList());
-        
-        // Группировка предзаказов по бронированиям
-        Map<Long, List<BookingPreOrder>> preOrdersByBooking = preOrders.stream()
-                .collect(Collectors.groupingBy(p -> p.getBooking().getId()));
+        // Сумма и число позиций предзаказа хранятся в бронировании
+        List<Booking> withPreOrders = withPreOrders(bookings);
         
         // Расчет общей статистики
         PreOrderAnalyticsResponse.Summary summary = new PreOrderAnalyticsResponse.Summary();
-        summary.setTotal((long) preOrdersByBooking.size());
+        summary.setTotal((long) withPreOrders.size());
         
         // Группировка по статусам
-        Map<String, Long> byStatus = bookings.stream()
-                .filter(b -> preOrdersByBooking.containsKey(b.getId()))
+        Map<String, Long> byStatus = withPreOrders.stream()
                 .collect(Collectors.groupingBy(
                         b -> b.getBookingStatus().getCode(),
                         Collectors.counting()
@@ -141,25 +173,21 @@ public class AnalyticsService {
         summary.setByStatus(byStatus);
         
         // Общая выручка и средний чек
-        BigDecimal totalRevenue = preOrdersByBooking.values().stream()
-                .map(items -> items.stream()
-                        .map(BookingPreOrder::getTotalPrice)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = sumPreOrderTotals(withPreOrders);
         summary.setTotalRevenue(totalRevenue);
-        summary.setAverageCheck(preOrdersByBooking.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(BigDecimal.valueOf(preOrdersByBooking.size()), 2, RoundingMode.HALF_UP));
+        summary.setAverageCheck(withPreOrders.isEmpty() ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(withPreOrders.size()), 2, RoundingMode.HALF_UP));
         
         // Конверсия
         long approved = byStatus.getOrDefault("APPROVED", 0L);
-        summary.setConversionRate(preOrdersByBooking.isEmpty() ? 0.0 :
-                (double) approved / preOrdersByBooking.size());
+        summary.setConversionRate(withPreOrders.isEmpty() ? 0.0 :
+                (double) approved / withPreOrders.size());
         
         // Группировка по периодам
-        List<PreOrderAnalyticsResponse.ChartItem> chart = groupPreOrdersByPeriod(bookings, preOrdersByBooking, groupBy);
+        List<PreOrderAnalyticsResponse.ChartItem> chart = groupPreOrdersByPeriod(withPreOrders, groupBy);
         
-        // Популярные блюда
-        List<PreOrderAnalyticsResponse.PopularItem> popularItems = getPopularItems(preOrders, restaurantId);
+        // Популярные блюда - единственное место, где нужны позиции
+        List<PreOrderAnalyticsResponse.PopularItem> popularItems = getPopularItems(findPreOrderItems(withPreOrders), restaurantId);
         
         PreOrderAnalyticsResponse response = new PreOrderAnalyticsResponse();
         response.setRestaurantId(restaurantId);
@@ -174,7 +202,12 @@ public class AnalyticsService {
         return response;
     }
     
-    public ClientAnalyticsResponse getClientAnalytics(Long restaurantId, LocalDate dateFrom, LocalDate dateTo) {
+    /**
+     * @param exact точный подсчет клиентов (по умолчанию). exact=false - быстрый режим по запросу: уникальные клиенты
+     *              оцениваются по HyperLogLog-скетчам (погрешность ~1%, отставание до интервала пересчета скетчей),
+     *              средние значения и топ клиентов не рассчитываются
+     */
+    public ClientAnalyticsResponse getClientAnalytics(Long restaurantId, LocalDate dateFrom, LocalDate dateTo, boolean exact) {
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
                 .orElseThrow(() -> new RuntimeException("RESTAURANT_NOT_FOUND"));
@@ -186,6 +219,18 @@ public class AnalyticsService {
             throw new RuntimeException("INVALID_DATE_RANGE");
         }
         
+        boolean exactClients = exact || !clientSketchService.isEnabled();
+        AnalyticsCache.Key key = new AnalyticsCache.Key(restaurantId, "client", finalDateFrom, finalDateTo, clientCountMode(exactClients));
+        return analyticsCache.get(key, () -> exactClients
+                ? calculateClientAnalytics(restaurantId, finalDateFrom, finalDateTo)
+                : calculateClientAnalyticsApproximate(restaurantId, finalDateFrom, finalDateTo));
+    }
+    
+    private ClientAnalyticsResponse calculateClientAnalytics(Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo) {
+        if (bookingColumnStore.isEnabled()) {
+            return calculateClientAnalyticsFromColumns(restaurantId, finalDateFrom, finalDateTo);
+        }
+        
         // Получение всех клиентов, связанных с рестораном
         List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
                 .filter(b -> b.getClient() != null)
@@ -240,7 +285,7 @@ public class AnalyticsService {
         return response;
     }
     
-    public AnalyticsOverviewResponse getOverview(Long restaurantId, LocalDate dateFrom, LocalDate dateTo) {
+    public AnalyticsOverviewResponse getOverview(Long restaurantId, LocalDate dateFrom, LocalDate dateTo, boolean exact) {
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
                 .orElseThrow(() -> new RuntimeException("RESTAURANT_NOT_FOUND"));
@@ -252,24 +297,23 @@ public class AnalyticsService {
             throw new RuntimeException("INVALID_DATE_RANGE");
         }
         
+        boolean exactClients = exact || !clientSketchService.isEnabled();
+        AnalyticsCache.Key key = new AnalyticsCache.Key(restaurantId, "overview", finalDateFrom, finalDateTo, clientCountMode(exactClients));
+        return analyticsCache.get(key, () -> calculateOverview(restaurantId, finalDateFrom, finalDateTo, exactClients));
+    }
+    
+    private AnalyticsOverviewResponse calculateOverview(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo, boolean exactClients) {
+        if (bookingColumnStore.isEnabled()) {
+            return calculateOverviewFromColumns(restaurantId, finalDateFrom, finalDateTo, exactClients);
+        }
+        
         // Получение данных
         List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
                 .filter(b -> !b.getDate().isBefore(finalDateFrom) && !b.getDate().isAfter(finalDateTo))
                 .collect(Collectors.toList());
         
-        List<BookingPreOrder> preOrders = bookings.stream()
-                .flatMap(b -> bookingPreOrderRepository.findByBookingId(b.getId()).stream())
-                .collect(Collectors.toList());
-        
-        Map<Long, List<BookingPreOrder>> preOrdersByBooking = preOrders.stream()
-                .collect(Collectors.groupingBy(p -> p.getBooking().getId()));
-        
-        Set<Long> clientIds = bookings.stream()
-                .filter(b -> b.getClient() != null)
-                .map(b -> b.getClient().getId())
-                .collect(Collectors.toSet());
-        
-        List<Client> clients = clientRepository.findAllById(clientIds);
+        List<Booking> withPreOrders = withPreOrders(bookings);
         
         // Статистика бронирований
         AnalyticsOverviewResponse.BookingsInfo bookingsInfo = new AnalyticsOverviewResponse.BookingsInfo();
@@ -282,38 +326,26 @@ public class AnalyticsService {
         
         // Статистика предзаказов
         AnalyticsOverviewResponse.PreOrdersInfo preOrdersInfo = new AnalyticsOverviewResponse.PreOrdersInfo();
-        preOrdersInfo.setTotal((long) preOrdersByBooking.size());
-        long approvedPreOrders = bookings.stream()
-                .filter(b -> preOrdersByBooking.containsKey(b.getId()))
+        preOrdersInfo.setTotal((long) withPreOrders.size());
+        long approvedPreOrders = withPreOrders.stream()
                 .filter(b -> "APPROVED".equals(b.getBookingStatus().getCode()))
                 .count();
         preOrdersInfo.setApproved(approvedPreOrders);
         
-        BigDecimal totalRevenue = preOrdersByBooking.values().stream()
-                .map(items -> items.stream()
-                        .map(BookingPreOrder::getTotalPrice)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = sumPreOrderTotals(withPreOrders);
         preOrdersInfo.setTotalRevenue(totalRevenue);
-        preOrdersInfo.setAverageCheck(preOrdersByBooking.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(BigDecimal.valueOf(preOrdersByBooking.size()), 2, RoundingMode.HALF_UP));
-        preOrdersInfo.setConversionRate(preOrdersByBooking.isEmpty() ? 0.0 :
-                (double) approvedPreOrders / preOrdersByBooking.size());
+        preOrdersInfo.setAverageCheck(withPreOrders.isEmpty() ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(withPreOrders.size()), 2, RoundingMode.HALF_UP));
+        preOrdersInfo.setConversionRate(withPreOrders.isEmpty() ? 0.0 :
+                (double) approvedPreOrders / withPreOrders.size());
         
         // Статистика клиентов
-        AnalyticsOverviewResponse.ClientsInfo clientsInfo = new AnalyticsOverviewResponse.ClientsInfo();
-        clientsInfo.setTotal((long) clients.size());
-        long newClients = bookings.stream()
-                .filter(b -> b.getClient() != null)
-                .collect(Collectors.groupingBy(b -> b.getClient().getId()))
-                .values().stream()
-                .filter(clientBookings -> clientBookings.size() == 1)
-                .count();
-        clientsInfo.setNewClients(newClients);
-        clientsInfo.setReturningClients(clients.size() - newClients);
+        AnalyticsOverviewResponse.ClientsInfo clientsInfo = exactClients
+                ? getExactClientsInfo(bookings)
+                : getApproximateClientsInfo(restaurantId, finalDateFrom, finalDateTo);
         
         // Популярные блюда
-        List<AnalyticsOverviewResponse.PopularItem> popularItems = getPopularItemsForOverview(preOrders);
+        List<AnalyticsOverviewResponse.PopularItem> popularItems = getPopularItemsForOverview(findPreOrderItems(withPreOrders));
         
         // Популярные столы
         List<AnalyticsOverviewResponse.PopularTable> popularTables = getPopularTablesForOverview(bookings);
@@ -333,6 +365,60 @@ public class AnalyticsService {
         return response;
     }
     
+    public ClickAnalyticsResponse getClickAnalytics(Long restaurantId, LocalDate dateFrom, LocalDate dateTo) {
+        // Проверка существования ресторана
+        restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("RESTAURANT_NOT_FOUND"));
+        
+        // Валидация дат
+        final LocalDate finalDateFrom = dateFrom != null ? dateFrom : LocalDate.now().minusDays(30);
+        final LocalDate finalDateTo = dateTo != null ? dateTo : LocalDate.now();
+        if (finalDateFrom.isAfter(finalDateTo)) {
+            throw new RuntimeException("INVALID_DATE_RANGE");
+        }
+        
+        // Клики не порождают BookingChangedEvent, свежесть ограничивается TTL кэша
+        AnalyticsCache.Key key = new AnalyticsCache.Key(restaurantId, "click", finalDateFrom, finalDateTo, null);
+        return analyticsCache.get(key, () -> calculateClickAnalytics(restaurantId, finalDateFrom, finalDateTo));
+    }
+    
+    private ClickAnalyticsResponse calculateClickAnalytics(Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo) {
+        List<ClickCountRow> rows = clickEventRepository.countByRestaurantIdAndPeriod(
+                restaurantId, finalDateFrom.atStartOfDay(), finalDateTo.plusDays(1).atStartOfDay());
+        
+        Map<String, Long> byType = new TreeMap<>();
+        long total = 0;
+        for (ClickCountRow row : rows) {
+            byType.merge(row.eventType(), row.count(), Long::sum);
+            total += row.count();
+        }
+        
+        List<ClickAnalyticsResponse.TopTarget> topTargets = rows.stream()
+                .filter(row -> row.targetId() != null || row.targetValue() != null)
+                .sorted(Comparator.comparing(ClickCountRow::count).reversed())
+                .limit(20)
+                .map(row -> {
+                    ClickAnalyticsResponse.TopTarget target = new ClickAnalyticsResponse.TopTarget();
+                    target.setEventType(row.eventType());
+                    target.setTargetId(row.targetId());
+                    target.setTargetValue(row.targetValue());
+                    target.setCount(row.count());
+                    return target;
+                })
+                .collect(Collectors.toList());
+        
+        ClickAnalyticsResponse response = new ClickAnalyticsResponse();
+        response.setRestaurantId(restaurantId);
+        ClickAnalyticsResponse.Period period = new ClickAnalyticsResponse.Period();
+        period.setDateFrom(finalDateFrom);
+        period.setDateTo(finalDateTo);
+        response.setPeriod(period);
+        response.setTotal(total);
+        response.setByType(byType);
+        response.setTopTargets(topTargets);
+        return response;
+    }
+    
     public String exportData(Long restaurantId, String type, String format, LocalDate dateFrom, LocalDate dateTo) {
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
@@ -473,28 +559,17 @@ public class AnalyticsService {
     }
     
     private List<PreOrderAnalyticsResponse.ChartItem> groupPreOrdersByPeriod(
-            List<Booking> bookings, Map<Long, List<BookingPreOrder>> preOrdersByBooking, String groupBy) {
+            List<Booking> withPreOrders, String groupBy) {
         if (groupBy == null || "day".equals(groupBy)) {
-            return bookings.stream()
-                    .filter(b -> preOrdersByBooking.containsKey(b.getId()))
+            return withPreOrders.stream()
                     .collect(Collectors.groupingBy(Booking::getDate))
                     .entrySet().stream()
                     .sorted(Map.Entry.comparingByKey())
                     .map(entry -> {
                         PreOrderAnalyticsResponse.ChartItem item = new PreOrderAnalyticsResponse.ChartItem();
                         item.setPeriod(entry.getKey().toString());
-                        long count = entry.getValue().stream()
-                                .filter(b -> preOrdersByBooking.containsKey(b.getId()))
-                                .count();
-                        item.setCount(count);
-                        
-                        BigDecimal revenue = entry.getValue().stream()
-                                .filter(b -> preOrdersByBooking.containsKey(b.getId()))
-                                .map(b -> preOrdersByBooking.get(b.getId()).stream()
-                                        .map(BookingPreOrder::getTotalPrice)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add))
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                        item.setRevenue(revenue);
+                        item.setCount((long) entry.getValue().size());
+                        item.setRevenue(sumPreOrderTotals(entry.getValue()));
                         return item;
                     })
                     .collect(Collectors.toList());
@@ -503,6 +578,31 @@ public class AnalyticsService {
         return new ArrayList<>();
     }
     
+    private static List<Booking> withPreOrders(List<Booking> bookings) {
+        return bookings.stream()
+                .filter(b -> b.getPreOrderItemCount() > 0)
+                .collect(Collectors.toList());
+    }
+    
+    private static BigDecimal sumPreOrderTotals(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getPreOrderTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    // Позиции бронирований пачками, а не запросом на каждое бронирование
+    private List<BookingPreOrder> findPreOrderItems(List<Booking> withPreOrders) {
+        List<Long> ids = withPreOrders.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        List<BookingPreOrder> items = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ITEM_QUERY_BATCH) {
+            items.addAll(bookingPreOrderRepository.findByBookingIdInOrderById(
+                    ids.subList(from, Math.min(from + ITEM_QUERY_BATCH, ids.size()))));
+        }
+        return items;
+    }
+    
     private List<BookingAnalyticsResponse.PopularTable> getPopularTables(
             List<Booking> bookings, Long restaurantId) {
         Map<Long, Long> tableCounts = bookings.stream()
@@ -581,20 +681,14 @@ public class AnalyticsService {
                             .filter(b -> b.getClient() != null && b.getClient().getId().equals(client.getId()))
                             .collect(Collectors.toList());
                     
-                    List<BookingPreOrder> clientPreOrders = clientBookings.stream()
-                            .flatMap(b -> bookingPreOrderRepository.findByBookingId(b.getId()).stream())
-                            .collect(Collectors.toList());
-                    
-                    BigDecimal totalSpent = clientPreOrders.stream()
-                            .map(BookingPreOrder::getTotalPrice)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    
                     ClientAnalyticsResponse.TopClient topClient = new ClientAnalyticsResponse.TopClient();
                     topClient.setClientId(client.getId());
                     topClient.setClientPhone(client.getPhone());
                     topClient.setTotalBookings(clientBookings.size());
-                    topClient.setTotalPreOrders(clientPreOrders.size());
-                    topClient.setTotalSpent(totalSpent);
+                    topClient.setTotalPreOrders(clientBookings.stream()
+                            .mapToInt(Booking::getPreOrderItemCount)
+                            .sum());
+                    topClient.setTotalSpent(sumPreOrderTotals(clientBookings));
                     return topClient;
                 })
                 .sorted((c1, c2) -> {
@@ -660,6 +754,308 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
     }
     
+    private ClientAnalyticsResponse calculateClientAnalyticsApproximate(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo) {
+        ClientSketchService.ClientCounts counts = clientSketchService.estimateClients(restaurantId, finalDateFrom, finalDateTo);
+        
+        ClientAnalyticsResponse.Summary summary = new ClientAnalyticsResponse.Summary();
+        summary.setTotal(counts.total());
+        summary.setNewClients(counts.newClients());
+        summary.setReturningClients(counts.returningClients());
+        
+        ClientAnalyticsResponse response = new ClientAnalyticsResponse();
+        response.setRestaurantId(restaurantId);
+        ClientAnalyticsResponse.Period period = new ClientAnalyticsResponse.Period();
+        period.setDateFrom(finalDateFrom);
+        period.setDateTo(finalDateTo);
+        response.setPeriod(period);
+        response.setSummary(summary);
+        response.setTopClients(new ArrayList<>());
+        
+        return response;
+    }
+    
+    private AnalyticsOverviewResponse.ClientsInfo getExactClientsInfo(List<Booking> bookings) {
+        Set<Long> clientIds = bookings.stream()
+                .filter(b -> b.getClient() != null)
+                .map(b -> b.getClient().getId())
+                .collect(Collectors.toSet());
+        
+        List<Client> clients = clientRepository.findAllById(clientIds);
+        
+        AnalyticsOverviewResponse.ClientsInfo clientsInfo = new AnalyticsOverviewResponse.ClientsInfo();
+        clientsInfo.setTotal((long) clients.size());
+        long newClients = bookings.stream()
+                .filter(b -> b.getClient() != null)
+                .collect(Collectors.groupingBy(b -> b.getClient().getId()))
+                .values().stream()
+                .filter(clientBookings -> clientBookings.size() == 1)
+                .count();
+        clientsInfo.setNewClients(newClients);
+        clientsInfo.setReturningClients(clients.size() - newClients);
+        return clientsInfo;
+    }
+    
+    private AnalyticsOverviewResponse.ClientsInfo getApproximateClientsInfo(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo) {
+        ClientSketchService.ClientCounts counts = clientSketchService.estimateClients(restaurantId, finalDateFrom, finalDateTo);
+        AnalyticsOverviewResponse.ClientsInfo clientsInfo = new AnalyticsOverviewResponse.ClientsInfo();
+        clientsInfo.setTotal(counts.total());
+        clientsInfo.setNewClients(counts.newClients());
+        clientsInfo.setReturningClients(counts.returningClients());
+        return clientsInfo;
+    }
+    
+    private static String clientCountMode(boolean exactClients) {
+        return exactClients ? "exact" : "approximate";
+    }
+    
+    // ===== Расчет по колоночному хранилищу (analytics.column-store.enabled) =====
+    
+    private BookingAnalyticsResponse calculateBookingAnalyticsFromColumns(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo, String groupBy) {
+        BookingColumnStore.RangeStats stats = bookingColumnStore.scan(restaurantId, finalDateFrom, finalDateTo);
+        
+        BookingAnalyticsResponse.Summary summary = new BookingAnalyticsResponse.Summary();
+        summary.setTotal(stats.total);
+        summary.setByStatus(stats.statusMap(stats.byStatus));
+        summary.setAveragePersons(stats.total == 0 ? 0.0 : (double) stats.personSum / stats.total);
+        long approved = stats.statusCount(stats.byStatus, "APPROVED");
+        summary.setConversionRate(stats.total == 0 ? 0.0 : (double) approved / stats.total);
+        
+        List<BookingAnalyticsResponse.ChartItem> chart = new ArrayList<>();
+        if (groupBy == null || "day".equals(groupBy)) {
+            for (int d = 0; d < stats.dayCounts.length; d++) {
+                if (stats.dayCounts[d] == 0) {
+                    continue;
+                }
+                BookingAnalyticsResponse.ChartItem item = new BookingAnalyticsResponse.ChartItem();
+                item.setPeriod(stats.dateFrom.plusDays(d).toString());
+                item.setCount(stats.dayCounts[d]);
+                item.setByStatus(stats.dayStatusMap(d));
+                chart.add(item);
+            }
+        }
+        
+        long[] topTables = stats.tables.top(0, 10);
+        Map<Long, RestaurantTable> tables = findTables(topTables);
+        List<BookingAnalyticsResponse.PopularTable> popularTables = new ArrayList<>();
+        for (long tableId : topTables) {
+            RestaurantTable table = tables.get(tableId);
+            if (table == null) continue;
+            long count = stats.tables.get(tableId, 0);
+            BookingAnalyticsResponse.PopularTable popularTable = new BookingAnalyticsResponse.PopularTable();
+            popularTable.setTableId(table.getId());
+            popularTable.setTableNumber(table.getTableNumber());
+            popularTable.setCount(count);
+            popularTable.setPercentage(stats.total > 0 ? ((double) count / stats.total) * 100 : 0.0);
+            popularTables.add(popularTable);
+        }
+        
+        BookingAnalyticsResponse response = new BookingAnalyticsResponse();
+        response.setRestaurantId(restaurantId);
+        BookingAnalyticsResponse.Period period = new BookingAnalyticsResponse.Period();
+        period.setDateFrom(finalDateFrom);
+        period.setDateTo(finalDateTo);
+        response.setPeriod(period);
+        response.setSummary(summary);
+        response.setChart(chart);
+        response.setPopularTables(popularTables);
+        
+        return response;
+    }
+    
+    private PreOrderAnalyticsResponse calculatePreOrderAnalyticsFromColumns(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo, String groupBy) {
+        BookingColumnStore.RangeStats stats = bookingColumnStore.scan(restaurantId, finalDateFrom, finalDateTo);
+        
+        PreOrderAnalyticsResponse.Summary summary = new PreOrderAnalyticsResponse.Summary();
+        summary.setTotal(stats.preOrderBookings);
+        summary.setByStatus(stats.statusMap(stats.preOrderByStatus));
+        BigDecimal totalRevenue = BookingColumnStore.toAmount(stats.revenue);
+        summary.setTotalRevenue(totalRevenue);
+        summary.setAverageCheck(stats.preOrderBookings == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(stats.preOrderBookings), 2, RoundingMode.HALF_UP));
+        long approved = stats.statusCount(stats.preOrderByStatus, "APPROVED");
+        summary.setConversionRate(stats.preOrderBookings == 0 ? 0.0 : (double) approved / stats.preOrderBookings);
+        
+        List<PreOrderAnalyticsResponse.ChartItem> chart = new ArrayList<>();
+        if (groupBy == null || "day".equals(groupBy)) {
+            for (int d = 0; d < stats.dayPreOrders.length; d++) {
+                if (stats.dayPreOrders[d] == 0) {
+                    continue;
+                }
+                PreOrderAnalyticsResponse.ChartItem item = new PreOrderAnalyticsResponse.ChartItem();
+                item.setPeriod(stats.dateFrom.plusDays(d).toString());
+                item.setCount(stats.dayPreOrders[d]);
+                item.setRevenue(BookingColumnStore.toAmount(stats.dayRevenue[d]));
+                chart.add(item);
+            }
+        }
+        
+        long[] topItems = stats.items.top(0, 10);
+        Map<Long, String> itemNames = findMenuItemNames(topItems);
+        List<PreOrderAnalyticsResponse.PopularItem> popularItems = new ArrayList<>();
+        for (long menuItemId : topItems) {
+            BigDecimal revenue = BookingColumnStore.toAmount(stats.items.get(menuItemId, 1));
+            PreOrderAnalyticsResponse.PopularItem item = new PreOrderAnalyticsResponse.PopularItem();
+            item.setMenuItemId(menuItemId);
+            item.setMenuItemName(itemNames.get(menuItemId));
+            item.setQuantity(stats.items.get(menuItemId, 0));
+            item.setRevenue(revenue);
+            item.setPercentage(totalRevenue.compareTo(BigDecimal.ZERO) > 0 ?
+                    revenue.divide(totalRevenue, 4, RoundingMode.HALF_UP)
+                            .multiply(BigDecimal.valueOf(100)).doubleValue() : 0.0);
+            popularItems.add(item);
+        }
+        
+        PreOrderAnalyticsResponse response = new PreOrderAnalyticsResponse();
+        response.setRestaurantId(restaurantId);
+        PreOrderAnalyticsResponse.Period period = new PreOrderAnalyticsResponse.Period();
+        period.setDateFrom(finalDateFrom);
+        period.setDateTo(finalDateTo);
+        response.setPeriod(period);
+        response.setSummary(summary);
+        response.setChart(chart);
+        response.setPopularItems(popularItems);
+        
+        return response;
+    }
+    
+    private ClientAnalyticsResponse calculateClientAnalyticsFromColumns(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo) {
+        List<BookingColumnStore.ClientTotals> totals = bookingColumnStore.clientTotals(restaurantId, finalDateFrom, finalDateTo);
+        
+        ClientAnalyticsResponse.Summary summary = new ClientAnalyticsResponse.Summary();
+        summary.setTotal((long) totals.size());
+        long newClients = totals.stream().filter(t -> t.bookingsInRange() == 1).count();
+        summary.setNewClients(newClients);
+        summary.setReturningClients(totals.size() - newClients);
+        // Средние считаются по бронированиям в этом ресторане, а не по глобальным счетчикам клиента
+        summary.setAverageBookingsPerClient(totals.stream()
+                .mapToInt(BookingColumnStore.ClientTotals::bookings).average().orElse(0.0));
+        summary.setAveragePreOrdersPerClient(totals.stream()
+                .mapToInt(BookingColumnStore.ClientTotals::preOrderItems).average().orElse(0.0));
+        
+        List<BookingColumnStore.ClientTotals> top = totals.stream()
+                .sorted(Comparator.comparingInt(BookingColumnStore.ClientTotals::bookings)
+                        .thenComparingInt(BookingColumnStore.ClientTotals::preOrderItems)
+                        .reversed())
+                .limit(10)
+                .collect(Collectors.toList());
+        Map<Long, Client> clients = clientRepository.findAllById(
+                        top.stream().map(BookingColumnStore.ClientTotals::clientId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Client::getId, c -> c));
+        
+        List<ClientAnalyticsResponse.TopClient> topClients = new ArrayList<>();
+        for (BookingColumnStore.ClientTotals t : top) {
+            Client client = clients.get(t.clientId());
+            ClientAnalyticsResponse.TopClient topClient = new ClientAnalyticsResponse.TopClient();
+            topClient.setClientId(t.clientId());
+            topClient.setClientPhone(client != null ? client.getPhone() : null);
+            topClient.setTotalBookings(t.bookings());
+            topClient.setTotalPreOrders(t.preOrderItems());
+            topClient.setTotalSpent(BookingColumnStore.toAmount(t.spent()));
+            topClients.add(topClient);
+        }
+        
+        ClientAnalyticsResponse response = new ClientAnalyticsResponse();
+        response.setRestaurantId(restaurantId);
+        ClientAnalyticsResponse.Period period = new ClientAnalyticsResponse.Period();
+        period.setDateFrom(finalDateFrom);
+        period.setDateTo(finalDateTo);
+        response.setPeriod(period);
+        response.setSummary(summary);
+        response.setTopClients(topClients);
+        
+        return response;
+    }
+    
+    private AnalyticsOverviewResponse calculateOverviewFromColumns(
+            Long restaurantId, LocalDate finalDateFrom, LocalDate finalDateTo, boolean exactClients) {
+        BookingColumnStore.RangeStats stats = bookingColumnStore.scan(restaurantId, finalDateFrom, finalDateTo);
+        
+        AnalyticsOverviewResponse.BookingsInfo bookingsInfo = new AnalyticsOverviewResponse.BookingsInfo();
+        bookingsInfo.setTotal(stats.total);
+        long approvedBookings = stats.statusCount(stats.byStatus, "APPROVED");
+        bookingsInfo.setApproved(approvedBookings);
+        bookingsInfo.setConversionRate(stats.total == 0 ? 0.0 : (double) approvedBookings / stats.total);
+        
+        AnalyticsOverviewResponse.PreOrdersInfo preOrdersInfo = new AnalyticsOverviewResponse.PreOrdersInfo();
+        preOrdersInfo.setTotal(stats.preOrderBookings);
+        long approvedPreOrders = stats.statusCount(stats.preOrderByStatus, "APPROVED");
+        preOrdersInfo.setApproved(approvedPreOrders);
+        BigDecimal totalRevenue = BookingColumnStore.toAmount(stats.revenue);
+        preOrdersInfo.setTotalRevenue(totalRevenue);
+        preOrdersInfo.setAverageCheck(stats.preOrderBookings == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(stats.preOrderBookings), 2, RoundingMode.HALF_UP));
+        preOrdersInfo.setConversionRate(stats.preOrderBookings == 0 ? 0.0 :
+                (double) approvedPreOrders / stats.preOrderBookings);
+        
+        AnalyticsOverviewResponse.ClientsInfo clientsInfo;
+        if (exactClients) {
+            clientsInfo = new AnalyticsOverviewResponse.ClientsInfo();
+            long[] newClients = {0L};
+            stats.clients.forEach((clientId, values) -> {
+                if (values[0] == 1) newClients[0]++;
+            });
+            clientsInfo.setTotal((long) stats.clients.size());
+            clientsInfo.setNewClients(newClients[0]);
+            clientsInfo.setReturningClients(stats.clients.size() - newClients[0]);
+        } else {
+            clientsInfo = getApproximateClientsInfo(restaurantId, finalDateFrom, finalDateTo);
+        }
+        
+        long[] topItems = stats.items.top(0, 5);
+        Map<Long, String> itemNames = findMenuItemNames(topItems);
+        List<AnalyticsOverviewResponse.PopularItem> popularItems = new ArrayList<>();
+        for (long menuItemId : topItems) {
+            AnalyticsOverviewResponse.PopularItem item = new AnalyticsOverviewResponse.PopularItem();
+            item.setMenuItemId(menuItemId);
+            item.setMenuItemName(itemNames.get(menuItemId));
+            item.setQuantity(stats.items.get(menuItemId, 0));
+            popularItems.add(item);
+        }
+        
+        long[] topTables = stats.tables.top(0, 5);
+        Map<Long, RestaurantTable> tables = findTables(topTables);
+        List<AnalyticsOverviewResponse.PopularTable> popularTables = new ArrayList<>();
+        for (long tableId : topTables) {
+            RestaurantTable table = tables.get(tableId);
+            if (table == null) continue;
+            AnalyticsOverviewResponse.PopularTable popularTable = new AnalyticsOverviewResponse.PopularTable();
+            popularTable.setTableId(table.getId());
+            popularTable.setTableNumber(table.getTableNumber());
+            popularTable.setCount(stats.tables.get(tableId, 0));
+            popularTables.add(popularTable);
+        }
+        
+        AnalyticsOverviewResponse response = new AnalyticsOverviewResponse();
+        response.setRestaurantId(restaurantId);
+        AnalyticsOverviewResponse.Period period = new AnalyticsOverviewResponse.Period();
+        period.setDateFrom(finalDateFrom);
+        period.setDateTo(finalDateTo);
+        response.setPeriod(period);
+        response.setBookings(bookingsInfo);
+        response.setPreOrders(preOrdersInfo);
+        response.setClients(clientsInfo);
+        response.setPopularItems(popularItems);
+        response.setPopularTables(popularTables);
+        
+        return response;
+    }
+    
+    private Map<Long, RestaurantTable> findTables(long[] ids) {
+        return tableRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(RestaurantTable::getId, t -> t));
+    }
+    
+    private Map<Long, String> findMenuItemNames(long[] ids) {
+        return menuItemRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(MenuItem::getId, MenuItem::getName));
+    }
+    
     private static class ItemStats {
         int quantity;
         BigDecimal revenue;
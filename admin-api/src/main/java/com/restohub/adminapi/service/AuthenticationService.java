@@ -5,6 +5,7 @@ import com.restohub.adminapi.dto.RefreshTokenResponse;
 import com.restohub.adminapi.dto.UserInfoResponse;
 import com.restohub.adminapi.entity.*;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.util.JwtClaims;
 import com.restohub.adminapi.util.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,6 +33,9 @@ public class AuthenticationService {
     @Value("${jwt.access-token-expiration:300}")
     private long accessTokenExpiration;
     
+    @Value("${jwt.refresh-token-purge.batch-size:1000}")
+    private int purgeBatchSize = 1000;
+    
     public AuthenticationService(
             UserRepository userRepository,
             RefreshTokenRepository refreshTokenRepository,
@@ -63,10 +67,10 @@ public class AuthenticationService {
         String accessToken = jwtTokenProvider.generateAccessToken(email, role);
         String refreshToken = jwtTokenProvider.generateRefreshToken(email, role);
         
-        // Сохраняем refresh token в БД (хешированный)
+        // Сохраняем refresh token в БД (SHA-256 хеш)
         RefreshToken refreshTokenEntity = new RefreshToken();
         refreshTokenEntity.setUser(user);
-        refreshTokenEntity.setToken(passwordEncoder.encode(refreshToken));
+        refreshTokenEntity.setToken(JwtTokenProvider.hashToken(refreshToken));
         refreshTokenEntity.setExpiresAt(LocalDateTime.now().plusSeconds(jwtTokenProvider.getRefreshTokenExpiration()));
         refreshTokenRepository.save(refreshTokenEntity);
         
@@ -75,60 +79,56 @@ public class AuthenticationService {
     
     @Transactional
     public void logout(String refreshToken) {
-        // Находим и удаляем refresh token
-        refreshTokenRepository.findAll().stream()
-                .filter(rt -> passwordEncoder.matches(refreshToken, rt.getToken()))
-                .findFirst()
-                .ifPresent(refreshTokenRepository::delete);
+        // Удаляем refresh token по хешу
+        refreshTokenRepository.deleteByToken(JwtTokenProvider.hashToken(refreshToken));
     }
     
     @Transactional
     public RefreshTokenResponse refresh(String refreshToken) {
-        // Ищем refresh token в БД
-        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findAll().stream()
-                .filter(rt -> passwordEncoder.matches(refreshToken, rt.getToken()))
-                .findFirst();
+        String tokenHash = JwtTokenProvider.hashToken(refreshToken);
         
-        if (tokenOpt.isEmpty()) {
+        // Валидируем токен через JWT (проверка подписи, структуры и срока действия).
+        // Строки истекших токенов удаляет RefreshTokenCleanupScheduler
+        JwtClaims claims = jwtTokenProvider.verify(refreshToken);
+        if (claims == null) {
             throw new RuntimeException("INVALID_REFRESH_TOKEN");
         }
         
-        RefreshToken tokenEntity = tokenOpt.get();
-        
-        // Проверяем истечение JWT токена (JWT содержит время истечения в UTC)
-        // Проверка expires_at в БД избыточна, так как JWT уже содержит эту информацию
-        try {
-            if (jwtTokenProvider.isTokenExpired(refreshToken)) {
-                refreshTokenRepository.delete(tokenEntity);
-                throw new RuntimeException("REFRESH_TOKEN_EXPIRED");
-            }
-        } catch (Exception e) {
-            // Если не можем проверить истечение (токен невалиден), удаляем из БД
-            refreshTokenRepository.delete(tokenEntity);
-            throw new RuntimeException("INVALID_REFRESH_TOKEN");
-        }
-        
-        // Валидируем токен через JWT (проверка подписи и структуры)
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            refreshTokenRepository.delete(tokenEntity);
-            throw new RuntimeException("INVALID_REFRESH_TOKEN");
-        }
-        
-        String email = jwtTokenProvider.getEmailFromToken(refreshToken);
-        String role = jwtTokenProvider.getRoleFromToken(refreshToken);
+        String email = claims.email();
+        String role = claims.role();
         
         // Генерируем новые токены
         String newAccessToken = jwtTokenProvider.generateAccessToken(email, role);
         String newRefreshToken = jwtTokenProvider.generateRefreshToken(email, role);
         
-        // Обновляем refresh token в БД
-        tokenEntity.setToken(passwordEncoder.encode(newRefreshToken));
-        tokenEntity.setExpiresAt(LocalDateTime.now().plusSeconds(jwtTokenProvider.getRefreshTokenExpiration()));
-        refreshTokenRepository.save(tokenEntity);
+        // Заменяем refresh token в БД одним условным UPDATE: токен, которого нет в БД
+        // (отозван или уже использован параллельным запросом), не обновляется
+        LocalDateTime now = LocalDateTime.now();
+        int rotated = refreshTokenRepository.rotateToken(tokenHash, JwtTokenProvider.hashToken(newRefreshToken),
+                now.plusSeconds(jwtTokenProvider.getRefreshTokenExpiration()), now);
+        if (rotated == 0) {
+            throw new RuntimeException("INVALID_REFRESH_TOKEN");
+        }
         
         return new RefreshTokenResponse(newAccessToken, newRefreshToken, accessTokenExpiration);
     }
     
+    /**
+     * Удаляет истекшие refresh token пачками.
+     *
+     * @return количество удаленных токенов
+     */
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        return total;
+    }
+    
     public UserInfoResponse getCurrentUser(String email, String role) {
         Optional<User> userOpt = userRepository.findByEmailAndIsActiveTrue(email);
         
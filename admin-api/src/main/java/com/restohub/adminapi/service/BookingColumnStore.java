@@ -0,0 +1,622 @@
+package com.restohub.adminapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restohub.adminapi.entity.BookingStatus;
+import com.restohub.adminapi.event.BookingChangedEvent;
+import com.restohub.adminapi.repository.BookingFactRow;
+import com.restohub.adminapi.repository.BookingPreOrderRepository;
+import com.restohub.adminapi.repository.BookingRepository;
+import com.restohub.adminapi.repository.BookingStatusRepository;
+import com.restohub.adminapi.repository.PreOrderFactRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Колоночное in-memory хранилище бронирований для аналитики.
+ *
+ * Для каждого ресторана держит примитивные массивы (день, стол, статус, персоны, клиент, сумма предзаказа)
+ * и позиции предзаказов. Бронирования догружаются инкрементально по updated_at, поэтому изменения из client-api
+ * тоже попадают в хранилище при следующей синхронизации. Позиции предзаказа каждого измененного бронирования
+ * перечитываются целиком - так учитываются и правки, и удаления позиций.
+ * Одна запись бронирования занимает ~40 байт против нескольких сотен у загруженной сущности Booking.
+ *
+ * Партиции ресторанов, к аналитике которых давно не обращались, вытесняются; число партиций ограничено.
+ *
+ * Включается свойством analytics.column-store.enabled.
+ */
+@Component
+public class BookingColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingColumnStore.class);
+
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Перекрытие окна: транзакция могла закоммититься позже с более ранним updated_at
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(5);
+    private static final long NO_CLIENT = 0L;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int ITEM_QUERY_BATCH = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final BookingPreOrderRepository bookingPreOrderRepository;
+    private final BookingStatusRepository bookingStatusRepository;
+    private final boolean enabled;
+    private final long syncIntervalNanos;
+
+    private final Cache<Long, Partition> partitions;
+
+    // Справочник статусов только дополняется, поэтому порядковые номера в партициях стабильны
+    private final List<String> statusCodes = new ArrayList<>();
+    private final Map<Long, Byte> statusOrdinals = new HashMap<>();
+
+    public BookingColumnStore(
+            BookingRepository bookingRepository,
+            BookingPreOrderRepository bookingPreOrderRepository,
+            BookingStatusRepository bookingStatusRepository,
+            @Value("${analytics.column-store.enabled:false}") boolean enabled,
+            @Value("${analytics.column-store.sync-interval-seconds:30}") long syncIntervalSeconds,
+            @Value("${analytics.column-store.max-restaurants:500}") long maxRestaurants,
+            @Value("${analytics.column-store.idle-minutes:60}") long idleMinutes) {
+        this.bookingRepository = bookingRepository;
+        this.bookingPreOrderRepository = bookingPreOrderRepository;
+        this.bookingStatusRepository = bookingStatusRepository;
+        this.enabled = enabled;
+        this.syncIntervalNanos = Duration.ofSeconds(syncIntervalSeconds).toNanos();
+        this.partitions = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .maximumSize(maxRestaurants)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        // Событие не продлевает жизнь партиции: вытесняются рестораны, аналитику которых не смотрят
+        Partition partition = partitions.policy().getIfPresentQuietly(event.restaurantId());
+        if (partition != null) {
+            if (event.bookingId() != null) {
+                partition.changedBookings.add(event.bookingId());
+            }
+            partition.dirty = true;
+        }
+    }
+
+    /**
+     * Агрегаты по бронированиям ресторана за период за один проход по колонкам.
+     */
+    public RangeStats scan(Long restaurantId, LocalDate dateFrom, LocalDate dateTo) {
+        Partition p = synced(restaurantId);
+        int fromDay = (int) dateFrom.toEpochDay();
+        int toDay = (int) dateTo.toEpochDay();
+
+        p.lock.readLock().lock();
+        try {
+            String[] codes = statusCodesSnapshot();
+            RangeStats stats = new RangeStats(codes, dateFrom, toDay - fromDay + 1);
+            int statusCount = codes.length;
+
+            for (int i = 0; i < p.size; i++) {
+                int day = p.epochDay[i];
+                if (day < fromDay || day > toDay) {
+                    continue;
+                }
+                int d = day - fromDay;
+                int status = p.status[i];
+                boolean hasPreOrder = p.preOrderItems[i] > 0;
+
+                stats.total++;
+                stats.personSum += p.personCount[i];
+                stats.byStatus[status]++;
+                stats.dayCounts[d]++;
+                stats.dayByStatus[d * statusCount + status]++;
+                stats.tables.add(p.tableId[i], 0, 1);
+                if (p.clientId[i] != NO_CLIENT) {
+                    stats.clients.add(p.clientId[i], 0, 1);
+                }
+                if (hasPreOrder) {
+                    stats.preOrderBookings++;
+                    stats.preOrderByStatus[status]++;
+                    stats.revenue += p.preOrderTotal[i];
+                    stats.dayPreOrders[d]++;
+                    stats.dayRevenue[d] += p.preOrderTotal[i];
+                }
+            }
+
+            for (int j = 0; j < p.itemSize; j++) {
+                int b = Arrays.binarySearch(p.bookingId, 0, p.size, p.itemBookingId[j]);
+                if (b < 0 || p.epochDay[b] < fromDay || p.epochDay[b] > toDay) {
+                    continue;
+                }
+                stats.items.add(p.itemMenuItemId[j], 0, p.itemQuantity[j]);
+                stats.items.add(p.itemMenuItemId[j], 1, p.itemTotal[j]);
+            }
+            return stats;
+        } finally {
+            p.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Итоги за всю историю ресторана по клиентам, бронировавшим в указанный период.
+     */
+    public List<ClientTotals> clientTotals(Long restaurantId, LocalDate dateFrom, LocalDate dateTo) {
+        Partition p = synced(restaurantId);
+        int fromDay = (int) dateFrom.toEpochDay();
+        int toDay = (int) dateTo.toEpochDay();
+
+        p.lock.readLock().lock();
+        try {
+            LongAggregator inRange = new LongAggregator(1);
+            for (int i = 0; i < p.size; i++) {
+                if (p.clientId[i] != NO_CLIENT && p.epochDay[i] >= fromDay && p.epochDay[i] <= toDay) {
+                    inRange.add(p.clientId[i], 0, 1);
+                }
+            }
+
+            // bookings, preOrderItems, spent
+            LongAggregator totals = new LongAggregator(3);
+            for (int i = 0; i < p.size; i++) {
+                long clientId = p.clientId[i];
+                if (clientId == NO_CLIENT || !inRange.contains(clientId)) {
+                    continue;
+                }
+                totals.add(clientId, 0, 1);
+                totals.add(clientId, 1, p.preOrderItems[i]);
+                totals.add(clientId, 2, p.preOrderTotal[i]);
+            }
+
+            List<ClientTotals> result = new ArrayList<>(totals.size());
+            totals.forEach((clientId, values) -> result.add(new ClientTotals(
+                    clientId, (int) values[0], (int) values[1], inRange.get(clientId, 0), values[2])));
+            return result;
+        } finally {
+            p.lock.readLock().unlock();
+        }
+    }
+
+    public static BigDecimal toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private Partition synced(Long restaurantId) {
+        Partition p = partitions.get(restaurantId, id -> new Partition());
+        boolean due = p.dirty || System.nanoTime() - p.lastSyncNanos > syncIntervalNanos;
+        if (!due) {
+            return p;
+        }
+        // Первая загрузка ждет синхронизацию, дальше читатели не блокируются чужой синхронизацией
+        if (p.loaded) {
+            if (p.syncLock.tryLock()) {
+                try {
+                    sync(restaurantId, p);
+                } finally {
+                    p.syncLock.unlock();
+                }
+            }
+        } else {
+            p.syncLock.lock();
+            try {
+                if (!p.loaded) {
+                    sync(restaurantId, p);
+                }
+            } finally {
+                p.syncLock.unlock();
+            }
+        }
+        return p;
+    }
+
+    private void sync(Long restaurantId, Partition p) {
+        p.dirty = false;
+        long started = System.nanoTime();
+        boolean initial = !p.loaded;
+
+        // Бронирования из BookingChangedEvent: их позиции перечитываются, даже если updated_at не сдвинулся
+        Set<Long> changed = new HashSet<>();
+        for (Iterator<Long> it = p.changedBookings.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+
+        List<BookingFactRow> bookings;
+        List<PreOrderFactRow> items;
+        try {
+            LocalDateTime since = initial ? INITIAL_WATERMARK : p.bookingWatermark.minus(SYNC_OVERLAP);
+            bookings = bookingRepository.findFactsByRestaurantIdUpdatedSince(restaurantId, since);
+            bookings.forEach(row -> changed.add(row.id()));
+            items = initial
+                    ? bookingPreOrderRepository.findFactsByRestaurantId(restaurantId)
+                    : findItems(changed);
+        } catch (RuntimeException e) {
+            p.changedBookings.addAll(changed);
+            p.dirty = true;
+            throw e;
+        }
+
+        p.lock.writeLock().lock();
+        try {
+            for (BookingFactRow row : bookings) {
+                p.upsertBooking(row, statusOrdinal(row.bookingStatusId()));
+                if (row.updatedAt() != null && row.updatedAt().isAfter(p.bookingWatermark)) {
+                    p.bookingWatermark = row.updatedAt();
+                }
+            }
+            if (!initial) {
+                p.removeItems(changed);
+            }
+            // Позиция бронирования, которое еще не видно, пропускается: бронирование попадет в окно
+            // следующей синхронизации, и его позиции будут перечитаны вместе с ним
+            for (PreOrderFactRow row : items) {
+                p.appendItem(row);
+            }
+            p.loaded = true;
+            p.lastSyncNanos = System.nanoTime();
+        } finally {
+            p.lock.writeLock().unlock();
+        }
+
+        logger.debug("Column store sync for restaurant {}: {} bookings, {} items in {} ms (total {} bookings)",
+                restaurantId, bookings.size(), items.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis(), p.size);
+    }
+
+    private List<PreOrderFactRow> findItems(Set<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(bookingIds);
+        List<PreOrderFactRow> items = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ITEM_QUERY_BATCH) {
+            items.addAll(bookingPreOrderRepository.findFactsByBookingIds(
+                    ids.subList(from, Math.min(from + ITEM_QUERY_BATCH, ids.size()))));
+        }
+        return items;
+    }
+
+    private synchronized byte statusOrdinal(Long statusId) {
+        Byte ordinal = statusOrdinals.get(statusId);
+        if (ordinal == null) {
+            bookingStatusRepository.findAll().stream()
+                    .sorted(Comparator.comparing(BookingStatus::getId))
+                    .filter(status -> !statusOrdinals.containsKey(status.getId()))
+                    .forEach(status -> {
+                        statusOrdinals.put(status.getId(), (byte) statusCodes.size());
+                        statusCodes.add(status.getCode());
+                    });
+            ordinal = statusOrdinals.get(statusId);
+            if (ordinal == null) {
+                throw new IllegalStateException("Unknown booking status id: " + statusId);
+            }
+        }
+        return ordinal;
+    }
+
+    private synchronized String[] statusCodesSnapshot() {
+        return statusCodes.toArray(new String[0]);
+    }
+
+    public record ClientTotals(long clientId, int bookings, int preOrderItems, long bookingsInRange, long spent) {
+    }
+
+    /**
+     * Результат прохода по колонкам. Суммы в минорных единицах (тиынах/копейках).
+     */
+    public static final class RangeStats {
+        final String[] statusCodes;
+        final LocalDate dateFrom;
+        long total;
+        long personSum;
+        final long[] byStatus;
+        long preOrderBookings;
+        final long[] preOrderByStatus;
+        long revenue;
+        final long[] dayCounts;
+        final long[] dayByStatus;
+        final long[] dayPreOrders;
+        final long[] dayRevenue;
+        final LongAggregator tables = new LongAggregator(1);
+        // quantity, revenue
+        final LongAggregator items = new LongAggregator(2);
+        final LongAggregator clients = new LongAggregator(1);
+
+        RangeStats(String[] statusCodes, LocalDate dateFrom, int days) {
+            this.statusCodes = statusCodes;
+            this.dateFrom = dateFrom;
+            this.byStatus = new long[statusCodes.length];
+            this.preOrderByStatus = new long[statusCodes.length];
+            this.dayCounts = new long[days];
+            this.dayByStatus = new long[days * statusCodes.length];
+            this.dayPreOrders = new long[days];
+            this.dayRevenue = new long[days];
+        }
+
+        Map<String, Long> statusMap(long[] counts) {
+            Map<String, Long> result = new HashMap<>();
+            for (int s = 0; s < counts.length; s++) {
+                if (counts[s] > 0) {
+                    result.put(statusCodes[s], counts[s]);
+                }
+            }
+            return result;
+        }
+
+        Map<String, Long> dayStatusMap(int day) {
+            return statusMap(Arrays.copyOfRange(dayByStatus, day * statusCodes.length, (day + 1) * statusCodes.length));
+        }
+
+        long statusCount(long[] counts, String code) {
+            for (int s = 0; s < statusCodes.length; s++) {
+                if (statusCodes[s].equals(code)) {
+                    return counts[s];
+                }
+            }
+            return 0L;
+        }
+    }
+
+    private static final class Partition {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final ReentrantLock syncLock = new ReentrantLock();
+        volatile boolean dirty = true;
+        volatile boolean loaded;
+        volatile long lastSyncNanos;
+        LocalDateTime bookingWatermark = INITIAL_WATERMARK;
+        final Set<Long> changedBookings = ConcurrentHashMap.newKeySet();
+
+        // Колонки бронирований, отсортированы по bookingId
+        int size;
+        long[] bookingId = new long[INITIAL_CAPACITY];
+        int[] epochDay = new int[INITIAL_CAPACITY];
+        long[] tableId = new long[INITIAL_CAPACITY];
+        byte[] status = new byte[INITIAL_CAPACITY];
+        short[] personCount = new short[INITIAL_CAPACITY];
+        long[] clientId = new long[INITIAL_CAPACITY];
+        long[] preOrderTotal = new long[INITIAL_CAPACITY];
+        int[] preOrderItems = new int[INITIAL_CAPACITY];
+
+        // Колонки позиций предзаказов
+        int itemSize;
+        long[] itemBookingId = new long[INITIAL_CAPACITY];
+        long[] itemMenuItemId = new long[INITIAL_CAPACITY];
+        int[] itemQuantity = new int[INITIAL_CAPACITY];
+        long[] itemTotal = new long[INITIAL_CAPACITY];
+
+        void upsertBooking(BookingFactRow row, byte statusOrdinal) {
+            int index = Arrays.binarySearch(bookingId, 0, size, row.id());
+            if (index < 0) {
+                index = -(index + 1);
+                ensureBookingCapacity(size + 1);
+                if (index < size) {
+                    shiftBookings(index);
+                }
+                size++;
+                bookingId[index] = row.id();
+                preOrderTotal[index] = 0L;
+                preOrderItems[index] = 0;
+            }
+            epochDay[index] = (int) row.date().toEpochDay();
+            tableId[index] = row.tableId();
+            status[index] = statusOrdinal;
+            personCount[index] = row.personCount() != null ? row.personCount().shortValue() : 0;
+            clientId[index] = row.clientId() != null ? row.clientId() : NO_CLIENT;
+        }
+
+        boolean appendItem(PreOrderFactRow row) {
+            int booking = Arrays.binarySearch(bookingId, 0, size, row.bookingId());
+            if (booking < 0) {
+                return false;
+            }
+            if (itemSize == itemBookingId.length) {
+                int capacity = itemSize * 2;
+                itemBookingId = Arrays.copyOf(itemBookingId, capacity);
+                itemMenuItemId = Arrays.copyOf(itemMenuItemId, capacity);
+                itemQuantity = Arrays.copyOf(itemQuantity, capacity);
+                itemTotal = Arrays.copyOf(itemTotal, capacity);
+            }
+            long total = toMinorUnits(row.totalPrice());
+            itemBookingId[itemSize] = row.bookingId();
+            itemMenuItemId[itemSize] = row.menuItemId();
+            itemQuantity[itemSize] = row.quantity();
+            itemTotal[itemSize] = total;
+            itemSize++;
+            preOrderTotal[booking] += total;
+            preOrderItems[booking]++;
+            return true;
+        }
+
+        void removeItems(Set<Long> bookingIds) {
+            boolean hadItems = false;
+            for (Long id : bookingIds) {
+                int booking = Arrays.binarySearch(bookingId, 0, size, id);
+                if (booking >= 0 && preOrderItems[booking] > 0) {
+                    preOrderTotal[booking] = 0L;
+                    preOrderItems[booking] = 0;
+                    hadItems = true;
+                }
+            }
+            if (!hadItems) {
+                return;
+            }
+            int kept = 0;
+            for (int j = 0; j < itemSize; j++) {
+                if (bookingIds.contains(itemBookingId[j])) {
+                    continue;
+                }
+                if (kept != j) {
+                    itemBookingId[kept] = itemBookingId[j];
+                    itemMenuItemId[kept] = itemMenuItemId[j];
+                    itemQuantity[kept] = itemQuantity[j];
+                    itemTotal[kept] = itemTotal[j];
+                }
+                kept++;
+            }
+            itemSize = kept;
+        }
+
+        // Редкий случай: бронирование с меньшим id закоммитилось позже соседей
+        private void shiftBookings(int index) {
+            int length = size - index;
+            System.arraycopy(bookingId, index, bookingId, index + 1, length);
+            System.arraycopy(epochDay, index, epochDay, index + 1, length);
+            System.arraycopy(tableId, index, tableId, index + 1, length);
+            System.arraycopy(status, index, status, index + 1, length);
+            System.arraycopy(personCount, index, personCount, index + 1, length);
+            System.arraycopy(clientId, index, clientId, index + 1, length);
+            System.arraycopy(preOrderTotal, index, preOrderTotal, index + 1, length);
+            System.arraycopy(preOrderItems, index, preOrderItems, index + 1, length);
+        }
+
+        private void ensureBookingCapacity(int required) {
+            if (required <= bookingId.length) {
+                return;
+            }
+            int capacity = Math.max(required, bookingId.length * 2);
+            bookingId = Arrays.copyOf(bookingId, capacity);
+            epochDay = Arrays.copyOf(epochDay, capacity);
+            tableId = Arrays.copyOf(tableId, capacity);
+            status = Arrays.copyOf(status, capacity);
+            personCount = Arrays.copyOf(personCount, capacity);
+            clientId = Arrays.copyOf(clientId, capacity);
+            preOrderTotal = Arrays.copyOf(preOrderTotal, capacity);
+            preOrderItems = Arrays.copyOf(preOrderItems, capacity);
+        }
+    }
+
+    /**
+     * Хэш-таблица с открытой адресацией: ключ long -> несколько счетчиков long, без упаковки в объекты.
+     */
+    static final class LongAggregator {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private final int width;
+        private long[] keys;
+        private long[] values;
+        private int size;
+
+        LongAggregator(int width) {
+            this.width = width;
+            this.keys = new long[16];
+            Arrays.fill(keys, EMPTY);
+            this.values = new long[16 * width];
+        }
+
+        void add(long key, int column, long delta) {
+            values[slot(key, true) * width + column] += delta;
+        }
+
+        long get(long key, int column) {
+            int slot = slot(key, false);
+            return slot < 0 ? 0L : values[slot * width + column];
+        }
+
+        boolean contains(long key) {
+            return slot(key, false) >= 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(Visitor visitor) {
+            long[] row = new long[width];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    System.arraycopy(values, i * width, row, 0, width);
+                    visitor.visit(keys[i], row);
+                }
+            }
+        }
+
+        /**
+         * Ключи с наибольшими значениями в колонке, по убыванию (частичная сортировка выбором для малых n).
+         */
+        long[] top(int column, int limit) {
+            int n = Math.min(limit, size);
+            long[] result = new long[n];
+            boolean[] taken = new boolean[keys.length];
+            for (int r = 0; r < n; r++) {
+                int best = -1;
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] == EMPTY || taken[i]) {
+                        continue;
+                    }
+                    if (best < 0 || values[i * width + column] > values[best * width + column]) {
+                        best = i;
+                    }
+                }
+                taken[best] = true;
+                result[r] = keys[best];
+            }
+            return result;
+        }
+
+        private int slot(long key, boolean insert) {
+            int mask = keys.length - 1;
+            int i = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            if (!insert) {
+                return -1;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                return slot(key, true);
+            }
+            keys[i] = key;
+            size++;
+            return i;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            values = new long[keys.length * width];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i], true);
+                    System.arraycopy(oldValues, i * width, values, slot * width, width);
+                }
+            }
+        }
+
+        @FunctionalInterface
+        interface Visitor {
+            void visit(long key, long[] values);
+        }
+    }
+}
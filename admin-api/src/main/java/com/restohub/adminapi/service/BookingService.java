@@ -2,8 +2,16 @@ package com.restohub.adminapi.service;
 
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.*;
+import com.restohub.adminapi.event.BookingChangedEvent;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.util.KeysetPagination;
+import com.restohub.adminapi.validation.PhoneValidator;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +36,7 @@ public class BookingService {
     private final BookingHistoryRepository bookingHistoryRepository;
     private final UserRepository userRepository;
     private final UserRestaurantRepository userRestaurantRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public BookingService(
@@ -36,13 +45,15 @@ public class BookingService {
             BookingStatusRepository bookingStatusRepository,
             BookingHistoryRepository bookingHistoryRepository,
             UserRepository userRepository,
-            UserRestaurantRepository userRestaurantRepository) {
+            UserRestaurantRepository userRestaurantRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.restaurantRepository = restaurantRepository;
         this.bookingStatusRepository = bookingStatusRepository;
         this.bookingHistoryRepository = bookingHistoryRepository;
         this.userRepository = userRepository;
         this.userRestaurantRepository = userRestaurantRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     public PaginationResponse<List<BookingListItemResponse>> getBookings(
@@ -55,7 +66,8 @@ public class BookingService {
             Long tableId,
             String clientPhone,
             String sortBy,
-            String sortOrder) {
+            String sortOrder,
+            String after) {
         
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
@@ -63,11 +75,8 @@ public class BookingService {
         
         // Построение спецификации
         Specification<Booking> spec = Specification.where(
-                (root, query, cb) -> {
-                    // JOIN с table -> room -> floor -> restaurant
-                    var floorJoin = root.join("table").join("room").join("floor");
-                    return cb.equal(floorJoin.get("restaurant").get("id"), restaurantId);
-                }
+                // По bookings.restaurant_id, без JOIN table -> room -> floor: условие попадает в индекс (restaurant_id, date)
+                (root, query, cb) -> cb.equal(root.get("restaurant").get("id"), restaurantId)
         );
         
         // Фильтр по статусу
@@ -105,21 +114,15 @@ public class BookingService {
         
         // Фильтр по телефону клиента
         if (clientPhone != null && !clientPhone.trim().isEmpty()) {
-            String phonePattern = "%" + clientPhone.trim() + "%";
-            spec = spec.and((root, query, cb) -> {
-                var clientSubquery = query.subquery(Long.class);
-                var clientRoot = clientSubquery.from(Client.class);
-                clientSubquery.select(cb.literal(1L))
-                        .where(cb.and(
-                                cb.equal(clientRoot.get("id"), root.get("client").get("id")),
-                                cb.like(clientRoot.get("phone"), phonePattern)
-                        ));
-                return cb.exists(clientSubquery);
-            });
+            spec = spec.and(clientPhoneLike(clientPhone));
         }
         
         // Сортировка
         Sort sort = buildSort(sortBy, sortOrder);
+        if (after != null) {
+            return KeysetPagination.fetch(bookingRepository, spec, sort, after, limit, this::toListItemResponse,
+                    "table", "bookingStatus");
+        }
         Pageable pageable = PageRequest.of(offset / limit, limit, sort);
         
         Page<Booking> page = bookingRepository.findAll(spec, pageable);
@@ -178,6 +181,8 @@ public class BookingService {
         booking.setBookingStatus(cancelledStatus);
         booking.setUpdatedAt(java.time.LocalDateTime.now());
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(
+                booking.getRestaurant().getId(), booking.getId(), booking.getDate()));
         
         // Получение текущего пользователя
         Long userId = null;
@@ -250,6 +255,8 @@ public class BookingService {
         booking.setBookingStatus(newStatus);
         booking.setUpdatedAt(java.time.LocalDateTime.now());
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(
+                booking.getRestaurant().getId(), booking.getId(), booking.getDate()));
         
         // Запись в историю
         BookingHistory history = new BookingHistory();
@@ -376,6 +383,33 @@ public class BookingService {
         return item;
     }
     
+    /**
+     * Поиск бронирований по части телефона клиента. Сравниваются только цифры (clients.phone_digits
+     * с trigram-индексом), поэтому "+7 700 123" и "8700123" находят один и тот же номер.
+     */
+    static Specification<Booking> clientPhoneLike(String clientPhone) {
+        String digits = PhoneValidator.digitsOnly(clientPhone);
+        return (root, query, cb) -> {
+            Join<Booking, Client> client = root.join("client");
+            if (digits.isEmpty()) {
+                return cb.like(client.get("phone"), "%" + clientPhone.trim() + "%");
+            }
+            return phoneDigitsLike(cb, client.get("phoneDigits"), digits);
+        };
+    }
+    
+    /**
+     * Часть номера среди цифр телефона. Номера хранятся в формате +7XXXXXXXXXX, поэтому запрос,
+     * начинающийся с 8, дополнительно сравнивается как начало номера с 7 вместо 8 ("8700123" - это 7700123...).
+     */
+    static Predicate phoneDigitsLike(CriteriaBuilder cb, Expression<String> phoneDigits, String digits) {
+        Predicate contains = cb.like(phoneDigits, "%" + digits + "%");
+        if (!digits.startsWith("8")) {
+            return contains;
+        }
+        return cb.or(contains, cb.like(phoneDigits, "7" + digits.substring(1) + "%"));
+    }
+    
     private Sort buildSort(String sortBy, String sortOrder) {
         String field = sortBy != null ? sortBy : "bookingDate";
         Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
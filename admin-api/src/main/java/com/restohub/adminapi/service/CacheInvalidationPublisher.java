@@ -0,0 +1,74 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.event.CacheInvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+/**
+ * Шина инвалидации кэшей client-api через PostgreSQL LISTEN/NOTIFY.
+ *
+ * NOTIFY отправляется после коммита изменения данных, на отдельном соединении в autocommit: ошибка
+ * отправки не может откатить бизнес-транзакцию (на PostgreSQL любая ошибка запроса прерывает всю транзакцию).
+ * Потерянное уведомление (сбой между коммитом и NOTIFY) досинхронизируется по TTL кэшей client-api.
+ * Формат: "тип:ID ресторана:версия", версия - время публикации в миллисекундах.
+ */
+@Component
+public class CacheInvalidationPublisher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    
+    private Boolean postgres;
+    
+    @Autowired
+    public CacheInvalidationPublisher(
+            JdbcTemplate jdbcTemplate,
+            @Value("${cache-invalidation.channel:cache_invalidation}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        try {
+            if (!isPostgres()) {
+                return;
+            }
+            String payload = event.entityType() + ":" + event.restaurantId() + ":" + System.currentTimeMillis();
+            // Не через jdbcTemplate: в AFTER_COMMIT к потоку еще привязано соединение завершенной транзакции
+            try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        } catch (Exception e) {
+            // Кэши client-api досинхронизируются по TTL
+            logger.error("Cache invalidation notify failed for {}", event, e);
+        }
+    }
+    
+    private boolean isPostgres() throws Exception {
+        if (postgres == null) {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,127 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Обслуживание месячных партиций click_events (только PostgreSQL).
+ *
+ * Заранее создает партиции на текущий и следующие месяцы, чтобы события не попадали в DEFAULT-партицию,
+ * и удаляет партиции старше срока хранения целиком - без DELETE по большой таблице.
+ * Партиция создается функцией click_events_ensure_partition (V26): строки месяца, попавшие в DEFAULT
+ * до первого запуска или за время простоя, переносятся в новую партицию.
+ * Выполняется одним инстансом за раз (SchedulerLock): параллельные DDL с разных реплик конфликтуют.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class ClickEventPartitionScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClickEventPartitionScheduler.class);
+    
+    static final String PARTITION_LOCK = "click-event-partitions";
+    
+    private static final String PARTITION_PREFIX = "click_events_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLock schedulerLock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+    
+    private Boolean postgres;
+    
+    @Autowired
+    public ClickEventPartitionScheduler(
+            JdbcTemplate jdbcTemplate,
+            SchedulerLock schedulerLock,
+            @Value("${analytics.clicks.partition-months-ahead:2}") int monthsAhead,
+            @Value("${analytics.clicks.retention-months:0}") int retentionMonths,
+            @Value("${analytics.clicks.partition-interval-ms:43200000}") long partitionIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedulerLock = schedulerLock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.lockAtMostFor = Duration.ofMillis(partitionIntervalMs);
+        // Инстансы с fixedDelay запускаются в разное время: лок держится половину интервала
+        this.lockAtLeastFor = Duration.ofMillis(partitionIntervalMs / 2);
+    }
+    
+    @Scheduled(initialDelayString = "${analytics.clicks.partition-initial-delay-ms:30000}",
+               fixedDelayString = "${analytics.clicks.partition-interval-ms:43200000}")
+    public void maintainPartitions() {
+        try {
+            if (!isPostgres()) {
+                return;
+            }
+            schedulerLock.runLocked(PARTITION_LOCK, lockAtMostFor, lockAtLeastFor, () -> {
+                YearMonth current = YearMonth.now();
+                for (int i = 0; i <= monthsAhead; i++) {
+                    YearMonth month = current.plusMonths(i);
+                    // Ошибка одного месяца не мешает остальным: он повторится при следующем запуске
+                    try {
+                        createPartition(month);
+                    } catch (Exception e) {
+                        logger.error("Failed to create click event partition for {}", month, e);
+                    }
+                }
+                if (retentionMonths > 0) {
+                    dropPartitionsBefore(current.minusMonths(retentionMonths));
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Click event partition maintenance failed", e);
+        }
+    }
+    
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("SELECT click_events_ensure_partition(DATE '" + month.atDay(1) + "')");
+    }
+    
+    private void dropPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'click_events'", String.class);
+        for (String partition : partitions) {
+            YearMonth month;
+            try {
+                month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            } catch (Exception e) {
+                // DEFAULT-партиция и партиции, созданные вручную
+                continue;
+            }
+            if (month.isBefore(cutoff)) {
+                try {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    logger.info("Dropped click event partition {}", partition);
+                } catch (Exception e) {
+                    logger.error("Failed to drop click event partition {}", partition, e);
+                }
+            }
+        }
+    }
+    
+    private boolean isPostgres() throws Exception {
+        if (postgres == null) {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+}
@@ -3,6 +3,9 @@ package com.restohub.adminapi.service;
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.*;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.util.KeysetPagination;
+import com.restohub.adminapi.validation.PhoneValidator;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -13,8 +16,8 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +29,7 @@ public class ClientService {
     private final BookingPreOrderRepository bookingPreOrderRepository;
     private final TableRepository tableRepository;
     private final MenuItemRepository menuItemRepository;
+    private final RestaurantClientStatsService restaurantClientStatsService;
     
     @Autowired
     public ClientService(
@@ -34,17 +38,19 @@ public class ClientService {
             BookingRepository bookingRepository,
             BookingPreOrderRepository bookingPreOrderRepository,
             TableRepository tableRepository,
-            MenuItemRepository menuItemRepository) {
+            MenuItemRepository menuItemRepository,
+            RestaurantClientStatsService restaurantClientStatsService) {
         this.clientRepository = clientRepository;
         this.restaurantRepository = restaurantRepository;
         this.bookingRepository = bookingRepository;
         this.bookingPreOrderRepository = bookingPreOrderRepository;
         this.tableRepository = tableRepository;
         this.menuItemRepository = menuItemRepository;
+        this.restaurantClientStatsService = restaurantClientStatsService;
     }
     
     public PaginationResponse<List<ClientListItemResponse>> getClients(
-            Long restaurantId, Integer limit, Integer offset, String search, String sortBy, String sortOrder) {
+            Long restaurantId, Integer limit, Integer offset, String search, String sortBy, String sortOrder, String after) {
         
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
@@ -66,19 +72,24 @@ public class ClientService {
                 }
         );
         
-        // Поиск по телефону или имени
+        // Поиск по телефону или имени (оба условия покрыты trigram-индексами)
         if (search != null && !search.trim().isEmpty()) {
             String searchPattern = "%" + search.trim().toLowerCase() + "%";
-            spec = spec.and((root, query, cb) -> 
-                cb.or(
-                    cb.like(cb.lower(root.get("phone")), searchPattern),
-                    cb.like(cb.lower(root.get("firstName")), searchPattern)
-                )
-            );
+            String digits = PhoneValidator.digitsOnly(search);
+            spec = spec.and((root, query, cb) -> {
+                Predicate byName = cb.like(cb.lower(root.get("firstName")), searchPattern);
+                if (digits.isEmpty()) {
+                    return byName;
+                }
+                return cb.or(BookingService.phoneDigitsLike(cb, root.get("phoneDigits"), digits), byName);
+            });
         }
         
         // Сортировка
         Sort sort = buildSort(sortBy, sortOrder);
+        if (after != null) {
+            return KeysetPagination.fetch(clientRepository, spec, sort, after, limit, this::toListItemResponse);
+        }
         Pageable pageable = PageRequest.of(offset / limit, limit, sort);
         
         Page<Client> page = clientRepository.findAll(spec, pageable);
@@ -106,16 +117,11 @@ public class ClientService {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new RuntimeException("CLIENT_NOT_FOUND"));
         
-        // Проверка, что у клиента есть бронирования в этом ресторане
-        List<Booking> restaurantBookings = bookingRepository.findByRestaurantId(restaurantId).stream()
-                .filter(b -> b.getClient() != null && b.getClient().getId().equals(clientId))
-                .collect(Collectors.toList());
-        
-        if (restaurantBookings.isEmpty()) {
-            throw new RuntimeException("CLIENT_NOT_FOUND");
-        }
+        // Статистика есть только у клиентов с бронированиями в этом ресторане
+        RestaurantClient stats = restaurantClientStatsService.getStats(restaurantId, clientId)
+                .orElseThrow(() -> new RuntimeException("CLIENT_NOT_FOUND"));
         
-        return toResponse(client, restaurantId);
+        return toResponse(client, stats);
     }
     
     public PaginationResponse<List<BookingListItemResponse>> getClientBookings(
@@ -129,25 +135,18 @@ public class ClientService {
                 .orElseThrow(() -> new RuntimeException("CLIENT_NOT_FOUND"));
         
         // Получение бронирований клиента в этом ресторане
-        List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
-                .filter(b -> b.getClient() != null && b.getClient().getId().equals(clientId))
-                .sorted((b1, b2) -> b2.getDate().compareTo(b1.getDate()))
-                .collect(Collectors.toList());
-        
-        // Применение пагинации
-        int start = offset;
-        int end = Math.min(offset + limit, bookings.size());
-        List<Booking> pagedBookings = bookings.subList(start, end);
+        Pageable pageable = PageRequest.of(offset / limit, limit, Sort.by(Sort.Direction.DESC, "date", "id"));
+        Page<Booking> page = bookingRepository.findByRestaurantIdAndClientId(restaurantId, clientId, pageable);
         
-        List<BookingListItemResponse> items = pagedBookings.stream()
+        List<BookingListItemResponse> items = page.getContent().stream()
                 .map(this::toBookingListItemResponse)
                 .collect(Collectors.toList());
         
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(
-                (long) bookings.size(),
+                page.getTotalElements(),
                 limit,
                 offset,
-                end < bookings.size()
+                (offset + limit) < page.getTotalElements()
         );
         
         return new PaginationResponse<>(items, pagination);
@@ -164,29 +163,19 @@ public class ClientService {
                 .orElseThrow(() -> new RuntimeException("CLIENT_NOT_FOUND"));
         
         // Получение предзаказов клиента через бронирования
-        List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
-                .filter(b -> b.getClient() != null && b.getClient().getId().equals(clientId))
-                .collect(Collectors.toList());
-        
-        List<BookingPreOrder> preOrders = bookings.stream()
-                .flatMap(b -> bookingPreOrderRepository.findByBookingId(b.getId()).stream())
-                .sorted((p1, p2) -> p2.getCreatedAt().compareTo(p1.getCreatedAt()))
-                .collect(Collectors.toList());
-        
-        // Применение пагинации
-        int start = offset;
-        int end = Math.min(offset + limit, preOrders.size());
-        List<BookingPreOrder> pagedPreOrders = preOrders.subList(start, end);
+        Pageable pageable = PageRequest.of(offset / limit, limit, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        Page<BookingPreOrder> page = bookingPreOrderRepository.findByBookingRestaurantIdAndBookingClientId(
+                restaurantId, clientId, pageable);
         
-        List<PreOrderListItemResponse> items = pagedPreOrders.stream()
+        List<PreOrderListItemResponse> items = page.getContent().stream()
                 .map(this::toPreOrderListItemResponse)
                 .collect(Collectors.toList());
         
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(
-                (long) preOrders.size(),
+                page.getTotalElements(),
                 limit,
                 offset,
-                end < preOrders.size()
+                (offset + limit) < page.getTotalElements()
         );
         
         return new PaginationResponse<>(items, pagination);
@@ -205,7 +194,7 @@ public class ClientService {
         return response;
     }
     
-    private ClientResponse toResponse(Client client, Long restaurantId) {
+    private ClientResponse toResponse(Client client, RestaurantClient restaurantClient) {
         ClientResponse response = new ClientResponse();
         response.setId(client.getId());
         response.setPhone(client.getPhone());
@@ -218,81 +207,57 @@ public class ClientService {
         response.setUpdatedAt(client.getUpdatedAt() != null ? client.getUpdatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant() : null);
         
         // Расчет статистики
-        ClientResponse.ClientStatistics statistics = calculateStatistics(client, restaurantId);
+        ClientResponse.ClientStatistics statistics = toStatistics(restaurantClient);
         response.setStatistics(statistics);
         
         return response;
     }
     
-    private ClientResponse.ClientStatistics calculateStatistics(Client client, Long restaurantId) {
+    private ClientResponse.ClientStatistics toStatistics(RestaurantClient restaurantClient) {
         ClientResponse.ClientStatistics stats = new ClientResponse.ClientStatistics();
+        int bookingCount = restaurantClient.getBookingCount();
         
-        // Получение всех бронирований клиента в этом ресторане
-        List<Booking> bookings = bookingRepository.findByRestaurantId(restaurantId).stream()
-                .filter(b -> b.getClient() != null && b.getClient().getId().equals(client.getId()))
-                .collect(Collectors.toList());
+        stats.setBookingCount(bookingCount);
+        stats.setVisitCount(restaurantClient.getVisitCount());
+        stats.setCancelledCount(restaurantClient.getCancelledCount());
+        stats.setCancelRate(bookingCount > 0 ? (double) restaurantClient.getCancelledCount() / bookingCount : 0.0);
+        stats.setFirstBookingDate(restaurantClient.getFirstBookingDate());
+        stats.setLastBookingDate(restaurantClient.getLastBookingDate());
+        stats.setLastVisitDate(restaurantClient.getLastVisitDate());
         
-        if (bookings.isEmpty()) {
-            return stats;
+        // Среднее количество персон
+        if (bookingCount > 0) {
+            stats.setAverageBookingPersons((int) Math.round((double) restaurantClient.getPersonTotal() / bookingCount));
         }
         
-        // Среднее количество персон
-        double avgPersons = bookings.stream()
-                .mapToInt(Booking::getPersonCount)
-                .average()
-                .orElse(0.0);
-        stats.setAverageBookingPersons((int) Math.round(avgPersons));
+        // Частота бронирований - средний интервал между первой и последней датой
+        if (bookingCount > 1 && restaurantClient.getFirstBookingDate() != null) {
+            long days = ChronoUnit.DAYS.between(restaurantClient.getFirstBookingDate(), restaurantClient.getLastBookingDate());
+            stats.setAverageDaysBetweenBookings((double) days / (bookingCount - 1));
+        }
         
         // Любимый стол
-        Map<Long, Long> tableCounts = bookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getTable().getId(), Collectors.counting()));
-        
-        tableCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .ifPresent(entry -> {
-                    RestaurantTable table = tableRepository.findById(entry.getKey()).orElse(null);
-                    if (table != null) {
-                        stats.setFavoriteTableId(table.getId());
-                        stats.setFavoriteTableNumber(table.getTableNumber());
-                    }
-                });
-        
-        // Получение всех предзаказов клиента
-        List<BookingPreOrder> preOrders = bookings.stream()
-                .flatMap(b -> bookingPreOrderRepository.findByBookingId(b.getId()).stream())
-                .collect(Collectors.toList());
+        if (restaurantClient.getFavoriteTableId() != null) {
+            tableRepository.findById(restaurantClient.getFavoriteTableId()).ifPresent(table -> {
+                stats.setFavoriteTableId(table.getId());
+                stats.setFavoriteTableNumber(table.getTableNumber());
+            });
+        }
         
         // Любимое блюдо
-        Map<Long, Long> menuItemCounts = preOrders.stream()
-                .collect(Collectors.groupingBy(p -> p.getMenuItem().getId(), Collectors.counting()));
-        
-        menuItemCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .ifPresent(entry -> {
-                    MenuItem menuItem = menuItemRepository.findById(entry.getKey()).orElse(null);
-                    if (menuItem != null) {
-                        stats.setFavoriteMenuItemId(menuItem.getId());
-                        stats.setFavoriteMenuItemName(menuItem.getName());
-                    }
-                });
-        
-        // Средняя сумма предзаказа
-        if (!preOrders.isEmpty()) {
-            // Группировка по бронированиям для расчета суммы каждого предзаказа
-            Map<Long, BigDecimal> bookingTotals = preOrders.stream()
-                    .collect(Collectors.groupingBy(
-                            p -> p.getBooking().getId(),
-                            Collectors.reducing(
-                                    BigDecimal.ZERO,
-                                    BookingPreOrder::getTotalPrice,
-                                    BigDecimal::add
-                            )
-                    ));
-            
-            BigDecimal avgAmount = bookingTotals.values().stream()
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(bookingTotals.size()), 2, RoundingMode.HALF_UP);
-            stats.setAveragePreOrderAmount(avgAmount);
+        if (restaurantClient.getFavoriteMenuItemId() != null) {
+            menuItemRepository.findById(restaurantClient.getFavoriteMenuItemId()).ifPresent(menuItem -> {
+                stats.setFavoriteMenuItemId(menuItem.getId());
+                stats.setFavoriteMenuItemName(menuItem.getName());
+            });
+        }
+        
+        // Сумма предзаказов
+        stats.setPreOrderCount(restaurantClient.getPreOrderCount());
+        stats.setTotalPreOrderAmount(restaurantClient.getPreOrderTotal());
+        if (restaurantClient.getPreOrderCount() > 0) {
+            stats.setAveragePreOrderAmount(restaurantClient.getPreOrderTotal()
+                    .divide(BigDecimal.valueOf(restaurantClient.getPreOrderCount()), 2, RoundingMode.HALF_UP));
         }
         
         return stats;
@@ -332,12 +297,8 @@ public class ClientService {
         response.setTime(booking.getTime());
         response.setClientName(booking.getClientName());
         
-        // Расчет общей суммы предзаказа
-        List<BookingPreOrder> allPreOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
-        BigDecimal totalAmount = allPreOrders.stream()
-                .map(BookingPreOrder::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        response.setTotalAmount(totalAmount);
+        // Итоги предзаказа хранятся в бронировании
+        response.setTotalAmount(booking.getPreOrderTotal());
         
         response.setSpecialRequests(preOrder.getSpecialRequests());
         
@@ -348,7 +309,7 @@ public class ClientService {
             response.setStatus(statusInfo);
         }
         
-        response.setItemsCount(allPreOrders.size());
+        response.setItemsCount(booking.getPreOrderItemCount());
         response.setCreatedAt(preOrder.getCreatedAt() != null ? preOrder.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant() : null);
         response.setUpdatedAt(preOrder.getUpdatedAt() != null ? preOrder.getUpdatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant() : null);
         return response;
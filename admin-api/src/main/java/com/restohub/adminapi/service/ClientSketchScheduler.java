@@ -0,0 +1,36 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class ClientSketchScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClientSketchScheduler.class);
+    
+    private final ClientSketchService clientSketchService;
+    
+    @Autowired
+    public ClientSketchScheduler(ClientSketchService clientSketchService) {
+        this.clientSketchService = clientSketchService;
+    }
+    
+    // Первый запуск вскоре после старта заполняет скетчи за всю историю
+    @Scheduled(initialDelayString = "${analytics.client-sketch.initial-delay-ms:60000}",
+               fixedDelayString = "${analytics.client-sketch.refresh-interval-ms:300000}")
+    public void refreshClientSketches() {
+        if (!clientSketchService.isEnabled()) {
+            return;
+        }
+        try {
+            clientSketchService.refreshUpdatedDays();
+        } catch (Exception e) {
+            logger.error("Client sketch refresh failed", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.RestaurantDailyStats;
+import com.restohub.adminapi.repository.BookingRepository;
+import com.restohub.adminapi.repository.RestaurantDailyStatsRepository;
+import com.restohub.adminapi.repository.RestaurantDayRow;
+import com.restohub.adminapi.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Приближенный подсчет уникальных клиентов ресторана по HyperLogLog-скетчам из restaurant_daily_stats.
+ *
+ * Скетч дня пересобирается целиком по бронированиям этого дня, поэтому повторный пересчет безопасен.
+ * Дни для пересчета определяются по bookings.updated_at, что покрывает и бронирования, созданные в client-api.
+ * Водяной знак хранится в job_watermarks: дни сохраняются по одному, и MAX(updated_at) после сбоя посреди
+ * запуска ушел бы дальше непересчитанных дней.
+ */
+@Service
+public class ClientSketchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientSketchService.class);
+
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Перекрытие окна: бронирование могло закоммититься позже с более ранним updated_at
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(10);
+    static final String REFRESH_WATERMARK = "client-sketches";
+
+    private final BookingRepository bookingRepository;
+    private final RestaurantDailyStatsRepository dailyStatsRepository;
+    private final JobWatermarks jobWatermarks;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public record ClientCounts(long total, long newClients, long returningClients) {
+    }
+
+    @Autowired
+    public ClientSketchService(
+            BookingRepository bookingRepository,
+            RestaurantDailyStatsRepository dailyStatsRepository,
+            JobWatermarks jobWatermarks,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.client-sketch.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.jobWatermarks = jobWatermarks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Оценка уникальных клиентов за период. Новые и вернувшиеся определяются так же, как в точном подсчете:
+     * вернувшиеся - клиенты с несколькими бронированиями за период (точный агрегат по индексу), новые - остальные.
+     */
+    public ClientCounts estimateClients(Long restaurantId, LocalDate dateFrom, LocalDate dateTo) {
+        long total = merge(dailyStatsRepository.findClientSketches(restaurantId, dateFrom, dateTo)).estimate();
+        long returningClients = Math.min(total, bookingRepository.countRepeatClients(restaurantId, dateFrom, dateTo));
+
+        return new ClientCounts(total, total - returningClients, returningClients);
+    }
+
+    /**
+     * Пересчитывает дневную статистику для дней, в которых менялись бронирования.
+     *
+     * @return количество пересчитанных дней
+     */
+    public int refreshUpdatedDays() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime watermark = jobWatermarks.get(REFRESH_WATERMARK);
+        LocalDateTime since = watermark != null ? watermark.minus(REFRESH_OVERLAP) : INITIAL_WATERMARK;
+
+        List<RestaurantDayRow> days = bookingRepository.findRestaurantDaysUpdatedSince(since);
+        for (RestaurantDayRow day : days) {
+            transactionTemplate.executeWithoutResult(status -> refreshDay(day.restaurantId(), day.date(), startedAt));
+        }
+        // Сдвигаем только после успешного пересчета всех дней: при ошибке следующий запуск повторит окно
+        jobWatermarks.set(REFRESH_WATERMARK, startedAt);
+        if (!days.isEmpty()) {
+            logger.info("Refreshed client sketches for {} restaurant days", days.size());
+        }
+        return days.size();
+    }
+
+    private void refreshDay(Long restaurantId, LocalDate date, LocalDateTime updatedAt) {
+        List<Long> clientIds = bookingRepository.findClientIdsByRestaurantIdAndDate(restaurantId, date);
+
+        Set<Long> distinctClients = clientIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        HyperLogLog sketch = new HyperLogLog();
+        distinctClients.forEach(sketch::add);
+
+        RestaurantDailyStats stats = dailyStatsRepository.findByRestaurantIdAndDate(restaurantId, date)
+                .orElseGet(() -> {
+                    RestaurantDailyStats created = new RestaurantDailyStats();
+                    created.setRestaurantId(restaurantId);
+                    created.setDate(date);
+                    return created;
+                });
+        stats.setBookingCount(clientIds.size());
+        stats.setClientCount(distinctClients.size());
+        stats.setClientSketch(sketch.toBytes());
+        stats.setUpdatedAt(updatedAt);
+        dailyStatsRepository.save(stats);
+    }
+
+    private HyperLogLog merge(List<byte[]> sketches) {
+        HyperLogLog result = new HyperLogLog();
+        for (byte[] bytes : sketches) {
+            result.merge(HyperLogLog.fromBytes(bytes));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class DishAnalyticsScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DishAnalyticsScheduler.class);
+    
+    private final DishAnalyticsService dishAnalyticsService;
+    
+    @Autowired
+    public DishAnalyticsScheduler(DishAnalyticsService dishAnalyticsService) {
+        this.dishAnalyticsService = dishAnalyticsService;
+    }
+    
+    @Scheduled(cron = "${analytics.dishes.cron:0 30 3 * * ?}") // По умолчанию каждый день в 03:30
+    public void recalculateDishAnalytics() {
+        logger.info("Starting scheduled dish analytics recalculation");
+        try {
+            dishAnalyticsService.recalculate();
+        } catch (RuntimeException e) {
+            if (!"DISH_ANALYTICS_IN_PROGRESS".equals(e.getMessage())) {
+                logger.error("Dish analytics recalculation failed", e);
+                return;
+            }
+            // Пересчет уже выполняет другой инстанс (или ручной запуск)
+            logger.info("Dish analytics recalculation is already running, skipping");
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.dto.DishAnalyticsResponse;
+import com.restohub.adminapi.entity.DishAnalytics;
+import com.restohub.adminapi.repository.BookingPreOrderRepository;
+import com.restohub.adminapi.repository.DishAnalyticsRepository;
+import com.restohub.adminapi.repository.DishGroupRow;
+import com.restohub.adminapi.repository.DishInfoRow;
+import com.restohub.adminapi.repository.DishSaleRow;
+import com.restohub.adminapi.repository.MenuItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Статистика блюд по всей платформе.
+ *
+ * Пакетная задача обходит booking_pre_orders чанками по id (keyset), агрегирует каждый чанк
+ * параллельно в ForkJoinPool с разбиением по ресторанам и пересобирает сводную таблицу dish_analytics.
+ * Эндпоинт читает только сводную таблицу. Пересчет (по расписанию или вручную) выполняется под SchedulerLock:
+ * одновременно только на одном инстансе.
+ */
+@Service
+public class DishAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DishAnalyticsService.class);
+
+    static final String RECALCULATE_LOCK = "dish-analytics-recalculate";
+
+    private static final int INFO_BATCH_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO dish_analytics (menu_item_id, restaurant_id, restaurant_name, " +
+            "menu_category_id, menu_category_name, menu_item_name, price, price_band_index, price_band, " +
+            "order_count, quantity, revenue, calculated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BookingPreOrderRepository bookingPreOrderRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final DishAnalyticsRepository dishAnalyticsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLock schedulerLock;
+    private final int chunkSize;
+    private final int parallelism;
+    private final BigDecimal[] priceBands;
+    private final Duration lockAtMostFor;
+
+    @Autowired
+    public DishAnalyticsService(
+            BookingPreOrderRepository bookingPreOrderRepository,
+            MenuItemRepository menuItemRepository,
+            DishAnalyticsRepository dishAnalyticsRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SchedulerLock schedulerLock,
+            @Value("${analytics.dishes.chunk-size:5000}") int chunkSize,
+            @Value("${analytics.dishes.parallelism:0}") int parallelism,
+            @Value("${analytics.dishes.price-bands:2000,5000,10000}") BigDecimal[] priceBands,
+            @Value("${analytics.dishes.lock-at-most-for-ms:3600000}") long lockAtMostForMs) {
+        this.bookingPreOrderRepository = bookingPreOrderRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.dishAnalyticsRepository = dishAnalyticsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLock = schedulerLock;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.priceBands = priceBands.clone();
+        Arrays.sort(this.priceBands);
+        this.lockAtMostFor = Duration.ofMillis(lockAtMostForMs);
+    }
+
+    public DishAnalyticsResponse getDishAnalytics(int limit) {
+        DishAnalyticsResponse response = new DishAnalyticsResponse();
+        response.setCalculatedAt(dishAnalyticsRepository.findLastCalculatedAt());
+        response.setTopDishes(dishAnalyticsRepository.findAllByOrderByQuantityDescRevenueDesc(PageRequest.of(0, limit)).stream()
+                .map(this::toTopDish)
+                .collect(Collectors.toList()));
+        response.setPriceBands(dishAnalyticsRepository.findPriceBandStats().stream()
+                .map(this::toGroupStats)
+                .collect(Collectors.toList()));
+        response.setCategories(dishAnalyticsRepository.findCategoryStats().stream()
+                .map(this::toGroupStats)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    /**
+     * Пересчитывает сводную таблицу dish_analytics.
+     *
+     * @return количество блюд в сводной таблице
+     */
+    public int recalculate() {
+        int[] dishes = {0};
+        // Полный пересчет идемпотентен, минимальное время удержания блокировки не нужно
+        boolean ran = schedulerLock.runLocked(RECALCULATE_LOCK, lockAtMostFor, Duration.ZERO, () -> {
+            long started = System.currentTimeMillis();
+            Map<Long, Map<Long, DishTotals>> totals = aggregate();
+            List<DishAnalytics> rows = buildRows(totals, LocalDateTime.now());
+            replaceSummary(rows);
+            logger.info("Dish analytics recalculated: {} dishes in {} restaurants, {} ms",
+                    rows.size(), totals.size(), System.currentTimeMillis() - started);
+            dishes[0] = rows.size();
+        });
+        if (!ran) {
+            throw new RuntimeException("DISH_ANALYTICS_IN_PROGRESS");
+        }
+        return dishes[0];
+    }
+
+    private Map<Long, Map<Long, DishTotals>> aggregate() {
+        // restaurantId -> menuItemId -> итоги. Внутренняя карта ресторана в пределах чанка
+        // изменяется только одной задачей, а чанки обрабатываются последовательно
+        Map<Long, Map<Long, DishTotals>> totals = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long afterId = 0L;
+            ForkJoinTask<?> pending = null;
+            while (true) {
+                // Следующий чанк читается из БД, пока предыдущий агрегируется
+                List<DishSaleRow> chunk = bookingPreOrderRepository.findDishSalesAfterId(afterId, PageRequest.of(0, chunkSize));
+                if (pending != null) {
+                    pending.join();
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).id();
+                Map<Long, List<DishSaleRow>> byRestaurant = chunk.stream()
+                        .collect(Collectors.groupingBy(DishSaleRow::restaurantId));
+                pending = pool.submit(() -> byRestaurant.entrySet().parallelStream()
+                        .forEach(entry -> aggregateRestaurant(
+                                totals.computeIfAbsent(entry.getKey(), id -> new HashMap<>()), entry.getValue())));
+                if (chunk.size() < chunkSize) {
+                    pending.join();
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return totals;
+    }
+
+    private void aggregateRestaurant(Map<Long, DishTotals> dishes, List<DishSaleRow> rows) {
+        for (DishSaleRow row : rows) {
+            DishTotals dish = dishes.computeIfAbsent(row.menuItemId(), id -> new DishTotals());
+            dish.orderCount++;
+            dish.quantity += row.quantity();
+            dish.revenue = dish.revenue.add(row.totalPrice());
+        }
+    }
+
+    private List<DishAnalytics> buildRows(Map<Long, Map<Long, DishTotals>> totals, LocalDateTime calculatedAt) {
+        Map<Long, DishTotals> allDishes = new HashMap<>();
+        totals.values().forEach(allDishes::putAll);
+
+        List<Long> ids = new ArrayList<>(allDishes.keySet());
+        List<DishAnalytics> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += INFO_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + INFO_BATCH_SIZE, ids.size()));
+            for (DishInfoRow info : menuItemRepository.findDishInfoByIdIn(batch)) {
+                DishTotals dish = allDishes.get(info.menuItemId());
+                int band = priceBandIndex(info.price());
+
+                DishAnalytics row = new DishAnalytics();
+                row.setMenuItemId(info.menuItemId());
+                row.setRestaurantId(info.restaurantId());
+                row.setRestaurantName(info.restaurantName());
+                row.setMenuCategoryId(info.menuCategoryId());
+                row.setMenuCategoryName(info.menuCategoryName());
+                row.setMenuItemName(info.menuItemName());
+                row.setPrice(info.price());
+                row.setPriceBandIndex(band);
+                row.setPriceBand(priceBandName(band));
+                row.setOrderCount(dish.orderCount);
+                row.setQuantity(dish.quantity);
+                row.setRevenue(dish.revenue);
+                row.setCalculatedAt(calculatedAt);
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private void replaceSummary(List<DishAnalytics> rows) {
+        // Сводная таблица пересобирается целиком в одной транзакции - читатели видят либо старый, либо новый срез
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM dish_analytics");
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, row.getMenuItemId());
+                ps.setLong(2, row.getRestaurantId());
+                ps.setString(3, row.getRestaurantName());
+                ps.setLong(4, row.getMenuCategoryId());
+                ps.setString(5, row.getMenuCategoryName());
+                ps.setString(6, row.getMenuItemName());
+                ps.setBigDecimal(7, row.getPrice());
+                ps.setInt(8, row.getPriceBandIndex());
+                ps.setString(9, row.getPriceBand());
+                ps.setLong(10, row.getOrderCount());
+                ps.setLong(11, row.getQuantity());
+                ps.setBigDecimal(12, row.getRevenue());
+                ps.setTimestamp(13, Timestamp.valueOf(row.getCalculatedAt()));
+            });
+        });
+    }
+
+    int priceBandIndex(BigDecimal price) {
+        int index = 0;
+        while (index < priceBands.length && price.compareTo(priceBands[index]) >= 0) {
+            index++;
+        }
+        return index;
+    }
+
+    String priceBandName(int index) {
+        if (priceBands.length == 0) {
+            return "all";
+        }
+        if (index == 0) {
+            return "0-" + priceBands[0].toPlainString();
+        }
+        if (index == priceBands.length) {
+            return priceBands[index - 1].toPlainString() + "+";
+        }
+        return priceBands[index - 1].toPlainString() + "-" + priceBands[index].toPlainString();
+    }
+
+    private DishAnalyticsResponse.TopDish toTopDish(DishAnalytics dish) {
+        DishAnalyticsResponse.TopDish topDish = new DishAnalyticsResponse.TopDish();
+        topDish.setMenuItemId(dish.getMenuItemId());
+        topDish.setMenuItemName(dish.getMenuItemName());
+        topDish.setRestaurantId(dish.getRestaurantId());
+        topDish.setRestaurantName(dish.getRestaurantName());
+        topDish.setMenuCategoryName(dish.getMenuCategoryName());
+        topDish.setPrice(dish.getPrice());
+        topDish.setOrderCount(dish.getOrderCount());
+        topDish.setQuantity(dish.getQuantity());
+        topDish.setRevenue(dish.getRevenue());
+        return topDish;
+    }
+
+    private DishAnalyticsResponse.GroupStats toGroupStats(DishGroupRow row) {
+        DishAnalyticsResponse.GroupStats stats = new DishAnalyticsResponse.GroupStats();
+        stats.setName(row.name());
+        stats.setDishCount(row.dishCount());
+        stats.setQuantity(row.quantity());
+        stats.setRevenue(row.revenue());
+        return stats;
+    }
+
+    private static class DishTotals {
+        long orderCount;
+        long quantity;
+        BigDecimal revenue = BigDecimal.ZERO;
+    }
+}
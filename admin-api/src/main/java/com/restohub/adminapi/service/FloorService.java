@@ -4,6 +4,7 @@ import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.Floor;
 import com.restohub.adminapi.entity.Restaurant;
 import com.restohub.adminapi.repository.FloorRepository;
+import com.restohub.adminapi.repository.IdCountRow;
 import com.restohub.adminapi.repository.RestaurantRepository;
 import com.restohub.adminapi.repository.RoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -75,12 +77,15 @@ public class FloorService {
                 pageable
         );
         
+        // Количество активных залов по всем этажам страницы одним запросом
+        Map<Long, Long> roomCounts = page.isEmpty() ? Map.of() :
+                roomRepository.countActiveByFloorIds(page.getContent().stream().map(Floor::getId).toList()).stream()
+                        .collect(Collectors.toMap(IdCountRow::id, IdCountRow::count));
+        
         List<FloorListItemResponse> items = page.getContent().stream()
                 .map(floor -> {
                     FloorListItemResponse response = toListItemResponse(floor);
-                    // Подсчет количества активных залов
-                    int roomsCount = roomRepository.findByFloorIdAndIsActiveTrue(floor.getId()).size();
-                    response.setRoomsCount(roomsCount);
+                    response.setRoomsCount(roomCounts.getOrDefault(floor.getId(), 0L).intValue());
                     return response;
                 })
                 .collect(Collectors.toList());
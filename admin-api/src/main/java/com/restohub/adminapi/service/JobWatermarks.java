@@ -0,0 +1,44 @@
+package com.restohub.adminapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Водяные знаки инкрементальных фоновых задач (таблица job_watermarks).
+ *
+ * Хранятся отдельно от данных, которые задача пересчитывает: те же строки могут обновляться и по событиям,
+ * и их updated_at не говорит, до какого момента задача обработала изменения.
+ */
+@Component
+public class JobWatermarks {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JobWatermarks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Водяной знак задачи или null, если задача еще не завершалась успешно.
+     */
+    public LocalDateTime get(String name) {
+        List<Timestamp> values = jdbcTemplate.queryForList(
+                "SELECT watermark FROM job_watermarks WHERE name = ?", Timestamp.class, name);
+        return values.isEmpty() ? null : values.get(0).toLocalDateTime();
+    }
+
+    public void set(String name, LocalDateTime watermark) {
+        int updated = jdbcTemplate.update("UPDATE job_watermarks SET watermark = ? WHERE name = ?",
+                Timestamp.valueOf(watermark), name);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO job_watermarks (name, watermark) VALUES (?, ?)",
+                    name, Timestamp.valueOf(watermark));
+        }
+    }
+}
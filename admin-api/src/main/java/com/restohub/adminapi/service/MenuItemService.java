@@ -9,6 +9,7 @@ import com.restohub.adminapi.repository.ImageRepository;
 import com.restohub.adminapi.repository.MenuCategoryRepository;
 import com.restohub.adminapi.repository.MenuItemRepository;
 import com.restohub.adminapi.repository.RestaurantRepository;
+import com.restohub.adminapi.util.KeysetPagination;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -92,7 +93,7 @@ public class MenuItemService {
     public PaginationResponse<List<MenuItemListItemResponse>> getMenuItems(
             Long restaurantId,
             Integer limit, Integer offset, Long menuCategoryId, Boolean isActive,
-            String search, String sortBy, String sortOrder) {
+            String search, String sortBy, String sortOrder, String after) {
         
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
@@ -127,6 +128,9 @@ public class MenuItemService {
         
         // Сортировка
         Sort sort = buildSort(sortBy, sortOrder);
+        if (after != null) {
+            return KeysetPagination.fetch(menuItemRepository, spec, sort, after, limit, this::toListItemResponse);
+        }
         Pageable pageable = PageRequest.of(offset / limit, limit, sort);
         
         Page<MenuItem> page = menuItemRepository.findAll(spec, pageable);
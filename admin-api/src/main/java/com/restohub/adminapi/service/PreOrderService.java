@@ -2,9 +2,15 @@ package com.restohub.adminapi.service;
 
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.*;
+import com.restohub.adminapi.event.BookingChangedEvent;
 import com.restohub.adminapi.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -12,7 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.ZoneId;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +32,7 @@ public class PreOrderService {
     private final BookingStatusRepository bookingStatusRepository;
     private final BookingHistoryRepository bookingHistoryRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public PreOrderService(
@@ -32,13 +41,15 @@ public class PreOrderService {
             RestaurantRepository restaurantRepository,
             BookingStatusRepository bookingStatusRepository,
             BookingHistoryRepository bookingHistoryRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingPreOrderRepository = bookingPreOrderRepository;
         this.bookingRepository = bookingRepository;
         this.restaurantRepository = restaurantRepository;
         this.bookingStatusRepository = bookingStatusRepository;
         this.bookingHistoryRepository = bookingHistoryRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     public PaginationResponse<List<PreOrderListItemResponse>> getPreOrders(
@@ -57,99 +68,78 @@ public class PreOrderService {
         restaurantRepository.findById(restaurantId)
                 .orElseThrow(() -> new RuntimeException("RESTAURANT_NOT_FOUND"));
         
-        // Получаем все бронирования ресторана
-        List<Booking> restaurantBookings = bookingRepository.findByRestaurantId(restaurantId);
-        
-        // Фильтруем бронирования по критериям
-        List<Booking> filteredBookings = restaurantBookings.stream()
-                .filter(booking -> {
-                    // Фильтр по статусу
-                    if (statusCode != null && !statusCode.trim().isEmpty()) {
-                        if (!booking.getBookingStatus().getCode().equals(statusCode)) {
-                            return false;
-                        }
-                    }
-                    
-                    // Фильтр по дате
-                    if (dateFrom != null && booking.getDate().isBefore(dateFrom)) {
-                        return false;
-                    }
-                    if (dateTo != null && booking.getDate().isAfter(dateTo)) {
-                        return false;
-                    }
-                    
-                    // Фильтр по bookingId
-                    if (bookingId != null && !booking.getId().equals(bookingId)) {
-                        return false;
-                    }
-                    
-                    // Фильтр по телефону клиента
-                    if (clientPhone != null && !clientPhone.trim().isEmpty()) {
-                        if (booking.getClient() == null || 
-                            !booking.getClient().getPhone().contains(clientPhone.trim())) {
-                            return false;
-                        }
-                    }
-                    
-                    // Проверяем, что у бронирования есть предзаказы
-                    List<BookingPreOrder> preOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
-                    return !preOrders.isEmpty();
-                })
-                .collect(Collectors.toList());
+        // Бронирования ресторана, у которых есть позиции предзаказа
+        Specification<Booking> spec = Specification.where(
+                (root, query, cb) -> cb.and(
+                        cb.equal(root.get("restaurant").get("id"), restaurantId),
+                        cb.greaterThan(root.get("preOrderItemCount"), 0))
+        );
         
-        // Сортировка
-        filteredBookings.sort((b1, b2) -> {
-            Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
-            int comparison = 0;
-            
-            String field = sortBy != null ? sortBy : "date";
-            switch (field) {
-                case "date":
-                    comparison = b1.getDate().compareTo(b2.getDate());
-                    if (b1.getDate().equals(b2.getDate())) {
-                        comparison = b1.getTime().compareTo(b2.getTime());
-                    }
-                    break;
-                case "totalAmount":
-                    BigDecimal amount1 = bookingPreOrderRepository.findByBookingId(b1.getId()).stream()
-                            .map(BookingPreOrder::getTotalPrice)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    BigDecimal amount2 = bookingPreOrderRepository.findByBookingId(b2.getId()).stream()
-                            .map(BookingPreOrder::getTotalPrice)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    comparison = amount1.compareTo(amount2);
-                    break;
-                case "createdAt":
-                    comparison = b1.getCreatedAt().compareTo(b2.getCreatedAt());
-                    break;
-                case "statusCode":
-                    comparison = b1.getBookingStatus().getCode().compareTo(b2.getBookingStatus().getCode());
-                    break;
-                default:
-                    comparison = b1.getDate().compareTo(b2.getDate());
+        // Фильтр по статусу
+        if (statusCode != null && !statusCode.trim().isEmpty()) {
+            spec = spec.and((root, query, cb) -> 
+                cb.equal(root.get("bookingStatus").get("code"), statusCode)
+            );
+        }
+        
+        // Фильтр по дате
+        if (dateFrom != null) {
+            spec = spec.and((root, query, cb) -> 
+                cb.greaterThanOrEqualTo(root.get("date"), dateFrom)
+            );
+        }
+        if (dateTo != null) {
+            spec = spec.and((root, query, cb) -> 
+                cb.lessThanOrEqualTo(root.get("date"), dateTo)
+            );
+        }
+        
+        // Фильтр по bookingId
+        if (bookingId != null) {
+            spec = spec.and((root, query, cb) -> 
+                cb.equal(root.get("id"), bookingId)
+            );
+        }
+        
+        // Фильтр по телефону клиента
+        if (clientPhone != null && !clientPhone.trim().isEmpty()) {
+            spec = spec.and(BookingService.clientPhoneLike(clientPhone));
+        }
+        
+        // Статус нужен в каждой строке списка - загружаем его тем же запросом (кроме запроса количества)
+        spec = spec.and((root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("bookingStatus");
             }
-            
-            return direction == Sort.Direction.DESC ? -comparison : comparison;
+            return null;
         });
         
-        // Применение пагинации
-        int start = offset;
-        int end = Math.min(offset + limit, filteredBookings.size());
-        List<Booking> pagedBookings = filteredBookings.subList(start, end);
+        // Сортировка
+        Sort sort = buildSort(sortBy, sortOrder);
+        Pageable pageable = PageRequest.of(offset / limit, limit, sort);
+        
+        Page<Booking> page = bookingRepository.findAll(spec, pageable);
+        
+        // Позиции предзаказов всех бронирований страницы - одним запросом
+        List<Long> bookingIds = page.getContent().stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<BookingPreOrder>> preOrdersByBooking = bookingIds.isEmpty()
+                ? Collections.emptyMap()
+                : bookingPreOrderRepository.findByBookingIdInOrderById(bookingIds).stream()
+                        .collect(Collectors.groupingBy(preOrder -> preOrder.getBooking().getId()));
         
         // Преобразование в PreOrderListItemResponse
-        List<PreOrderListItemResponse> items = pagedBookings.stream()
-                .map(booking -> {
-                    List<BookingPreOrder> preOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
-                    return toListItemResponse(booking, preOrders);
-                })
+        List<PreOrderListItemResponse> items = page.getContent().stream()
+                .map(booking -> toListItemResponse(booking,
+                        preOrdersByBooking.getOrDefault(booking.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
         
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(
-                (long) filteredBookings.size(),
+                page.getTotalElements(),
                 limit,
                 offset,
-                end < filteredBookings.size()
+                (offset + limit) < page.getTotalElements()
         );
         
         return new PaginationResponse<>(items, pagination);
@@ -212,6 +202,8 @@ public class PreOrderService {
         booking.setBookingStatus(cancelledStatus);
         booking.setUpdatedAt(java.time.LocalDateTime.now());
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(
+                booking.getRestaurant().getId(), booking.getId(), booking.getDate()));
         
         // Получение текущего пользователя
         Long userId = null;
@@ -247,6 +239,23 @@ public class PreOrderService {
         return toResponse(booking, allPreOrders);
     }
     
+    private Sort buildSort(String sortBy, String sortOrder) {
+        String field = sortBy != null ? sortBy : "date";
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        
+        switch (field) {
+            case "totalAmount":
+                return Sort.by(direction, "preOrderTotal", "id");
+            case "createdAt":
+                return Sort.by(direction, "createdAt", "id");
+            case "statusCode":
+                return Sort.by(direction, "bookingStatus.code", "id");
+            case "date":
+            default:
+                return Sort.by(direction, "date", "time", "id");
+        }
+    }
+    
     private PreOrderListItemResponse toListItemResponse(Booking booking, List<BookingPreOrder> preOrders) {
         PreOrderListItemResponse response = new PreOrderListItemResponse();
         
@@ -261,11 +270,8 @@ public class PreOrderService {
         response.setTime(booking.getTime());
         response.setClientName(booking.getClientName());
         
-        // Расчет общей суммы
-        BigDecimal totalAmount = preOrders.stream()
-                .map(BookingPreOrder::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        response.setTotalAmount(totalAmount);
+        // Итоги предзаказа хранятся в бронировании
+        response.setTotalAmount(booking.getPreOrderTotal());
         
         // Используем specialRequests из первого предзаказа или из booking
         if (!preOrders.isEmpty() && preOrders.get(0).getSpecialRequests() != null) {
@@ -282,7 +288,7 @@ public class PreOrderService {
             response.setStatus(statusInfo);
         }
         
-        response.setItemsCount(preOrders.size());
+        response.setItemsCount(booking.getPreOrderItemCount());
         
         // Используем даты из первого предзаказа
         if (!preOrders.isEmpty()) {
@@ -9,6 +9,7 @@ import com.restohub.adminapi.repository.ImageRepository;
 import com.restohub.adminapi.repository.PromotionRepository;
 import com.restohub.adminapi.repository.PromotionTypeRepository;
 import com.restohub.adminapi.repository.RestaurantRepository;
+import com.restohub.adminapi.util.KeysetPagination;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -124,7 +125,7 @@ public class PromotionService {
     public PaginationResponse<List<PromotionListItemResponse>> getPromotions(
             Long restaurantId, Integer limit, Integer offset, Long promotionTypeId, Boolean isActive,
             LocalDate startDateFrom, LocalDate startDateTo, LocalDate endDateFrom, LocalDate endDateTo,
-            Boolean isCurrent, String sortBy, String sortOrder) {
+            Boolean isCurrent, String sortBy, String sortOrder, String after) {
         
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
@@ -179,6 +180,10 @@ public class PromotionService {
         
         // Сортировка
         Sort sort = buildSort(sortBy, sortOrder);
+        if (after != null) {
+            return KeysetPagination.fetch(promotionRepository, spec, sort, after, limit, this::toListItemResponse,
+                    "promotionType");
+        }
         Pageable pageable = PageRequest.of(offset / limit, limit, sort);
         
         Page<Promotion> page = promotionRepository.findAll(spec, pageable);
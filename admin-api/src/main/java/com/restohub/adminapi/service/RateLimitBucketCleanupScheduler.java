@@ -0,0 +1,66 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Очистка общей таблицы rate_limit_buckets.
+ *
+ * Bucket4j не хранит срок жизни строки, поэтому удаляются строки, к которым давно не обращались:
+ * updated_at выставляет триггер при каждой проверке лимита. Срок хранения должен быть больше самого
+ * длинного периода пополнения лимитов: удаленный bucket создается заново полным.
+ * Очистка выполняется под SchedulerLock - одним инстансом.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitBucketCleanupScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitBucketCleanupScheduler.class);
+    
+    static final String PURGE_LOCK = "rate-limit-bucket-purge";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLock schedulerLock;
+    private final Duration retention;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+    
+    @Autowired
+    public RateLimitBucketCleanupScheduler(
+            JdbcTemplate jdbcTemplate,
+            SchedulerLock schedulerLock,
+            @Value("${rate-limit.postgres.retention-hours:24}") long retentionHours,
+            @Value("${rate-limit.postgres.purge-interval-ms:3600000}") long purgeIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedulerLock = schedulerLock;
+        this.retention = Duration.ofHours(retentionHours);
+        this.lockAtMostFor = Duration.ofMillis(purgeIntervalMs);
+        // Инстансы с fixedDelay запускаются в разное время: лок держится половину интервала
+        this.lockAtLeastFor = Duration.ofMillis(purgeIntervalMs / 2);
+    }
+    
+    @Scheduled(fixedDelayString = "${rate-limit.postgres.purge-interval-ms:3600000}")
+    public void purgeOldBuckets() {
+        try {
+            schedulerLock.runLocked(PURGE_LOCK, lockAtMostFor, lockAtLeastFor, () -> {
+                int deleted = jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE updated_at < ?",
+                        Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+                if (deleted > 0) {
+                    logger.info("Purged {} rate limit buckets", deleted);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Rate limit bucket purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenCleanupScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenCleanupScheduler.class);
+    
+    private final AuthenticationService authenticationService;
+    
+    @Autowired
+    public RefreshTokenCleanupScheduler(AuthenticationService authenticationService) {
+        this.authenticationService = authenticationService;
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-purge.interval-ms:3600000}")
+    public void purgeExpiredTokens() {
+        try {
+            int deleted = authenticationService.purgeExpiredTokens();
+            if (deleted > 0) {
+                logger.info("Purged {} expired refresh tokens", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("Refresh token purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.restohub.adminapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restohub.adminapi.entity.User;
+import com.restohub.adminapi.event.UserAccessChangedEvent;
+import com.restohub.adminapi.repository.UserRepository;
+import com.restohub.adminapi.repository.UserRestaurantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Кэш ресторанов, к которым у менеджера есть доступ: email -> отсортированный массив ID ресторанов.
+ *
+ * Проверка доступа в RestaurantAccessInterceptor для закэшированного email не делает запросов к БД.
+ * Записи сбрасываются после коммита изменений пользователя (UserAccessChangedEvent), TTL ограничивает
+ * устаревание на других инстансах.
+ */
+@Component
+public class RestaurantAccessCache {
+
+    /**
+     * Доступ пользователя: active=false - пользователь не найден или деактивирован.
+     */
+    public record Access(boolean active, long[] restaurantIds) {
+
+        private static final Access INACTIVE = new Access(false, new long[0]);
+
+        public boolean hasRestaurant(Long restaurantId) {
+            return active && Arrays.binarySearch(restaurantIds, restaurantId) >= 0;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final UserRestaurantRepository userRestaurantRepository;
+    private final Cache<String, Access> cache;
+
+    public RestaurantAccessCache(
+            UserRepository userRepository,
+            UserRestaurantRepository userRestaurantRepository,
+            @Value("${restaurant-access.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${restaurant-access.cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.userRestaurantRepository = userRestaurantRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Access get(String email) {
+        return cache.get(email, this::load);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        evict(event.email());
+    }
+
+    private Access load(String email) {
+        Optional<User> user = userRepository.findByEmailAndIsActiveTrue(email);
+        if (user.isEmpty()) {
+            return Access.INACTIVE;
+        }
+        long[] restaurantIds = userRestaurantRepository.findRestaurantIdsByUserId(user.get().getId()).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return new Access(true, restaurantIds);
+    }
+}
@@ -0,0 +1,53 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Периодическое обновление restaurant_clients. Выполняется одним инстансом за раз (SchedulerLock):
+ * иначе каждый инстанс пересчитывал бы те же пары и двигал общий водяной знак.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class RestaurantClientStatsScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantClientStatsScheduler.class);
+    
+    static final String REFRESH_LOCK = "restaurant-client-stats-refresh";
+    
+    private final RestaurantClientStatsService restaurantClientStatsService;
+    private final SchedulerLock schedulerLock;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+    
+    @Autowired
+    public RestaurantClientStatsScheduler(
+            RestaurantClientStatsService restaurantClientStatsService,
+            SchedulerLock schedulerLock,
+            @Value("${analytics.client-stats.refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.restaurantClientStatsService = restaurantClientStatsService;
+        this.schedulerLock = schedulerLock;
+        this.lockAtMostFor = Duration.ofMillis(refreshIntervalMs);
+        // Инстансы с fixedDelay запускаются в разное время: лок держится половину интервала
+        this.lockAtLeastFor = Duration.ofMillis(refreshIntervalMs / 2);
+    }
+    
+    // Первый запуск вскоре после старта заполняет статистику за всю историю
+    @Scheduled(initialDelayString = "${analytics.client-stats.initial-delay-ms:60000}",
+               fixedDelayString = "${analytics.client-stats.refresh-interval-ms:300000}")
+    public void refreshClientStats() {
+        try {
+            schedulerLock.runLocked(REFRESH_LOCK, lockAtMostFor, lockAtLeastFor,
+                    restaurantClientStatsService::refreshUpdated);
+        } catch (Exception e) {
+            logger.error("Client stats refresh failed", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.RestaurantClient;
+import com.restohub.adminapi.event.BookingChangedEvent;
+import com.restohub.adminapi.repository.BookingPreOrderRepository;
+import com.restohub.adminapi.repository.BookingRepository;
+import com.restohub.adminapi.repository.ClientBookingStatsRow;
+import com.restohub.adminapi.repository.RestaurantClientRepository;
+import com.restohub.adminapi.repository.RestaurantClientRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Статистика клиентов по ресторанам (restaurant_clients).
+ *
+ * Строка пары (ресторан, клиент) пересчитывается индексированными запросами по бронированиям только этой пары:
+ * сразу после изменения бронирования в admin-api и периодически по bookings.updated_at -
+ * это покрывает бронирования, подтвержденные через client-api. Водяной знак периодического обновления хранится
+ * в job_watermarks: updated_at строк меняется и при пересчете по событию.
+ */
+@Service
+public class RestaurantClientStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantClientStatsService.class);
+
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Перекрытие окна: бронирование могло закоммититься позже с более ранним updated_at
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(10);
+    static final String REFRESH_WATERMARK = "restaurant-client-stats";
+
+    private final BookingRepository bookingRepository;
+    private final BookingPreOrderRepository bookingPreOrderRepository;
+    private final RestaurantClientRepository restaurantClientRepository;
+    private final JobWatermarks jobWatermarks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public RestaurantClientStatsService(
+            BookingRepository bookingRepository,
+            BookingPreOrderRepository bookingPreOrderRepository,
+            RestaurantClientRepository restaurantClientRepository,
+            JobWatermarks jobWatermarks,
+            PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingPreOrderRepository = bookingPreOrderRepository;
+        this.restaurantClientRepository = restaurantClientRepository;
+        this.jobWatermarks = jobWatermarks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Статистика клиента в ресторане. Если строка еще не рассчитана (бронирование пришло из client-api
+     * после последнего обновления), она считается сразу.
+     */
+    public Optional<RestaurantClient> getStats(Long restaurantId, Long clientId) {
+        Optional<RestaurantClient> stats = restaurantClientRepository.findByRestaurantIdAndClientId(restaurantId, clientId);
+        if (stats.isPresent()) {
+            return stats;
+        }
+        return Optional.ofNullable(transactionTemplate.execute(status -> refresh(restaurantId, clientId, LocalDateTime.now())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.restaurantId() == null || event.bookingId() == null) {
+            return;
+        }
+        try {
+            bookingRepository.findClientIdById(event.bookingId()).ifPresent(clientId ->
+                    transactionTemplate.executeWithoutResult(status ->
+                            refresh(event.restaurantId(), clientId, LocalDateTime.now())));
+        } catch (Exception e) {
+            // Строку догонит периодическое обновление
+            logger.warn("Failed to refresh client stats for booking {}", event.bookingId(), e);
+        }
+    }
+
+    /**
+     * Пересчитывает статистику пар (ресторан, клиент), у которых менялись бронирования.
+     *
+     * @return количество пересчитанных пар
+     */
+    public int refreshUpdated() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime watermark = jobWatermarks.get(REFRESH_WATERMARK);
+        LocalDateTime since = watermark != null ? watermark.minus(REFRESH_OVERLAP) : INITIAL_WATERMARK;
+
+        List<RestaurantClientRow> pairs = bookingRepository.findRestaurantClientsUpdatedSince(since);
+        for (RestaurantClientRow pair : pairs) {
+            transactionTemplate.executeWithoutResult(status -> refresh(pair.restaurantId(), pair.clientId(), startedAt));
+        }
+        // Сдвигаем только после успешного пересчета всех пар: при ошибке следующий запуск повторит окно
+        jobWatermarks.set(REFRESH_WATERMARK, startedAt);
+        if (!pairs.isEmpty()) {
+            logger.info("Refreshed client stats for {} restaurant clients", pairs.size());
+        }
+        return pairs.size();
+    }
+
+    RestaurantClient refresh(Long restaurantId, Long clientId, LocalDateTime updatedAt) {
+        ClientBookingStatsRow row = bookingRepository.findClientStats(restaurantId, clientId);
+        Optional<RestaurantClient> existing = restaurantClientRepository.findByRestaurantIdAndClientId(restaurantId, clientId);
+
+        if (row == null || row.bookingCount() == 0) {
+            existing.ifPresent(restaurantClientRepository::delete);
+            return null;
+        }
+
+        RestaurantClient stats = existing.orElseGet(() -> {
+            RestaurantClient created = new RestaurantClient();
+            created.setRestaurantId(restaurantId);
+            created.setClientId(clientId);
+            return created;
+        });
+        stats.setBookingCount(row.bookingCount().intValue());
+        stats.setVisitCount(row.visitCount().intValue());
+        stats.setCancelledCount(row.cancelledCount().intValue());
+        stats.setPreOrderCount(row.preOrderCount().intValue());
+        stats.setPreOrderTotal(row.preOrderTotal() != null ? row.preOrderTotal() : BigDecimal.ZERO);
+        stats.setPersonTotal(row.personTotal().intValue());
+        stats.setFirstBookingDate(row.firstBookingDate());
+        stats.setLastBookingDate(row.lastBookingDate());
+        stats.setLastVisitDate(row.lastVisitDate());
+        stats.setFavoriteTableId(first(bookingRepository.findTopTableIds(restaurantId, clientId, PageRequest.of(0, 1))));
+        stats.setFavoriteMenuItemId(row.preOrderCount() > 0
+                ? first(bookingPreOrderRepository.findTopMenuItemIds(restaurantId, clientId, PageRequest.of(0, 1)))
+                : null);
+        stats.setUpdatedAt(updatedAt);
+        return restaurantClientRepository.save(stats);
+    }
+
+    private Long first(List<Long> ids) {
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
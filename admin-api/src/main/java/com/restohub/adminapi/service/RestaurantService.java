@@ -5,6 +5,8 @@ import com.restohub.adminapi.entity.Image;
 import com.restohub.adminapi.entity.Restaurant;
 import com.restohub.adminapi.entity.User;
 import com.restohub.adminapi.entity.UserRestaurant;
+import com.restohub.adminapi.event.CacheInvalidationEvent;
+import com.restohub.adminapi.event.UserAccessChangedEvent;
 import com.restohub.adminapi.repository.ImageRepository;
 import com.restohub.adminapi.repository.RestaurantRepository;
 import com.restohub.adminapi.repository.RestaurantSubscriptionRepository;
@@ -15,6 +17,7 @@ import com.restohub.adminapi.validation.PhoneValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +46,7 @@ public class RestaurantService {
     private final UserRepository userRepository;
     private final ImageService imageService;
     private final SubscriptionService subscriptionService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public RestaurantService(
@@ -52,7 +56,8 @@ public class RestaurantService {
             RestaurantSubscriptionRepository restaurantSubscriptionRepository,
             UserRepository userRepository,
             ImageService imageService,
-            SubscriptionService subscriptionService) {
+            SubscriptionService subscriptionService,
+            ApplicationEventPublisher eventPublisher) {
         this.restaurantRepository = restaurantRepository;
         this.imageRepository = imageRepository;
         this.userRestaurantRepository = userRestaurantRepository;
@@ -60,6 +65,7 @@ public class RestaurantService {
         this.userRepository = userRepository;
         this.imageService = imageService;
         this.subscriptionService = subscriptionService;
+        this.eventPublisher = eventPublisher;
     }
     
     @Transactional
@@ -157,6 +163,7 @@ public class RestaurantService {
             userRestaurant.setRestaurant(restaurant);
             userRestaurant.setCreatedAt(LocalDateTime.now());
             userRestaurantRepository.save(userRestaurant);
+            eventPublisher.publishEvent(new UserAccessChangedEvent(userToLink.getEmail()));
         }
     }
     
@@ -315,6 +322,7 @@ public class RestaurantService {
         }
         
         restaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_RESTAURANT, id));
         
         return toResponse(restaurant);
     }
@@ -338,6 +346,7 @@ public class RestaurantService {
         restaurant.setIsActive(false);
         restaurant.setDeletedAt(LocalDateTime.now());
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_RESTAURANT, id));
         
         // Каскадное мягкое удаление связанных сущностей
         // (будет выполнено через каскадные операции в Entity или отдельными запросами)
@@ -356,6 +365,7 @@ public class RestaurantService {
         
         restaurant.setIsActive(true);
         restaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_RESTAURANT, id));
         
         return toResponse(restaurant);
     }
@@ -367,6 +377,7 @@ public class RestaurantService {
         
         restaurant.setIsActive(false);
         restaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_RESTAURANT, id));
         
         return toResponse(restaurant);
     }
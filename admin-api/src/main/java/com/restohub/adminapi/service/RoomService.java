@@ -6,6 +6,7 @@ import com.restohub.adminapi.entity.Image;
 import com.restohub.adminapi.entity.Room;
 import com.restohub.adminapi.entity.RestaurantTable;
 import com.restohub.adminapi.repository.FloorRepository;
+import com.restohub.adminapi.repository.IdCountRow;
 import com.restohub.adminapi.repository.ImageRepository;
 import com.restohub.adminapi.repository.RestaurantRepository;
 import com.restohub.adminapi.repository.RoomRepository;
@@ -26,6 +27,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -119,12 +121,15 @@ public class RoomService {
         
         Page<Room> page = roomRepository.findAll(spec, pageable);
         
+        // Количество активных столов по всем залам страницы одним запросом
+        Map<Long, Long> tableCounts = page.isEmpty() ? Map.of() :
+                tableRepository.countActiveByRoomIds(page.getContent().stream().map(Room::getId).toList()).stream()
+                        .collect(Collectors.toMap(IdCountRow::id, IdCountRow::count));
+        
         List<RoomListItemResponse> items = page.getContent().stream()
                 .map(room -> {
                     RoomListItemResponse response = toListItemResponse(room);
-                    // Подсчет количества активных столов
-                    int tableCount = tableRepository.findByRoomIdAndIsActiveTrue(room.getId()).size();
-                    response.setTableCount(tableCount);
+                    response.setTableCount(tableCounts.getOrDefault(room.getId(), 0L).intValue());
                     return response;
                 })
                 .collect(Collectors.toList());
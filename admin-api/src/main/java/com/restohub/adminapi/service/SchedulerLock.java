@@ -0,0 +1,82 @@
+package com.restohub.adminapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Распределенная блокировка задач @Scheduled по таблице scheduler_locks: задача с одним именем
+ * выполняется только на одном инстансе admin-api.
+ *
+ * Блокировка занята до lock_until. lockAtMostFor - срок, после которого блокировку упавшего инстанса
+ * можно перехватить; lockAtLeastFor - минимальное время удержания, чтобы инстанс с отстающими часами
+ * не запустил ту же задачу повторно сразу после завершения.
+ */
+@Component
+public class SchedulerLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLock.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lockedBy = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Autowired
+    public SchedulerLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Выполняет задачу под блокировкой. Возвращает false, если блокировка занята другим инстансом.
+     */
+    public boolean runLocked(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        LocalDateTime lockedAt = LocalDateTime.now();
+        if (!tryLock(name, lockedAt, lockedAt.plus(lockAtMostFor))) {
+            logger.info("Scheduler lock {} is held by another instance, skipping", name);
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            unlock(name, lockedAt.plus(lockAtLeastFor));
+        }
+        return true;
+    }
+
+    private boolean tryLock(String name, LocalDateTime now, LocalDateTime lockUntil) {
+        // Истекшую блокировку перехватываем обновлением; строку создаем при первом запуске задачи
+        int updated = jdbcTemplate.update(
+                "UPDATE scheduler_locks SET lock_until = ?, locked_at = ?, locked_by = ? WHERE name = ? AND lock_until <= ?",
+                Timestamp.valueOf(lockUntil), Timestamp.valueOf(now), lockedBy, name, Timestamp.valueOf(now));
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO scheduler_locks (name, lock_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    name, Timestamp.valueOf(lockUntil), Timestamp.valueOf(now), lockedBy);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Строка уже есть и блокировка не истекла
+            return false;
+        }
+    }
+
+    private void unlock(String name, LocalDateTime lockAtLeastUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockUntil = lockAtLeastUntil.isAfter(now) ? lockAtLeastUntil : now;
+        try {
+            jdbcTemplate.update("UPDATE scheduler_locks SET lock_until = ? WHERE name = ? AND locked_by = ?",
+                    Timestamp.valueOf(lockUntil), name, lockedBy);
+        } catch (Exception e) {
+            // Блокировка освободится сама по lock_until = lockAtMostFor
+            logger.error("Failed to release scheduler lock {}", name, e);
+        }
+    }
+}
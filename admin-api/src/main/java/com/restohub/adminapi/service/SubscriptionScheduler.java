@@ -1,75 +1,131 @@
 package com.restohub.adminapi.service;
 
-import com.restohub.adminapi.entity.RestaurantSubscription;
 import com.restohub.adminapi.entity.SubscriptionStatus;
-import com.restohub.adminapi.repository.RestaurantSubscriptionRepository;
+import com.restohub.adminapi.event.CacheInvalidationEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Истечение подписок: DRAFT старше 7 дней и ACTIVATED с прошедшей датой окончания переводятся в EXPIRED.
+ *
+ * Подписки обновляются set-based запросами UPDATE ... RETURNING чанками по chunk-size строк, каждый чанк -
+ * отдельная транзакция. Задачи выполняются под SchedulerLock: в полночь их запускает только один инстанс.
+ * По каждому ресторану с истекшей подпиской публикуется CacheInvalidationEvent - client-api сразу обновляет
+ * кэш подписок.
+ */
 @Component
 @ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
 public class SubscriptionScheduler {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionScheduler.class);
-    
-    private final RestaurantSubscriptionRepository subscriptionRepository;
-    
+
+    static final String EXPIRE_DRAFTS_LOCK = "subscription-expire-drafts";
+    static final String EXPIRE_ACTIVATED_LOCK = "subscription-expire-activated";
+
+    // FOR UPDATE SKIP LOCKED: строки, которые сейчас меняет API (оплата, активация), не ждем - их заберет следующий запуск
+    private static final String EXPIRE_DRAFTS_SQL =
+            "UPDATE restaurant_subscriptions SET status = ?, is_active = false, updated_at = ? " +
+            "WHERE id IN (SELECT id FROM restaurant_subscriptions " +
+            "WHERE status = ? AND created_at < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING restaurant_id";
+
+    private static final String EXPIRE_ACTIVATED_SQL =
+            "UPDATE restaurant_subscriptions SET status = ?, is_active = false, updated_at = ? " +
+            "WHERE id IN (SELECT id FROM restaurant_subscriptions " +
+            "WHERE status = ? AND is_active = true AND end_date < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING restaurant_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLock schedulerLock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+
     @Autowired
-    public SubscriptionScheduler(RestaurantSubscriptionRepository subscriptionRepository) {
-        this.subscriptionRepository = subscriptionRepository;
+    public SubscriptionScheduler(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SchedulerLock schedulerLock,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${subscriptions.scheduler.chunk-size:500}") int chunkSize,
+            @Value("${subscriptions.scheduler.lock-at-most-for-ms:3600000}") long lockAtMostForMs,
+            @Value("${subscriptions.scheduler.lock-at-least-for-ms:60000}") long lockAtLeastForMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLock = schedulerLock;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.lockAtMostFor = Duration.ofMillis(lockAtMostForMs);
+        this.lockAtLeastFor = Duration.ofMillis(lockAtLeastForMs);
     }
-    
+
     @Scheduled(cron = "0 0 0 * * ?") // Каждый день в 00:00
-    @Transactional
     public void checkExpiredSubscriptions() {
-        logger.info("Starting scheduled check for expired DRAFT subscriptions");
-        
-        // Находим подписки со статусом DRAFT старше 7 дней
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        List<RestaurantSubscription> expiredDraftSubscriptions = subscriptionRepository
-                .findByStatusAndCreatedAtBefore(SubscriptionStatus.DRAFT, sevenDaysAgo);
-        
-        int count = 0;
-        for (RestaurantSubscription subscription : expiredDraftSubscriptions) {
-            subscription.setStatus(SubscriptionStatus.EXPIRED);
-            subscription.setIsActive(false);
-            subscriptionRepository.save(subscription);
-            count++;
-        }
-        
-        logger.info("Expired {} DRAFT subscriptions", count);
+        schedulerLock.runLocked(EXPIRE_DRAFTS_LOCK, lockAtMostFor, lockAtLeastFor, () -> {
+            logger.info("Starting scheduled check for expired DRAFT subscriptions");
+
+            // Подписки со статусом DRAFT старше 7 дней
+            Timestamp sevenDaysAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(7));
+            int count = expireInChunks(EXPIRE_DRAFTS_SQL, SubscriptionStatus.DRAFT, sevenDaysAgo);
+
+            logger.info("Expired {} DRAFT subscriptions", count);
+        });
     }
-    
+
     @Scheduled(cron = "0 0 0 * * ?") // Каждый день в 00:00
-    @Transactional
     public void checkActiveSubscriptionsExpiration() {
-        logger.info("Starting scheduled check for expired ACTIVATED subscriptions");
-        
-        // Находим все активные подписки со статусом ACTIVATED
-        List<RestaurantSubscription> activatedSubscriptions = subscriptionRepository
-                .findByStatusAndIsActiveTrue(SubscriptionStatus.ACTIVATED);
-        
-        int count = 0;
-        java.time.LocalDate today = java.time.LocalDate.now();
-        
-        for (RestaurantSubscription subscription : activatedSubscriptions) {
-            if (subscription.getEndDate() != null && subscription.getEndDate().isBefore(today)) {
-                subscription.setStatus(SubscriptionStatus.EXPIRED);
-                subscription.setIsActive(false);
-                subscriptionRepository.save(subscription);
-                count++;
+        schedulerLock.runLocked(EXPIRE_ACTIVATED_LOCK, lockAtMostFor, lockAtLeastFor, () -> {
+            logger.info("Starting scheduled check for expired ACTIVATED subscriptions");
+
+            // Активные подписки ACTIVATED, дата окончания которых уже прошла
+            Date today = Date.valueOf(LocalDate.now());
+            int count = expireInChunks(EXPIRE_ACTIVATED_SQL, SubscriptionStatus.ACTIVATED, today);
+
+            logger.info("Expired {} ACTIVATED subscriptions", count);
+        });
+    }
+
+    private int expireInChunks(String sql, SubscriptionStatus status, Object threshold) {
+        Set<Long> notifiedRestaurants = new HashSet<>();
+        int total = 0;
+        while (true) {
+            List<Long> restaurantIds = transactionTemplate.execute(tx -> {
+                List<Long> ids = jdbcTemplate.queryForList(sql, Long.class,
+                        SubscriptionStatus.EXPIRED.name(), Timestamp.valueOf(LocalDateTime.now()),
+                        status.name(), threshold, chunkSize);
+                // Событие публикуется в транзакции чанка: NOTIFY уходит после ее коммита
+                for (Long restaurantId : ids) {
+                    if (notifiedRestaurants.add(restaurantId)) {
+                        eventPublisher.publishEvent(new CacheInvalidationEvent(
+                                CacheInvalidationEvent.ENTITY_SUBSCRIPTION, restaurantId));
+                    }
+                }
+                return ids;
+            });
+            total += restaurantIds.size();
+            if (restaurantIds.size() < chunkSize) {
+                return total;
             }
         }
-        
-        logger.info("Expired {} ACTIVATED subscriptions", count);
     }
 }
-
@@ -2,8 +2,11 @@ package com.restohub.adminapi.service;
 
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.*;
+import com.restohub.adminapi.event.CacheInvalidationEvent;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.util.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,17 +27,20 @@ public class SubscriptionService {
     private final RestaurantRepository restaurantRepository;
     private final SubscriptionTypeRepository subscriptionTypeRepository;
     private final SubscriptionPaymentRepository paymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public SubscriptionService(
             RestaurantSubscriptionRepository subscriptionRepository,
             RestaurantRepository restaurantRepository,
             SubscriptionTypeRepository subscriptionTypeRepository,
-            SubscriptionPaymentRepository paymentRepository) {
+            SubscriptionPaymentRepository paymentRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.subscriptionRepository = subscriptionRepository;
         this.restaurantRepository = restaurantRepository;
         this.subscriptionTypeRepository = subscriptionTypeRepository;
         this.paymentRepository = paymentRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     public SubscriptionResponse getRestaurantSubscription(Long restaurantId) {
@@ -85,6 +91,7 @@ public class SubscriptionService {
         // startDate и endDate остаются null до активации
         
         subscription = subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_SUBSCRIPTION, restaurantId));
         
         return toResponse(subscription);
     }
@@ -150,6 +157,7 @@ public class SubscriptionService {
         Restaurant restaurant = subscription.getRestaurant();
         restaurant.setIsActive(true);
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_SUBSCRIPTION, restaurant.getId()));
         
         // Сохранение записи в subscription_payments
         SubscriptionPayment payment = new SubscriptionPayment();
@@ -240,13 +248,14 @@ public class SubscriptionService {
         }
         
         subscription = subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_SUBSCRIPTION, restaurantId));
         
         return toResponse(subscription);
     }
     
     public PaginationResponse<List<SubscriptionListItemResponse>> getAllSubscriptions(
             Integer limit, Integer offset, Boolean isActive, Long restaurantId,
-            Long subscriptionTypeId, Boolean expiringSoon, String sortBy, String sortOrder) {
+            Long subscriptionTypeId, Boolean expiringSoon, String sortBy, String sortOrder, String after) {
         
         // Построение спецификации
         Specification<RestaurantSubscription> spec = Specification.where(null);
@@ -281,6 +290,10 @@ public class SubscriptionService {
         
         // Сортировка
         Sort sort = buildSort(sortBy, sortOrder);
+        if (after != null) {
+            return KeysetPagination.fetch(subscriptionRepository, spec, sort, after, limit, this::toListItemResponse,
+                    "restaurant", "subscriptionType");
+        }
         Pageable pageable = PageRequest.of(offset / limit, limit, sort);
         
         Page<RestaurantSubscription> page = subscriptionRepository.findAll(spec, pageable);
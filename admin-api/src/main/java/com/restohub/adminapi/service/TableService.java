@@ -3,6 +3,7 @@ package com.restohub.adminapi.service;
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.*;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.util.KeysetPagination;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -100,7 +101,7 @@ public class TableService {
     
     public PaginationResponse<List<TableListItemResponse>> getTables(
             Long restaurantId, Integer limit, Integer offset, Long roomId, Long floorId,
-            Integer minCapacity, Integer maxCapacity, String sortBy, String sortOrder) {
+            Integer minCapacity, Integer maxCapacity, String sortBy, String sortOrder, String after) {
         
         // Проверка существования ресторана
         restaurantRepository.findById(restaurantId)
@@ -133,6 +134,10 @@ public class TableService {
         
         // Сортировка
         Sort sort = buildSort(sortBy, sortOrder);
+        if (after != null) {
+            return KeysetPagination.fetch(tableRepository, spec, sort, after, limit, this::toListItemResponse,
+                    "room.floor");
+        }
         Pageable pageable = PageRequest.of(offset / limit, limit, sort);
         
         Page<RestaurantTable> page = tableRepository.findAll(spec, pageable);
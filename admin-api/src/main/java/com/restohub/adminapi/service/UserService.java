@@ -3,7 +3,9 @@ package com.restohub.adminapi.service;
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.entity.*;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.event.UserAccessChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +32,7 @@ public class UserService {
     private final UserRestaurantRepository userRestaurantRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public UserService(
@@ -37,13 +41,15 @@ public class UserService {
             RestaurantRepository restaurantRepository,
             UserRestaurantRepository userRestaurantRepository,
             RefreshTokenRepository refreshTokenRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.restaurantRepository = restaurantRepository;
         this.userRestaurantRepository = userRestaurantRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
     
     @Transactional
@@ -94,6 +100,9 @@ public class UserService {
             }
         }
         
+        // Email мог попасть в кэш доступа до создания пользователя
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getEmail()));
+        
         return toResponse(user);
     }
     
@@ -130,8 +139,13 @@ public class UserService {
         
         Page<User> page = userRepository.findAll(spec, pageable);
         
+        // Рестораны пользователей страницы загружаются одним запросом
+        Map<Long, List<UserRestaurant>> restaurantsByUser = page.isEmpty() ? Map.of() :
+                userRestaurantRepository.findWithRestaurantByUserIdIn(page.getContent().stream().map(User::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(ur -> ur.getUser().getId()));
+        
         List<UserListItemResponse> items = page.getContent().stream()
-                .map(this::toListItemResponse)
+                .map(user -> toListItemResponse(user, restaurantsByUser.getOrDefault(user.getId(), List.of())))
                 .collect(Collectors.toList());
         
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(
@@ -163,6 +177,8 @@ public class UserService {
             throw new RuntimeException("CANNOT_MODIFY_SELF");
         }
         
+        String previousEmail = user.getEmail();
+        
         // Обновление email
         if (request.getEmail() != null) {
             String newEmail = request.getEmail().trim().toLowerCase();
@@ -219,6 +235,12 @@ public class UserService {
         
         user = userRepository.save(user);
         
+        // Сброс кэша доступа к ресторанам (для старого и нового email)
+        eventPublisher.publishEvent(new UserAccessChangedEvent(previousEmail));
+        if (!previousEmail.equals(user.getEmail())) {
+            eventPublisher.publishEvent(new UserAccessChangedEvent(user.getEmail()));
+        }
+        
         return toResponse(user);
     }
     
@@ -241,6 +263,8 @@ public class UserService {
         
         // Удаление refresh tokens
         refreshTokenRepository.deleteByUser(user);
+        
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getEmail()));
     }
     
     @Transactional
@@ -277,6 +301,8 @@ public class UserService {
         if (!isActive) {
             refreshTokenRepository.deleteByUser(user);
         }
+        
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getEmail()));
     }
     
     public List<RoleResponse> getRoles() {
@@ -315,7 +341,7 @@ public class UserService {
         return response;
     }
     
-    private UserListItemResponse toListItemResponse(User user) {
+    private UserListItemResponse toListItemResponse(User user, List<UserRestaurant> userRestaurants) {
         UserListItemResponse response = new UserListItemResponse();
         response.setId(user.getId());
         response.setEmail(user.getEmail());
@@ -325,7 +351,6 @@ public class UserService {
         
         // Загрузка связанных ресторанов (для MANAGER)
         if ("MANAGER".equals(user.getRole().getCode())) {
-            List<UserRestaurant> userRestaurants = userRestaurantRepository.findByUserId(user.getId());
             List<UserListItemResponse.RestaurantInfo> restaurants = userRestaurants.stream()
                     .map(ur -> {
                         UserListItemResponse.RestaurantInfo info = new UserListItemResponse.RestaurantInfo();
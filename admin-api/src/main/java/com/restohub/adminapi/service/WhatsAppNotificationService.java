@@ -8,7 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -290,13 +289,13 @@ public class WhatsAppNotificationService {
         }
         
         // Предзаказ
-        List<BookingPreOrder> preOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
-        if (!preOrders.isEmpty()) {
+        // Позиции загружаем, только если у бронирования есть предзаказ
+        if (booking.getPreOrderItemCount() > 0) {
+            List<BookingPreOrder> preOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
             message.append("\n");
             message.append(messageTranslationService.getMessage("manager.booking.preorder", languageCode));
             message.append("\n");
             
-            BigDecimal total = BigDecimal.ZERO;
             for (BookingPreOrder preOrder : preOrders) {
                 String itemMessage = messageTranslationService.getMessage("manager.booking.preorder.item", languageCode,
                         preOrder.getQuantity().toString(),
@@ -304,10 +303,10 @@ public class WhatsAppNotificationService {
                         preOrder.getTotalPrice().toString());
                 message.append(itemMessage);
                 message.append("\n");
-                total = total.add(preOrder.getTotalPrice());
             }
             
-            message.append(messageTranslationService.getMessage("manager.booking.preorder.total", languageCode, total.toString()));
+            message.append(messageTranslationService.getMessage("manager.booking.preorder.total", languageCode,
+                    booking.getPreOrderTotal().toString()));
             message.append("\n");
         }
         
@@ -365,13 +364,13 @@ public class WhatsAppNotificationService {
         message.append("\n");
         
         // Предзаказ
-        List<BookingPreOrder> preOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
-        if (!preOrders.isEmpty()) {
+        // Позиции загружаем, только если у бронирования есть предзаказ
+        if (booking.getPreOrderItemCount() > 0) {
+            List<BookingPreOrder> preOrders = bookingPreOrderRepository.findByBookingId(booking.getId());
             message.append("\n");
             message.append(messageTranslationService.getMessage("client.booking.preorder", languageCode, (Object[]) null));
             message.append("\n");
             
-            BigDecimal total = BigDecimal.ZERO;
             for (BookingPreOrder preOrder : preOrders) {
                 String itemMessage = messageTranslationService.getMessage("client.booking.preorder.item", languageCode,
                         preOrder.getQuantity().toString(),
@@ -379,10 +378,10 @@ public class WhatsAppNotificationService {
                         preOrder.getTotalPrice().toString());
                 message.append(itemMessage);
                 message.append("\n");
-                total = total.add(preOrder.getTotalPrice());
             }
             
-            message.append(messageTranslationService.getMessage("client.booking.preorder.total", languageCode, total.toString()));
+            message.append(messageTranslationService.getMessage("client.booking.preorder.total", languageCode,
+                    booking.getPreOrderTotal().toString()));
             message.append("\n");
         }
         
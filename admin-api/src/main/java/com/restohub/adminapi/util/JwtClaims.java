@@ -0,0 +1,9 @@
+package com.restohub.adminapi.util;
+
+import java.time.Instant;
+
+/**
+ * Проверенные claims JWT: подпись и срок действия уже проверены в {@link JwtTokenProvider#verify(String)}.
+ */
+public record JwtClaims(String email, String role, Instant expiresAt) {
+}
@@ -1,6 +1,11 @@
 package com.restohub.adminapi.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,24 +13,44 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Выпуск и проверка JWT.
+ *
+ * Токен проверяется один раз: подпись и срок действия проверяются при первом обращении, результат
+ * ({@link JwtClaims}) кэшируется по SHA-256 хешу токена до его exp. Повторные запросы с тем же токеном
+ * обходятся одним обращением к кэшу без HMAC и разбора JSON.
+ */
 @Component
 public class JwtTokenProvider {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long accessTokenExpiration;
+    private final long refreshTokenExpiration;
+    private final Cache<String, JwtClaims> claimsCache;
     
-    @Value("${jwt.access-token-expiration:300}")
-    private long accessTokenExpiration;
-    
-    @Value("${jwt.refresh-token-expiration:3600}")
-    private long refreshTokenExpiration;
-    
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtTokenProvider(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.access-token-expiration:300}") long accessTokenExpiration,
+            @Value("${jwt.refresh-token-expiration:3600}") long refreshTokenExpiration,
+            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
     }
     
     public String generateAccessToken(String email, String role) {
@@ -40,60 +65,108 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration * 1000);
         
+        // jti делает токены уникальными даже при выпуске в одну секунду - по хешу refresh token ищется строка в БД
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("role", role)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
+    /**
+     * Проверяет подпись и срок действия токена.
+     *
+     * @return claims токена или null, если токен невалиден или истек
+     */
+    public JwtClaims verify(String token) {
+        String key = hashToken(token);
+        JwtClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        JwtClaims claims;
+        try {
+            Claims payload = parser.parseSignedClaims(token).getPayload();
+            if (payload.getExpiration() == null) {
+                return null;
+            }
+            claims = new JwtClaims(payload.getSubject(), payload.get("role", String.class),
+                    payload.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        claimsCache.put(key, claims);
+        return claims;
+    }
+    
     public String getEmailFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return requireClaims(token).email();
     }
     
     public String getRoleFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("role", String.class));
+        return requireClaims(token).role();
     }
     
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return Date.from(requireClaims(token).expiresAt());
     }
     
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
+        final Claims claims = parser.parseSignedClaims(token).getPayload();
         return claimsResolver.apply(claims);
     }
     
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Boolean validateToken(String token) {
+        return verify(token) != null;
     }
     
-    public Boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+    public Boolean isTokenExpired(String token) {
+        // Если токен не удалось проверить, считаем его истекшим
+        return verify(token) == null;
+    }
+    
+    public long getRefreshTokenExpiration() {
+        return refreshTokenExpiration;
+    }
+    
+    private JwtClaims requireClaims(String token) {
+        JwtClaims claims = verify(token);
+        if (claims == null) {
+            throw new JwtException("Invalid or expired token");
         }
+        return claims;
     }
     
-    public Boolean isTokenExpired(String token) {
+    // Токен - подписанный JWT с jti, поэтому достаточно быстрого хеша без соли (в отличие от паролей)
+    public static String hashToken(String token) {
         try {
-            final Date expiration = getExpirationDateFromToken(token);
-            return expiration.before(new Date());
-        } catch (Exception e) {
-            return true; // Если не можем получить дату истечения, считаем токен истекшим
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
     
-    public long getRefreshTokenExpiration() {
-        return refreshTokenExpiration;
+    // Запись кэша живет до exp токена
+    private static class ExpireAtTokenExpiry implements Expiry<String, JwtClaims> {
+        
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
-
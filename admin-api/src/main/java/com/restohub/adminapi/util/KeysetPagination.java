@@ -0,0 +1,182 @@
+package com.restohub.adminapi.util;
+
+import com.restohub.adminapi.dto.PaginationResponse;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset-пагинация списков: вместо OFFSET и COUNT(*) следующая страница выбирается условием
+ * по ключу сортировки и ID последней строки предыдущей страницы.
+ *
+ * Курсор (параметр after) кодирует поле и направление сортировки, значение ключа и ID. Пустой after
+ * запрашивает первую страницу в этом режиме. Строки с NULL в ключе сортировки идут последними
+ * при любом направлении, ID разрешает равенство ключей.
+ *
+ * Поддерживается только сортировка по одному полю типа из KEY_TYPES, иначе - INVALID_CURSOR.
+ *
+ * fetchPaths - план выборки (как attributePaths в @EntityGraph репозитория): связи, которые читает маппер,
+ * подгружаются тем же запросом.
+ */
+public final class KeysetPagination {
+
+    private static final String SEPARATOR = "\n";
+
+    private static final Set<Class<?>> KEY_TYPES = Set.of(
+            String.class, Integer.class, int.class, Long.class, long.class,
+            BigDecimal.class, LocalDate.class, LocalDateTime.class, Instant.class);
+
+    private KeysetPagination() {
+    }
+
+    public static <T, R> PaginationResponse<List<R>> fetch(
+            JpaSpecificationExecutor<T> repository,
+            Specification<T> spec,
+            Sort sort,
+            String after,
+            int limit,
+            Function<T, R> mapper,
+            String... fetchPaths) {
+
+        // Курсор кодирует один ключ сортировки: дополнительные ключи были бы молча проигнорированы
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1) {
+            throw new RuntimeException("INVALID_CURSOR");
+        }
+        Sort.Order order = orders.get(0);
+        Cursor cursor = after.isEmpty() ? null : decode(after, order);
+
+        // Лишняя строка показывает, есть ли следующая страница, без COUNT(*)
+        List<T> rows = repository.findBy(spec.and(seek(order, cursor, fetchPaths)), query -> query.limit(limit + 1).all());
+        boolean hasMore = rows.size() > limit;
+        List<T> content = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? encode(order, content.get(content.size() - 1)) : null;
+        List<R> items = content.stream().map(mapper).collect(Collectors.toList());
+
+        return new PaginationResponse<>(items, new PaginationResponse.PaginationInfo(null, limit, null, hasMore, nextCursor));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> Specification<T> seek(Sort.Order order, Cursor cursor, String... fetchPaths) {
+        return (root, query, cb) -> {
+            for (String fetchPath : fetchPaths) {
+                FetchParent<?, ?> parent = root;
+                for (String part : fetchPath.split("\\.")) {
+                    parent = parent.fetch(part, JoinType.LEFT);
+                }
+            }
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            Path<Comparable> key = (Path<Comparable>) path(root, order.getProperty());
+            if (!KEY_TYPES.contains(key.getJavaType())) {
+                throw new RuntimeException("INVALID_CURSOR");
+            }
+            Path<Long> id = root.get("id");
+            boolean ascending = order.isAscending();
+
+            query.orderBy(
+                    ascending ? hcb.asc(key, false) : hcb.desc(key, false),
+                    ascending ? cb.asc(id) : cb.desc(id));
+
+            if (cursor == null) {
+                return null;
+            }
+
+            Predicate afterId = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            if (cursor.value() == null) {
+                return cb.and(cb.isNull(key), afterId);
+            }
+
+            Comparable value = parseValue(cursor.value(), key.getJavaType());
+            return cb.or(
+                    ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value),
+                    cb.and(cb.equal(key, value), afterId),
+                    cb.isNull(key));
+        };
+    }
+
+    static String encode(Sort.Order order, Object row) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Object value = wrapper.getPropertyValue(order.getProperty());
+
+        String raw = order.getProperty() + SEPARATOR + order.getDirection() + SEPARATOR + wrapper.getPropertyValue("id");
+        if (value != null) {
+            raw += SEPARATOR + value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String after, Sort.Order order) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("INVALID_CURSOR");
+        }
+
+        // Курсор действителен только для той сортировки, с которой получен
+        if (parts.length < 3 || !parts[0].equals(order.getProperty()) || !parts[1].equals(order.getDirection().name())) {
+            throw new RuntimeException("INVALID_CURSOR");
+        }
+
+        try {
+            return new Cursor(Long.parseLong(parts[2]), parts.length == 4 ? parts[3] : null);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("INVALID_CURSOR");
+        }
+    }
+
+    private static Path<?> path(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parseValue(String value, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            } else if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            } else if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            } else if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            } else if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            } else if (type == Instant.class) {
+                return Instant.parse(value);
+            }
+        } catch (RuntimeException e) {
+            throw new RuntimeException("INVALID_CURSOR");
+        }
+        throw new RuntimeException("INVALID_CURSOR");
+    }
+
+    record Cursor(long id, String value) {
+    }
+}
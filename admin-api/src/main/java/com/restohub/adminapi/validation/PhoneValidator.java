@@ -38,5 +38,14 @@ public class PhoneValidator implements ConstraintValidator<Phone, String> {
         
         return normalized;
     }
+    
+    /**
+     * Оставляет в строке поиска только цифры (для поиска по clients.phone_digits)
+     */
+    public static String digitsOnly(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        return phone.replaceAll("[^0-9]", "");
+    }
 }
-
@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset resto-hub:39
+--comment: Create dish_analytics summary table for platform-wide dish analytics
+CREATE TABLE dish_analytics (
+    menu_item_id BIGINT PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL,
+    restaurant_name VARCHAR(255) NOT NULL,
+    menu_category_id BIGINT NOT NULL,
+    menu_category_name VARCHAR(255) NOT NULL,
+    menu_item_name VARCHAR(255) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    price_band_index INTEGER NOT NULL,
+    price_band VARCHAR(50) NOT NULL,
+    order_count BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    revenue DECIMAL(16, 2) NOT NULL,
+    calculated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_dish_analytics_quantity ON dish_analytics(quantity);
+CREATE INDEX idx_dish_analytics_restaurant_id ON dish_analytics(restaurant_id);
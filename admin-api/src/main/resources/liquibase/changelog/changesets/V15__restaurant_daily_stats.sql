@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset resto-hub:40
+--comment: Create restaurant_daily_stats table with HyperLogLog sketch of distinct clients
+CREATE TABLE restaurant_daily_stats (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL REFERENCES restaurants(id) ON DELETE CASCADE,
+    date DATE NOT NULL,
+    booking_count INTEGER NOT NULL DEFAULT 0,
+    client_count INTEGER NOT NULL DEFAULT 0,
+    client_sketch BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uk_restaurant_daily_stats_restaurant_date UNIQUE (restaurant_id, date)
+);
+
+CREATE INDEX idx_bookings_updated_at ON bookings(updated_at);
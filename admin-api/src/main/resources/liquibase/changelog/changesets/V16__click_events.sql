@@ -0,0 +1,32 @@
+--liquibase formatted sql
+
+--changeset resto-hub:41 dbms:postgresql
+--comment: Create click_events table partitioned by month (partitions are created by ClickEventPartitionScheduler)
+CREATE TABLE click_events (
+    id BIGSERIAL NOT NULL,
+    restaurant_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    target_id BIGINT,
+    target_value VARCHAR(100),
+    session_id VARCHAR(64),
+    occurred_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE click_events_default PARTITION OF click_events DEFAULT;
+
+CREATE INDEX idx_click_events_restaurant_occurred ON click_events(restaurant_id, occurred_at);
+
+--changeset resto-hub:42 dbms:h2
+--comment: Create click_events table (without partitioning)
+CREATE TABLE click_events (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    target_id BIGINT,
+    target_value VARCHAR(100),
+    session_id VARCHAR(64),
+    occurred_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_click_events_restaurant_occurred ON click_events(restaurant_id, occurred_at);
@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset resto-hub:43
+--comment: Add denormalized pre-order total and item count to bookings
+ALTER TABLE bookings ADD COLUMN pre_order_total DECIMAL(12, 2) NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN pre_order_item_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE bookings b SET
+    pre_order_total = (SELECT COALESCE(SUM(p.total_price), 0) FROM booking_pre_orders p WHERE p.booking_id = b.id),
+    pre_order_item_count = (SELECT COUNT(*) FROM booking_pre_orders p WHERE p.booking_id = b.id)
+WHERE EXISTS (SELECT 1 FROM booking_pre_orders p WHERE p.booking_id = b.id);
+
+CREATE INDEX idx_bookings_restaurant_pre_order_total ON bookings(restaurant_id, pre_order_total);
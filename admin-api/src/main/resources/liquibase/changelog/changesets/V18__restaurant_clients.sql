@@ -0,0 +1,25 @@
+--liquibase formatted sql
+
+--changeset resto-hub:44
+--comment: Create restaurant_clients table with per-restaurant client statistics
+CREATE TABLE restaurant_clients (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL REFERENCES restaurants(id) ON DELETE CASCADE,
+    client_id BIGINT NOT NULL REFERENCES clients(id) ON DELETE CASCADE,
+    booking_count INTEGER NOT NULL DEFAULT 0,
+    visit_count INTEGER NOT NULL DEFAULT 0,
+    cancelled_count INTEGER NOT NULL DEFAULT 0,
+    pre_order_count INTEGER NOT NULL DEFAULT 0,
+    pre_order_total DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    person_total INTEGER NOT NULL DEFAULT 0,
+    first_booking_date DATE,
+    last_booking_date DATE,
+    last_visit_date DATE,
+    favorite_table_id BIGINT,
+    favorite_menu_item_id BIGINT,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uk_restaurant_clients_restaurant_client UNIQUE (restaurant_id, client_id)
+);
+
+CREATE INDEX idx_restaurant_clients_updated_at ON restaurant_clients(updated_at);
+CREATE INDEX idx_bookings_client_restaurant_date ON bookings(client_id, restaurant_id, date);
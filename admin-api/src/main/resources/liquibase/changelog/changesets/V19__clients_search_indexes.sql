@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset resto-hub:45 dbms:postgresql
+--comment: Add digits-only phone column and trigram indexes for client search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE clients ADD COLUMN phone_digits VARCHAR(50)
+    GENERATED ALWAYS AS (regexp_replace(phone, '[^0-9]', '', 'g')) STORED;
+
+CREATE INDEX idx_clients_phone_digits_trgm ON clients USING GIN (phone_digits gin_trgm_ops);
+CREATE INDEX idx_clients_first_name_trgm ON clients USING GIN (LOWER(first_name) gin_trgm_ops);
+
+--changeset resto-hub:46 dbms:h2
+--comment: Add digits-only phone column (without trigram indexes)
+ALTER TABLE clients ADD COLUMN phone_digits VARCHAR(50)
+    GENERATED ALWAYS AS (REGEXP_REPLACE(phone, '[^0-9]', ''));
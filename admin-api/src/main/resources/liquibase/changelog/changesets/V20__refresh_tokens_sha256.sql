@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset resto-hub:47
+--comment: Refresh tokens are stored as SHA-256 hashes; BCrypt hashes cannot be looked up by value, existing sessions are dropped
+DELETE FROM refresh_tokens;
+
+-- UNIQUE(token) уже создает индекс, отдельный индекс по token избыточен
+DROP INDEX idx_refresh_tokens_token;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset resto-hub:48
+--comment: Shared rate limit buckets for the Bucket4j PostgreSQL proxy manager
+CREATE TABLE rate_limit_buckets (
+    id VARCHAR(255) PRIMARY KEY,
+    state BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_rate_limit_buckets_created_at ON rate_limit_buckets(created_at);
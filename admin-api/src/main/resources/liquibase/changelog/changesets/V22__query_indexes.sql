@@ -0,0 +1,36 @@
+--liquibase formatted sql
+
+--changeset resto-hub:49 dbms:postgresql
+--comment: Add composite and partial indexes for list, availability and child-collection queries
+CREATE INDEX idx_bookings_restaurant_date ON bookings(restaurant_id, date);
+CREATE INDEX idx_bookings_table_date ON bookings(table_id, date);
+CREATE INDEX idx_booking_pre_orders_booking_id ON booking_pre_orders(booking_id);
+CREATE INDEX idx_booking_pre_orders_menu_item_id ON booking_pre_orders(menu_item_id);
+CREATE INDEX idx_booking_history_booking_id ON booking_history(booking_id);
+
+-- Выборки справочников ресторана идут только по активным строкам
+CREATE INDEX idx_menu_items_restaurant_category_active ON menu_items(restaurant_id, menu_category_id) WHERE is_active;
+CREATE INDEX idx_floors_restaurant_active ON floors(restaurant_id) WHERE is_active;
+CREATE INDEX idx_rooms_floor_active ON rooms(floor_id) WHERE is_active;
+CREATE INDEX idx_tables_room_active ON tables(room_id) WHERE is_active;
+CREATE INDEX idx_promotions_restaurant_start_date_active ON promotions(restaurant_id, start_date) WHERE is_active;
+
+CREATE INDEX idx_users_2_restaurants_restaurant_id ON users_2_restaurants(restaurant_id);
+CREATE INDEX idx_restaurant_subscriptions_restaurant_id ON restaurant_subscriptions(restaurant_id);
+
+--changeset resto-hub:50 dbms:h2
+--comment: Add the same indexes (without partial conditions)
+CREATE INDEX idx_bookings_restaurant_date ON bookings(restaurant_id, date);
+CREATE INDEX idx_bookings_table_date ON bookings(table_id, date);
+CREATE INDEX idx_booking_pre_orders_booking_id ON booking_pre_orders(booking_id);
+CREATE INDEX idx_booking_pre_orders_menu_item_id ON booking_pre_orders(menu_item_id);
+CREATE INDEX idx_booking_history_booking_id ON booking_history(booking_id);
+
+CREATE INDEX idx_menu_items_restaurant_category_active ON menu_items(restaurant_id, menu_category_id);
+CREATE INDEX idx_floors_restaurant_active ON floors(restaurant_id);
+CREATE INDEX idx_rooms_floor_active ON rooms(floor_id);
+CREATE INDEX idx_tables_room_active ON tables(room_id);
+CREATE INDEX idx_promotions_restaurant_start_date_active ON promotions(restaurant_id, start_date);
+
+CREATE INDEX idx_users_2_restaurants_restaurant_id ON users_2_restaurants(restaurant_id);
+CREATE INDEX idx_restaurant_subscriptions_restaurant_id ON restaurant_subscriptions(restaurant_id);
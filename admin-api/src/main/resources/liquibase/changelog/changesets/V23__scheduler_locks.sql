@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset resto-hub:51
+--comment: Distributed locks for scheduled jobs: a job runs on one admin-api instance at a time
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    lock_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
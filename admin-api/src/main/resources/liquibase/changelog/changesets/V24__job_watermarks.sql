@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset resto-hub:52
+--comment: Watermarks of incremental background jobs, advanced only after a successful run
+CREATE TABLE job_watermarks (
+    name VARCHAR(64) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL
+);
@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset resto-hub:53
+--comment: Last use of a rate limit bucket: rows are purged after inactivity, not by age
+ALTER TABLE rate_limit_buckets ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT NOW();
+DROP INDEX idx_rate_limit_buckets_created_at;
+CREATE INDEX idx_rate_limit_buckets_updated_at ON rate_limit_buckets(updated_at);
+
+--changeset resto-hub:54 dbms:postgresql splitStatements:false
+--comment: Bucket4j updates only the state column, the trigger stamps updated_at on every check
+CREATE OR REPLACE FUNCTION rate_limit_buckets_touch() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := NOW();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset resto-hub:55 dbms:postgresql
+--comment: Stamp updated_at of rate limit buckets on update
+CREATE TRIGGER trg_rate_limit_buckets_touch BEFORE UPDATE ON rate_limit_buckets
+    FOR EACH ROW EXECUTE FUNCTION rate_limit_buckets_touch();
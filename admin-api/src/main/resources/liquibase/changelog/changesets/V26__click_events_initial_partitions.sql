@@ -0,0 +1,35 @@
+--liquibase formatted sql
+
+--changeset resto-hub:56 dbms:postgresql splitStatements:false
+--comment: Create the monthly click_events partition; rows of the month that already landed in DEFAULT are moved into it
+CREATE OR REPLACE FUNCTION click_events_ensure_partition(p_month DATE) RETURNS void AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::date;
+    v_to DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name TEXT := 'click_events_' || to_char(p_month, 'YYYY_MM');
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    -- Новые строки не попадут в DEFAULT между проверкой и созданием партиции
+    LOCK TABLE click_events_default IN SHARE ROW EXCLUSIVE MODE;
+
+    IF EXISTS (SELECT 1 FROM click_events_default WHERE occurred_at >= v_from AND occurred_at < v_to) THEN
+        -- Партицию нельзя создать, пока в DEFAULT есть строки ее диапазона
+        ALTER TABLE click_events DETACH PARTITION click_events_default;
+        EXECUTE format('CREATE TABLE %I PARTITION OF click_events FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+        INSERT INTO click_events
+            SELECT * FROM click_events_default WHERE occurred_at >= v_from AND occurred_at < v_to;
+        DELETE FROM click_events_default WHERE occurred_at >= v_from AND occurred_at < v_to;
+        ALTER TABLE click_events ATTACH PARTITION click_events_default DEFAULT;
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF click_events FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset resto-hub:57 dbms:postgresql
+--comment: Partitions for the current and next month exist before the first ClickEventPartitionScheduler run
+SELECT click_events_ensure_partition(CURRENT_DATE);
+SELECT click_events_ensure_partition((CURRENT_DATE + INTERVAL '1 month')::date);
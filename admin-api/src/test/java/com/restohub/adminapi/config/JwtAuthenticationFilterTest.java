@@ -1,5 +1,6 @@
 package com.restohub.adminapi.config;
 
+import com.restohub.adminapi.util.JwtClaims;
 import com.restohub.adminapi.util.JwtTokenProvider;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,8 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -42,7 +45,7 @@ class JwtAuthenticationFilterTest {
         String expiredToken = "expired-token";
         request.addHeader("Authorization", "Bearer " + expiredToken);
 
-        when(jwtTokenProvider.isTokenExpired(expiredToken)).thenReturn(true);
+        when(jwtTokenProvider.verify(expiredToken)).thenReturn(null);
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -54,8 +57,7 @@ class JwtAuthenticationFilterTest {
         assertTrue(content.contains("TOKEN_EXPIRED"), "Response should contain TOKEN_EXPIRED");
         assertTrue(content.contains("Токен истек"), "Response should contain error message");
         
-        verify(jwtTokenProvider, times(1)).isTokenExpired(expiredToken);
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, times(1)).verify(expiredToken);
     }
 
     @Test
@@ -67,10 +69,7 @@ class JwtAuthenticationFilterTest {
         
         request.addHeader("Authorization", "Bearer " + validToken);
 
-        when(jwtTokenProvider.isTokenExpired(validToken)).thenReturn(false);
-        when(jwtTokenProvider.validateToken(validToken)).thenReturn(true);
-        when(jwtTokenProvider.getEmailFromToken(validToken)).thenReturn(email);
-        when(jwtTokenProvider.getRoleFromToken(validToken)).thenReturn(role);
+        when(jwtTokenProvider.verify(validToken)).thenReturn(new JwtClaims(email, role, Instant.now().plusSeconds(300)));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -82,10 +81,9 @@ class JwtAuthenticationFilterTest {
                 .getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
         
-        verify(jwtTokenProvider, times(1)).isTokenExpired(validToken);
-        verify(jwtTokenProvider, times(1)).validateToken(validToken);
-        verify(jwtTokenProvider, times(1)).getEmailFromToken(validToken);
-        verify(jwtTokenProvider, times(1)).getRoleFromToken(validToken);
+        // Токен разбирается один раз за запрос
+        verify(jwtTokenProvider, times(1)).verify(validToken);
+        verifyNoMoreInteractions(jwtTokenProvider);
     }
 
     @Test
@@ -97,8 +95,7 @@ class JwtAuthenticationFilterTest {
 
         // Assert
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtTokenProvider, never()).isTokenExpired(anyString());
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
     }
 
     @Test
@@ -111,8 +108,7 @@ class JwtAuthenticationFilterTest {
 
         // Assert
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtTokenProvider, never()).isTokenExpired(anyString());
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
     }
 
     @Test
@@ -121,7 +117,7 @@ class JwtAuthenticationFilterTest {
         String expiredToken = "expired-token";
         request.addHeader("Authorization", "Bearer " + expiredToken);
 
-        when(jwtTokenProvider.isTokenExpired(expiredToken)).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "Token expired"));
+        when(jwtTokenProvider.verify(expiredToken)).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "Token expired"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -133,7 +129,7 @@ class JwtAuthenticationFilterTest {
         assertTrue(content.contains("TOKEN_EXPIRED"), "Response should contain TOKEN_EXPIRED");
         assertTrue(content.contains("Токен истек"), "Response should contain error message");
         
-        verify(jwtTokenProvider, times(1)).isTokenExpired(expiredToken);
+        verify(jwtTokenProvider, times(1)).verify(expiredToken);
     }
 
     @Test
@@ -150,8 +146,7 @@ class JwtAuthenticationFilterTest {
         // Публичный эндпоинт должен быть пропущен без проверки токена
         assertEquals(HttpServletResponse.SC_OK, response.getStatus());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtTokenProvider, never()).isTokenExpired(anyString());
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
     }
 
     @Test
@@ -168,8 +163,7 @@ class JwtAuthenticationFilterTest {
         // Публичный эндпоинт должен быть пропущен без проверки токена
         assertEquals(HttpServletResponse.SC_OK, response.getStatus());
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtTokenProvider, never()).isTokenExpired(anyString());
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
     }
 }
 
@@ -0,0 +1,61 @@
+package com.restohub.adminapi.config;
+
+import com.restohub.adminapi.entity.*;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Данные тестов бюджета SQL-запросов списков (ListQueryBudgetTest, ListEndpointQueryBudgetTest):
+ * ресторан с несколькими этажами, на каждом - зал со столом и бронированием.
+ */
+public final class ListBudgetFixture {
+
+    private ListBudgetFixture() {
+    }
+
+    public static Restaurant persistRestaurant(EntityManager entityManager, int rows) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Budget Restaurant");
+        entityManager.persist(restaurant);
+
+        BookingStatus status = new BookingStatus();
+        status.setCode("BUDGET_PENDING");
+        status.setName("Ожидает");
+        status.setCreatedAt(LocalDateTime.now());
+        status.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(status);
+
+        for (int i = 0; i < rows; i++) {
+            Floor floor = new Floor();
+            floor.setRestaurant(restaurant);
+            floor.setFloorNumber(String.valueOf(i + 1));
+            entityManager.persist(floor);
+
+            Room room = new Room();
+            room.setFloor(floor);
+            room.setName("Зал " + i);
+            entityManager.persist(room);
+
+            RestaurantTable table = new RestaurantTable();
+            table.setRoom(room);
+            table.setTableNumber("T" + i);
+            table.setCapacity(4);
+            entityManager.persist(table);
+
+            Booking booking = new Booking();
+            booking.setRestaurant(restaurant);
+            booking.setTable(table);
+            booking.setDate(LocalDate.of(2024, 5, 1 + i));
+            booking.setTime(LocalTime.of(19, 0));
+            booking.setPersonCount(2);
+            booking.setBookingStatus(status);
+            booking.setCreatedAt(LocalDateTime.now());
+            booking.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(booking);
+        }
+        return restaurant;
+    }
+}
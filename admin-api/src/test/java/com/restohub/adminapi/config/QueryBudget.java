@@ -0,0 +1,17 @@
+package com.restohub.adminapi.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Максимальное число SQL-запросов, которое может выполнить тест (например, один вызов эндпоинта через MockMvc).
+ * Проверяется QueryBudgetExtension, подключенным в BaseControllerTest.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    
+    long value();
+}
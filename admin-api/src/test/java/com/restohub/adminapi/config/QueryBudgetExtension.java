@@ -0,0 +1,39 @@
+package com.restohub.adminapi.config;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Проверяет @QueryBudget: считает SQL-запросы, выполненные в теле теста (после @BeforeEach),
+ * и роняет тест, если их больше бюджета.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCountInspector.reset();
+    }
+    
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        findBudget(context).ifPresent(budget -> {
+            long count = QueryCountInspector.getCount();
+            if (count > budget.value()) {
+                fail("Превышен бюджет SQL-запросов в " + context.getDisplayName() + ": " + count + " > " + budget.value());
+            }
+        });
+    }
+    
+    private Optional<QueryBudget> findBudget(ExtensionContext context) {
+        Optional<QueryBudget> methodBudget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class);
+        return methodBudget.isPresent()
+                ? methodBudget
+                : AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.restohub.adminapi.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalRateLimitBucketStore loginStore;
+    private RateLimitingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginStore = new LocalRateLimitBucketStore("login", limit(2, Duration.ofMinutes(1)), 2);
+        interceptor = new RateLimitingInterceptor(loginStore,
+                new LocalRateLimitBucketStore("forgot-password", limit(1, Duration.ofHours(1)), 2), meterRegistry);
+    }
+
+    private static BucketConfiguration limit(int capacity, Duration period) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder().capacity(capacity).refillIntervally(capacity, period).build())
+                .build();
+    }
+
+    private static MockHttpServletRequest request(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin-api/auth/login");
+        request.setContextPath("/admin-api");
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    @Test
+    void testPreHandle_LimitExceeded_RejectsAndCountsMetric() throws Exception {
+        // Arrange
+        interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null);
+        interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean allowed = interceptor.preHandle(request("10.0.0.1"), response, null);
+
+        // Assert
+        assertFalse(allowed);
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("limiter", "login").counter().count());
+        assertEquals(0.0, meterRegistry.get("rate.limit.rejected").tag("limiter", "forgot-password").counter().count());
+        assertTrue(interceptor.preHandle(request("10.0.0.2"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void testLocalStore_BoundedBySize() throws Exception {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            interceptor.preHandle(request("10.0.1." + i), new MockHttpServletResponse(), null);
+        }
+
+        // Assert
+        assertTrue(loginStore.size() <= 2);
+    }
+}
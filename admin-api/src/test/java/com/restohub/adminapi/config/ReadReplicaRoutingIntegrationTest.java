@@ -0,0 +1,111 @@
+package com.restohub.adminapi.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Маршрутизация на двух локальных экземплярах PostgreSQL (реплика может быть и независимым экземпляром):
+ * READ_REPLICA_TEST_PRIMARY_URL=jdbc:postgresql://localhost:5432/postgres
+ * READ_REPLICA_TEST_REPLICA_URL=jdbc:postgresql://localhost:5433/postgres
+ * READ_REPLICA_TEST_USERNAME / READ_REPLICA_TEST_PASSWORD - по умолчанию postgres / пустой.
+ * Экземпляры различаются по порту сервера.
+ */
+@EnabledIfEnvironmentVariable(named = "READ_REPLICA_TEST_REPLICA_URL", matches = ".+")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String SERVER_PORT_QUERY = "SELECT inet_server_port()";
+
+    private Integer primaryPort;
+    private Integer replicaPort;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    private static DataSource dataSource(String urlVariable) {
+        String username = System.getenv("READ_REPLICA_TEST_USERNAME");
+        String password = System.getenv("READ_REPLICA_TEST_PASSWORD");
+        return new DriverManagerDataSource(System.getenv(urlVariable),
+                username != null ? username : "postgres", password != null ? password : "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = dataSource("READ_REPLICA_TEST_PRIMARY_URL");
+        DataSource replica = dataSource("READ_REPLICA_TEST_REPLICA_URL");
+        primaryPort = new JdbcTemplate(primary).queryForObject(SERVER_PORT_QUERY, Integer.class);
+        replicaPort = new JdbcTemplate(replica).queryForObject(SERVER_PORT_QUERY, Integer.class);
+        assertNotEquals(primaryPort, replicaPort);
+
+        lagMonitor = new ReplicaLagMonitor(replica, 1000, 1000, new SimpleMeterRegistry());
+        lagMonitor.check();
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    private Integer serverPort(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject(SERVER_PORT_QUERY, Integer.class));
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoutesToReplica() {
+        // Act & Assert
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals(replicaPort, serverPort(readOnlyTransaction));
+        assertEquals(primaryPort, serverPort(readWriteTransaction));
+    }
+
+    @Test
+    void testReplicaUnavailable_FallsBackToPrimary() {
+        // Arrange
+        DataSource unreachable = new DriverManagerDataSource("jdbc:postgresql://localhost:1/postgres", "postgres", "");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(unreachable, 1000, 1000, new SimpleMeterRegistry());
+        monitor.check();
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                dataSource("READ_REPLICA_TEST_PRIMARY_URL"), unreachable, monitor));
+        JdbcTemplate template = new JdbcTemplate(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(true);
+
+        // Act
+        Integer port = transaction.execute(status -> template.queryForObject(SERVER_PORT_QUERY, Integer.class));
+
+        // Assert
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(primaryPort, port);
+    }
+
+    @Test
+    void testReadAfterWriteInRequest_RoutesToPrimary() throws Exception {
+        // Arrange
+        Integer[] ports = new Integer[2];
+
+        // Act
+        new ReadYourWritesFilter(5000).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> {
+            ports[0] = serverPort(readWriteTransaction);
+            ports[1] = serverPort(readOnlyTransaction);
+        });
+
+        // Assert
+        assertEquals(primaryPort, ports[0]);
+        assertEquals(primaryPort, ports[1]);
+    }
+}
@@ -0,0 +1,120 @@
+package com.restohub.adminapi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private Connection connectionInTransaction(boolean readOnly) throws Exception {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            return routingDataSource.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyTransaction_RoutesToReplica() throws Exception {
+        // Act & Assert
+        assertSame(replicaConnection, connectionInTransaction(true));
+        assertSame(primaryConnection, connectionInTransaction(false));
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_ReplicaLagging_RoutesToPrimary() throws Exception {
+        // Arrange
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        // Act & Assert
+        assertSame(primaryConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void testGetConnection_AfterWriteInRequest_ReadsFromPrimaryAndSetsCookie() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Connection[] connections = new Connection[3];
+        FilterChain chain = (req, res) -> {
+            try {
+                connections[0] = connectionInTransaction(true);
+                connections[1] = connectionInTransaction(false);
+                connections[2] = connectionInTransaction(true);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        // Act
+        new ReadYourWritesFilter(5000).doFilter(new MockHttpServletRequest(), response, chain);
+
+        // Assert
+        assertArrayEquals(new Connection[]{replicaConnection, primaryConnection, primaryConnection}, connections);
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.STICKY_COOKIE);
+        assertNotNull(cookie);
+        assertEquals(5, cookie.getMaxAge());
+        // Вне запроса привязки к primary нет
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void testGetConnection_StickyCookie_ReadsFromPrimary() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesFilter.STICKY_COOKIE, "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Connection[] connections = new Connection[1];
+        FilterChain chain = (req, res) -> {
+            try {
+                connections[0] = connectionInTransaction(true);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        // Act
+        new ReadYourWritesFilter(5000).doFilter(request, response, chain);
+
+        // Assert
+        assertSame(primaryConnection, connections[0]);
+        // Чтение без записи не продлевает привязку
+        assertNull(response.getCookie(ReadYourWritesFilter.STICKY_COOKIE));
+    }
+}
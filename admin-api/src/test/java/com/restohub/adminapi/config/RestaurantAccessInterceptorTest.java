@@ -0,0 +1,124 @@
+package com.restohub.adminapi.config;
+
+import com.restohub.adminapi.service.RestaurantAccessCache;
+import com.restohub.adminapi.util.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка доступа к ресторану через настоящий интерцептор и context-path /admin-api, как в приложении.
+ */
+class RestaurantAccessInterceptorTest {
+
+    private static final String MANAGER = "manager@example.com";
+
+    private final RestaurantAccessCache restaurantAccessCache = mock(RestaurantAccessCache.class);
+    private MockMvc mockMvc;
+
+    @RestController
+    static class PingController {
+        @GetMapping("/r/{id}/ping")
+        public String ping(@PathVariable("id") Long id) {
+            return "ok";
+        }
+
+        @GetMapping("/ping")
+        public String ping() {
+            return "ok";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestaurantAccessInterceptor interceptor =
+                new RestaurantAccessInterceptor(mock(JwtTokenProvider.class), restaurantAccessCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .addMappedInterceptors(new String[]{"/r/**"}, interceptor)
+                .build();
+        when(restaurantAccessCache.get(MANAGER)).thenReturn(new RestaurantAccessCache.Access(true, new long[]{1L, 5L}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(String email, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, "token", List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    @Test
+    void testManager_LinkedRestaurant_Allowed() throws Exception {
+        // Arrange
+        authenticate(MANAGER, "MANAGER");
+
+        // Act & Assert
+        mockMvc.perform(get("/admin-api/r/5/ping").contextPath("/admin-api"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testManager_OtherRestaurant_Forbidden() throws Exception {
+        // Arrange
+        authenticate(MANAGER, "MANAGER");
+
+        // Act & Assert
+        mockMvc.perform(get("/admin-api/r/2/ping").contextPath("/admin-api"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.exceptionName").value("ACCESS_DENIED"));
+    }
+
+    @Test
+    void testManager_Deactivated_Forbidden() throws Exception {
+        // Arrange
+        authenticate("inactive@example.com", "MANAGER");
+        when(restaurantAccessCache.get("inactive@example.com")).thenReturn(new RestaurantAccessCache.Access(false, new long[0]));
+
+        // Act & Assert
+        mockMvc.perform(get("/admin-api/r/1/ping").contextPath("/admin-api"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testAdmin_AnyRestaurant_Allowed() throws Exception {
+        // Arrange
+        authenticate("admin@example.com", "ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(get("/admin-api/r/2/ping").contextPath("/admin-api"))
+                .andExpect(status().isOk());
+        verify(restaurantAccessCache, never()).get(anyString());
+    }
+
+    @Test
+    void testNotAuthenticated_Unauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/admin-api/r/1/ping").contextPath("/admin-api"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testNonRestaurantPath_NotChecked() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/admin-api/ping").contextPath("/admin-api"))
+                .andExpect(status().isOk());
+        verifyNoInteractions(restaurantAccessCache);
+    }
+}
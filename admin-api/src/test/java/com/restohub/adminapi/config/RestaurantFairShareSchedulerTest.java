@@ -0,0 +1,219 @@
+package com.restohub.adminapi.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantFairShareSchedulerTest {
+
+    private static final Long BUSY_RESTAURANT = 1L;
+    private static final Long QUIET_RESTAURANT = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testAcquire_PerRestaurantLimit_QueuesUntilRelease() throws Exception {
+        // Arrange
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(4, 2, 4, 100, 100, 10_000, meterRegistry);
+        assertNull(scheduler.acquire(BUSY_RESTAURANT, null, 1));
+        assertNull(scheduler.acquire(BUSY_RESTAURANT, null, 1));
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        Thread waiting = startWorker(scheduler, BUSY_RESTAURANT, results, false);
+        awaitQueued(scheduler, 1);
+        // Общие слоты свободны, другой ресторан не ждет
+        String quietResult = scheduler.acquire(QUIET_RESTAURANT, null, 1);
+        scheduler.release(BUSY_RESTAURANT);
+        waiting.join(5_000);
+
+        // Assert
+        assertNull(quietResult);
+        assertEquals(Collections.singletonList("granted"), results);
+        assertEquals(3, scheduler.getRunning());
+        assertEquals(0, scheduler.getQueued());
+    }
+
+    @Test
+    void testAcquire_QueueFull_RejectsOnlyBurstingRestaurant() throws Exception {
+        // Arrange
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(3, 1, 1, 100, 100, 10_000, meterRegistry);
+        assertNull(scheduler.acquire(BUSY_RESTAURANT, null, 1));
+        Thread waiting = startWorker(scheduler, BUSY_RESTAURANT, Collections.synchronizedList(new ArrayList<>()), false);
+        awaitQueued(scheduler, 1);
+
+        // Act
+        String busyResult = scheduler.acquire(BUSY_RESTAURANT, null, 1);
+        String quietResult = scheduler.acquire(QUIET_RESTAURANT, null, 1);
+
+        // Assert
+        assertEquals(RestaurantFairShareScheduler.QUEUE_FULL, busyResult);
+        assertNull(quietResult);
+        assertEquals(1.0, meterRegistry.get("fair_share.rejected").tag("reason", "queue_full").counter().count());
+
+        scheduler.release(BUSY_RESTAURANT);
+        waiting.join(5_000);
+    }
+
+    @Test
+    void testRelease_LaterRestaurantServedBeforeQueuedBurst() throws Exception {
+        // Arrange: один слот на всех, ресторан с всплеском занял его и поставил в очередь еще три операции
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(1, 1, 10, 100, 100, 10_000, meterRegistry);
+        assertNull(scheduler.acquire(BUSY_RESTAURANT, null, 1));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            workers.add(startWorker(scheduler, BUSY_RESTAURANT, order, true));
+            awaitQueued(scheduler, i + 1);
+        }
+        workers.add(startWorker(scheduler, QUIET_RESTAURANT, order, true));
+        awaitQueued(scheduler, 4);
+
+        // Act
+        scheduler.release(BUSY_RESTAURANT);
+        for (Thread worker : workers) {
+            worker.join(5_000);
+        }
+
+        // Assert
+        assertEquals(List.of("quiet", "busy", "busy", "busy"), order);
+        assertEquals(0, scheduler.getRunning());
+    }
+
+    @Test
+    void testAcquire_WaitTooLong_RejectsWithTimeout() throws Exception {
+        // Arrange
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(1, 1, 4, 100, 100, 50, meterRegistry);
+        assertNull(scheduler.acquire(BUSY_RESTAURANT, null, 1));
+
+        // Act
+        String result = scheduler.acquire(QUIET_RESTAURANT, null, 1);
+
+        // Assert
+        assertEquals(RestaurantFairShareScheduler.TIMEOUT, result);
+        assertEquals(0, scheduler.getQueued());
+        assertEquals(1.0, meterRegistry.get("fair_share.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    void testAcquire_ChainOverManyRestaurants_LimitedByAccountQueue() throws Exception {
+        // Arrange: сеть занимает по слоту в двух филиалах и ставит в очередь по операции в каждом
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(2, 1, 4, 2, 100, 10_000, meterRegistry);
+        assertNull(scheduler.acquire(10L, "chain@example.com", 1));
+        assertNull(scheduler.acquire(11L, "chain@example.com", 1));
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>();
+        workers.add(startWorker(scheduler, 10L, "chain@example.com", results, true));
+        awaitQueued(scheduler, 1);
+        workers.add(startWorker(scheduler, 11L, "chain@example.com", results, true));
+        awaitQueued(scheduler, 2);
+
+        // Act: третий филиал той же сети и независимый ресторан
+        String chainResult = scheduler.acquire(12L, "chain@example.com", 1);
+        workers.add(startWorker(scheduler, QUIET_RESTAURANT, "quiet@example.com", results, true));
+        awaitQueued(scheduler, 3);
+
+        // Assert
+        assertEquals(RestaurantFairShareScheduler.ACCOUNT_QUEUE_FULL, chainResult);
+        assertEquals(1.0, meterRegistry.get("fair_share.rejected").tag("reason", "account_queue_full").counter().count());
+
+        scheduler.release(10L);
+        scheduler.release(11L);
+        for (Thread worker : workers) {
+            worker.join(5_000);
+        }
+        assertEquals(3, results.size());
+        assertEquals(0, scheduler.getQueued());
+    }
+
+    @Test
+    void testAcquire_GlobalQueueFull_RejectsImmediately() throws Exception {
+        // Arrange: очередь инстанса на одно место уже занята другим рестораном
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(1, 1, 4, 4, 1, 10_000, meterRegistry);
+        assertNull(scheduler.acquire(BUSY_RESTAURANT, null, 1));
+        Thread waiting = startWorker(scheduler, QUIET_RESTAURANT, Collections.synchronizedList(new ArrayList<>()), true);
+        awaitQueued(scheduler, 1);
+
+        // Act
+        long start = System.nanoTime();
+        String result = scheduler.acquire(3L, null, 1);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertEquals(RestaurantFairShareScheduler.GLOBAL_QUEUE_FULL, result);
+        assertTrue(elapsedMs < 1_000, "Отказ без ожидания");
+
+        scheduler.release(BUSY_RESTAURANT);
+        waiting.join(5_000);
+    }
+
+    @Test
+    void testInterceptor_RestaurantPathUnderContextPath_AcquiresAndReleasesSlot() throws Exception {
+        // Arrange
+        RestaurantFairShareScheduler scheduler = new RestaurantFairShareScheduler(1, 1, 0, 100, 100, 10_000, meterRegistry);
+        RestaurantFairShareInterceptor interceptor = new RestaurantFairShareInterceptor(scheduler);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin-api/r/1/analytics/export");
+        request.setContextPath("/admin-api");
+        MockHttpServletRequest burst = new MockHttpServletRequest("GET", "/admin-api/r/1/analytics/bookings");
+        burst.setContextPath("/admin-api");
+        MockHttpServletResponse burstResponse = new MockHttpServletResponse();
+
+        // Act
+        boolean proceeded = interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        boolean burstProceeded = interceptor.preHandle(burst, burstResponse, null);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        // Assert
+        assertEquals(1L, RestaurantAccessInterceptor.parseRestaurantId(request));
+        assertTrue(proceeded);
+        assertFalse(burstProceeded);
+        assertEquals(429, burstResponse.getStatus());
+        assertTrue(burstResponse.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertEquals(0, scheduler.getRunning());
+    }
+
+    private Thread startWorker(RestaurantFairShareScheduler scheduler, Long restaurantId, List<String> results,
+                               boolean releaseAfterGrant) {
+        return startWorker(scheduler, restaurantId, null, results, releaseAfterGrant);
+    }
+
+    private Thread startWorker(RestaurantFairShareScheduler scheduler, Long restaurantId, String account,
+                               List<String> results, boolean releaseAfterGrant) {
+        Thread thread = new Thread(() -> {
+            try {
+                String rejection = scheduler.acquire(restaurantId, account, 1);
+                if (rejection != null) {
+                    results.add(rejection);
+                    return;
+                }
+                if (releaseAfterGrant) {
+                    results.add(restaurantId.equals(BUSY_RESTAURANT) ? "busy" : "quiet");
+                    scheduler.release(restaurantId);
+                } else {
+                    results.add("granted");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void awaitQueued(RestaurantFairShareScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (scheduler.getQueued() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Операция не встала в очередь");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
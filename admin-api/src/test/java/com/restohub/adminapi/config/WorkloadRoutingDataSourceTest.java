@@ -0,0 +1,140 @@
+package com.restohub.adminapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final HikariDataSource oltp = mock(HikariDataSource.class);
+    private final HikariDataSource reporting = mock(HikariDataSource.class);
+    private final HikariDataSource background = mock(HikariDataSource.class);
+    private final HikariPoolMXBean reportingPool = mock(HikariPoolMXBean.class);
+    private final Connection oltpConnection = mock(Connection.class);
+    private final Connection reportingConnection = mock(Connection.class);
+    private final Connection backgroundConnection = mock(Connection.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(oltp.getConnection()).thenReturn(oltpConnection);
+        when(reporting.getConnection()).thenReturn(reportingConnection);
+        when(background.getConnection()).thenReturn(backgroundConnection);
+        when(reporting.getHikariPoolMXBean()).thenReturn(reportingPool);
+        routingDataSource = new WorkloadRoutingDataSource(
+                Map.of(Workload.OLTP, oltp, Workload.REPORTING, reporting, Workload.BACKGROUND, background),
+                Map.of(Workload.OLTP, 50, Workload.REPORTING, 2, Workload.BACKGROUND, 10),
+                meterRegistry);
+    }
+
+    @Test
+    void testGetConnection_RoutesByWorkloadOfThread() throws Exception {
+        // Arrange
+        Connection[] connections = new Connection[2];
+
+        // Act
+        Workload.BACKGROUND.wrap(() -> connections[0] = getConnection()).run();
+        Workload.REPORTING.wrap(() -> connections[1] = getConnection()).run();
+
+        // Assert
+        assertSame(backgroundConnection, connections[0]);
+        assertSame(reportingConnection, connections[1]);
+        // Вне задачи класс нагрузки восстанавливается
+        assertSame(oltpConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_QueueFull_RejectsWithoutWaiting() throws Exception {
+        // Arrange
+        when(reportingPool.getThreadsAwaitingConnection()).thenReturn(2);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WorkloadInterceptor interceptor = new WorkloadInterceptor();
+
+        // Act
+        interceptor.preHandle(request, response, null);
+        SQLTransientConnectionException exception;
+        try {
+            exception = assertThrows(SQLTransientConnectionException.class, () -> routingDataSource.getConnection());
+        } finally {
+            interceptor.afterCompletion(request, response, null, null);
+        }
+
+        // Assert
+        assertEquals(WorkloadRoutingDataSource.WORKLOAD_QUEUE_FULL, exception.getMessage());
+        verify(reporting, never()).getConnection();
+        assertEquals(1.0, meterRegistry.get("db.workload.rejected").tag("workload", "reporting").counter().count());
+        // Очередь OLTP не затронута
+        assertEquals(Workload.OLTP, Workload.current());
+        assertSame(oltpConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void testReplicaRouting_ReadOnlyReportingUsesReplicaReportingPool() throws Exception {
+        // Arrange: на реплике те же классы нагрузки со своими пулами
+        HikariDataSource replicaOltp = mock(HikariDataSource.class);
+        HikariDataSource replicaReporting = mock(HikariDataSource.class);
+        HikariPoolMXBean replicaReportingPool = mock(HikariPoolMXBean.class);
+        Connection replicaReportingConnection = mock(Connection.class);
+        when(replicaReporting.getConnection()).thenReturn(replicaReportingConnection);
+        when(replicaReporting.getHikariPoolMXBean()).thenReturn(replicaReportingPool);
+        WorkloadRoutingDataSource replicaRouting = new WorkloadRoutingDataSource("replica",
+                Map.of(Workload.OLTP, replicaOltp, Workload.REPORTING, replicaReporting,
+                        Workload.BACKGROUND, mock(HikariDataSource.class)),
+                Map.of(Workload.OLTP, 50, Workload.REPORTING, 2, Workload.BACKGROUND, 10),
+                meterRegistry);
+        ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        ReplicaRoutingDataSource replicaRoutingDataSource =
+                new ReplicaRoutingDataSource(routingDataSource, replicaRouting, lagMonitor);
+        Connection[] connections = new Connection[1];
+
+        // Act
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            Workload.REPORTING.wrap(() -> {
+                try {
+                    connections[0] = replicaRoutingDataSource.getConnection();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).run();
+            when(replicaReportingPool.getThreadsAwaitingConnection()).thenReturn(2);
+            Workload.REPORTING.wrap(() -> assertThrows(SQLTransientConnectionException.class,
+                    replicaRoutingDataSource::getConnection)).run();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Assert
+        assertSame(replicaReportingConnection, connections[0]);
+        verify(replicaOltp, never()).getConnection();
+        verify(reporting, never()).getConnection();
+        assertEquals(1.0, meterRegistry.get("db.workload.rejected")
+                .tag("workload", "reporting").tag("target", "replica").counter().count());
+    }
+
+    private Connection getConnection() {
+        try {
+            return routingDataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
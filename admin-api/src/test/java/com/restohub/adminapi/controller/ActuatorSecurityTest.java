@@ -0,0 +1,46 @@
+package com.restohub.adminapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Доступ к /actuator/metrics: метрики кэша аналитики содержат ключи ресторанов, поэтому только для ADMIN.
+ * В тестовом профиле metrics не опубликован, здесь он включен как в application.yml.
+ */
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=health,info,metrics")
+class ActuatorSecurityTest extends BaseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testMetrics_Manager_Forbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testMetrics_Admin_Success() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testHealth_Anonymous_Success() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
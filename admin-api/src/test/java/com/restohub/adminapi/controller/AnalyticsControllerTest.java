@@ -1,5 +1,7 @@
 package com.restohub.adminapi.controller;
 
+import com.restohub.adminapi.config.RestaurantAccessInterceptor;
+import com.restohub.adminapi.config.Workload;
 import com.restohub.adminapi.dto.*;
 import com.restohub.adminapi.service.AnalyticsService;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +31,9 @@ class AnalyticsControllerTest extends BaseControllerTest {
     @MockBean
     private AnalyticsService analyticsService;
 
+    @Autowired
+    private RestaurantAccessInterceptor restaurantAccessInterceptor;
+
     // ========== GET /r/{id}/analytics/booking - аналитика бронирований ==========
 
     @Test
@@ -68,6 +76,26 @@ class AnalyticsControllerTest extends BaseControllerTest {
         verify(analyticsService, times(1)).getBookingAnalytics(eq(1L), eq(dateFrom), eq(dateTo), eq("day"));
     }
 
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testGetBookingAnalytics_AccessCheckRunsInReportingWorkload() throws Exception {
+        // Arrange: промах кэша доступа ходит в БД - уже через пул REPORTING, а не OLTP
+        AtomicReference<Workload> accessCheckWorkload = new AtomicReference<>();
+        doAnswer(invocation -> {
+            accessCheckWorkload.set(Workload.current());
+            return true;
+        }).when(restaurantAccessInterceptor).preHandle(any(), any(), any());
+        doReturn(new BookingAnalyticsResponse()).when(analyticsService).getBookingAnalytics(eq(1L),
+                ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class), eq("day"));
+
+        // Act
+        mockMvc.perform(get("/r/1/analytics/booking"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(Workload.REPORTING, accessCheckWorkload.get());
+    }
+
     // ========== GET /r/{id}/analytics/pre-order - аналитика предзаказов ==========
 
     @Test
@@ -119,14 +147,14 @@ class AnalyticsControllerTest extends BaseControllerTest {
         ClientAnalyticsResponse response = new ClientAnalyticsResponse();
         response.setRestaurantId(1L);
 
-        doReturn(response).when(analyticsService).getClientAnalytics(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class));
+        doReturn(response).when(analyticsService).getClientAnalytics(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class), eq(true));
 
         // Act & Assert
         mockMvc.perform(get("/r/1/analytics/client"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.restaurantId").value(1L));
 
-        verify(analyticsService, times(1)).getClientAnalytics(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class));
+        verify(analyticsService, times(1)).getClientAnalytics(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class), eq(true));
     }
 
     @Test
@@ -139,16 +167,17 @@ class AnalyticsControllerTest extends BaseControllerTest {
         LocalDate dateFrom = LocalDate.of(2024, 1, 1);
         LocalDate dateTo = LocalDate.of(2024, 1, 31);
 
-        doReturn(response).when(analyticsService).getClientAnalytics(eq(1L), eq(dateFrom), eq(dateTo));
+        doReturn(response).when(analyticsService).getClientAnalytics(eq(1L), eq(dateFrom), eq(dateTo), eq(false));
 
         // Act & Assert
         mockMvc.perform(get("/r/1/analytics/client")
                         .param("dateFrom", "2024-01-01")
-                        .param("dateTo", "2024-01-31"))
+                        .param("dateTo", "2024-01-31")
+                        .param("exact", "false"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.restaurantId").value(1L));
 
-        verify(analyticsService, times(1)).getClientAnalytics(eq(1L), eq(dateFrom), eq(dateTo));
+        verify(analyticsService, times(1)).getClientAnalytics(eq(1L), eq(dateFrom), eq(dateTo), eq(false));
     }
 
     // ========== GET /r/{id}/analytics/overview - обзорная аналитика ==========
@@ -160,14 +189,14 @@ class AnalyticsControllerTest extends BaseControllerTest {
         AnalyticsOverviewResponse response = new AnalyticsOverviewResponse();
         response.setRestaurantId(1L);
 
-        doReturn(response).when(analyticsService).getOverview(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class));
+        doReturn(response).when(analyticsService).getOverview(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class), eq(true));
 
         // Act & Assert
         mockMvc.perform(get("/r/1/analytics/overview"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.restaurantId").value(1L));
 
-        verify(analyticsService, times(1)).getOverview(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class));
+        verify(analyticsService, times(1)).getOverview(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class), eq(true));
     }
 
     @Test
@@ -180,7 +209,7 @@ class AnalyticsControllerTest extends BaseControllerTest {
         LocalDate dateFrom = LocalDate.of(2024, 1, 1);
         LocalDate dateTo = LocalDate.of(2024, 1, 31);
 
-        doReturn(response).when(analyticsService).getOverview(eq(1L), eq(dateFrom), eq(dateTo));
+        doReturn(response).when(analyticsService).getOverview(eq(1L), eq(dateFrom), eq(dateTo), eq(true));
 
         // Act & Assert
         mockMvc.perform(get("/r/1/analytics/overview")
@@ -189,7 +218,28 @@ class AnalyticsControllerTest extends BaseControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.restaurantId").value(1L));
 
-        verify(analyticsService, times(1)).getOverview(eq(1L), eq(dateFrom), eq(dateTo));
+        verify(analyticsService, times(1)).getOverview(eq(1L), eq(dateFrom), eq(dateTo), eq(true));
+    }
+
+    // ========== GET /r/{id}/analytics/clicks - аналитика кликов ==========
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testGetClickAnalytics_Success() throws Exception {
+        // Arrange
+        ClickAnalyticsResponse response = new ClickAnalyticsResponse();
+        response.setRestaurantId(1L);
+        response.setTotal(42L);
+
+        doReturn(response).when(analyticsService).getClickAnalytics(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class));
+
+        // Act & Assert
+        mockMvc.perform(get("/r/1/analytics/clicks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.restaurantId").value(1L))
+                .andExpect(jsonPath("$.total").value(42L));
+
+        verify(analyticsService, times(1)).getClickAnalytics(eq(1L), ArgumentMatchers.nullable(LocalDate.class), ArgumentMatchers.nullable(LocalDate.class));
     }
 
     // ========== GET /r/{id}/analytics/export - экспорт данных ==========
@@ -1,6 +1,8 @@
 package com.restohub.adminapi.controller;
 
 import com.restohub.adminapi.config.ControllerTestConfiguration;
+import com.restohub.adminapi.config.QueryBudgetExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
@@ -16,11 +18,13 @@ import org.springframework.test.context.ActiveProfiles;
  * так как общие моки определены в одном месте.
  * 
  * Использование: наследуйтесь от этого класса в тестах контроллеров.
+ * Бюджет SQL-запросов эндпоинта задается аннотацией @QueryBudget на тесте.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Import(ControllerTestConfiguration.class)
+@ExtendWith(QueryBudgetExtension.class)
 public abstract class BaseControllerTest {
     // Базовый класс для всех тестов контроллеров
 }
@@ -57,7 +57,7 @@ class BookingControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(1L, 50, 0, false);
         PaginationResponse<List<BookingListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        doReturn(response).when(bookingService).getBookings(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"));
+        doReturn(response).when(bookingService).getBookings(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"), isNull());
 
         // Act & Assert
         mockMvc.perform(get("/r/1/booking")
@@ -71,7 +71,7 @@ class BookingControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data[0].clientName").value("Иван Иванов"))
                 .andExpect(jsonPath("$.pagination.total").value(1L));
 
-        verify(bookingService, times(1)).getBookings(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"));
+        verify(bookingService, times(1)).getBookings(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"), isNull());
     }
 
     @Test
@@ -92,7 +92,7 @@ class BookingControllerTest extends BaseControllerTest {
                 eq(1L), 
                 eq("+79991234567"), 
                 eq("bookingDate"), 
-                eq("desc"));
+                eq("desc"), isNull());
 
         // Act & Assert
         mockMvc.perform(get("/r/1/booking")
@@ -119,20 +119,20 @@ class BookingControllerTest extends BaseControllerTest {
                 eq(1L), 
                 eq("+79991234567"), 
                 eq("bookingDate"), 
-                eq("desc"));
+                eq("desc"), isNull());
     }
 
     @Test
     @WithMockUser(roles = "MANAGER")
     void testGetBookings_RestaurantNotFound() throws Exception {
         // Arrange
-        doThrow(new RuntimeException("RESTAURANT_NOT_FOUND")).when(bookingService).getBookings(eq(999L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"));
+        doThrow(new RuntimeException("RESTAURANT_NOT_FOUND")).when(bookingService).getBookings(eq(999L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"), isNull());
 
         // Act & Assert
         mockMvc.perform(get("/r/999/booking"))
                 .andExpect(status().isNotFound());
 
-        verify(bookingService, times(1)).getBookings(eq(999L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"));
+        verify(bookingService, times(1)).getBookings(eq(999L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), eq("bookingDate"), eq("desc"), isNull());
     }
 
     // ========== GET /r/{id}/booking/{bookingId} - детали бронирования ==========
@@ -46,7 +46,7 @@ class ClientControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(1L, 50, 0, false);
         PaginationResponse<List<ClientListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(clientService.getClients(eq(1L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc")))
+        when(clientService.getClients(eq(1L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -61,7 +61,7 @@ class ClientControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data[0].firstName").value("Иван"))
                 .andExpect(jsonPath("$.pagination.total").value(1L));
 
-        verify(clientService, times(1)).getClients(eq(1L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc"));
+        verify(clientService, times(1)).getClients(eq(1L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc"), isNull());
     }
 
     @Test
@@ -72,7 +72,7 @@ class ClientControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(0L, 50, 0, false);
         PaginationResponse<List<ClientListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(clientService.getClients(eq(1L), eq(50), eq(0), eq("Иван"), eq("lastBookingDate"), eq("desc")))
+        when(clientService.getClients(eq(1L), eq(50), eq(0), eq("Иван"), eq("lastBookingDate"), eq("desc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -84,21 +84,21 @@ class ClientControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.pagination.total").value(0L));
 
-        verify(clientService, times(1)).getClients(eq(1L), eq(50), eq(0), eq("Иван"), eq("lastBookingDate"), eq("desc"));
+        verify(clientService, times(1)).getClients(eq(1L), eq(50), eq(0), eq("Иван"), eq("lastBookingDate"), eq("desc"), isNull());
     }
 
     @Test
     @WithMockUser(roles = "MANAGER")
     void testGetClients_RestaurantNotFound() throws Exception {
         // Arrange
-        when(clientService.getClients(eq(999L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc")))
+        when(clientService.getClients(eq(999L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc"), isNull()))
                 .thenThrow(new RuntimeException("RESTAURANT_NOT_FOUND"));
 
         // Act & Assert
         mockMvc.perform(get("/r/999/client"))
                 .andExpect(status().isNotFound());
 
-        verify(clientService, times(1)).getClients(eq(999L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc"));
+        verify(clientService, times(1)).getClients(eq(999L), eq(50), eq(0), isNull(), eq("lastBookingDate"), eq("desc"), isNull());
     }
 
     // ========== GET /r/{id}/client/{clientId} - детали клиента ==========
@@ -0,0 +1,61 @@
+package com.restohub.adminapi.controller;
+
+import com.restohub.adminapi.config.ListBudgetFixture;
+import com.restohub.adminapi.config.QueryBudget;
+import com.restohub.adminapi.config.RestaurantAccessInterceptor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Бюджеты SQL-запросов списков через контроллер на H2: страница из нескольких строк не должна порождать
+ * запрос на каждую строку. Списки бронирований, столов и залов проверяет ListQueryBudgetTest на том же наборе
+ * данных (ListBudgetFixture); здесь - списки, которых там нет.
+ */
+@Transactional
+class ListEndpointQueryBudgetTest extends BaseControllerTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RestaurantAccessInterceptor restaurantAccessInterceptor;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Мок сбрасывается после каждого теста; контекст переиспользуется без @DirtiesContext
+        doReturn(true).when(restaurantAccessInterceptor).preHandle(any(), any(), any());
+
+        restaurantId = ListBudgetFixture.persistRestaurant(entityManager, ROWS).getId();
+
+        // Вставки не должны попасть в бюджет теста
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    @QueryBudget(3)
+    void testGetFloors_WithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/r/" + restaurantId + "/floor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(ROWS))
+                .andExpect(jsonPath("$.data[0].roomsCount").value(1));
+    }
+}
@@ -92,7 +92,7 @@ class MenuItemControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(1L, 50, 0, false);
         PaginationResponse<List<MenuItemListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(menuItemService.getMenuItems(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), eq("displayOrder"), eq("asc")))
+        when(menuItemService.getMenuItems(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), eq("displayOrder"), eq("asc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -106,7 +106,7 @@ class MenuItemControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data[0].name").value("Пицца Маргарита"))
                 .andExpect(jsonPath("$.pagination.total").value(1L));
 
-        verify(menuItemService, times(1)).getMenuItems(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), eq("displayOrder"), eq("asc"));
+        verify(menuItemService, times(1)).getMenuItems(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), eq("displayOrder"), eq("asc"), isNull());
     }
 
     @Test
@@ -117,7 +117,7 @@ class MenuItemControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(0L, 50, 0, false);
         PaginationResponse<List<MenuItemListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(menuItemService.getMenuItems(eq(1L), eq(50), eq(0), eq(1L), eq(true), eq("пицца"), eq("displayOrder"), eq("asc")))
+        when(menuItemService.getMenuItems(eq(1L), eq(50), eq(0), eq(1L), eq(true), eq("пицца"), eq("displayOrder"), eq("asc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -131,7 +131,7 @@ class MenuItemControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.pagination.total").value(0L));
 
-        verify(menuItemService, times(1)).getMenuItems(eq(1L), eq(50), eq(0), eq(1L), eq(true), eq("пицца"), eq("displayOrder"), eq("asc"));
+        verify(menuItemService, times(1)).getMenuItems(eq(1L), eq(50), eq(0), eq(1L), eq(true), eq("пицца"), eq("displayOrder"), eq("asc"), isNull());
     }
 
     // ========== GET /r/{id}/menu-item/{itemId} - детали блюда ==========
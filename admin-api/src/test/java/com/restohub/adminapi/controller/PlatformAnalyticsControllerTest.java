@@ -0,0 +1,76 @@
+package com.restohub.adminapi.controller;
+
+import com.restohub.adminapi.dto.DishAnalyticsResponse;
+import com.restohub.adminapi.service.DishAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PlatformAnalyticsControllerTest extends BaseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DishAnalyticsService dishAnalyticsService;
+
+    // ========== GET /analytics/dishes - статистика блюд по платформе ==========
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testGetDishAnalytics_Success() throws Exception {
+        // Arrange
+        DishAnalyticsResponse.TopDish dish = new DishAnalyticsResponse.TopDish();
+        dish.setMenuItemId(5L);
+        dish.setQuantity(42L);
+        DishAnalyticsResponse response = new DishAnalyticsResponse();
+        response.setTopDishes(List.of(dish));
+
+        doReturn(response).when(dishAnalyticsService).getDishAnalytics(10);
+
+        // Act & Assert
+        mockMvc.perform(get("/analytics/dishes").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topDishes[0].menuItemId").value(5L))
+                .andExpect(jsonPath("$.topDishes[0].quantity").value(42L));
+
+        verify(dishAnalyticsService, times(1)).getDishAnalytics(10);
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testGetDishAnalytics_ManagerForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/analytics/dishes"))
+                .andExpect(status().isForbidden());
+
+        verify(dishAnalyticsService, never()).getDishAnalytics(anyInt());
+    }
+
+    // ========== POST /analytics/dishes/recalculate - пересчет статистики блюд ==========
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testRecalculateDishAnalytics_Success() throws Exception {
+        // Arrange
+        doReturn(3).when(dishAnalyticsService).recalculate();
+
+        // Act & Assert
+        mockMvc.perform(post("/analytics/dishes/recalculate").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").exists());
+
+        verify(dishAnalyticsService, times(1)).recalculate();
+    }
+}
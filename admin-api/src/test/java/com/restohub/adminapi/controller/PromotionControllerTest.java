@@ -117,7 +117,7 @@ class PromotionControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(1L, 50, 0, false);
         PaginationResponse<List<PromotionListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(promotionService.getPromotions(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq("startDate"), eq("desc")))
+        when(promotionService.getPromotions(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq("startDate"), eq("desc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -131,7 +131,7 @@ class PromotionControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data[0].title").value("Скидка 20%"))
                 .andExpect(jsonPath("$.pagination.total").value(1L));
 
-        verify(promotionService, times(1)).getPromotions(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq("startDate"), eq("desc"));
+        verify(promotionService, times(1)).getPromotions(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq("startDate"), eq("desc"), isNull());
     }
 
     @Test
@@ -146,7 +146,7 @@ class PromotionControllerTest extends BaseControllerTest {
         LocalDate startDateTo = LocalDate.of(2024, 1, 31);
 
         when(promotionService.getPromotions(eq(1L), eq(50), eq(0), eq(1L), eq(true), 
-                eq(startDateFrom), eq(startDateTo), isNull(), isNull(), isNull(), eq("startDate"), eq("desc")))
+                eq(startDateFrom), eq(startDateTo), isNull(), isNull(), isNull(), eq("startDate"), eq("desc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -162,7 +162,7 @@ class PromotionControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.pagination.total").value(0L));
 
         verify(promotionService, times(1)).getPromotions(eq(1L), eq(50), eq(0), eq(1L), eq(true), 
-                eq(startDateFrom), eq(startDateTo), isNull(), isNull(), isNull(), eq("startDate"), eq("desc"));
+                eq(startDateFrom), eq(startDateTo), isNull(), isNull(), isNull(), eq("startDate"), eq("desc"), isNull());
     }
 
     // ========== GET /r/{id}/promotion/{promotionId} - детали акции ==========
@@ -89,7 +89,7 @@ class TableControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(1L, 50, 0, false);
         PaginationResponse<List<TableListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(tableService.getTables(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), eq("tableNumber"), eq("asc")))
+        when(tableService.getTables(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), eq("tableNumber"), eq("asc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -103,7 +103,7 @@ class TableControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data[0].tableNumber").value("1"))
                 .andExpect(jsonPath("$.pagination.total").value(1L));
 
-        verify(tableService, times(1)).getTables(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), eq("tableNumber"), eq("asc"));
+        verify(tableService, times(1)).getTables(eq(1L), eq(50), eq(0), isNull(), isNull(), isNull(), isNull(), eq("tableNumber"), eq("asc"), isNull());
     }
 
     @Test
@@ -114,7 +114,7 @@ class TableControllerTest extends BaseControllerTest {
         PaginationResponse.PaginationInfo pagination = new PaginationResponse.PaginationInfo(0L, 50, 0, false);
         PaginationResponse<List<TableListItemResponse>> response = new PaginationResponse<>(items, pagination);
 
-        when(tableService.getTables(eq(1L), eq(50), eq(0), eq(1L), eq(1L), eq(2), eq(6), eq("tableNumber"), eq("asc")))
+        when(tableService.getTables(eq(1L), eq(50), eq(0), eq(1L), eq(1L), eq(2), eq(6), eq("tableNumber"), eq("asc"), isNull()))
                 .thenReturn(response);
 
         // Act & Assert
@@ -129,7 +129,7 @@ class TableControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.pagination.total").value(0L));
 
-        verify(tableService, times(1)).getTables(eq(1L), eq(50), eq(0), eq(1L), eq(1L), eq(2), eq(6), eq("tableNumber"), eq("asc"));
+        verify(tableService, times(1)).getTables(eq(1L), eq(50), eq(0), eq(1L), eq(1L), eq(2), eq(6), eq("tableNumber"), eq("asc"), isNull());
     }
 
     // ========== GET /r/{id}/table/{tableId} - детали стола ==========
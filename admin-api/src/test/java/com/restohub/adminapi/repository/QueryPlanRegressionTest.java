@@ -0,0 +1,149 @@
+package com.restohub.adminapi.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Планы ключевых запросов на PostgreSQL: на больших данных запросы должны идти по индексам
+ * из V22__query_indexes.sql, а не последовательным сканированием.
+ *
+ * Нужна локальная пустая база PostgreSQL (миграции накатываются Liquibase, данные откатываются):
+ * QUERY_PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/resto_hub_plans
+ * QUERY_PLAN_TEST_DB_USERNAME / QUERY_PLAN_TEST_DB_PASSWORD - по умолчанию postgres / пустой.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_TEST_DB_URL", matches = ".+")
+class QueryPlanRegressionTest {
+
+    // Сдвиг ID, чтобы не пересекаться с данными миграций
+    private static final long BASE_ID = 1_000_000;
+    private static final long RESTAURANT_ID = BASE_ID + 42;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_PLAN_TEST_DB_URL"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> envOrDefault("QUERY_PLAN_TEST_DB_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> envOrDefault("QUERY_PLAN_TEST_DB_PASSWORD", ""));
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        // Заполнение больших таблиц дольше statement_timeout пула API
+        registry.add("workload-pools.oltp.statement-timeout-ms", () -> "0");
+    }
+
+    private static String envOrDefault(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @BeforeEach
+    void seed() {
+        // 200 ресторанов x 5 этажей x 4 зала x 5 столов, по 10 бронирований на стол; каждая пятая строка неактивна
+        jdbcTemplate.update("INSERT INTO booking_statuses (id, code, name) VALUES (?, 'PLAN_TEST', 'План')", BASE_ID);
+        jdbcTemplate.update("INSERT INTO menu_categories (id, name) VALUES (?, 'План')", BASE_ID);
+        jdbcTemplate.update("INSERT INTO promotion_types (id, code, name) VALUES (?, 'PLAN_TEST', 'План')", BASE_ID);
+
+        jdbcTemplate.update("INSERT INTO restaurants (id, name) "
+                + "SELECT ? + g, 'Ресторан ' || g FROM generate_series(1, 200) g", BASE_ID);
+        jdbcTemplate.update("INSERT INTO floors (id, restaurant_id, floor_number, is_active) "
+                + "SELECT ? + g, ? + (g - 1) / 5 + 1, g::text, g % 5 <> 0 FROM generate_series(1, 1000) g", BASE_ID, BASE_ID);
+        jdbcTemplate.update("INSERT INTO rooms (id, floor_id, name, is_active) "
+                + "SELECT ? + g, ? + (g - 1) / 4 + 1, 'Зал ' || g, g % 5 <> 0 FROM generate_series(1, 4000) g", BASE_ID, BASE_ID);
+        jdbcTemplate.update("INSERT INTO tables (id, room_id, table_number, capacity, is_active) "
+                + "SELECT ? + g, ? + (g - 1) / 5 + 1, 'T' || g, 4, g % 5 <> 0 FROM generate_series(1, 20000) g", BASE_ID, BASE_ID);
+        jdbcTemplate.update("INSERT INTO menu_items (id, restaurant_id, menu_category_id, name, price, is_active) "
+                + "SELECT ? + g, ? + (g - 1) / 100 + 1, ?, 'Блюдо ' || g, 100, g % 5 <> 0 FROM generate_series(1, 20000) g",
+                BASE_ID, BASE_ID, BASE_ID);
+        jdbcTemplate.update("INSERT INTO promotions (id, restaurant_id, promotion_type_id, title, start_date, is_active) "
+                + "SELECT ? + g, ? + (g - 1) / 50 + 1, ?, 'Акция ' || g, DATE '2024-01-01' + g % 365, g % 5 <> 0 "
+                + "FROM generate_series(1, 10000) g", BASE_ID, BASE_ID, BASE_ID);
+        // Столы ресторана идут подряд (по 100), бронирования стола - подряд (по 10)
+        jdbcTemplate.update("INSERT INTO bookings (id, restaurant_id, table_id, date, time, person_count, booking_status_id) "
+                + "SELECT ? + g, ? + (g - 1) / 1000 + 1, ? + (g - 1) / 10 + 1, DATE '2024-01-01' + g % 365, TIME '19:00', 2, ? "
+                + "FROM generate_series(1, 200000) g", BASE_ID, BASE_ID, BASE_ID, BASE_ID);
+        jdbcTemplate.update("INSERT INTO booking_pre_orders (booking_id, menu_item_id, quantity, price, total_price) "
+                + "SELECT ? + g, ? + (g - 1) / 1000 * 100 + g % 100 + 1, 1, 100, 100 FROM generate_series(1, 200000) g",
+                BASE_ID, BASE_ID);
+        jdbcTemplate.update("INSERT INTO booking_history (booking_id, booking_status_id) "
+                + "SELECT ? + g, ? FROM generate_series(1, 200000) g", BASE_ID, BASE_ID);
+
+        // ANALYZE в транзакции учитывает еще не зафиксированные строки
+        jdbcTemplate.execute("ANALYZE restaurants, floors, rooms, tables, menu_items, promotions, "
+                + "bookings, booking_pre_orders, booking_history");
+    }
+
+    private String explain(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+
+    private void assertIndexScan(String sql, String table, String index) {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("Seq Scan on " + table), "Последовательное сканирование " + table + ":\n" + plan);
+        assertTrue(plan.contains(index), "Не используется " + index + ":\n" + plan);
+    }
+
+    @Test
+    void testBookingsByRestaurantAndDate_UseRestaurantDateIndex() {
+        assertIndexScan("SELECT * FROM bookings WHERE restaurant_id = " + RESTAURANT_ID
+                        + " AND date BETWEEN DATE '2024-03-01' AND DATE '2024-03-31' ORDER BY date DESC, id DESC LIMIT 20",
+                "bookings", "idx_bookings_restaurant_date");
+    }
+
+    @Test
+    void testBookingsByTableAndDate_UseTableDateIndex() {
+        assertIndexScan("SELECT * FROM bookings WHERE table_id = " + (BASE_ID + 4242)
+                        + " AND date >= DATE '2024-06-01'",
+                "bookings", "idx_bookings_table_date");
+    }
+
+    @Test
+    void testPreOrdersAndHistoryByBooking_UseBookingIdIndexes() {
+        assertIndexScan("SELECT * FROM booking_pre_orders WHERE booking_id IN ("
+                        + (BASE_ID + 10) + ", " + (BASE_ID + 11) + ", " + (BASE_ID + 12) + ")",
+                "booking_pre_orders", "idx_booking_pre_orders_booking_id");
+        assertIndexScan("SELECT * FROM booking_history WHERE booking_id = " + (BASE_ID + 10) + " ORDER BY changed_at DESC",
+                "booking_history", "idx_booking_history_booking_id");
+    }
+
+    @Test
+    void testActiveMenuItemsByRestaurant_UsePartialIndex() {
+        assertIndexScan("SELECT * FROM menu_items WHERE restaurant_id = " + RESTAURANT_ID
+                        + " AND is_active = true ORDER BY display_order",
+                "menu_items", "idx_menu_items_restaurant_category_active");
+    }
+
+    @Test
+    void testActiveTablesAndRoomsByParent_UsePartialIndexes() {
+        assertIndexScan("SELECT room_id, COUNT(*) FROM tables WHERE room_id IN ("
+                        + (BASE_ID + 1) + ", " + (BASE_ID + 2) + ", " + (BASE_ID + 3) + ") AND is_active = true GROUP BY room_id",
+                "tables", "idx_tables_room_active");
+        assertIndexScan("SELECT floor_id, COUNT(*) FROM rooms WHERE floor_id IN ("
+                        + (BASE_ID + 1) + ", " + (BASE_ID + 2) + ") AND is_active = true GROUP BY floor_id",
+                "rooms", "idx_rooms_floor_active");
+    }
+
+    @Test
+    void testActivePromotionsByRestaurant_UsePartialIndex() {
+        assertIndexScan("SELECT * FROM promotions WHERE restaurant_id = " + RESTAURANT_ID
+                        + " AND is_active = true ORDER BY start_date DESC",
+                "promotions", "idx_promotions_restaurant_start_date_active");
+    }
+}
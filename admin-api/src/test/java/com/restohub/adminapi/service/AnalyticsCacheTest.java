@@ -0,0 +1,100 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.event.BookingChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AnalyticsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AnalyticsCache analyticsCache;
+
+    private final LocalDate dateFrom = LocalDate.of(2024, 1, 1);
+    private final LocalDate dateTo = LocalDate.of(2024, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        analyticsCache = createCache(60);
+    }
+
+    private AnalyticsCache createCache(long freshSeconds) {
+        return new AnalyticsCache(true, freshSeconds, 900, 100, Runnable::run,
+                mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    private AnalyticsCache.Key key(Long restaurantId) {
+        return new AnalyticsCache.Key(restaurantId, "booking", dateFrom, dateTo, "day");
+    }
+
+    @Test
+    void testGet_ReturnsCachedValueOnSecondCall() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String first = analyticsCache.get(key(1L), () -> "result-" + calls.incrementAndGet());
+        String second = analyticsCache.get(key(1L), () -> "result-" + calls.incrementAndGet());
+
+        // Assert
+        assertEquals("result-1", first);
+        assertEquals("result-1", second);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "analytics").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "analytics").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testOnBookingChanged_InvalidatesOnlyAffectedRestaurant() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        analyticsCache.get(key(1L), () -> "r1-" + calls.incrementAndGet());
+        analyticsCache.get(key(2L), () -> "r2-" + calls.incrementAndGet());
+
+        // Act
+        analyticsCache.onBookingChanged(new BookingChangedEvent(1L, 10L, LocalDate.of(2024, 1, 15)));
+
+        // Assert
+        assertEquals("r1-3", analyticsCache.get(key(1L), () -> "r1-" + calls.incrementAndGet()));
+        assertEquals("r2-2", analyticsCache.get(key(2L), () -> "r2-" + calls.incrementAndGet()));
+    }
+
+    @Test
+    void testOnBookingChanged_DateOutsideRange_KeepsEntry() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        analyticsCache.get(key(1L), () -> "r1-" + calls.incrementAndGet());
+
+        // Act
+        analyticsCache.onBookingChanged(new BookingChangedEvent(1L, 10L, LocalDate.of(2024, 3, 1)));
+
+        // Assert
+        assertEquals("r1-1", analyticsCache.get(key(1L), () -> "r1-" + calls.incrementAndGet()));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testGet_StaleEntry_ReturnsStaleValueAndRefreshes() {
+        // Arrange
+        analyticsCache = createCache(0);
+        AtomicInteger calls = new AtomicInteger();
+        analyticsCache.get(key(1L), () -> "result-" + calls.incrementAndGet());
+
+        // Act
+        String stale = analyticsCache.get(key(1L), () -> "result-" + calls.incrementAndGet());
+
+        // Assert
+        assertEquals("result-1", stale);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("analytics.cache.stale").counter().count());
+        assertEquals("result-2", analyticsCache.get(key(1L), () -> "result-" + calls.incrementAndGet()));
+    }
+}
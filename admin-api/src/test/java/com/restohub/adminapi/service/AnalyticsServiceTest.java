@@ -0,0 +1,130 @@
+package com.restohub.adminapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restohub.adminapi.dto.PreOrderAnalyticsResponse;
+import com.restohub.adminapi.entity.*;
+import com.restohub.adminapi.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Аналитика предзаказов без колоночного хранилища: суммы берутся из бронирований, позиции - только для популярных блюд.
+ */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingPreOrderRepository bookingPreOrderRepository;
+
+    @Mock
+    private AnalyticsCache analyticsCache;
+
+    @Mock
+    private BookingColumnStore bookingColumnStore;
+
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new AnalyticsService(restaurantRepository, bookingRepository, bookingPreOrderRepository,
+                mock(ClientRepository.class), mock(TableRepository.class), new ObjectMapper(), analyticsCache,
+                bookingColumnStore, mock(MenuItemRepository.class), mock(ClientSketchService.class),
+                mock(ClickEventRepository.class));
+        when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(new Restaurant()));
+        when(analyticsCache.get(any(), any())).thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+    }
+
+    private Booking booking(Long id, LocalDate date, String status, String preOrderTotal, int preOrderItemCount) {
+        BookingStatus bookingStatus = new BookingStatus();
+        bookingStatus.setCode(status);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setDate(date);
+        booking.setBookingStatus(bookingStatus);
+        booking.setPreOrderTotal(new BigDecimal(preOrderTotal));
+        booking.setPreOrderItemCount(preOrderItemCount);
+        return booking;
+    }
+
+    private BookingPreOrder item(Booking booking, Long menuItemId, int quantity, String totalPrice) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(menuItemId);
+        menuItem.setName("Блюдо " + menuItemId);
+        BookingPreOrder item = new BookingPreOrder();
+        item.setBooking(booking);
+        item.setMenuItem(menuItem);
+        item.setQuantity(quantity);
+        item.setTotalPrice(new BigDecimal(totalPrice));
+        return item;
+    }
+
+    @Test
+    void testGetPreOrderAnalytics_UsesStoredTotalsAndLoadsItemsOnce() {
+        // Arrange
+        Booking approved = booking(10L, DAY, "APPROVED", "3000.00", 2);
+        Booking pending = booking(11L, DAY, "PENDING", "1000.00", 1);
+        Booking withoutPreOrder = booking(12L, DAY, "APPROVED", "0", 0);
+        Booking outOfPeriod = booking(13L, DAY.minusDays(40), "APPROVED", "500.00", 1);
+        when(bookingRepository.findByRestaurantId(RESTAURANT_ID))
+                .thenReturn(List.of(approved, pending, withoutPreOrder, outOfPeriod));
+        when(bookingPreOrderRepository.findByBookingIdInOrderById(List.of(10L, 11L))).thenReturn(List.of(
+                item(approved, 100L, 2, "2000.00"),
+                item(approved, 200L, 1, "1000.00"),
+                item(pending, 100L, 1, "1000.00")));
+
+        // Act
+        PreOrderAnalyticsResponse response = analyticsService.getPreOrderAnalytics(
+                RESTAURANT_ID, DAY.minusDays(7), DAY, "day");
+
+        // Assert
+        assertEquals(2L, response.getSummary().getTotal());
+        assertEquals(new BigDecimal("4000.00"), response.getSummary().getTotalRevenue());
+        assertEquals(new BigDecimal("2000.00"), response.getSummary().getAverageCheck());
+        assertEquals(0.5, response.getSummary().getConversionRate());
+        assertEquals(1, response.getChart().size());
+        assertEquals(new BigDecimal("4000.00"), response.getChart().get(0).getRevenue());
+        assertEquals(100L, response.getPopularItems().get(0).getMenuItemId());
+        assertEquals(3L, response.getPopularItems().get(0).getQuantity());
+        verify(bookingPreOrderRepository, never()).findByBookingId(any());
+        verify(bookingPreOrderRepository, times(1)).findByBookingIdInOrderById(any());
+    }
+
+    @Test
+    void testGetPreOrderAnalytics_NoPreOrders_SkipsItemQuery() {
+        // Arrange
+        when(bookingRepository.findByRestaurantId(RESTAURANT_ID))
+                .thenReturn(List.of(booking(12L, DAY, "APPROVED", "0", 0)));
+
+        // Act
+        PreOrderAnalyticsResponse response = analyticsService.getPreOrderAnalytics(
+                RESTAURANT_ID, DAY.minusDays(7), DAY, "day");
+
+        // Assert
+        assertEquals(0L, response.getSummary().getTotal());
+        assertEquals(BigDecimal.ZERO, response.getSummary().getAverageCheck());
+        assertTrue(response.getPopularItems().isEmpty());
+        verifyNoInteractions(bookingPreOrderRepository);
+    }
+}
@@ -1,8 +1,10 @@
 package com.restohub.adminapi.service;
 
+import com.restohub.adminapi.dto.RefreshTokenResponse;
 import com.restohub.adminapi.dto.UserInfoResponse;
 import com.restohub.adminapi.entity.*;
 import com.restohub.adminapi.repository.*;
+import com.restohub.adminapi.util.JwtClaims;
 import com.restohub.adminapi.util.JwtTokenProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +14,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -178,5 +183,38 @@ class AuthenticationServiceTest {
         assertEquals(restaurant1.getId(), response.getRestaurants().get(0).getSubscription().getRestaurantId());
         assertTrue(response.getRestaurants().get(0).getSubscription().getIsActive());
     }
+    
+    @Test
+    void testRefresh_RotatesTokenByHash() {
+        // Arrange
+        when(jwtTokenProvider.verify("old-refresh"))
+                .thenReturn(new JwtClaims("manager@test.com", "MANAGER", Instant.now().plusSeconds(3600)));
+        when(jwtTokenProvider.generateAccessToken("manager@test.com", "MANAGER")).thenReturn("new-access");
+        when(jwtTokenProvider.generateRefreshToken("manager@test.com", "MANAGER")).thenReturn("new-refresh");
+        when(refreshTokenRepository.rotateToken(eq(JwtTokenProvider.hashToken("old-refresh")),
+                eq(JwtTokenProvider.hashToken("new-refresh")), any(), any())).thenReturn(1);
+        
+        // Act
+        RefreshTokenResponse response = authenticationService.refresh("old-refresh");
+        
+        // Assert
+        assertEquals("new-access", response.getAccessToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        verify(refreshTokenRepository, never()).findAll();
+        verifyNoInteractions(passwordEncoder);
+    }
+    
+    @Test
+    void testRefresh_AlreadyRotatedToken_ThrowsException() {
+        // Arrange
+        when(jwtTokenProvider.verify("old-refresh"))
+                .thenReturn(new JwtClaims("manager@test.com", "MANAGER", Instant.now().plusSeconds(3600)));
+        when(jwtTokenProvider.generateRefreshToken("manager@test.com", "MANAGER")).thenReturn("new-refresh");
+        when(refreshTokenRepository.rotateToken(any(), any(), any(), any())).thenReturn(0);
+        
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authenticationService.refresh("old-refresh"));
+        assertEquals("INVALID_REFRESH_TOKEN", exception.getMessage());
+    }
 }
-
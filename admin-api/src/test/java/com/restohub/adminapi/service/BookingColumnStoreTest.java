@@ -0,0 +1,178 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.BookingStatus;
+import com.restohub.adminapi.event.BookingChangedEvent;
+import com.restohub.adminapi.repository.BookingFactRow;
+import com.restohub.adminapi.repository.BookingPreOrderRepository;
+import com.restohub.adminapi.repository.BookingRepository;
+import com.restohub.adminapi.repository.BookingStatusRepository;
+import com.restohub.adminapi.repository.PreOrderFactRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingColumnStoreTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingPreOrderRepository bookingPreOrderRepository;
+
+    @Mock
+    private BookingStatusRepository bookingStatusRepository;
+
+    private BookingColumnStore store;
+
+    private final LocalDate day1 = LocalDate.of(2024, 1, 10);
+    private final LocalDate day2 = LocalDate.of(2024, 1, 11);
+    private final LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 9, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        store = new BookingColumnStore(bookingRepository, bookingPreOrderRepository, bookingStatusRepository, true, 3600, 500, 60);
+        when(bookingStatusRepository.findAll()).thenReturn(List.of(status(1L, "PENDING"), status(2L, "APPROVED")));
+    }
+
+    private BookingStatus status(Long id, String code) {
+        BookingStatus status = new BookingStatus();
+        status.setId(id);
+        status.setCode(code);
+        return status;
+    }
+
+    @Test
+    void testScan_AggregatesBookingsAndPreOrdersInRange() {
+        // Arrange
+        when(bookingRepository.findFactsByRestaurantIdUpdatedSince(eq(1L), any())).thenReturn(List.of(
+                new BookingFactRow(1L, day1, 100L, 2L, 2, 7L, updatedAt),
+                new BookingFactRow(2L, day1, 100L, 1L, 4, 8L, updatedAt),
+                new BookingFactRow(3L, day2, 200L, 2L, 3, 7L, updatedAt),
+                new BookingFactRow(4L, LocalDate.of(2024, 2, 1), 200L, 2L, 6, null, updatedAt)));
+        when(bookingPreOrderRepository.findFactsByRestaurantId(1L)).thenReturn(List.of(
+                new PreOrderFactRow(10L, 1L, 500L, 2, new BigDecimal("1000.00")),
+                new PreOrderFactRow(11L, 1L, 501L, 1, new BigDecimal("250.50")),
+                new PreOrderFactRow(12L, 4L, 500L, 5, new BigDecimal("2500.00"))));
+
+        // Act
+        BookingColumnStore.RangeStats stats = store.scan(1L, day1, day2);
+
+        // Assert
+        assertEquals(3, stats.total);
+        assertEquals(9, stats.personSum);
+        assertEquals(2, stats.statusCount(stats.byStatus, "APPROVED"));
+        assertEquals(1, stats.statusCount(stats.byStatus, "PENDING"));
+        assertEquals(1, stats.preOrderBookings);
+        assertEquals(new BigDecimal("1250.50"), BookingColumnStore.toAmount(stats.revenue));
+        assertEquals(2, stats.dayCounts[0]);
+        assertEquals(1, stats.dayCounts[1]);
+        assertArrayEquals(new long[]{100L, 200L}, stats.tables.top(0, 10));
+        assertEquals(2, stats.items.get(500L, 0));
+        assertEquals(2, stats.clients.size());
+    }
+
+    @Test
+    void testScan_IncrementalSyncUpdatesExistingBooking() {
+        // Arrange
+        when(bookingRepository.findFactsByRestaurantIdUpdatedSince(eq(1L), any()))
+                .thenReturn(List.of(new BookingFactRow(1L, day1, 100L, 1L, 2, 7L, updatedAt)))
+                .thenReturn(List.of(new BookingFactRow(1L, day1, 100L, 2L, 2, 7L, updatedAt.plusHours(1))));
+        when(bookingPreOrderRepository.findFactsByRestaurantId(1L)).thenReturn(List.of());
+        when(bookingPreOrderRepository.findFactsByBookingIds(any())).thenReturn(List.of());
+        store.scan(1L, day1, day1);
+
+        // Act
+        store.onBookingChanged(new BookingChangedEvent(1L, 1L, day1));
+        BookingColumnStore.RangeStats stats = store.scan(1L, day1, day1);
+
+        // Assert
+        assertEquals(1, stats.total);
+        assertEquals(1, stats.statusCount(stats.byStatus, "APPROVED"));
+        assertEquals(0, stats.statusCount(stats.byStatus, "PENDING"));
+        verify(bookingRepository).findFactsByRestaurantIdUpdatedSince(1L, updatedAt.minusMinutes(5));
+    }
+
+    @Test
+    void testScan_ChangedBookingReloadsItsPreOrderItems() {
+        // Arrange: позиция 10 изменена, позиция 11 удалена, позиции другого бронирования не трогаются
+        when(bookingRepository.findFactsByRestaurantIdUpdatedSince(eq(1L), any()))
+                .thenReturn(List.of(
+                        new BookingFactRow(1L, day1, 100L, 2L, 2, 7L, updatedAt),
+                        new BookingFactRow(2L, day1, 100L, 2L, 2, 8L, updatedAt)))
+                .thenReturn(List.of(new BookingFactRow(1L, day1, 100L, 2L, 2, 7L, updatedAt.plusHours(1))));
+        when(bookingPreOrderRepository.findFactsByRestaurantId(1L)).thenReturn(List.of(
+                new PreOrderFactRow(10L, 1L, 500L, 2, new BigDecimal("1000.00")),
+                new PreOrderFactRow(11L, 1L, 501L, 1, new BigDecimal("250.00")),
+                new PreOrderFactRow(12L, 2L, 501L, 1, new BigDecimal("250.00"))));
+        when(bookingPreOrderRepository.findFactsByBookingIds(List.of(1L))).thenReturn(List.of(
+                new PreOrderFactRow(10L, 1L, 500L, 3, new BigDecimal("1500.00"))));
+        store.scan(1L, day1, day1);
+
+        // Act
+        store.onBookingChanged(new BookingChangedEvent(1L, 1L, day1));
+        BookingColumnStore.RangeStats stats = store.scan(1L, day1, day1);
+
+        // Assert
+        assertEquals(2, stats.preOrderBookings);
+        assertEquals(new BigDecimal("1750.00"), BookingColumnStore.toAmount(stats.revenue));
+        assertEquals(3, stats.items.get(500L, 0));
+        assertEquals(1, stats.items.get(501L, 0));
+    }
+
+    @Test
+    void testScan_ChangedEventWithoutUpdatedAtShift_ReloadsItems() {
+        // Arrange
+        when(bookingRepository.findFactsByRestaurantIdUpdatedSince(eq(1L), any()))
+                .thenReturn(List.of(new BookingFactRow(1L, day1, 100L, 2L, 2, 7L, updatedAt)))
+                .thenReturn(List.of());
+        when(bookingPreOrderRepository.findFactsByRestaurantId(1L)).thenReturn(List.of(
+                new PreOrderFactRow(10L, 1L, 500L, 2, new BigDecimal("1000.00"))));
+        when(bookingPreOrderRepository.findFactsByBookingIds(List.of(1L))).thenReturn(List.of());
+        store.scan(1L, day1, day1);
+
+        // Act
+        store.onBookingChanged(new BookingChangedEvent(1L, 1L, day1));
+        BookingColumnStore.RangeStats stats = store.scan(1L, day1, day1);
+
+        // Assert
+        assertEquals(0, stats.preOrderBookings);
+        assertEquals(0, stats.revenue);
+        assertFalse(stats.items.contains(500L));
+    }
+
+    @Test
+    void testClientTotals_CountsAllRestaurantBookingsOfClientsInRange() {
+        // Arrange
+        when(bookingRepository.findFactsByRestaurantIdUpdatedSince(eq(1L), any())).thenReturn(List.of(
+                new BookingFactRow(1L, LocalDate.of(2023, 12, 1), 100L, 2L, 2, 7L, updatedAt),
+                new BookingFactRow(2L, day1, 100L, 2L, 2, 7L, updatedAt),
+                new BookingFactRow(3L, LocalDate.of(2023, 12, 1), 100L, 2L, 2, 8L, updatedAt)));
+        when(bookingPreOrderRepository.findFactsByRestaurantId(1L)).thenReturn(List.of(
+                new PreOrderFactRow(10L, 1L, 500L, 1, new BigDecimal("300.00"))));
+
+        // Act
+        List<BookingColumnStore.ClientTotals> totals = store.clientTotals(1L, day1, day2);
+
+        // Assert
+        assertEquals(1, totals.size());
+        BookingColumnStore.ClientTotals client = totals.get(0);
+        assertEquals(7L, client.clientId());
+        assertEquals(2, client.bookings());
+        assertEquals(1, client.bookingsInRange());
+        assertEquals(1, client.preOrderItems());
+        assertEquals(new BigDecimal("300.00"), BookingColumnStore.toAmount(client.spent()));
+    }
+}
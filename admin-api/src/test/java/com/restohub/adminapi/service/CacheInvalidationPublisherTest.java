@@ -0,0 +1,60 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.event.CacheInvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationPublisherTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+
+    private CacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        publisher = new CacheInvalidationPublisher(new JdbcTemplate(dataSource), "cache_invalidation");
+    }
+
+    @Test
+    void testOnCacheInvalidation_NotifiesOnSeparateConnection() throws Exception {
+        // Act
+        publisher.onCacheInvalidation(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_SUBSCRIPTION, 5L));
+
+        // Assert
+        verify(connection).prepareStatement("SELECT pg_notify(?, ?)");
+        verify(statement).setString(1, "cache_invalidation");
+        verify(statement).setString(eq(2), startsWith("subscription:5:"));
+        verify(statement).execute();
+        verify(connection, atLeastOnce()).close();
+    }
+
+    @Test
+    void testOnCacheInvalidation_NotifyFails_DoesNotThrow() throws Exception {
+        // Arrange
+        when(statement.execute()).thenThrow(new SQLException("connection reset"));
+
+        // Act & Assert: ошибка отправки не доходит до вызывающего кода
+        assertDoesNotThrow(() -> publisher.onCacheInvalidation(
+                new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_RESTAURANT, 5L)));
+        verify(connection, atLeastOnce()).close();
+    }
+}
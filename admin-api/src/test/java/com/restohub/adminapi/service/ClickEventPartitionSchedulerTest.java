@@ -0,0 +1,103 @@
+package com.restohub.adminapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickEventPartitionSchedulerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    private ClickEventPartitionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Метаданные PostgreSQL: без них задача ничего не делает
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+
+        scheduler = new ClickEventPartitionScheduler(jdbcTemplate, schedulerLock, 1, 0, 43_200_000);
+    }
+
+    private void runWhenLocked() {
+        when(schedulerLock.runLocked(eq(ClickEventPartitionScheduler.PARTITION_LOCK),
+                any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, Runnable.class).run();
+                    return true;
+                });
+    }
+
+    private static String ensurePartition(YearMonth month) {
+        return "SELECT click_events_ensure_partition(DATE '" + month.atDay(1) + "')";
+    }
+
+    @Test
+    void testMaintainPartitions_LockAcquired_CreatesCurrentAndNextMonth() {
+        // Arrange
+        runWhenLocked();
+
+        // Act
+        scheduler.maintainPartitions();
+
+        // Assert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).execute(sql.capture());
+        YearMonth current = YearMonth.now();
+        assertEquals(List.of(ensurePartition(current), ensurePartition(current.plusMonths(1))), sql.getAllValues());
+    }
+
+    @Test
+    void testMaintainPartitions_OneMonthFails_OtherMonthsStillCreated() {
+        // Arrange
+        runWhenLocked();
+        YearMonth current = YearMonth.now();
+        doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+                .when(jdbcTemplate).execute(ensurePartition(current));
+
+        // Act
+        scheduler.maintainPartitions();
+
+        // Assert
+        verify(jdbcTemplate).execute(ensurePartition(current.plusMonths(1)));
+    }
+
+    @Test
+    void testMaintainPartitions_AnotherInstanceHoldsLock_NoDdl() {
+        // Arrange
+        when(schedulerLock.runLocked(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // Act
+        scheduler.maintainPartitions();
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
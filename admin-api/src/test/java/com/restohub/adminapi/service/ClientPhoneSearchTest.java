@@ -0,0 +1,109 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.*;
+import com.restohub.adminapi.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Поиск бронирований по части телефона клиента на H2 (clients.phone_digits - вычисляемая колонка).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ClientPhoneSearchTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Phone Search Restaurant");
+        entityManager.persist(restaurant);
+
+        Floor floor = new Floor();
+        floor.setRestaurant(restaurant);
+        floor.setFloorNumber("1");
+        entityManager.persist(floor);
+
+        Room room = new Room();
+        room.setFloor(floor);
+        room.setName("Зал");
+        entityManager.persist(room);
+
+        RestaurantTable table = new RestaurantTable();
+        table.setRoom(room);
+        table.setTableNumber("T1");
+        table.setCapacity(4);
+        entityManager.persist(table);
+
+        BookingStatus status = new BookingStatus();
+        status.setCode("PHONE_SEARCH_PENDING");
+        status.setName("Ожидает");
+        status.setCreatedAt(LocalDateTime.now());
+        status.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(status);
+
+        Client client = new Client();
+        client.setPhone("+77001234567");
+        client.setCreatedAt(LocalDateTime.now());
+        client.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(client);
+
+        Booking booking = new Booking();
+        booking.setRestaurant(restaurant);
+        booking.setTable(table);
+        booking.setClient(client);
+        booking.setDate(LocalDate.of(2024, 5, 1));
+        booking.setTime(LocalTime.of(19, 0));
+        booking.setPersonCount(2);
+        booking.setBookingStatus(status);
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(booking);
+        bookingId = booking.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Long> search(String clientPhone) {
+        return bookingRepository.findAll(BookingService.clientPhoneLike(clientPhone)).stream()
+                .map(Booking::getId)
+                .toList();
+    }
+
+    @Test
+    void testClientPhoneLike_InternationalAndDomesticFormats_FindSameNumber() {
+        // Act & Assert
+        assertEquals(List.of(bookingId), search("+7 700 123"));
+        assertEquals(List.of(bookingId), search("8700123"));
+        assertEquals(List.of(bookingId), search("8 (700) 123-45-67"));
+        assertEquals(List.of(bookingId), search("4567"));
+    }
+
+    @Test
+    void testClientPhoneLike_OtherNumber_NotFound() {
+        // Act & Assert: 8 заменяется на 7 только как начало номера
+        assertTrue(search("8123").isEmpty());
+        assertTrue(search("8 701 123").isEmpty());
+    }
+}
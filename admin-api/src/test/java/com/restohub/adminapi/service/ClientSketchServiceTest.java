@@ -0,0 +1,116 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.RestaurantDailyStats;
+import com.restohub.adminapi.repository.BookingRepository;
+import com.restohub.adminapi.repository.RestaurantDailyStatsRepository;
+import com.restohub.adminapi.repository.RestaurantDayRow;
+import com.restohub.adminapi.util.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientSketchServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RestaurantDailyStatsRepository dailyStatsRepository;
+
+    @Mock
+    private JobWatermarks jobWatermarks;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ClientSketchService clientSketchService;
+
+    private final LocalDate dateFrom = LocalDate.of(2024, 1, 1);
+    private final LocalDate dateTo = LocalDate.of(2024, 12, 31);
+
+    @BeforeEach
+    void setUp() {
+        clientSketchService = new ClientSketchService(bookingRepository, dailyStatsRepository, jobWatermarks,
+                transactionManager, true);
+    }
+
+    private byte[] sketch(long... clientIds) {
+        HyperLogLog sketch = new HyperLogLog();
+        Arrays.stream(clientIds).forEach(sketch::add);
+        return sketch.toBytes();
+    }
+
+    @Test
+    void testEstimateClients_ReturningAreClientsWithSeveralBookingsInRange() {
+        // Arrange: клиент 3 бронировал дважды за период - как в точном подсчете, он вернувшийся
+        when(dailyStatsRepository.findClientSketches(1L, dateFrom, dateTo))
+                .thenReturn(List.of(sketch(1L, 2L, 3L), sketch(3L, 4L)));
+        when(bookingRepository.countRepeatClients(1L, dateFrom, dateTo)).thenReturn(1L);
+
+        // Act
+        ClientSketchService.ClientCounts counts = clientSketchService.estimateClients(1L, dateFrom, dateTo);
+
+        // Assert
+        assertEquals(4, counts.total());
+        assertEquals(3, counts.newClients());
+        assertEquals(1, counts.returningClients());
+    }
+
+    @Test
+    void testRefreshUpdatedDays_RebuildsDaySketch() {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 3, 8);
+        when(jobWatermarks.get(ClientSketchService.REFRESH_WATERMARK)).thenReturn(null);
+        when(bookingRepository.findRestaurantDaysUpdatedSince(any())).thenReturn(List.of(new RestaurantDayRow(1L, day)));
+        when(bookingRepository.findClientIdsByRestaurantIdAndDate(1L, day)).thenReturn(Arrays.asList(5L, 5L, null, 6L));
+        when(dailyStatsRepository.findByRestaurantIdAndDate(1L, day)).thenReturn(Optional.empty());
+        ArgumentCaptor<RestaurantDailyStats> saved = ArgumentCaptor.forClass(RestaurantDailyStats.class);
+
+        // Act
+        int refreshed = clientSketchService.refreshUpdatedDays();
+
+        // Assert
+        assertEquals(1, refreshed);
+        verify(dailyStatsRepository).save(saved.capture());
+        assertEquals(4, saved.getValue().getBookingCount());
+        assertEquals(2, saved.getValue().getClientCount());
+        assertEquals(2, HyperLogLog.fromBytes(saved.getValue().getClientSketch()).estimate());
+        verify(jobWatermarks).set(eq(ClientSketchService.REFRESH_WATERMARK), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRefreshUpdatedDays_FailedDay_KeepsWatermark() {
+        // Arrange: первый день сохранен, второй упал - следующий запуск должен повторить окно
+        LocalDate day = LocalDate.of(2024, 3, 8);
+        LocalDate failedDay = LocalDate.of(2024, 3, 9);
+        LocalDateTime watermark = LocalDateTime.of(2024, 3, 9, 12, 0);
+        when(jobWatermarks.get(ClientSketchService.REFRESH_WATERMARK)).thenReturn(watermark);
+        when(bookingRepository.findRestaurantDaysUpdatedSince(watermark.minusMinutes(10)))
+                .thenReturn(List.of(new RestaurantDayRow(1L, day), new RestaurantDayRow(1L, failedDay)));
+        when(bookingRepository.findClientIdsByRestaurantIdAndDate(1L, day)).thenReturn(List.of(5L));
+        when(dailyStatsRepository.findByRestaurantIdAndDate(1L, day)).thenReturn(Optional.empty());
+        when(bookingRepository.findClientIdsByRestaurantIdAndDate(1L, failedDay)).thenThrow(new IllegalStateException("db down"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> clientSketchService.refreshUpdatedDays());
+        verify(dailyStatsRepository).save(any(RestaurantDailyStats.class));
+        verify(jobWatermarks, never()).set(anyString(), any());
+    }
+}
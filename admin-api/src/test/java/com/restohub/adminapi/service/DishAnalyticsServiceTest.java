@@ -0,0 +1,117 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.DishAnalytics;
+import com.restohub.adminapi.repository.BookingPreOrderRepository;
+import com.restohub.adminapi.repository.DishAnalyticsRepository;
+import com.restohub.adminapi.repository.DishInfoRow;
+import com.restohub.adminapi.repository.DishSaleRow;
+import com.restohub.adminapi.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DishAnalyticsServiceTest {
+
+    @Mock
+    private BookingPreOrderRepository bookingPreOrderRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    @Mock
+    private DishAnalyticsRepository dishAnalyticsRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    private DishAnalyticsService dishAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        BigDecimal[] priceBands = {new BigDecimal("2000"), new BigDecimal("5000")};
+        dishAnalyticsService = new DishAnalyticsService(bookingPreOrderRepository, menuItemRepository,
+                dishAnalyticsRepository, jdbcTemplate, transactionManager, schedulerLock, 2, 2, priceBands, 3_600_000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecalculate_AggregatesAllChunksAndReplacesSummary() {
+        // Arrange
+        when(schedulerLock.runLocked(eq(DishAnalyticsService.RECALCULATE_LOCK), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, Runnable.class).run();
+                    return true;
+                });
+        when(bookingPreOrderRepository.findDishSalesAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new DishSaleRow(1L, 1L, 10L, 2, new BigDecimal("3000.00")),
+                new DishSaleRow(2L, 2L, 20L, 1, new BigDecimal("6000.00"))));
+        when(bookingPreOrderRepository.findDishSalesAfterId(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                new DishSaleRow(3L, 1L, 10L, 3, new BigDecimal("4500.00"))));
+        when(menuItemRepository.findDishInfoByIdIn(any(Collection.class))).thenReturn(List.of(
+                new DishInfoRow(10L, "Плов", new BigDecimal("1500.00"), 1L, "Ресторан 1", 3L, "Горячее"),
+                new DishInfoRow(20L, "Стейк", new BigDecimal("6000.00"), 2L, "Ресторан 2", 3L, "Горячее")));
+        ArgumentCaptor<Collection<DishAnalytics>> rows = ArgumentCaptor.forClass(Collection.class);
+
+        // Act
+        int result = dishAnalyticsService.recalculate();
+
+        // Assert
+        assertEquals(2, result);
+        verify(jdbcTemplate).update("DELETE FROM dish_analytics");
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(500), any(ParameterizedPreparedStatementSetter.class));
+        DishAnalytics plov = rows.getValue().stream()
+                .filter(d -> d.getMenuItemId().equals(10L))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2L, plov.getOrderCount());
+        assertEquals(5L, plov.getQuantity());
+        assertEquals(new BigDecimal("7500.00"), plov.getRevenue());
+        assertEquals("0-2000", plov.getPriceBand());
+        verify(bookingPreOrderRepository, never()).findDishSalesAfterId(eq(3L), any(Pageable.class));
+    }
+
+    @Test
+    void testRecalculate_RunningOnAnotherInstance_ThrowsInProgress() {
+        // Arrange
+        when(schedulerLock.runLocked(eq(DishAnalyticsService.RECALCULATE_LOCK), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> dishAnalyticsService.recalculate());
+
+        // Assert
+        assertEquals("DISH_ANALYTICS_IN_PROGRESS", exception.getMessage());
+        verifyNoInteractions(bookingPreOrderRepository, jdbcTemplate);
+    }
+
+    @Test
+    void testPriceBandName_ReturnsRangeLabels() {
+        // Act & Assert
+        assertEquals("0-2000", dishAnalyticsService.priceBandName(dishAnalyticsService.priceBandIndex(new BigDecimal("1999.99"))));
+        assertEquals("2000-5000", dishAnalyticsService.priceBandName(dishAnalyticsService.priceBandIndex(new BigDecimal("2000"))));
+        assertEquals("5000+", dishAnalyticsService.priceBandName(dishAnalyticsService.priceBandIndex(new BigDecimal("7000"))));
+    }
+}
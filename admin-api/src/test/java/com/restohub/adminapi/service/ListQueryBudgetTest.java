@@ -0,0 +1,103 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.config.ListBudgetFixture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Число SQL-запросов списков не зависит от размера страницы: связи, которые читают мапперы,
+ * загружаются планом выборки, а счетчики дочерних записей - одним групповым запросом.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ListQueryBudgetTest {
+
+    // Проверка ресторана + страница + COUNT(*)
+    private static final long LIST_QUERY_BUDGET = 3;
+    // То же + групповой подсчет дочерних записей
+    private static final long LIST_WITH_COUNTS_QUERY_BUDGET = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TableService tableService;
+
+    @Autowired
+    private RoomService roomService;
+
+    private Statistics statistics;
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        restaurantId = ListBudgetFixture.persistRestaurant(entityManager, 6).getId();
+    }
+
+    private long countStatements(IntConsumer listCall, int limit) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        listCall.accept(limit);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertBudget(IntConsumer listCall, long budget) {
+        // Обе страницы полные, поэтому COUNT(*) выполняется в обоих случаях
+        long smallPage = countStatements(listCall, 2);
+        long largePage = countStatements(listCall, 5);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(largePage <= budget, "Запросов: " + largePage + ", бюджет: " + budget);
+    }
+
+    @Test
+    void testGetBookings_StatementCountIndependentOfPageSize() {
+        assertBudget(limit -> bookingService.getBookings(
+                restaurantId, limit, 0, null, null, null, null, null, "bookingDate", "desc", null), LIST_QUERY_BUDGET);
+    }
+
+    @Test
+    void testGetBookingsKeyset_StatementCountIndependentOfPageSize() {
+        // Без COUNT(*): проверка ресторана + страница
+        assertBudget(limit -> bookingService.getBookings(
+                restaurantId, limit, 0, null, null, null, null, null, "bookingDate", "desc", ""), LIST_QUERY_BUDGET - 1);
+    }
+
+    @Test
+    void testGetTables_StatementCountIndependentOfPageSize() {
+        assertBudget(limit -> tableService.getTables(
+                restaurantId, limit, 0, null, null, null, null, "tableNumber", "asc", null), LIST_QUERY_BUDGET);
+    }
+
+    @Test
+    void testGetRooms_StatementCountIndependentOfPageSize() {
+        assertBudget(limit -> roomService.getRooms(
+                restaurantId, limit, 0, null, "name", "asc"), LIST_WITH_COUNTS_QUERY_BUDGET);
+    }
+}
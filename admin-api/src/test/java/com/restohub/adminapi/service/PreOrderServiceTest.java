@@ -0,0 +1,145 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.dto.*;
+import com.restohub.adminapi.entity.*;
+import com.restohub.adminapi.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PreOrderServiceTest {
+    
+    @Mock
+    private BookingPreOrderRepository bookingPreOrderRepository;
+    
+    @Mock
+    private BookingRepository bookingRepository;
+    
+    @Mock
+    private RestaurantRepository restaurantRepository;
+    
+    @Mock
+    private BookingStatusRepository bookingStatusRepository;
+    
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @InjectMocks
+    private PreOrderService preOrderService;
+    
+    private Restaurant restaurant;
+    private BookingStatus status;
+    
+    @BeforeEach
+    void setUp() {
+        restaurant = new Restaurant();
+        restaurant.setId(1L);
+        
+        status = new BookingStatus();
+        status.setId(1L);
+        status.setCode("APPROVED");
+        status.setName("Подтверждено");
+        
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant));
+    }
+    
+    private Booking booking(Long id, String preOrderTotal, int preOrderItemCount) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRestaurant(restaurant);
+        booking.setBookingStatus(status);
+        booking.setDate(LocalDate.of(2024, 1, 10));
+        booking.setTime(LocalTime.of(19, 0));
+        booking.setPreOrderTotal(new BigDecimal(preOrderTotal));
+        booking.setPreOrderItemCount(preOrderItemCount);
+        return booking;
+    }
+    
+    private BookingPreOrder preOrder(Long id, Booking booking, String totalPrice) {
+        BookingPreOrder preOrder = new BookingPreOrder();
+        preOrder.setId(id);
+        preOrder.setBooking(booking);
+        preOrder.setQuantity(1);
+        preOrder.setPrice(new BigDecimal(totalPrice));
+        preOrder.setTotalPrice(new BigDecimal(totalPrice));
+        return preOrder;
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetPreOrders_LoadsPageItemsInSingleQuery() {
+        // Arrange
+        Booking first = booking(10L, "2000.00", 2);
+        Booking second = booking(20L, "700.00", 1);
+        Page<Booking> page = new PageImpl<>(List.of(first, second), Pageable.ofSize(2), 5);
+        when(bookingRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+        when(bookingPreOrderRepository.findByBookingIdInOrderById(List.of(10L, 20L))).thenReturn(List.of(
+                preOrder(100L, first, "1500.00"),
+                preOrder(101L, first, "500.00"),
+                preOrder(102L, second, "700.00")));
+        
+        // Act
+        PaginationResponse<List<PreOrderListItemResponse>> response = preOrderService.getPreOrders(
+                1L, 2, 0, null, null, null, null, null, "date", "desc");
+        
+        // Assert
+        List<PreOrderListItemResponse> items = response.getData();
+        assertEquals(2, items.size());
+        assertEquals(10L, items.get(0).getBookingId());
+        assertEquals(new BigDecimal("2000.00"), items.get(0).getTotalAmount());
+        assertEquals(2, items.get(0).getItemsCount());
+        assertEquals(100L, items.get(0).getId());
+        assertEquals(new BigDecimal("700.00"), items.get(1).getTotalAmount());
+        assertEquals(5L, response.getPagination().getTotal());
+        assertTrue(response.getPagination().getHasMore());
+        verify(bookingPreOrderRepository, never()).findByBookingId(anyLong());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetPreOrders_SortByTotalAmount_UsesDenormalizedTotal() {
+        // Arrange
+        when(bookingRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), Pageable.ofSize(10), 0));
+        
+        // Act
+        PaginationResponse<List<PreOrderListItemResponse>> response = preOrderService.getPreOrders(
+                1L, 10, 20, null, null, null, null, null, "totalAmount", "desc");
+        
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(Sort.by(Sort.Direction.DESC, "preOrderTotal", "id"), pageable.getValue().getSort());
+        assertTrue(response.getData().isEmpty());
+        verifyNoInteractions(bookingPreOrderRepository);
+    }
+}
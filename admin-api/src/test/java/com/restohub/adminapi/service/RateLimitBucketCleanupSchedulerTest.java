@@ -0,0 +1,74 @@
+package com.restohub.adminapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitBucketCleanupSchedulerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RateLimitBucketCleanupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:rate_limit_purge;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE rate_limit_buckets (id VARCHAR(255) PRIMARY KEY, state BLOB, "
+                + "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE scheduler_locks (name VARCHAR(64) PRIMARY KEY, lock_until TIMESTAMP NOT NULL, "
+                + "locked_at TIMESTAMP NOT NULL, locked_by VARCHAR(255) NOT NULL)");
+        scheduler = new RateLimitBucketCleanupScheduler(jdbcTemplate, new SchedulerLock(jdbcTemplate), 24, 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE rate_limit_buckets");
+        jdbcTemplate.execute("DROP TABLE scheduler_locks");
+    }
+
+    private void insertBucket(String id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO rate_limit_buckets (id, created_at, updated_at) VALUES (?, ?, ?)",
+                id, Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt));
+    }
+
+    private List<String> bucketIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM rate_limit_buckets ORDER BY id", String.class);
+    }
+
+    @Test
+    void testPurgeOldBuckets_DeletesOnlyBucketsIdleLongerThanRetention() {
+        // Arrange: старый, но активный bucket остается - иначе атакующий получил бы полный лимит заново
+        LocalDateTime now = LocalDateTime.now();
+        insertBucket("login:active", now.minusDays(3), now.minusMinutes(1));
+        insertBucket("login:idle", now.minusDays(3), now.minusHours(25));
+
+        // Act
+        scheduler.purgeOldBuckets();
+
+        // Assert
+        assertEquals(List.of("login:active"), bucketIds());
+    }
+
+    @Test
+    void testPurgeOldBuckets_AnotherInstanceRanRecently_Skips() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        insertBucket("login:idle", now.minusDays(3), now.minusHours(25));
+        jdbcTemplate.update("INSERT INTO scheduler_locks (name, lock_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                RateLimitBucketCleanupScheduler.PURGE_LOCK, Timestamp.valueOf(now.plusMinutes(20)),
+                Timestamp.valueOf(now.minusMinutes(10)), "other-instance");
+
+        // Act
+        scheduler.purgeOldBuckets();
+
+        // Assert
+        assertEquals(List.of("login:idle"), bucketIds());
+    }
+}
@@ -0,0 +1,87 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.User;
+import com.restohub.adminapi.event.UserAccessChangedEvent;
+import com.restohub.adminapi.repository.UserRepository;
+import com.restohub.adminapi.repository.UserRestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantAccessCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserRestaurantRepository userRestaurantRepository;
+
+    private RestaurantAccessCache restaurantAccessCache;
+
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        restaurantAccessCache = new RestaurantAccessCache(userRepository, userRestaurantRepository, 300, 100);
+        manager = new User();
+        manager.setId(2L);
+        manager.setEmail("manager@test.com");
+    }
+
+    @Test
+    void testGet_RepeatedChecks_QueryDatabaseOnce() {
+        // Arrange
+        when(userRepository.findByEmailAndIsActiveTrue("manager@test.com")).thenReturn(Optional.of(manager));
+        when(userRestaurantRepository.findRestaurantIdsByUserId(2L)).thenReturn(List.of(7L, 3L));
+
+        // Act
+        boolean first = restaurantAccessCache.get("manager@test.com").hasRestaurant(3L);
+        boolean second = restaurantAccessCache.get("manager@test.com").hasRestaurant(7L);
+        boolean foreign = restaurantAccessCache.get("manager@test.com").hasRestaurant(5L);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(foreign);
+        verify(userRepository, times(1)).findByEmailAndIsActiveTrue("manager@test.com");
+        verify(userRestaurantRepository, times(1)).findRestaurantIdsByUserId(2L);
+    }
+
+    @Test
+    void testOnUserAccessChanged_ReloadsRestaurants() {
+        // Arrange
+        when(userRepository.findByEmailAndIsActiveTrue("manager@test.com")).thenReturn(Optional.of(manager));
+        when(userRestaurantRepository.findRestaurantIdsByUserId(2L)).thenReturn(List.of(3L)).thenReturn(List.of(5L));
+        restaurantAccessCache.get("manager@test.com");
+
+        // Act
+        restaurantAccessCache.onUserAccessChanged(new UserAccessChangedEvent("manager@test.com"));
+        RestaurantAccessCache.Access access = restaurantAccessCache.get("manager@test.com");
+
+        // Assert
+        assertFalse(access.hasRestaurant(3L));
+        assertTrue(access.hasRestaurant(5L));
+    }
+
+    @Test
+    void testGet_InactiveUser_DeniesAccess() {
+        // Arrange
+        when(userRepository.findByEmailAndIsActiveTrue("manager@test.com")).thenReturn(Optional.empty());
+
+        // Act
+        RestaurantAccessCache.Access access = restaurantAccessCache.get("manager@test.com");
+
+        // Assert
+        assertFalse(access.active());
+        verifyNoInteractions(userRestaurantRepository);
+    }
+}
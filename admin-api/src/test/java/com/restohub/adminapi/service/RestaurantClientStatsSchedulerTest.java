@@ -0,0 +1,60 @@
+package com.restohub.adminapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantClientStatsSchedulerTest {
+
+    @Mock
+    private RestaurantClientStatsService restaurantClientStatsService;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
+    private RestaurantClientStatsScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RestaurantClientStatsScheduler(restaurantClientStatsService, schedulerLock, 300_000);
+    }
+
+    @Test
+    void testRefreshClientStats_LockAcquired_Refreshes() {
+        // Arrange
+        when(schedulerLock.runLocked(eq(RestaurantClientStatsScheduler.REFRESH_LOCK),
+                eq(Duration.ofMinutes(5)), eq(Duration.ofSeconds(150)), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, Runnable.class).run();
+                    return true;
+                });
+
+        // Act
+        scheduler.refreshClientStats();
+
+        // Assert
+        verify(restaurantClientStatsService).refreshUpdated();
+    }
+
+    @Test
+    void testRefreshClientStats_AnotherInstanceHoldsLock_Skips() {
+        // Arrange
+        when(schedulerLock.runLocked(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        // Act
+        scheduler.refreshClientStats();
+
+        // Assert
+        verifyNoInteractions(restaurantClientStatsService);
+    }
+}
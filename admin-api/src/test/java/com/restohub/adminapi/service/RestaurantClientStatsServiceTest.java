@@ -0,0 +1,149 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.entity.RestaurantClient;
+import com.restohub.adminapi.event.BookingChangedEvent;
+import com.restohub.adminapi.repository.BookingPreOrderRepository;
+import com.restohub.adminapi.repository.BookingRepository;
+import com.restohub.adminapi.repository.ClientBookingStatsRow;
+import com.restohub.adminapi.repository.RestaurantClientRepository;
+import com.restohub.adminapi.repository.RestaurantClientRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantClientStatsServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingPreOrderRepository bookingPreOrderRepository;
+
+    @Mock
+    private RestaurantClientRepository restaurantClientRepository;
+
+    @Mock
+    private JobWatermarks jobWatermarks;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RestaurantClientStatsService restaurantClientStatsService;
+
+    @BeforeEach
+    void setUp() {
+        restaurantClientStatsService = new RestaurantClientStatsService(
+                bookingRepository, bookingPreOrderRepository, restaurantClientRepository, jobWatermarks, transactionManager);
+    }
+
+    private ClientBookingStatsRow statsRow(long bookingCount, long preOrderCount) {
+        return new ClientBookingStatsRow(bookingCount, 3L, 1L, preOrderCount, new BigDecimal("12000.00"), 10L,
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void testOnBookingChanged_RefreshesClientRow() {
+        // Arrange
+        when(bookingRepository.findClientIdById(100L)).thenReturn(Optional.of(7L));
+        when(bookingRepository.findClientStats(1L, 7L)).thenReturn(statsRow(5L, 2L));
+        when(restaurantClientRepository.findByRestaurantIdAndClientId(1L, 7L)).thenReturn(Optional.empty());
+        when(bookingRepository.findTopTableIds(eq(1L), eq(7L), any())).thenReturn(List.of(12L));
+        when(bookingPreOrderRepository.findTopMenuItemIds(eq(1L), eq(7L), any())).thenReturn(List.of(40L));
+        when(restaurantClientRepository.save(any(RestaurantClient.class))).thenAnswer(inv -> inv.getArgument(0));
+        ArgumentCaptor<RestaurantClient> saved = ArgumentCaptor.forClass(RestaurantClient.class);
+
+        // Act
+        restaurantClientStatsService.onBookingChanged(new BookingChangedEvent(1L, 100L, LocalDate.of(2024, 3, 10)));
+
+        // Assert
+        verify(restaurantClientRepository).save(saved.capture());
+        RestaurantClient stats = saved.getValue();
+        assertEquals(1L, stats.getRestaurantId());
+        assertEquals(7L, stats.getClientId());
+        assertEquals(5, stats.getBookingCount());
+        assertEquals(3, stats.getVisitCount());
+        assertEquals(1, stats.getCancelledCount());
+        assertEquals(2, stats.getPreOrderCount());
+        assertEquals(new BigDecimal("12000.00"), stats.getPreOrderTotal());
+        assertEquals(LocalDate.of(2024, 3, 1), stats.getLastVisitDate());
+        assertEquals(12L, stats.getFavoriteTableId());
+        assertEquals(40L, stats.getFavoriteMenuItemId());
+    }
+
+    @Test
+    void testRefreshUpdated_DeletesRowWithoutBookings() {
+        // Arrange
+        RestaurantClient existing = new RestaurantClient();
+        when(jobWatermarks.get(RestaurantClientStatsService.REFRESH_WATERMARK)).thenReturn(null);
+        when(bookingRepository.findRestaurantClientsUpdatedSince(any())).thenReturn(List.of(new RestaurantClientRow(1L, 7L)));
+        when(bookingRepository.findClientStats(1L, 7L)).thenReturn(statsRow(0L, 0L));
+        when(restaurantClientRepository.findByRestaurantIdAndClientId(1L, 7L)).thenReturn(Optional.of(existing));
+
+        // Act
+        int refreshed = restaurantClientStatsService.refreshUpdated();
+
+        // Assert
+        assertEquals(1, refreshed);
+        verify(restaurantClientRepository).delete(existing);
+        verify(restaurantClientRepository, never()).save(any());
+    }
+
+    @Test
+    void testRefreshUpdated_EventRefreshBetweenRuns_DoesNotMoveJobWatermark() {
+        // Arrange
+        AtomicReference<LocalDateTime> watermark = new AtomicReference<>();
+        when(jobWatermarks.get(RestaurantClientStatsService.REFRESH_WATERMARK)).thenAnswer(inv -> watermark.get());
+        doAnswer(inv -> {
+            watermark.set(inv.getArgument(1));
+            return null;
+        }).when(jobWatermarks).set(eq(RestaurantClientStatsService.REFRESH_WATERMARK), any(LocalDateTime.class));
+        when(bookingRepository.findRestaurantClientsUpdatedSince(any())).thenReturn(List.of());
+        when(bookingRepository.findClientIdById(100L)).thenReturn(Optional.of(7L));
+        when(bookingRepository.findClientStats(1L, 7L)).thenReturn(statsRow(5L, 0L));
+        when(restaurantClientRepository.findByRestaurantIdAndClientId(1L, 7L)).thenReturn(Optional.empty());
+        when(restaurantClientRepository.save(any(RestaurantClient.class))).thenAnswer(inv -> inv.getArgument(0));
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        restaurantClientStatsService.refreshUpdated();
+        LocalDateTime firstRunWatermark = watermark.get();
+        // Пересчет по событию admin-api между запусками задачи пишет updated_at = now()
+        restaurantClientStatsService.onBookingChanged(new BookingChangedEvent(1L, 100L, LocalDate.of(2024, 3, 10)));
+        restaurantClientStatsService.refreshUpdated();
+
+        // Assert
+        verify(bookingRepository, times(2)).findRestaurantClientsUpdatedSince(since.capture());
+        assertNotNull(firstRunWatermark);
+        // Второй запуск продолжает с водяного знака первого, а не с момента пересчета по событию
+        assertEquals(firstRunWatermark.minusMinutes(10), since.getAllValues().get(1));
+    }
+
+    @Test
+    void testRefreshUpdated_FailedRun_KeepsWatermark() {
+        // Arrange
+        when(jobWatermarks.get(RestaurantClientStatsService.REFRESH_WATERMARK)).thenReturn(null);
+        when(bookingRepository.findRestaurantClientsUpdatedSince(any())).thenReturn(List.of(new RestaurantClientRow(1L, 7L)));
+        when(bookingRepository.findClientStats(1L, 7L)).thenThrow(new IllegalStateException("db down"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> restaurantClientStatsService.refreshUpdated());
+        verify(jobWatermarks, never()).set(anyString(), any());
+    }
+}
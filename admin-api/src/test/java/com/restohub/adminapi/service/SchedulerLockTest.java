@@ -0,0 +1,82 @@
+package com.restohub.adminapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerLockTest {
+
+    private static final String LOCK = "test-job";
+
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerLock schedulerLock;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:scheduler_locks;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE scheduler_locks (name VARCHAR(64) PRIMARY KEY, lock_until TIMESTAMP NOT NULL, "
+                + "locked_at TIMESTAMP NOT NULL, locked_by VARCHAR(255) NOT NULL)");
+        schedulerLock = new SchedulerLock(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE scheduler_locks");
+    }
+
+    @Test
+    void testRunLocked_FirstRun_RunsAndHoldsLockAtLeastFor() {
+        // Act
+        boolean first = schedulerLock.runLocked(LOCK, Duration.ofHours(1), Duration.ofMinutes(1), runs::incrementAndGet);
+        // Повторный запуск сразу после завершения (например, инстанс с отстающими часами)
+        boolean second = schedulerLock.runLocked(LOCK, Duration.ofHours(1), Duration.ofMinutes(1), runs::incrementAndGet);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testRunLocked_HeldByAnotherInstance_Skips() {
+        // Arrange
+        insertLock(LocalDateTime.now().plusMinutes(30));
+
+        // Act
+        boolean ran = schedulerLock.runLocked(LOCK, Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet);
+
+        // Assert
+        assertFalse(ran);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testRunLocked_ExpiredLockOfCrashedInstance_TakesOver() {
+        // Arrange
+        insertLock(LocalDateTime.now().minusMinutes(1));
+
+        // Act
+        boolean ran = schedulerLock.runLocked(LOCK, Duration.ofHours(1), Duration.ZERO, runs::incrementAndGet);
+
+        // Assert
+        assertTrue(ran);
+        assertEquals(1, runs.get());
+        assertNotEquals("other-instance",
+                jdbcTemplate.queryForObject("SELECT locked_by FROM scheduler_locks WHERE name = ?", String.class, LOCK));
+    }
+
+    private void insertLock(LocalDateTime lockUntil) {
+        jdbcTemplate.update("INSERT INTO scheduler_locks (name, lock_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                LOCK, Timestamp.valueOf(lockUntil), Timestamp.valueOf(LocalDateTime.now().minusHours(1)), "other-instance");
+    }
+}
@@ -0,0 +1,177 @@
+package com.restohub.adminapi.service;
+
+import com.restohub.adminapi.event.CacheInvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Запросы истечения подписок на PostgreSQL: UPDATE ... RETURNING с FOR UPDATE SKIP LOCKED в подзапросе
+ * на H2 не выполняется, поэтому чанки и пороги дат проверяются на настоящей базе.
+ *
+ * Нужна та же локальная пустая база, что и для QueryPlanRegressionTest (данные откатываются):
+ * QUERY_PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/resto_hub_plans
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_TEST_DB_URL", matches = ".+")
+class SubscriptionSchedulerPostgresTest {
+
+    private static final long BASE_ID = 1_000_000;
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcSpy;
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private SubscriptionScheduler subscriptionScheduler;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("QUERY_PLAN_TEST_DB_URL"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> envOrDefault("QUERY_PLAN_TEST_DB_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> envOrDefault("QUERY_PLAN_TEST_DB_PASSWORD", ""));
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    private static String envOrDefault(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO subscription_types (id, code, name) VALUES (?, 'EXPIRE_TEST', 'Тест')", BASE_ID);
+        jdbcTemplate.update("INSERT INTO restaurants (id, name) "
+                + "SELECT ? + g, 'Ресторан ' || g FROM generate_series(1, 10) g", BASE_ID);
+
+        // Блокировка не проверяется здесь (см. SchedulerLockTest), задача выполняется сразу
+        SchedulerLock schedulerLock = mock(SchedulerLock.class);
+        when(schedulerLock.runLocked(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, Runnable.class).run();
+                    return true;
+                });
+        // Тот же DataSource: запросы шпиона идут в транзакции теста
+        jdbcSpy = spy(jdbcTemplate);
+        subscriptionScheduler = new SubscriptionScheduler(
+                jdbcSpy, transactionManager, schedulerLock, eventPublisher, CHUNK_SIZE, 3_600_000, 0);
+    }
+
+    private long insertDraft(long restaurant, LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject("INSERT INTO restaurant_subscriptions "
+                        + "(restaurant_id, subscription_type_id, is_active, status, created_at) "
+                        + "VALUES (?, ?, false, 'DRAFT', ?) RETURNING id", Long.class,
+                BASE_ID + restaurant, BASE_ID, Timestamp.valueOf(createdAt));
+    }
+
+    private long insertActivated(long restaurant, LocalDate endDate, boolean active) {
+        return jdbcTemplate.queryForObject("INSERT INTO restaurant_subscriptions "
+                        + "(restaurant_id, subscription_type_id, start_date, end_date, is_active, status) "
+                        + "VALUES (?, ?, ?, ?, ?, 'ACTIVATED') RETURNING id", Long.class,
+                BASE_ID + restaurant, BASE_ID, Date.valueOf(endDate.minusMonths(1)), Date.valueOf(endDate), active);
+    }
+
+    private String status(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM restaurant_subscriptions WHERE id = ?", String.class, id);
+    }
+
+    private boolean isActive(long id) {
+        return jdbcTemplate.queryForObject("SELECT is_active FROM restaurant_subscriptions WHERE id = ?", Boolean.class, id);
+    }
+
+    private int updateQueries() {
+        return (int) mockingDetails(jdbcSpy).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("queryForList"))
+                .count();
+    }
+
+    private List<Long> notifiedRestaurants() {
+        ArgumentCaptor<CacheInvalidationEvent> events = ArgumentCaptor.forClass(CacheInvalidationEvent.class);
+        verify(eventPublisher, atLeast(0)).publishEvent(events.capture());
+        return events.getAllValues().stream().map(CacheInvalidationEvent::restaurantId).sorted().toList();
+    }
+
+    @Test
+    void testCheckExpiredSubscriptions_ExpiresDraftsOlderThanSevenDaysInChunks() {
+        // Arrange: пять устаревших черновиков (чанки 2 + 2 + 1) и два свежих
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> stale = List.of(
+                insertDraft(1, now.minusDays(8)),
+                insertDraft(1, now.minusDays(30)),
+                insertDraft(2, now.minusDays(7).minusMinutes(1)),
+                insertDraft(3, now.minusDays(365)),
+                insertDraft(4, now.minusDays(10)));
+        long fresh = insertDraft(5, now.minusDays(7).plusMinutes(5));
+        long recent = insertDraft(6, now.minusDays(1));
+
+        // Act
+        subscriptionScheduler.checkExpiredSubscriptions();
+
+        // Assert
+        stale.forEach(id -> {
+            assertEquals("EXPIRED", status(id));
+            assertFalse(isActive(id));
+        });
+        assertEquals("DRAFT", status(fresh));
+        assertEquals("DRAFT", status(recent));
+        assertEquals(3, updateQueries());
+        assertEquals(List.of(BASE_ID + 1, BASE_ID + 2, BASE_ID + 3, BASE_ID + 4), notifiedRestaurants());
+    }
+
+    @Test
+    void testCheckActiveSubscriptionsExpiration_ExpiresPastEndDateAndStopsOnEmptyChunk() {
+        // Arrange: четыре истекших подписки - ровно два полных чанка, третий запрос пустой
+        LocalDate today = LocalDate.now();
+        List<Long> expired = List.of(
+                insertActivated(1, today.minusDays(1), true),
+                insertActivated(2, today.minusDays(1), true),
+                insertActivated(3, today.minusMonths(2), true),
+                insertActivated(3, today.minusDays(40), true));
+        long endsToday = insertActivated(4, today, true);
+        long endsLater = insertActivated(5, today.plusDays(10), true);
+        long inactive = insertActivated(6, today.minusDays(5), false);
+
+        // Act
+        subscriptionScheduler.checkActiveSubscriptionsExpiration();
+
+        // Assert
+        expired.forEach(id -> {
+            assertEquals("EXPIRED", status(id));
+            assertFalse(isActive(id));
+        });
+        assertEquals("ACTIVATED", status(endsToday));
+        assertTrue(isActive(endsToday));
+        assertEquals("ACTIVATED", status(endsLater));
+        assertEquals("ACTIVATED", status(inactive));
+        assertEquals(3, updateQueries());
+        assertEquals(List.of(BASE_ID + 1, BASE_ID + 2, BASE_ID + 3), notifiedRestaurants());
+    }
+}
@@ -1,17 +1,19 @@
 package com.restohub.adminapi.service;
 
-import com.restohub.adminapi.entity.RestaurantSubscription;
-import com.restohub.adminapi.entity.SubscriptionStatus;
-import com.restohub.adminapi.repository.RestaurantSubscriptionRepository;
+import com.restohub.adminapi.event.CacheInvalidationEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.Date;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -22,95 +24,110 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SubscriptionSchedulerTest {
-    
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SchedulerLock schedulerLock;
+
     @Mock
-    private RestaurantSubscriptionRepository subscriptionRepository;
-    
-    @InjectMocks
+    private ApplicationEventPublisher eventPublisher;
+
     private SubscriptionScheduler subscriptionScheduler;
-    
-    private RestaurantSubscription draftSubscription;
-    private RestaurantSubscription activatedSubscription;
-    
+
     @BeforeEach
     void setUp() {
-        draftSubscription = new RestaurantSubscription();
-        draftSubscription.setId(1L);
-        draftSubscription.setStatus(SubscriptionStatus.DRAFT);
-        draftSubscription.setCreatedAt(LocalDateTime.now().minusDays(8));
-        draftSubscription.setIsActive(false);
-        
-        activatedSubscription = new RestaurantSubscription();
-        activatedSubscription.setId(2L);
-        activatedSubscription.setStatus(SubscriptionStatus.ACTIVATED);
-        activatedSubscription.setEndDate(LocalDate.now().minusDays(1));
-        activatedSubscription.setIsActive(true);
+        subscriptionScheduler = new SubscriptionScheduler(
+                jdbcTemplate, transactionManager, schedulerLock, eventPublisher, 2, 3_600_000, 60_000);
     }
-    
+
+    private void lockAcquired() {
+        when(schedulerLock.runLocked(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(3, Runnable.class).run();
+                    return true;
+                });
+    }
+
     @Test
-    void testCheckExpiredSubscriptions_ExpiresDraftSubscriptions() {
+    void testCheckExpiredSubscriptions_ExpiresDraftSubscriptionsInChunks() {
         // Arrange
-        List<RestaurantSubscription> draftSubscriptions = Arrays.asList(draftSubscription);
-        when(subscriptionRepository.findByStatusAndCreatedAtBefore(
-                eq(SubscriptionStatus.DRAFT), any(LocalDateTime.class)))
-                .thenReturn(draftSubscriptions);
-        when(subscriptionRepository.save(any(RestaurantSubscription.class)))
-                .thenReturn(draftSubscription);
-        
+        lockAcquired();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(Arrays.asList(10L, 10L))
+                .thenReturn(Collections.singletonList(20L));
+
         // Act
         subscriptionScheduler.checkExpiredSubscriptions();
-        
+
         // Assert
-        verify(subscriptionRepository, times(1)).save(draftSubscription);
-        assertEquals(SubscriptionStatus.EXPIRED, draftSubscription.getStatus());
-        assertFalse(draftSubscription.getIsActive());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).queryForList(sql.capture(), eq(Long.class), params.capture());
+        assertTrue(sql.getValue().startsWith("UPDATE restaurant_subscriptions"));
+        assertTrue(sql.getValue().contains("RETURNING restaurant_id"));
+        Object[] firstChunk = params.getAllValues().get(0);
+        assertEquals("EXPIRED", firstChunk[0]);
+        assertEquals("DRAFT", firstChunk[2]);
+        assertEquals(2, firstChunk[4]);
+        verify(schedulerLock).runLocked(eq(SubscriptionScheduler.EXPIRE_DRAFTS_LOCK),
+                any(Duration.class), any(Duration.class), any(Runnable.class));
+        // По одному событию на ресторан
+        ArgumentCaptor<CacheInvalidationEvent> events = ArgumentCaptor.forClass(CacheInvalidationEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(10L, 20L), events.getAllValues().stream().map(CacheInvalidationEvent::restaurantId).toList());
+        assertEquals(CacheInvalidationEvent.ENTITY_SUBSCRIPTION, events.getValue().entityType());
     }
-    
+
     @Test
     void testCheckExpiredSubscriptions_NoExpiredDraftSubscriptions() {
         // Arrange
-        when(subscriptionRepository.findByStatusAndCreatedAtBefore(
-                eq(SubscriptionStatus.DRAFT), any(LocalDateTime.class)))
+        lockAcquired();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
                 .thenReturn(Collections.emptyList());
-        
+
         // Act
         subscriptionScheduler.checkExpiredSubscriptions();
-        
+
         // Assert
-        verify(subscriptionRepository, never()).save(any(RestaurantSubscription.class));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), any(Object[].class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
-    
+
     @Test
     void testCheckActiveSubscriptionsExpiration_ExpiresActivatedSubscriptions() {
         // Arrange
-        List<RestaurantSubscription> activatedSubscriptions = Arrays.asList(activatedSubscription);
-        when(subscriptionRepository.findByStatusAndIsActiveTrue(SubscriptionStatus.ACTIVATED))
-                .thenReturn(activatedSubscriptions);
-        when(subscriptionRepository.save(any(RestaurantSubscription.class)))
-                .thenReturn(activatedSubscription);
-        
+        lockAcquired();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(Collections.singletonList(30L));
+
         // Act
         subscriptionScheduler.checkActiveSubscriptionsExpiration();
-        
+
         // Assert
-        verify(subscriptionRepository, times(1)).save(activatedSubscription);
-        assertEquals(SubscriptionStatus.EXPIRED, activatedSubscription.getStatus());
-        assertFalse(activatedSubscription.getIsActive());
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), params.capture());
+        assertEquals("ACTIVATED", params.getValue()[2]);
+        assertEquals(Date.valueOf(LocalDate.now()), params.getValue()[3]);
+        verify(schedulerLock).runLocked(eq(SubscriptionScheduler.EXPIRE_ACTIVATED_LOCK),
+                any(Duration.class), any(Duration.class), any(Runnable.class));
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(CacheInvalidationEvent.ENTITY_SUBSCRIPTION, 30L));
     }
-    
+
     @Test
-    void testCheckActiveSubscriptionsExpiration_NoExpiredActivatedSubscriptions() {
+    void testCheckActiveSubscriptionsExpiration_LockHeldByAnotherInstance_Skips() {
         // Arrange
-        activatedSubscription.setEndDate(LocalDate.now().plusDays(10));
-        List<RestaurantSubscription> activatedSubscriptions = Arrays.asList(activatedSubscription);
-        when(subscriptionRepository.findByStatusAndIsActiveTrue(SubscriptionStatus.ACTIVATED))
-                .thenReturn(activatedSubscriptions);
-        
+        when(schedulerLock.runLocked(anyString(), any(Duration.class), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
         // Act
         subscriptionScheduler.checkActiveSubscriptionsExpiration();
-        
+
         // Assert
-        verify(subscriptionRepository, never()).save(any(RestaurantSubscription.class));
+        verifyNoInteractions(jdbcTemplate, transactionManager, eventPublisher);
     }
 }
-
@@ -0,0 +1,63 @@
+package com.restohub.adminapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+    
+    @Test
+    void testEstimate_SmallCardinalityIsExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 100; id++) {
+            sketch.add(id);
+            sketch.add(id); // Повторы не учитываются
+        }
+        
+        assertEquals(100, sketch.estimate());
+    }
+    
+    @Test
+    void testEstimate_LargeCardinalityWithinTwoPercent() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 200_000; id++) {
+            sketch.add(id);
+        }
+        
+        assertEquals(200_000, sketch.estimate(), 200_000 * 0.02);
+    }
+    
+    @Test
+    void testMerge_CountsUnionOfSketches() {
+        // Два дня с пересечением 500 клиентов
+        HyperLogLog day1 = new HyperLogLog();
+        HyperLogLog day2 = new HyperLogLog();
+        for (long id = 1; id <= 1000; id++) {
+            day1.add(id);
+            day2.add(id + 500);
+        }
+        
+        day1.merge(day2);
+        
+        assertEquals(1500, day1.estimate(), 1500 * 0.02);
+    }
+    
+    @Test
+    void testToBytes_RoundTripSparseAndDense() {
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        for (long id = 1; id <= 50; id++) {
+            sparse.add(id);
+        }
+        for (long id = 1; id <= 50_000; id++) {
+            dense.add(id);
+        }
+        
+        byte[] sparseBytes = sparse.toBytes();
+        byte[] denseBytes = dense.toBytes();
+        
+        assertTrue(sparseBytes.length < 200);
+        assertEquals(sparse.estimate(), HyperLogLog.fromBytes(sparseBytes).estimate());
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(denseBytes).estimate());
+    }
+}
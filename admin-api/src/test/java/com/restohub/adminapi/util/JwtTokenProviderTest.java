@@ -0,0 +1,51 @@
+package com.restohub.adminapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-purposes-only-must-be-at-least-256-bits-long";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 300, 3600, 100);
+
+    @Test
+    void testVerify_ValidToken_ReturnsCachedClaims() {
+        // Arrange
+        String token = provider.generateAccessToken("manager@test.com", "MANAGER");
+
+        // Act
+        JwtClaims first = provider.verify(token);
+        JwtClaims second = provider.verify(token);
+
+        // Assert
+        assertNotNull(first);
+        assertEquals("manager@test.com", first.email());
+        assertEquals("MANAGER", first.role());
+        assertSame(first, second);
+        assertEquals("MANAGER", provider.getRoleFromToken(token));
+    }
+
+    @Test
+    void testVerify_ForeignSignature_ReturnsNull() {
+        // Arrange
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('t', 'x'), 300, 3600, 100);
+        String token = other.generateAccessToken("admin@test.com", "ADMIN");
+
+        // Act & Assert
+        assertNull(provider.verify(token));
+        assertTrue(provider.isTokenExpired(token));
+    }
+
+    @Test
+    void testVerify_ExpiredToken_ReturnsNull() {
+        // Arrange
+        JwtTokenProvider shortLived = new JwtTokenProvider(SECRET, -1, 3600, 100);
+        String token = shortLived.generateAccessToken("admin@test.com", "ADMIN");
+
+        // Act & Assert
+        assertNull(shortLived.verify(token));
+        assertFalse(shortLived.validateToken(token));
+    }
+}
@@ -0,0 +1,111 @@
+package com.restohub.adminapi.util;
+
+import com.restohub.adminapi.dto.PaginationResponse;
+import com.restohub.adminapi.entity.RestaurantTable;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KeysetPaginationTest {
+
+    private static final Sort BY_TABLE_NUMBER = Sort.by(Sort.Direction.ASC, "tableNumber");
+
+    @SuppressWarnings("unchecked")
+    private final JpaSpecificationExecutor<RestaurantTable> repository = mock(JpaSpecificationExecutor.class);
+
+    private RestaurantTable table(long id, String tableNumber) {
+        RestaurantTable table = new RestaurantTable();
+        table.setId(id);
+        table.setTableNumber(tableNumber);
+        return table;
+    }
+
+    @Test
+    void testFetch_ExtraRow_ReturnsCursorOfLastItem() {
+        // Arrange
+        doReturn(List.of(table(3L, "A1"), table(5L, "A2"), table(4L, "A3")))
+                .when(repository).findBy(any(), any());
+
+        // Act
+        PaginationResponse<List<Long>> response = KeysetPagination.fetch(
+                repository, Specification.where(null), BY_TABLE_NUMBER, "", 2, RestaurantTable::getId);
+
+        // Assert
+        assertEquals(List.of(3L, 5L), response.getData());
+        assertTrue(response.getPagination().getHasMore());
+        assertNull(response.getPagination().getTotal());
+        KeysetPagination.Cursor cursor = KeysetPagination.decode(
+                response.getPagination().getNextCursor(), BY_TABLE_NUMBER.iterator().next());
+        assertEquals(5L, cursor.id());
+        assertEquals("A2", cursor.value());
+    }
+
+    @Test
+    void testFetch_LastPage_ReturnsNoCursor() {
+        // Arrange
+        doReturn(List.of(table(3L, "A1"))).when(repository).findBy(any(), any());
+        String after = KeysetPagination.encode(BY_TABLE_NUMBER.iterator().next(), table(1L, null));
+
+        // Act
+        PaginationResponse<List<Long>> response = KeysetPagination.fetch(
+                repository, Specification.where(null), BY_TABLE_NUMBER, after, 2, RestaurantTable::getId);
+
+        // Assert
+        assertEquals(List.of(3L), response.getData());
+        assertFalse(response.getPagination().getHasMore());
+        assertNull(response.getPagination().getNextCursor());
+    }
+
+    @Test
+    void testDecode_CursorOfAnotherSort_ThrowsInvalidCursor() {
+        // Arrange
+        String after = KeysetPagination.encode(BY_TABLE_NUMBER.iterator().next(), table(5L, "A2"));
+        Sort.Order byCapacity = Sort.Order.desc("capacity");
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> KeysetPagination.decode(after, byCapacity));
+        assertEquals("INVALID_CURSOR", exception.getMessage());
+        assertThrows(RuntimeException.class, () -> KeysetPagination.decode("не курсор", byCapacity));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testFetch_MultiKeySort_ThrowsInvalidCursor() {
+        // Arrange
+        Sort byCapacityAndNumber = Sort.by(Sort.Direction.ASC, "capacity", "tableNumber");
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> KeysetPagination.fetch(
+                repository, Specification.where(null), byCapacityAndNumber, "", 2, RestaurantTable::getId));
+        assertEquals("INVALID_CURSOR", exception.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSeek_UnsupportedKeyType_ThrowsInvalidCursor() {
+        // Arrange
+        Root<RestaurantTable> root = mock(Root.class);
+        Path<Object> isActive = mock(Path.class);
+        when(root.get("isActive")).thenReturn(isActive);
+        doReturn(Boolean.class).when(isActive).getJavaType();
+        Specification<RestaurantTable> seek = KeysetPagination.seek(Sort.Order.asc("isActive"), null);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> seek.toPredicate(
+                root, mock(CriteriaQuery.class), mock(HibernateCriteriaBuilder.class)));
+        assertEquals("INVALID_CURSOR", exception.getMessage());
+    }
+}
@@ -0,0 +1,115 @@
+package com.restohub.clientapi.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Адаптивный лимит одновременных запросов по градиенту задержки (в духе Gradient2 из Netflix concurrency-limits).
+ *
+ * Долгая средняя задержка служит оценкой задержки без очереди. Пока текущая задержка не хуже долгой
+ * с учетом допуска, лимит растет на sqrt(limit); когда запросы начинают стоять в очереди
+ * (в пуле соединений, на блокировках), градиент падает ниже 1 и лимит сжимается пропорционально.
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    // Окно долгой средней задержки в замерах
+    private static final int LONG_WINDOW = 600;
+    // Допустимый рост задержки относительно долгой средней до начала сжатия лимита
+    private static final double RTT_TOLERANCE = 1.5;
+    // Сглаживание изменения лимита
+    private static final double SMOOTHING = 0.2;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+    
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+    
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Занимает место под запрос, если класс приоритета еще не исчерпал свою долю лимита.
+     *
+     * @return разрешение, которое нужно освободить по завершении запроса, или null, если запрос нужно отбросить
+     */
+    public synchronized Permit tryAcquire(RequestPriority priority) {
+        if (inFlight >= Math.max(1, (int) (limit * priority.getLimitShare()))) {
+            return null;
+        }
+        inFlight++;
+        return new Permit(nanoClock.getAsLong(), inFlight);
+    }
+    
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+    
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+    
+    private synchronized void release(Permit permit, boolean sample) {
+        if (permit.released) {
+            return;
+        }
+        permit.released = true;
+        inFlight--;
+        if (sample) {
+            onSample(nanoClock.getAsLong() - permit.startNanos, permit.inFlight);
+        }
+    }
+    
+    private void onSample(long rttNanos, int sampleInFlight) {
+        double rtt = Math.max(rttNanos, TimeUnit.MICROSECONDS.toNanos(1));
+        if (longRtt == 0) {
+            longRtt = rtt;
+            return;
+        }
+        longRtt = longRtt + (rtt - longRtt) / LONG_WINDOW;
+        
+        // После долгой перегрузки долгая средняя сама завышена - возвращаем ее к текущей задержке
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        
+        // Лимит не растет, пока он не используется хотя бы наполовину
+        if (sampleInFlight < limit / 2) {
+            return;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / rtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+    
+    public final class Permit {
+        
+        private final long startNanos;
+        private final int inFlight;
+        private boolean released;
+        
+        private Permit(long startNanos, int inFlight) {
+            this.startNanos = startNanos;
+            this.inFlight = inFlight;
+        }
+        
+        /**
+         * @param sample учитывать ли задержку запроса; ошибки сервера отвечают быстро и занизили бы оценку
+         */
+        public void release(boolean sample) {
+            AdaptiveConcurrencyLimiter.this.release(this, sample);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.restohub.clientapi.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -13,11 +14,12 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
     
+    // Записи сбрасываются по уведомлениям admin-api (CacheInvalidationListener), TTL - страховка
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${subscription-cache.ttl-minutes:360}") long ttlMinutes) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager("subscriptionCache");
         cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
                 .maximumSize(10000)
                 .recordStats());
         return cacheManager;
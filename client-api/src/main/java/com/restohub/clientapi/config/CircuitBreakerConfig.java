@@ -1,9 +1,15 @@
 package com.restohub.clientapi.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
 
 import java.time.Duration;
 
@@ -11,12 +17,16 @@ import java.time.Duration;
 public class CircuitBreakerConfig {
     
     @Bean
-    public CircuitBreakerRegistry circuitBreakerRegistry() {
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${read-fallback.latency-budget-ms:2000}") long latencyBudgetMs) {
         var config = io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.custom()
                 .failureRateThreshold(50) // Порог ошибок 50%
+                .slowCallDurationThreshold(Duration.ofMillis(latencyBudgetMs)) // Вызов дольше бюджета считается медленным
+                .slowCallRateThreshold(50) // Порог медленных вызовов 50%
                 .waitDurationInOpenState(Duration.ofSeconds(30)) // Время ожидания перед попыткой восстановления
                 .slidingWindowSize(10) // Размер окна для подсчета ошибок
                 .minimumNumberOfCalls(5) // Минимальное количество вызовов перед открытием circuit breaker
+                .recordException(CircuitBreakerConfig::isDatabaseFailure) // Бизнес-ошибки (не найдено и т.п.) не считаются сбоем
                 .build();
         
         return CircuitBreakerRegistry.of(config);
@@ -26,5 +36,25 @@ public class CircuitBreakerConfig {
     public CircuitBreaker databaseCircuitBreaker(CircuitBreakerRegistry registry) {
         return registry.circuitBreaker("database");
     }
+    
+    // Ограничивает число одновременных обращений к БД на чтение; по умолчанию равно размеру пула соединений:
+    // при меньшем лимите запросы сверх него получают 503 даже при свободных соединениях, если снимка еще нет
+    @Bean
+    public Bulkhead databaseBulkhead(
+            @Value("${read-fallback.max-concurrent-calls:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentCalls,
+            @Value("${read-fallback.max-wait-ms:200}") long maxWaitMs) {
+        return Bulkhead.of("database", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build());
+    }
+    
+    /**
+     * Сбой обращения к БД: ошибки доступа к данным, таймауты транзакций и запросов.
+     */
+    public static boolean isDatabaseFailure(Throwable e) {
+        return e instanceof DataAccessException
+                || e instanceof TransactionException
+                || e instanceof PersistenceException;
+    }
 }
-
@@ -0,0 +1,109 @@
+package com.restohub.clientapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Сброс нагрузки перед контроллерами: запрос сверх адаптивного лимита одновременных запросов
+ * получает 503 с Retry-After, не дойдя до пула соединений с БД.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    
+    private static final String[] CRITICAL_PATHS = {"/client-api/r/*/booking", "/admin-api/booking/**", "/admin-api/pre-order/**"};
+    private static final String[] LOW_PATHS = {"/client-api/r/search/**", "/client-api/r/*/events", "/client-api/images/**"};
+    
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<RequestPriority, Counter> rejectedCounters = new EnumMap<>(RequestPriority.class);
+    
+    public ConcurrencyLimitInterceptor(
+            @Value("${concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:5}") int minLimit,
+            @Value("${concurrency-limit.max-limit:100}") int maxLimit,
+            @Value("${concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Текущий адаптивный лимит одновременных запросов")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Запросы, выполняющиеся в данный момент")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejectedCounters.put(priority, Counter.builder("concurrency.limit.rejected")
+                    .description("Запросы, отброшенные из-за перегрузки")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!enabled || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        
+        RequestPriority priority = resolvePriority(request.getRequestURI());
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            rejectedCounters.get(priority).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"exceptionName\":\"SERVICE_OVERLOADED\",\"message\":\"Сервис перегружен. Попробуйте позже.\"}");
+            return false;
+        }
+        
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof AdaptiveConcurrencyLimiter.Permit acquired) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            acquired.release(ex == null && response.getStatus() < 500);
+        }
+    }
+    
+    RequestPriority resolvePriority(String path) {
+        if (matchesAny(CRITICAL_PATHS, path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (matchesAny(LOW_PATHS, path)) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.NORMAL;
+    }
+    
+    private boolean matchesAny(String[] patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.restohub.clientapi.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Счетчик SQL-запросов текущего потока: Hibernate передает сюда каждый подготавливаемый запрос.
+ *
+ * Счет сбрасывается в начале HTTP-запроса (QueryCountFilter) или теста (QueryBudgetExtension),
+ * поэтому N+1 виден как рост числа запросов вместе с размером страницы.
+ */
+public class QueryCountInspector implements StatementInspector {
+    
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+    
+    public static long getCount() {
+        return COUNT.get()[0];
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.restohub.clientapi.config;
+
+import io.github.bucket4j.Bucket;
+
+/**
+ * Хранилище bucket'ов одного rate limiter'а.
+ *
+ * По ключу (IP клиента) возвращает bucket с лимитами limiter'а. Реализации отличаются тем,
+ * где живет состояние: в памяти инстанса или в общей таблице PostgreSQL.
+ */
+public interface RateLimitBucketStore {
+    
+    /**
+     * Имя limiter'а - тег метрик и префикс ключа в общем хранилище.
+     */
+    String getName();
+    
+    Bucket resolve(String key);
+}
@@ -1,45 +1,64 @@
 package com.restohub.clientapi.config;
 
 import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Rate limiter'ы client-api. Хранилище выбирается для каждого limiter'а отдельно:
+ * local - bucket'ы в памяти инстанса, postgres - общая таблица rate_limit_buckets.
+ */
 @Configuration
 public class RateLimitingConfig {
     
+    public static final String STORE_LOCAL = "local";
+    public static final String STORE_POSTGRES = "postgres";
+    
+    private final DataSource dataSource;
+    private final long localMaxSize;
+    
+    @Autowired
+    public RateLimitingConfig(
+            DataSource dataSource,
+            @Value("${rate-limit.local.max-size:100000}") long localMaxSize) {
+        this.dataSource = dataSource;
+        this.localMaxSize = localMaxSize;
+    }
+    
     // Общий лимит: 100 запросов в минуту с одного IP
     @Bean(name = "generalRateLimiter")
-    public Map<String, Bucket> generalRateLimiter() {
-        return new ConcurrentHashMap<>();
+    public RateLimitBucketStore generalRateLimiter(@Value("${rate-limit.general.store:local}") String store) {
+        return createStore("general", store, Bandwidth.builder()
+                .capacity(100)
+                .refillIntervally(100, Duration.ofMinutes(1))
+                .build());
     }
     
-    // Лимит для /api/bookings: 10 запросов в минуту с одного IP
+    // Лимит для бронирований: 10 запросов в минуту с одного IP
     @Bean(name = "bookingsRateLimiter")
-    public Map<String, Bucket> bookingsRateLimiter() {
-        return new ConcurrentHashMap<>();
+    public RateLimitBucketStore bookingsRateLimiter(@Value("${rate-limit.bookings.store:local}") String store) {
+        return createStore("bookings", store, Bandwidth.builder()
+                .capacity(10)
+                .refillIntervally(10, Duration.ofMinutes(1))
+                .build());
     }
     
-    public static Bucket createGeneralBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(100)
-                        .refillIntervally(100, Duration.ofMinutes(1))
-                        .build())
-                .build();
-    }
-    
-    public static Bucket createBookingsBucket() {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(10)
-                        .refillIntervally(10, Duration.ofMinutes(1))
-                        .build())
+    private RateLimitBucketStore createStore(String name, String store, Bandwidth limit) {
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit)
                 .build();
+        if (STORE_POSTGRES.equalsIgnoreCase(store)) {
+            return new PostgresRateLimitBucketStore(name, configuration, dataSource);
+        }
+        if (!STORE_LOCAL.equalsIgnoreCase(store)) {
+            throw new RuntimeException("RATE_LIMIT_STORE_UNKNOWN");
+        }
+        return new LocalRateLimitBucketStore(name, configuration, localMaxSize);
     }
 }
-
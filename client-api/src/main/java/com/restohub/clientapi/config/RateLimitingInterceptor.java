@@ -1,56 +1,78 @@
 package com.restohub.clientapi.config;
 
-import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.util.Map;
-
 @Component
 public class RateLimitingInterceptor implements HandlerInterceptor {
     
-    private final Map<String, Bucket> generalRateLimiter;
-    private final Map<String, Bucket> bookingsRateLimiter;
+    // Создание и подтверждение бронирований
+    private static final String[] BOOKING_PATHS = {"/client-api/r/*/booking", "/admin-api/booking/**"};
+    
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RateLimitBucketStore generalRateLimiter;
+    private final RateLimitBucketStore bookingsRateLimiter;
+    private final Counter generalRejected;
+    private final Counter bookingsRejected;
     
     public RateLimitingInterceptor(
-            @Qualifier("generalRateLimiter") Map<String, Bucket> generalRateLimiter,
-            @Qualifier("bookingsRateLimiter") Map<String, Bucket> bookingsRateLimiter) {
+            @Qualifier("generalRateLimiter") RateLimitBucketStore generalRateLimiter,
+            @Qualifier("bookingsRateLimiter") RateLimitBucketStore bookingsRateLimiter,
+            MeterRegistry meterRegistry) {
         this.generalRateLimiter = generalRateLimiter;
         this.bookingsRateLimiter = bookingsRateLimiter;
+        this.generalRejected = rejectedCounter(meterRegistry, generalRateLimiter);
+        this.bookingsRejected = rejectedCounter(meterRegistry, bookingsRateLimiter);
     }
     
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         String path = request.getRequestURI();
-        String clientIp = getClientIp(request);
         
-        // Проверяем лимит для /api/bookings
-        if (path.startsWith("/api/bookings")) {
-            Bucket bucket = bookingsRateLimiter.computeIfAbsent(clientIp, k -> RateLimitingConfig.createBookingsBucket());
-            if (!bucket.tryConsume(1)) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много запросов. Попробуйте позже.\"}");
-                return false;
-            }
-        } else {
-            // Общий лимит для всех остальных endpoints
-            Bucket bucket = generalRateLimiter.computeIfAbsent(clientIp, k -> RateLimitingConfig.createGeneralBucket());
-            if (!bucket.tryConsume(1)) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много запросов. Попробуйте позже.\"}");
-                return false;
-            }
+        // Проверяем лимит для бронирований
+        if (isBookingPath(path)) {
+            return tryConsume(bookingsRateLimiter, bookingsRejected, request, response);
+        }
+        // Общий лимит для всех остальных endpoints
+        return tryConsume(generalRateLimiter, generalRejected, request, response);
+    }
+    
+    private boolean tryConsume(RateLimitBucketStore limiter, Counter rejected,
+                               HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (!limiter.resolve(getClientIp(request)).tryConsume(1)) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().write("{\"exceptionName\":\"TOO_MANY_REQUESTS\",\"message\":\"Слишком много запросов. Попробуйте позже.\"}");
+            return false;
         }
         
         return true;
     }
     
+    private boolean isBookingPath(String path) {
+        for (String pattern : BOOKING_PATHS) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, RateLimitBucketStore limiter) {
+        return Counter.builder("rate.limit.rejected")
+                .description("Запросы, отклоненные rate limiter'ом")
+                .tag("limiter", limiter.getName())
+                .register(meterRegistry);
+    }
+    
     private String getClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -63,4 +85,3 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
         return request.getRemoteAddr();
     }
 }
-
@@ -0,0 +1,63 @@
+package com.restohub.clientapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Second-level и query cache Hibernate для справочников: статусы бронирований, роли, типы акций и подписок,
+ * категории меню.
+ *
+ * Справочники помечены @Cache(region = REGION), их выборки по коду/ID - подсказкой cacheable в репозиториях.
+ * Изменения через этот инстанс Hibernate сбрасывает сам; изменения с других инстансов видны не позже TTL.
+ *
+ * Копия этого класса есть в admin-api.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+    
+    public static final String REGION = "reference-data";
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceDataCacheManager(
+            @Value("${reference-data.cache.ttl-minutes:10}") long ttlMinutes,
+            @Value("${reference-data.cache.max-size:1000}") long maxSize) {
+        // Отдельный CacheManager на контекст: тестовые контексты в одной JVM не делят кэш
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("reference-data-" + UUID.randomUUID()), getClass().getClassLoader());
+        
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofMinutes(ttlMinutes).toNanos()));
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        cacheManager.createCache(REGION, configuration);
+        // Результаты запросов истекают вместе со справочниками; регион меток обновления таблиц
+        // создается Hibernate без истечения, как того требует query cache
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, configuration);
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer referenceDataCacheCustomizer(CacheManager referenceDataCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, referenceDataCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        };
+    }
+}
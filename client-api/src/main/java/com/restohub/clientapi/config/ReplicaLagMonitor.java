@@ -0,0 +1,94 @@
+package com.restohub.clientapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически измеряет отставание реплики. Пока отставание выше порога или реплика недоступна,
+ * чтения идут на primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Отставание по времени последней примененной транзакции; 0, если реплика догнала primary или это не standby
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE((EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint, 0) END";
+
+    private static final long UNKNOWN_LAG = Long.MAX_VALUE;
+
+    private final DataSource replica;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+
+    // До первой проверки реплика считается отстающей
+    private volatile long lagMs = UNKNOWN_LAG;
+    private ScheduledExecutorService executor;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMs, long checkIntervalMs, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+        Gauge.builder("read_replica.lag_ms", this, monitor -> monitor.lagMs == UNKNOWN_LAG ? Double.NaN : monitor.lagMs)
+                .description("Отставание реплики для чтения")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return lagMs <= maxLagMs;
+    }
+
+    void check() {
+        boolean wasUsable = isReplicaUsable();
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lagMs = resultSet.getLong(1);
+        } catch (SQLException e) {
+            lagMs = UNKNOWN_LAG;
+            if (wasUsable) {
+                logger.warn("Read replica is unavailable, reads fall back to primary: {}", e.getMessage());
+            }
+            return;
+        }
+
+        boolean usable = isReplicaUsable();
+        if (wasUsable && !usable) {
+            logger.warn("Read replica lag {} ms exceeds {} ms, reads fall back to primary", lagMs, maxLagMs);
+        } else if (!wasUsable && usable) {
+            logger.info("Read replica lag {} ms, reads are routed to replica", lagMs);
+        }
+    }
+}
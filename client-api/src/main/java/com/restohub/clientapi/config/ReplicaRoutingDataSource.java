@@ -0,0 +1,44 @@
+package com.restohub.clientapi.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Маршрутизация соединений: @Transactional(readOnly = true) - на реплику, остальное - на primary.
+ *
+ * Реплика не используется, если ее отставание выше порога или запрос уже писал (read-your-writes).
+ * Решение принимается при первом обращении к соединению, поэтому источник оборачивается
+ * в LazyConnectionDataSourceProxy: к этому моменту признак readOnly транзакции уже выставлен.
+ *
+ * Этот класс, ReplicaLagMonitor и ReadYourWritesFilter совпадают с копиями в admin-api (общего модуля нет,
+ * сервисы собираются независимо) - правки вносить в обе копии. Тест - ReplicaRoutingDataSourceTest в admin-api.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!ReadYourWritesFilter.isStuckToPrimary() && lagMonitor.isReplicaUsable()) {
+                return REPLICA;
+            }
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWritesFilter.recordWrite();
+        }
+        return PRIMARY;
+    }
+}
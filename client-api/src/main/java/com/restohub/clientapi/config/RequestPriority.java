@@ -0,0 +1,27 @@
+package com.restohub.clientapi.config;
+
+/**
+ * Класс приоритета запроса для адаптивного ограничения конкурентности.
+ *
+ * Доля лимита - сколько от текущего лимита одновременных запросов может занять класс. При перегрузке
+ * первыми отбрасываются запросы с меньшей долей: поиск и события раньше, чем создание бронирований.
+ */
+public enum RequestPriority {
+    
+    // Создание и подтверждение бронирований, предзаказы
+    CRITICAL(1.0),
+    // Карточка ресторана, меню, схема зала
+    NORMAL(0.9),
+    // Поиск, события, изображения
+    LOW(0.75);
+    
+    private final double limitShare;
+    
+    RequestPriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+    
+    public double getLimitShare() {
+        return limitShare;
+    }
+}
@@ -8,6 +8,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
     
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    
     @Autowired
     private RateLimitingInterceptor rateLimitingInterceptor;
     
@@ -16,7 +19,11 @@ public class WebMvcConfig implements WebMvcConfigurer {
     
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        // Rate limiting должен выполняться первым
+        // Сброс нагрузки выполняется первым: отброшенный запрос не должен занимать соединение с БД
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/**");
+        
+        // Rate limiting выполняется до обращения к данным
         registry.addInterceptor(rateLimitingInterceptor)
                 .addPathPatterns("/**");
         
@@ -0,0 +1,37 @@
+package com.restohub.clientapi.controller;
+
+import com.restohub.clientapi.dto.TrackEventsRequest;
+import com.restohub.clientapi.dto.TrackEventsResponse;
+import com.restohub.clientapi.service.ClickEventService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+public class EventController {
+    
+    private final ClickEventService clickEventService;
+    
+    @Autowired
+    public EventController(ClickEventService clickEventService) {
+        this.clickEventService = clickEventService;
+    }
+    
+    @PostMapping("/client-api/r/{id}/events")
+    public ResponseEntity<TrackEventsResponse> trackEvents(
+            @PathVariable Long id,
+            @Valid @RequestBody TrackEventsRequest request) {
+        
+        TrackEventsResponse response = clickEventService.track(id, request);
+        if (response.getDropped() > 0) {
+            // Буфер заполнен - пачка не принята целиком, клиент повторяет ее позже
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(response);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
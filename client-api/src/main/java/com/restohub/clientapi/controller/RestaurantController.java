@@ -25,6 +25,7 @@ public class RestaurantController {
     private final FloorRepository floorRepository;
     private final RoomRepository roomRepository;
     private final TableRepository tableRepository;
+    private final ReadFallbackService readFallbackService;
     
     @Autowired
     public RestaurantController(
@@ -34,7 +35,8 @@ public class RestaurantController {
             PromotionService promotionService,
             FloorRepository floorRepository,
             RoomRepository roomRepository,
-            TableRepository tableRepository) {
+            TableRepository tableRepository,
+            ReadFallbackService readFallbackService) {
         this.restaurantService = restaurantService;
         this.menuService = menuService;
         this.tableMapService = tableMapService;
@@ -42,6 +44,7 @@ public class RestaurantController {
         this.floorRepository = floorRepository;
         this.roomRepository = roomRepository;
         this.tableRepository = tableRepository;
+        this.readFallbackService = readFallbackService;
     }
     
     @GetMapping
@@ -54,14 +57,14 @@ public class RestaurantController {
     
     @GetMapping("/{id}")
     public ResponseEntity<RestaurantDetailResponse> getRestaurantById(@PathVariable Long id) {
-        RestaurantDetailResponse restaurant = restaurantService.getRestaurantById(id);
-        return ResponseEntity.ok(restaurant);
+        return StaleResponses.ok(readFallbackService.read("restaurant:" + id,
+                () -> restaurantService.getRestaurantById(id)));
     }
     
     @GetMapping("/{id}/menu")
     public ResponseEntity<MenuResponse> getMenu(@PathVariable Long id) {
-        MenuResponse menu = menuService.getMenuByRestaurantId(id);
-        return ResponseEntity.ok(menu);
+        return StaleResponses.ok(readFallbackService.read("menu:" + id,
+                () -> menuService.getMenuByRestaurantId(id)));
     }
     
     @GetMapping("/{id}/floor")
@@ -143,8 +146,8 @@ public class RestaurantController {
             @PathVariable Long id,
             @RequestParam(required = false) Long floorId,
             @RequestParam(required = false) Long roomId) {
-        TableMapResponse map = tableMapService.getTableMap(id, floorId, roomId);
-        return ResponseEntity.ok(map);
+        return StaleResponses.ok(readFallbackService.read("table-map:" + id + ":" + floorId + ":" + roomId,
+                () -> tableMapService.getTableMap(id, floorId, roomId)));
     }
     
     @GetMapping("/{id}/promotion")
@@ -154,9 +157,9 @@ public class RestaurantController {
             @RequestParam(required = false) Boolean isCurrent,
             @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) Integer offset) {
-        List<PromotionResponse> promotions = promotionService.getPromotions(
-                id, promotionTypeId, isCurrent, limit, offset);
-        return ResponseEntity.ok(promotions);
+        String key = "promotions:" + id + ":" + promotionTypeId + ":" + isCurrent + ":" + limit + ":" + offset;
+        return StaleResponses.ok(readFallbackService.read(key,
+                () -> promotionService.getPromotions(id, promotionTypeId, isCurrent, limit, offset)));
     }
 }
 
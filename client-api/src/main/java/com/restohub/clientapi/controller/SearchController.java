@@ -1,6 +1,7 @@
 package com.restohub.clientapi.controller;
 
 import com.restohub.clientapi.dto.SearchResponse;
+import com.restohub.clientapi.service.ReadFallbackService;
 import com.restohub.clientapi.service.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,10 +14,12 @@ import java.math.BigDecimal;
 public class SearchController {
     
     private final SearchService searchService;
+    private final ReadFallbackService readFallbackService;
     
     @Autowired
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, ReadFallbackService readFallbackService) {
         this.searchService = searchService;
+        this.readFallbackService = readFallbackService;
     }
     
     @GetMapping
@@ -34,11 +37,13 @@ public class SearchController {
             @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) Integer offset) {
         
-        SearchResponse response = searchService.search(
-                q, menu_item, promotion, promotion_type, cuisineType,
-                isOutdoor, isSmoking, lat, lng, radius, limit, offset);
+        String key = String.join(":", "search", q, menu_item, promotion, String.valueOf(promotion_type), cuisineType,
+                String.valueOf(isOutdoor), String.valueOf(isSmoking), String.valueOf(lat), String.valueOf(lng),
+                String.valueOf(radius), String.valueOf(limit), String.valueOf(offset));
         
-        return ResponseEntity.ok(response);
+        return StaleResponses.ok(readFallbackService.read(key, () -> searchService.search(
+                q, menu_item, promotion, promotion_type, cuisineType,
+                isOutdoor, isSmoking, lat, lng, radius, limit, offset)));
     }
 }
 
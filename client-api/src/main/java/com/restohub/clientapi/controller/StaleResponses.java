@@ -0,0 +1,30 @@
+package com.restohub.clientapi.controller;
+
+import com.restohub.clientapi.service.ReadFallbackService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Ответы на чтение через ReadFallbackService: устаревший снимок помечается заголовками Warning и Age.
+ */
+final class StaleResponses {
+    
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    
+    private StaleResponses() {
+    }
+    
+    static <T> ResponseEntity<T> ok(ReadFallbackService.Result<T> result) {
+        if (!result.isStale()) {
+            return ResponseEntity.ok(result.value());
+        }
+        long ageSeconds = Math.max(0, Duration.between(result.staleSince(), Instant.now()).toSeconds());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.WARNING, STALE_WARNING)
+                .header(HttpHeaders.AGE, String.valueOf(ageSeconds))
+                .body(result.value());
+    }
+}
@@ -0,0 +1,15 @@
+package com.restohub.clientapi.dto;
+
+/**
+ * Тип взаимодействия гостя со страницей ресторана.
+ */
+public enum ClickEventType {
+    EMAIL,
+    PHONE,
+    INSTAGRAM,
+    WHATSAPP,
+    MENU_ITEM,
+    IMAGE,
+    FILTER,
+    CATEGORY
+}
@@ -0,0 +1,43 @@
+package com.restohub.clientapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackEventsRequest {
+    
+    @NotEmpty(message = "Events are required")
+    @Size(max = 100, message = "No more than 100 events per request")
+    @Valid
+    private List<EventItem> events;
+    
+    @Size(max = 64, message = "Session ID must not exceed 64 characters")
+    private String sessionId;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventItem {
+        @NotNull(message = "Event type is required")
+        private ClickEventType type;
+        
+        // ID блюда, изображения или категории
+        private Long targetId;
+        
+        // Значение фильтра и т.п.
+        @Size(max = 100, message = "Target value must not exceed 100 characters")
+        private String targetValue;
+    }
+}
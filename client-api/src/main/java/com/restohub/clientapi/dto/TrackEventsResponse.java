@@ -0,0 +1,13 @@
+package com.restohub.clientapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackEventsResponse {
+    private Integer accepted;
+    private Integer dropped;
+}
@@ -0,0 +1,37 @@
+package com.restohub.clientapi.event;
+
+/**
+ * Уведомление об изменении данных в admin-api, полученное через PostgreSQL LISTEN/NOTIFY.
+ * Слушатели сбрасывают соответствующие записи своих кэшей.
+ *
+ * @param entityType тип измененной сущности (ENTITY_*) или null при полной ресинхронизации
+ * @param restaurantId ID ресторана или null при полной ресинхронизации
+ * @param version время изменения в миллисекундах
+ */
+public record CacheInvalidationEvent(String entityType, Long restaurantId, long version) {
+    
+    public static final String ENTITY_RESTAURANT = "restaurant";
+    public static final String ENTITY_SUBSCRIPTION = "subscription";
+    
+    /**
+     * Полная ресинхронизация: соединение со слушателем терялось, уведомления могли быть пропущены.
+     */
+    public static CacheInvalidationEvent fullResync() {
+        return new CacheInvalidationEvent(null, null, System.currentTimeMillis());
+    }
+    
+    public boolean isFullResync() {
+        return restaurantId == null;
+    }
+    
+    /**
+     * Разбирает payload вида "тип:ID ресторана:версия".
+     */
+    public static CacheInvalidationEvent parse(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cache invalidation payload: " + payload);
+        }
+        return new CacheInvalidationEvent(parts[0], Long.valueOf(parts[1]), Long.parseLong(parts[2]));
+    }
+}
@@ -31,6 +31,8 @@ public class GlobalExceptionHandler {
             status = HttpStatus.TOO_MANY_REQUESTS;
         } else if ("CIRCUIT_BREAKER_OPEN".equals(exceptionName)) {
             status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else if ("RESTAURANT_NOT_FOUND".equals(exceptionName)) {
+            status = HttpStatus.NOT_FOUND;
         }
         
         logger.error("Exception: {}", exceptionName, e);
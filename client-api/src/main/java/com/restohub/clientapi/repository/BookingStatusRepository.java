@@ -1,7 +1,10 @@
 package com.restohub.clientapi.repository;
 
 import com.restohub.clientapi.entity.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,8 +12,11 @@ import java.util.Optional;
 
 @Repository
 public interface BookingStatusRepository extends JpaRepository<BookingStatus, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<BookingStatus> findByIsActiveTrueOrderByDisplayOrderAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BookingStatus> findByIdAndIsActiveTrue(Long id);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BookingStatus> findByCodeAndIsActiveTrue(String code);
 }
 
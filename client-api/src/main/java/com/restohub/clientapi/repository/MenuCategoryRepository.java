@@ -1,7 +1,10 @@
 package com.restohub.clientapi.repository;
 
 import com.restohub.clientapi.entity.MenuCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +12,9 @@ import java.util.Optional;
 
 @Repository
 public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MenuCategory> findByIsActiveTrueOrderByDisplayOrderAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MenuCategory> findByIdAndIsActiveTrue(Long id);
     Optional<MenuCategory> findByNameAndIsActiveTrue(String name);
 }
@@ -1,7 +1,10 @@
 package com.restohub.clientapi.repository;
 
 import com.restohub.clientapi.entity.PromotionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,8 +12,11 @@ import java.util.Optional;
 
 @Repository
 public interface PromotionTypeRepository extends JpaRepository<PromotionType, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PromotionType> findByIsActiveTrue();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PromotionType> findByIdAndIsActiveTrue(Long id);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PromotionType> findByCodeAndIsActiveTrue(String code);
 }
 
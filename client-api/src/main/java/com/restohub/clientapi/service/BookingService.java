@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -108,6 +109,8 @@ public class BookingService {
         booking = bookingRepository.save(booking);
         
         // Создаем позиции предзаказа
+        BigDecimal preOrderTotal = BigDecimal.ZERO;
+        int preOrderItemCount = 0;
         if (request.getPreOrderItems() != null && !request.getPreOrderItems().isEmpty()) {
             for (CreateBookingRequest.PreOrderItemRequest itemRequest : request.getPreOrderItems()) {
                 MenuItem menuItem = menuItemRepository.findByIdAndIsActiveTrue(itemRequest.getMenuItemId())
@@ -120,16 +123,25 @@ public class BookingService {
                     preOrder.setQuantity(itemRequest.getQuantity());
                     preOrder.setPrice(menuItem.getPrice());
                     preOrder.setTotalPrice(menuItem.getPrice().multiply(
-                            java.math.BigDecimal.valueOf(itemRequest.getQuantity())));
+                            BigDecimal.valueOf(itemRequest.getQuantity())));
                     preOrder.setSpecialRequests(itemRequest.getSpecialRequests());
                     preOrder.setCreatedAt(LocalDateTime.now());
                     preOrder.setUpdatedAt(LocalDateTime.now());
                     
                     bookingPreOrderRepository.save(preOrder);
+                    preOrderTotal = preOrderTotal.add(preOrder.getTotalPrice());
+                    preOrderItemCount++;
                 }
             }
         }
         
+        // Итоги предзаказа хранятся в бронировании, чтобы списки не суммировали позиции
+        if (preOrderItemCount > 0) {
+            booking.setPreOrderTotal(preOrderTotal);
+            booking.setPreOrderItemCount(preOrderItemCount);
+            booking = bookingRepository.save(booking);
+        }
+        
         // Создаем запись в истории
         BookingHistory history = new BookingHistory();
         history.setBooking(booking);
@@ -0,0 +1,171 @@
+package com.restohub.clientapi.service;
+
+import com.restohub.clientapi.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Слушатель шины инвалидации кэшей (PostgreSQL LISTEN/NOTIFY), уведомления публикует admin-api.
+ *
+ * Держит отдельное соединение вне пула Hikari и публикует полученные уведомления как CacheInvalidationEvent.
+ * Уведомления, отправленные без слушателя, теряются, поэтому при обрыве соединения и после
+ * переподключения публикуется полная ресинхронизация - кэши сбрасываются целиком.
+ */
+@Component
+@ConditionalOnProperty(name = "cache-invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final long reconnectDelayMs;
+    private final int pollTimeoutMs;
+    private final Counter receivedCounter;
+    private final Counter resyncCounter;
+    
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+    
+    @Autowired
+    public CacheInvalidationListener(
+            DataSourceProperties dataSourceProperties,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${cache-invalidation.channel:cache_invalidation}") String channel,
+            @Value("${cache-invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs,
+            @Value("${cache-invalidation.poll-timeout-ms:10000}") int pollTimeoutMs) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.receivedCounter = Counter.builder("cache_invalidation.received")
+                .description("Полученные уведомления об изменении данных")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("cache_invalidation.resync")
+                .description("Полные сбросы кэшей из-за потери соединения слушателя")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            logger.info("Cache invalidation listener disabled: datasource is not PostgreSQL");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        closeConnection();
+        if (thread != null) {
+            thread.join(5000);
+        }
+    }
+    
+    private void listen() {
+        while (running) {
+            try (Connection listenerConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = listenerConnection;
+                try (Statement statement = listenerConnection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                logger.info("Listening for cache invalidations on channel {}", channel);
+                // Пока соединения не было, уведомления могли быть пропущены
+                resync();
+                poll(listenerConnection);
+            } catch (SQLException e) {
+                // Соединение оборвалось: уведомления до переподключения будут потеряны
+                if (running && connection != null) {
+                    logger.warn("Cache invalidation listener connection lost: {}", e.getMessage());
+                    resync();
+                }
+            } finally {
+                connection = null;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+    
+    private void poll(Connection listenerConnection) throws SQLException {
+        PGConnection pgConnection = listenerConnection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+            if (notifications == null || notifications.length == 0) {
+                // getNotifications не замечает оборванное сетевое соединение - проверяем его запросом
+                try (Statement statement = listenerConnection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getParameter());
+            }
+        }
+    }
+    
+    void dispatch(String payload) {
+        try {
+            CacheInvalidationEvent event = CacheInvalidationEvent.parse(payload);
+            receivedCounter.increment();
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            logger.error("Failed to handle cache invalidation {}", payload, e);
+        }
+    }
+    
+    private void resync() {
+        resyncCounter.increment();
+        eventPublisher.publishEvent(CacheInvalidationEvent.fullResync());
+    }
+    
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+    
+    private void closeConnection() {
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                logger.debug("Failed to close cache invalidation listener connection", e);
+            }
+        }
+    }
+}
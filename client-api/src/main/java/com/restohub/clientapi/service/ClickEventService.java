@@ -0,0 +1,176 @@
+package com.restohub.clientapi.service;
+
+import com.restohub.clientapi.dto.TrackEventsRequest;
+import com.restohub.clientapi.dto.TrackEventsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Прием событий взаимодействия гостей со страницей ресторана (клики по кнопкам, блюдам, фото, фильтрам).
+ *
+ * События складываются в lock-free кольцевой буфер, фоновый поток пачками пишет их в click_events
+ * многострочным INSERT. Пачка запроса принимается целиком или не принимается вовсе: если в буфере
+ * нет места под все события, они учитываются в метрике click_events.dropped, клиент получает 429
+ * и повторяет всю пачку позже без дублей.
+ *
+ * События принимаются только для существующего ресторана с активной подпиской.
+ */
+@Service
+public class ClickEventService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClickEventService.class);
+    
+    private static final String INSERT_PREFIX = "INSERT INTO click_events " +
+            "(restaurant_id, event_type, target_id, target_value, session_id, occurred_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?)";
+    
+    record ClickEvent(long restaurantId, String type, Long targetId, String targetValue,
+                      String sessionId, LocalDateTime occurredAt) {
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SubscriptionCheckService subscriptionCheckService;
+    private final EventRingBuffer<ClickEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "click-events-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Counter acceptedCounter;
+    private final Counter droppedFullCounter;
+    private final Counter droppedWriteErrorCounter;
+    private final Counter writtenCounter;
+    
+    @Autowired
+    public ClickEventService(
+            JdbcTemplate jdbcTemplate,
+            SubscriptionCheckService subscriptionCheckService,
+            MeterRegistry meterRegistry,
+            @Value("${click-events.buffer-capacity:65536}") int bufferCapacity,
+            @Value("${click-events.batch-size:500}") int batchSize,
+            @Value("${click-events.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.subscriptionCheckService = subscriptionCheckService;
+        this.buffer = new EventRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        
+        this.acceptedCounter = Counter.builder("click_events.accepted")
+                .description("События, принятые в буфер")
+                .register(meterRegistry);
+        this.droppedFullCounter = Counter.builder("click_events.dropped")
+                .tag("reason", "buffer_full")
+                .description("События, отброшенные из-за заполненного буфера")
+                .register(meterRegistry);
+        this.droppedWriteErrorCounter = Counter.builder("click_events.dropped")
+                .tag("reason", "write_error")
+                .description("События, потерянные из-за ошибки записи в БД")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("click_events.written")
+                .description("События, записанные в БД")
+                .register(meterRegistry);
+        Gauge.builder("click_events.buffer.size", buffer, EventRingBuffer::size)
+                .description("Событий в буфере")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        // Дописываем остаток буфера при остановке
+        flush();
+    }
+    
+    public TrackEventsResponse track(Long restaurantId, TrackEventsRequest request) {
+        // Результат проверки закэширован, повторный вызов после интерцептора не идет в БД
+        if (!subscriptionCheckService.hasActiveSubscription(restaurantId)) {
+            throw new RuntimeException("RESTAURANT_NOT_FOUND");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<ClickEvent> events = new ArrayList<>(request.getEvents().size());
+        for (TrackEventsRequest.EventItem item : request.getEvents()) {
+            events.add(new ClickEvent(restaurantId, item.getType().name(), item.getTargetId(),
+                    item.getTargetValue(), request.getSessionId(), now));
+        }
+        
+        if (!buffer.offerAll(events)) {
+            droppedFullCounter.increment(events.size());
+            logger.debug("Click event buffer is full, rejected {} events for restaurant {}", events.size(), restaurantId);
+            return new TrackEventsResponse(0, events.size());
+        }
+        acceptedCounter.increment(events.size());
+        return new TrackEventsResponse(events.size(), 0);
+    }
+    
+    void flush() {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            List<ClickEvent> batch = new ArrayList<>(batchSize);
+            while (buffer.drain(batch::add, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+    
+    private void write(List<ClickEvent> batch) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(batch.size(), INSERT_ROW));
+        try {
+            jdbcTemplate.update(sql, ps -> {
+                int i = 1;
+                for (ClickEvent event : batch) {
+                    ps.setLong(i++, event.restaurantId());
+                    ps.setString(i++, event.type());
+                    if (event.targetId() != null) {
+                        ps.setLong(i++, event.targetId());
+                    } else {
+                        ps.setNull(i++, Types.BIGINT);
+                    }
+                    ps.setString(i++, event.targetValue());
+                    ps.setString(i++, event.sessionId());
+                    ps.setTimestamp(i++, Timestamp.valueOf(event.occurredAt()));
+                }
+            });
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            // События аналитические: не повторяем запись, чтобы не копить буфер при недоступной БД
+            droppedWriteErrorCounter.increment(batch.size());
+            logger.error("Failed to write {} click events", batch.size(), e);
+        }
+    }
+}
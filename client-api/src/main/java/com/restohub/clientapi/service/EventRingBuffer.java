@@ -0,0 +1,74 @@
+package com.restohub.clientapi.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Ограниченный lock-free кольцевой буфер: много писателей, один читатель.
+ *
+ * Писатель резервирует слот CAS-ом по producerIndex и публикует элемент в слот. Читатель забирает элементы
+ * по порядку, пока не встретит еще не опубликованный слот. При нехватке места offerAll возвращает false, не блокируясь.
+ */
+class EventRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    EventRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Резервирует слоты сразу под все элементы: либо в буфер попадает вся пачка, либо ничего.
+     */
+    boolean offerAll(List<E> elements) {
+        int count = elements.size();
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index + count - consumerIndex > capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + count));
+        for (int i = 0; i < count; i++) {
+            slots.set((int) (index + i) & mask, elements.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Забирает до limit элементов. Вызывается только из одного потока.
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) index & mask;
+            E element = slots.get(slot);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(slot, null);
+            index++;
+            drained++;
+            consumer.accept(element);
+        }
+        consumerIndex = index;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0L, producerIndex.get() - consumerIndex);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
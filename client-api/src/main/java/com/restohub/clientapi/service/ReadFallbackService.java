@@ -0,0 +1,123 @@
+package com.restohub.clientapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restohub.clientapi.config.CircuitBreakerConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Чтение публичных данных с отдачей последнего удачного снимка при проблемах с БД.
+ *
+ * Чтение идет через bulkhead и circuit breaker "database" в read-only транзакции, в начале которой
+ * на PostgreSQL выставляется SET LOCAL statement_timeout, равный бюджету задержки: таймаут транзакции Spring
+ * и JDBC setQueryTimeout задаются в целых секундах и не подходят для бюджета в сотни миллисекунд.
+ * Если breaker открыт, bulkhead заполнен или чтение упало по ошибке БД, возвращается снимок из памяти
+ * с отметкой времени его загрузки.
+ * Бизнес-ошибки (ресторан не найден и т.п.) пробрасываются как есть.
+ */
+@Service
+public class ReadFallbackService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReadFallbackService.class);
+    
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    private final String statementTimeoutSql;
+    private final Cache<String, Snapshot> snapshots;
+    private final Counter staleCounter;
+    
+    @Autowired
+    public ReadFallbackService(
+            @Qualifier("databaseCircuitBreaker") CircuitBreaker circuitBreaker,
+            @Qualifier("databaseBulkhead") Bulkhead bulkhead,
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url:}") String datasourceUrl,
+            @Value("${read-fallback.latency-budget-ms:2000}") long latencyBudgetMs,
+            @Value("${read-fallback.snapshot-max-size:5000}") long snapshotMaxSize,
+            @Value("${read-fallback.snapshot-ttl-hours:24}") long snapshotTtlHours) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jdbcTemplate = jdbcTemplate;
+        // statement_timeout - настройка PostgreSQL; на H2 не задается
+        this.statementTimeoutSql = datasourceUrl.startsWith("jdbc:postgresql:")
+                ? "SET LOCAL statement_timeout = " + latencyBudgetMs
+                : null;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(snapshotMaxSize)
+                .expireAfterWrite(Duration.ofHours(snapshotTtlHours))
+                .build();
+        this.staleCounter = Counter.builder("read.fallback.stale")
+                .description("Ответы, отданные из последнего удачного снимка")
+                .register(meterRegistry);
+    }
+    
+    public <T> Result<T> read(String key, Supplier<T> loader) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, () -> readOnlyTransaction.execute(status -> {
+                    if (statementTimeoutSql != null) {
+                        jdbcTemplate.execute(statementTimeoutSql);
+                    }
+                    return loader.get();
+                })));
+        try {
+            T value = guarded.get();
+            snapshots.put(key, new Snapshot(value, Instant.now()));
+            return new Result<>(value, null);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            return stale(key, e, "CIRCUIT_BREAKER_OPEN");
+        } catch (RuntimeException e) {
+            if (!CircuitBreakerConfig.isDatabaseFailure(e)) {
+                throw e;
+            }
+            return stale(key, e, null);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> stale(String key, RuntimeException cause, String exceptionName) {
+        Snapshot snapshot = snapshots.getIfPresent(key);
+        if (snapshot == null) {
+            throw exceptionName != null ? new RuntimeException(exceptionName, cause) : cause;
+        }
+        logger.warn("Serving stale snapshot for {}: {}", key, cause.toString());
+        staleCounter.increment();
+        return new Result<>((T) snapshot.value(), snapshot.loadedAt());
+    }
+    
+    private record Snapshot(Object value, Instant loadedAt) {
+    }
+    
+    /**
+     * @param staleSince время загрузки снимка, если ответ устаревший; null для свежего ответа
+     */
+    public record Result<T>(T value, Instant staleSince) {
+        
+        public boolean isStale() {
+            return staleSince != null;
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.restohub.clientapi.service;
 
 import com.restohub.clientapi.entity.Restaurant;
 import com.restohub.clientapi.entity.RestaurantSubscription;
+import com.restohub.clientapi.event.CacheInvalidationEvent;
 import com.restohub.clientapi.repository.RestaurantRepository;
 import com.restohub.clientapi.repository.RestaurantSubscriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -16,13 +20,16 @@ public class SubscriptionCheckService {
     
     private final RestaurantRepository restaurantRepository;
     private final RestaurantSubscriptionRepository subscriptionRepository;
+    private final CacheManager cacheManager;
     
     @Autowired
     public SubscriptionCheckService(
             RestaurantRepository restaurantRepository,
-            RestaurantSubscriptionRepository subscriptionRepository) {
+            RestaurantSubscriptionRepository subscriptionRepository,
+            CacheManager cacheManager) {
         this.restaurantRepository = restaurantRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.cacheManager = cacheManager;
     }
     
     /**
@@ -60,5 +67,21 @@ public class SubscriptionCheckService {
                     !subscription.getEndDate().isBefore(today)
                 );
     }
+    
+    /**
+     * Сбрасывает закэшированный результат проверки при изменении подписки или активности ресторана в admin-api.
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        Cache cache = cacheManager.getCache("subscriptionCache");
+        if (cache == null) {
+            return;
+        }
+        if (event.isFullResync()) {
+            cache.clear();
+        } else if (CacheInvalidationEvent.ENTITY_SUBSCRIPTION.equals(event.entityType())
+                || CacheInvalidationEvent.ENTITY_RESTAURANT.equals(event.entityType())) {
+            cache.evict(event.restaurantId());
+        }
+    }
 }
-
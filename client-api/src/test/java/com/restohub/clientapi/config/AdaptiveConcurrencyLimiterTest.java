@@ -0,0 +1,66 @@
+package com.restohub.clientapi.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    
+    private final AtomicLong clock = new AtomicLong();
+    
+    @Test
+    void testTryAcquire_LowPriorityShedBeforeCritical() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, clock::get);
+        limiter.tryAcquire(RequestPriority.CRITICAL);
+        limiter.tryAcquire(RequestPriority.CRITICAL);
+        limiter.tryAcquire(RequestPriority.CRITICAL);
+        
+        // Act
+        AdaptiveConcurrencyLimiter.Permit low = limiter.tryAcquire(RequestPriority.LOW);
+        AdaptiveConcurrencyLimiter.Permit critical = limiter.tryAcquire(RequestPriority.CRITICAL);
+        
+        // Assert
+        assertNull(low);
+        assertNotNull(critical);
+        assertNull(limiter.tryAcquire(RequestPriority.CRITICAL));
+        critical.release(false);
+        critical.release(false);
+        assertEquals(3, limiter.getInFlight());
+    }
+    
+    @Test
+    void testRelease_GrowingLatency_ShrinksLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100, clock::get);
+        runBatch(limiter, 20, 10_000_000L);
+        runBatch(limiter, 20, 10_000_000L);
+        int warmLimit = limiter.getLimit();
+        
+        // Act
+        for (int i = 0; i < 10; i++) {
+            runBatch(limiter, limiter.getLimit(), 100_000_000L);
+        }
+        
+        // Assert
+        assertTrue(warmLimit > 20);
+        assertTrue(limiter.getLimit() < warmLimit);
+        assertEquals(0, limiter.getInFlight());
+    }
+    
+    private void runBatch(AdaptiveConcurrencyLimiter limiter, int size, long latencyNanos) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(RequestPriority.CRITICAL);
+            if (permit != null) {
+                permits.add(permit);
+            }
+        }
+        clock.addAndGet(latencyNanos);
+        permits.forEach(permit -> permit.release(true));
+    }
+}
@@ -0,0 +1,34 @@
+package com.restohub.clientapi.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountFilterTest {
+
+    private final QueryCountFilter filter = new QueryCountFilter();
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @Test
+    void testDoFilter_SetsQueryCountHeaderAfterBody() throws Exception {
+        // Arrange
+        inspector.inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/client-api/r/1/menu");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            inspector.inspect("select * from restaurants");
+            inspector.inspect("select * from bookings");
+            res.getWriter().write("{\"data\":[]}");
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals("2", response.getHeader(QueryCountFilter.X_QUERY_COUNT_HEADER));
+        assertEquals("{\"data\":[]}", response.getContentAsString());
+    }
+}
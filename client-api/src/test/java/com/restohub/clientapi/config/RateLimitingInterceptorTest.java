@@ -0,0 +1,42 @@
+package com.restohub.clientapi.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingInterceptorTest {
+    
+    private static BucketConfiguration limit(int capacity) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder().capacity(capacity).refillIntervally(capacity, Duration.ofMinutes(1)).build())
+                .build();
+    }
+    
+    @Test
+    void testPreHandle_BookingPath_UsesBookingsLimiter() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitingInterceptor interceptor = new RateLimitingInterceptor(
+                new LocalRateLimitBucketStore("general", limit(10), 100),
+                new LocalRateLimitBucketStore("bookings", limit(1), 100),
+                meterRegistry);
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/client-api/r/1/booking"), new MockHttpServletResponse(), null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        // Act
+        boolean allowed = interceptor.preHandle(new MockHttpServletRequest("POST", "/client-api/r/1/booking"), response, null);
+        
+        // Assert
+        assertFalse(allowed);
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, meterRegistry.get("rate.limit.rejected").tag("limiter", "bookings").counter().count());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/client-api/r/1/menu"), new MockHttpServletResponse(), null));
+    }
+}
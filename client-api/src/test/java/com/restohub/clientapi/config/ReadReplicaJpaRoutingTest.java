@@ -0,0 +1,143 @@
+package com.restohub.clientapi.config;
+
+import com.restohub.clientapi.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.restohub.clientapi.repository.FloorRepository;
+import com.restohub.clientapi.repository.RestaurantRepository;
+import com.restohub.clientapi.service.SubscriptionCheckService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Маршрутизация JPA с open-in-view: в одном запросе read-only чтение идет на реплику, последующая запись -
+ * на primary. Реплику изображает та же база H2 под пользователем только с правом SELECT: запись через
+ * реплику падает.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica_routing;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE USER IF NOT EXISTS replica PASSWORD 'replica'\\\\;GRANT SELECT ON SCHEMA PUBLIC TO replica",
+        "read-replica.enabled=true",
+        "read-replica.url=jdbc:h2:mem:replica_routing;MODE=PostgreSQL",
+        "read-replica.username=replica",
+        "read-replica.password=replica"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaJpaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SubscriptionCheckService subscriptionCheckService;
+
+    @MockBean
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setName("Replica Restaurant");
+            entityManager.persist(restaurant);
+            restaurantId = restaurant.getId();
+
+            SubscriptionType subscriptionType = new SubscriptionType();
+            subscriptionType.setCode("REPLICA_" + restaurantId);
+            subscriptionType.setName("Тест");
+            entityManager.persist(subscriptionType);
+
+            RestaurantSubscription subscription = new RestaurantSubscription();
+            subscription.setRestaurant(restaurant);
+            subscription.setSubscriptionType(subscriptionType);
+            subscription.setStartDate(LocalDate.now().minusDays(1));
+            subscription.setEndDate(LocalDate.now().plusMonths(1));
+            subscription.setCreatedAt(LocalDateTime.now());
+            subscription.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(subscription);
+        });
+        // Проверка подписки в интерцепторе берется из кэша и не занимает соединение запроса
+        subscriptionCheckService.hasActiveSubscription(restaurantId);
+    }
+
+    @Test
+    void testReadOnlyReadThenWriteInRequest_WriteGoesToPrimary() throws Exception {
+        // Act
+        mockMvc.perform(post("/client-api/r/" + restaurantId + "/replica-probe"))
+                .andExpect(status().isCreated());
+
+        // Assert
+        Long floors = transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT COUNT(f) FROM Floor f WHERE f.restaurant.id = :restaurantId", Long.class)
+                .setParameter("restaurantId", restaurantId)
+                .getSingleResult());
+        assertEquals(1L, floors);
+    }
+
+    /**
+     * Чтение через read-only метод репозитория (findById), затем запись в том же запросе.
+     */
+    @TestConfiguration
+    static class ProbeControllerConfig {
+
+        @Bean
+        ReplicaProbeController replicaProbeController(RestaurantRepository restaurantRepository,
+                                                      FloorRepository floorRepository) {
+            return new ReplicaProbeController(restaurantRepository, floorRepository);
+        }
+    }
+
+    @RestController
+    static class ReplicaProbeController {
+
+        private final RestaurantRepository restaurantRepository;
+        private final FloorRepository floorRepository;
+
+        ReplicaProbeController(RestaurantRepository restaurantRepository, FloorRepository floorRepository) {
+            this.restaurantRepository = restaurantRepository;
+            this.floorRepository = floorRepository;
+        }
+
+        @PostMapping("/client-api/r/{id}/replica-probe")
+        @ResponseStatus(HttpStatus.CREATED)
+        void probe(@PathVariable Long id) {
+            Restaurant restaurant = restaurantRepository.findById(id).orElseThrow();
+            Floor floor = new Floor();
+            floor.setRestaurant(restaurant);
+            floor.setFloorNumber("probe");
+            floorRepository.save(floor);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.restohub.clientapi.controller;
+
+import com.restohub.clientapi.config.QueryBudget;
+import com.restohub.clientapi.config.QueryBudgetExtension;
+import com.restohub.clientapi.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Бюджеты SQL-запросов самых частых публичных чтений на реальных сервисах и H2: страница из нескольких строк
+ * не должна порождать запрос на каждую строку. В бюджет входит и проверка подписки интерцептором
+ * (кэш подписок холодный: у каждого теста свой ресторан).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@ExtendWith(QueryBudgetExtension.class)
+class ReadEndpointQueryBudgetTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Budget Restaurant");
+        entityManager.persist(restaurant);
+        restaurantId = restaurant.getId();
+
+        SubscriptionType subscriptionType = new SubscriptionType();
+        subscriptionType.setCode("BUDGET_" + restaurantId);
+        subscriptionType.setName("Тест");
+        entityManager.persist(subscriptionType);
+
+        RestaurantSubscription subscription = new RestaurantSubscription();
+        subscription.setRestaurant(restaurant);
+        subscription.setSubscriptionType(subscriptionType);
+        subscription.setStartDate(LocalDate.now().minusDays(1));
+        subscription.setEndDate(LocalDate.now().plusMonths(1));
+        subscription.setCreatedAt(LocalDateTime.now());
+        subscription.setUpdatedAt(LocalDateTime.now());
+        entityManager.persist(subscription);
+
+        PromotionType promotionType = new PromotionType();
+        promotionType.setCode("BUDGET_" + restaurantId);
+        promotionType.setName("Скидка");
+        entityManager.persist(promotionType);
+
+        for (int i = 0; i < ROWS; i++) {
+            Floor floor = new Floor();
+            floor.setRestaurant(restaurant);
+            floor.setFloorNumber(String.valueOf(i + 1));
+            entityManager.persist(floor);
+
+            Room room = new Room();
+            room.setFloor(floor);
+            room.setName("Зал " + i);
+            entityManager.persist(room);
+
+            MenuCategory category = new MenuCategory();
+            category.setName("Категория " + restaurantId + "-" + i);
+            category.setDisplayOrder(i);
+            entityManager.persist(category);
+
+            MenuItem item = new MenuItem();
+            item.setRestaurant(restaurant);
+            item.setMenuCategory(category);
+            item.setName("Блюдо " + i);
+            item.setPrice(new BigDecimal("1000.00"));
+            entityManager.persist(item);
+
+            Promotion promotion = new Promotion();
+            promotion.setRestaurant(restaurant);
+            promotion.setPromotionType(promotionType);
+            promotion.setTitle("Акция " + i);
+            promotion.setStartDate(LocalDate.now().minusDays(i));
+            entityManager.persist(promotion);
+        }
+
+        // Вставки не должны попасть в бюджет теста
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @QueryBudget(4)
+    void testGetRestaurant_WithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/client-api/r/" + restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Budget Restaurant"));
+    }
+
+    @Test
+    @QueryBudget(4)
+    void testGetMenu_WithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/client-api/r/" + restaurantId + "/menu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories.length()").value(ROWS))
+                .andExpect(jsonPath("$.categories[0].items.length()").value(1));
+    }
+
+    @Test
+    @QueryBudget(3)
+    void testGetFloors_WithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/client-api/r/" + restaurantId + "/floor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+    }
+
+    @Test
+    @QueryBudget(3)
+    void testGetRooms_WithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/client-api/r/" + restaurantId + "/room"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS))
+                .andExpect(jsonPath("$[0].floorId").exists());
+    }
+
+    @Test
+    @QueryBudget(4)
+    void testGetPromotions_WithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/client-api/r/" + restaurantId + "/promotion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS))
+                .andExpect(jsonPath("$[0].promotionType.name").value("Скидка"));
+    }
+}
@@ -7,11 +7,14 @@ import com.restohub.clientapi.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -114,6 +117,44 @@ class BookingServiceTest {
         verify(bookingHistoryRepository).save(any(BookingHistory.class));
     }
     
+    @Test
+    void testCreateBookingWithPreOrder_StoresPreOrderTotals() {
+        // Given
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(5L);
+        menuItem.setRestaurant(restaurant);
+        menuItem.setPrice(new BigDecimal("1500.00"));
+        menuItem.setIsAvailable(true);
+        request.setPreOrderItems(List.of(
+                CreateBookingRequest.PreOrderItemRequest.builder().menuItemId(5L).quantity(2).build(),
+                CreateBookingRequest.PreOrderItemRequest.builder().menuItemId(5L).quantity(1).build()));
+        
+        when(restaurantRepository.findByIdAndIsActiveTrue(1L))
+                .thenReturn(Optional.of(restaurant));
+        when(tableRepository.findByIdAndIsActiveTrue(1L))
+                .thenReturn(Optional.of(table));
+        when(menuItemRepository.findByIdAndIsActiveTrue(5L))
+                .thenReturn(Optional.of(menuItem));
+        when(bookingStatusRepository.findByCodeAndIsActiveTrue("DRAFT"))
+                .thenReturn(Optional.of(draftStatus));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        
+        // When
+        bookingService.createBooking(1L, request);
+        
+        // Then
+        ArgumentCaptor<Booking> captor = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository, times(2)).save(captor.capture());
+        Booking saved = captor.getValue();
+        assertEquals(new BigDecimal("4500.00"), saved.getPreOrderTotal());
+        assertEquals(2, saved.getPreOrderItemCount());
+        verify(bookingPreOrderRepository, times(2)).save(any(BookingPreOrder.class));
+    }
+    
     @Test
     void testCreateBookingRestaurantNotFound() {
         // Given
@@ -0,0 +1,120 @@
+package com.restohub.clientapi.service;
+
+import com.restohub.clientapi.dto.ClickEventType;
+import com.restohub.clientapi.dto.TrackEventsRequest;
+import com.restohub.clientapi.dto.TrackEventsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickEventServiceTest {
+    
+    private static final String TWO_ROWS = "INSERT INTO click_events " +
+            "(restaurant_id, event_type, target_id, target_value, session_id, occurred_at) VALUES " +
+            "(?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?)";
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private SubscriptionCheckService subscriptionCheckService;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private ClickEventService clickEventService;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Буфер на 4 события, в одном INSERT не больше 2 строк
+        clickEventService = new ClickEventService(jdbcTemplate, subscriptionCheckService, meterRegistry, 4, 2, 1000);
+        lenient().when(subscriptionCheckService.hasActiveSubscription(1L)).thenReturn(true);
+    }
+    
+    private TrackEventsRequest request(int count) {
+        List<TrackEventsRequest.EventItem> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new TrackEventsRequest.EventItem(ClickEventType.MENU_ITEM, (long) i, null));
+        }
+        return new TrackEventsRequest(events, "session-1");
+    }
+    
+    @Test
+    void testTrack_FlushWritesEventsInMultiRowBatches() {
+        // Arrange
+        TrackEventsResponse response = clickEventService.track(1L, request(3));
+        
+        // Act
+        clickEventService.flush();
+        
+        // Assert
+        assertEquals(3, response.getAccepted());
+        assertEquals(0, response.getDropped());
+        verify(jdbcTemplate, times(1)).update(eq(TWO_ROWS), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+        assertEquals(3.0, meterRegistry.get("click_events.written").counter().count());
+        assertEquals(0.0, meterRegistry.get("click_events.buffer.size").gauge().value());
+    }
+    
+    @Test
+    void testTrack_BufferFull_RejectsWholeBatchAndCountsIt() {
+        // Arrange: в буфере остается одно место из четырех
+        clickEventService.track(1L, request(3));
+        
+        // Act
+        TrackEventsResponse response = clickEventService.track(1L, request(3));
+        clickEventService.flush();
+        
+        // Assert: частично пачка не принимается, повтор не задублирует события
+        assertEquals(0, response.getAccepted());
+        assertEquals(3, response.getDropped());
+        assertEquals(3.0, meterRegistry.get("click_events.dropped").tag("reason", "buffer_full").counter().count());
+        assertEquals(3.0, meterRegistry.get("click_events.written").counter().count());
+    }
+    
+    @Test
+    void testTrack_RestaurantWithoutActiveSubscription_Rejected() {
+        // Arrange
+        when(subscriptionCheckService.hasActiveSubscription(2L)).thenReturn(false);
+        
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> clickEventService.track(2L, request(1)));
+        clickEventService.flush();
+        
+        // Assert
+        assertEquals("RESTAURANT_NOT_FOUND", exception.getMessage());
+        assertEquals(0.0, meterRegistry.get("click_events.accepted").counter().count());
+        verifyNoInteractions(jdbcTemplate);
+    }
+    
+    @Test
+    void testFlush_WriteError_DropsBatchAndContinues() {
+        // Arrange
+        clickEventService.track(1L, request(3));
+        doThrow(new RuntimeException("DB unavailable"))
+                .doReturn(1)
+                .when(jdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+        
+        // Act
+        clickEventService.flush();
+        
+        // Assert
+        assertEquals(2.0, meterRegistry.get("click_events.dropped").tag("reason", "write_error").counter().count());
+        assertEquals(1.0, meterRegistry.get("click_events.written").counter().count());
+    }
+}
@@ -0,0 +1,87 @@
+package com.restohub.clientapi.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReadFallbackServiceTest {
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private CircuitBreaker circuitBreaker;
+    private ReadFallbackService readFallbackService;
+    
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.ofDefaults("database");
+        readFallbackService = new ReadFallbackService(circuitBreaker, Bulkhead.ofDefaults("database"),
+                transactionManager, jdbcTemplate, new SimpleMeterRegistry(), "jdbc:postgresql://localhost/restohub",
+                300, 100, 24);
+    }
+    
+    @Test
+    void testRead_DatabaseFailure_ReturnsLastSnapshot() {
+        // Arrange
+        readFallbackService.read("menu:1", () -> "menu v1");
+        
+        // Act
+        ReadFallbackService.Result<String> result = readFallbackService.read("menu:1", () -> {
+            throw new QueryTimeoutException("canceling statement due to statement timeout");
+        });
+        
+        // Assert
+        assertTrue(result.isStale());
+        assertEquals("menu v1", result.value());
+    }
+    
+    @Test
+    void testRead_SetsStatementTimeoutInMillisecondsInsideTransaction() {
+        // Act
+        ReadFallbackService.Result<String> result = readFallbackService.read("menu:4", () -> "menu v1");
+        
+        // Assert
+        assertFalse(result.isStale());
+        verify(jdbcTemplate).execute("SET LOCAL statement_timeout = 300");
+    }
+    
+    @Test
+    void testRead_CircuitOpenWithoutSnapshot_ThrowsCircuitBreakerOpen() {
+        // Arrange
+        circuitBreaker.transitionToOpenState();
+        
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> readFallbackService.read("menu:2", () -> "menu v1"));
+        
+        // Assert
+        assertEquals("CIRCUIT_BREAKER_OPEN", exception.getMessage());
+    }
+    
+    @Test
+    void testRead_BusinessError_IsNotMaskedByStaleSnapshot() {
+        // Arrange
+        readFallbackService.read("restaurant:3", () -> "restaurant v1");
+        
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> readFallbackService.read("restaurant:3", () -> {
+            throw new RuntimeException("RESTAURANT_NOT_FOUND");
+        }));
+        assertEquals("RESTAURANT_NOT_FOUND", exception.getMessage());
+    }
+}
@@ -2,6 +2,7 @@ package com.restohub.clientapi.service;
 
 import com.restohub.clientapi.entity.Restaurant;
 import com.restohub.clientapi.entity.RestaurantSubscription;
+import com.restohub.clientapi.event.CacheInvalidationEvent;
 import com.restohub.clientapi.repository.RestaurantRepository;
 import com.restohub.clientapi.repository.RestaurantSubscriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -29,6 +32,12 @@ class SubscriptionCheckServiceTest {
     @Mock
     private RestaurantSubscriptionRepository subscriptionRepository;
     
+    @Mock
+    private CacheManager cacheManager;
+    
+    @Mock
+    private Cache cache;
+    
     @InjectMocks
     private SubscriptionCheckService subscriptionCheckService;
     
@@ -169,5 +178,19 @@ class SubscriptionCheckServiceTest {
         verify(restaurantRepository, times(2)).findByIdAndIsActiveTrue(1L);
         verify(subscriptionRepository, times(2)).findByRestaurantIdAndIsActiveTrue(1L);
     }
+    
+    @Test
+    void testOnCacheInvalidation_EvictsRestaurantAndClearsOnResync() {
+        // Arrange
+        when(cacheManager.getCache("subscriptionCache")).thenReturn(cache);
+        
+        // Act
+        subscriptionCheckService.onCacheInvalidation(
+                CacheInvalidationEvent.parse(CacheInvalidationEvent.ENTITY_SUBSCRIPTION + ":1:1700000000000"));
+        subscriptionCheckService.onCacheInvalidation(CacheInvalidationEvent.fullResync());
+        
+        // Assert
+        verify(cache).evict(1L);
+        verify(cache).clear();
+    }
 }
-